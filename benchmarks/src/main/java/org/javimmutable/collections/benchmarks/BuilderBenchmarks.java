@@ -0,0 +1,138 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.benchmarks;
+
+import org.javimmutable.collections.IArrayBuilder;
+import org.javimmutable.collections.IArrays;
+import org.javimmutable.collections.IListBuilder;
+import org.javimmutable.collections.ILists;
+import org.javimmutable.collections.IMapBuilder;
+import org.javimmutable.collections.IMaps;
+import org.javimmutable.collections.ISetBuilder;
+import org.javimmutable.collections.ISets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of building a collection one value at a time using the thread safe
+ * builders versus their single threaded (unsynchronized) counterparts.  Each invocation
+ * creates a new builder, adds size values to it, and builds the result.  Run with and
+ * without -jvmArgs -ea to see the cost of the ownership check.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BuilderBenchmarks
+{
+    @Param({"list", "array", "hashMap", "sortedMap", "hashSet"})
+    public String collection;
+
+    @Param({"synchronized", "unsynchronized"})
+    public String builder;
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private Integer[] values;
+
+    @Setup
+    public void setup()
+    {
+        values = new Integer[size];
+        for (int i = 0; i < size; ++i) {
+            values[i] = (i * 7919) % size;
+        }
+    }
+
+    @Benchmark
+    public Object build()
+    {
+        final boolean sync = builder.equals("synchronized");
+        switch (collection) {
+            case "list": {
+                final IListBuilder<Integer> b = sync ? ILists.<Integer>builder() : ILists.<Integer>unsynchronizedBuilder();
+                for (Integer value : values) {
+                    b.add(value);
+                }
+                return b.build();
+            }
+            case "array": {
+                final IArrayBuilder<Integer> b = sync ? IArrays.<Integer>builder() : IArrays.<Integer>unsynchronizedBuilder();
+                for (Integer value : values) {
+                    b.add(value);
+                }
+                return b.build();
+            }
+            case "hashMap": {
+                final IMapBuilder<Integer, Integer> b = sync ? IMaps.<Integer, Integer>hashedBuilder() : IMaps.<Integer, Integer>hashedUnsynchronizedBuilder();
+                for (Integer value : values) {
+                    b.add(value, value);
+                }
+                return b.build();
+            }
+            case "sortedMap": {
+                final IMapBuilder<Integer, Integer> b = sync ? IMaps.<Integer, Integer>sortedBuilder() : IMaps.<Integer, Integer>sortedUnsynchronizedBuilder();
+                for (Integer value : values) {
+                    b.add(value, value);
+                }
+                return b.build();
+            }
+            case "hashSet": {
+                final ISetBuilder<Integer> b = sync ? ISets.<Integer>hashedBuilder() : ISets.<Integer>hashedUnsynchronizedBuilder();
+                for (Integer value : values) {
+                    b.add(value);
+                }
+                return b.build();
+            }
+            default:
+                throw new IllegalArgumentException(collection);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.benchmarks;
+
+import org.javimmutable.collections.ILists;
+import org.javimmutable.collections.IMap;
+import org.javimmutable.collections.IMaps;
+import org.javimmutable.collections.codec.Codec;
+import org.javimmutable.collections.codec.Codecs;
+import org.javimmutable.collections.tree.ComparableComparator;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares encoding and decoding collections using {@link Codecs} with java serialization
+ * through the collections' serialization proxies.  Maps use int keys and short string
+ * values.  The encoded size of the collection is reported as the bytesPerEntry counter.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CodecBenchmarks
+{
+    @Param({"hashMap", "treeMap", "list"})
+    public String collection;
+
+    @Param({"codec", "serialization"})
+    public String format;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"RANDOM", "SEQUENTIAL"})
+    public KeyDistribution distribution;
+
+    private Object value;
+    private Codec<Object> codec;
+    private byte[] encoded;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize
+    {
+        public long bytesPerEntry;
+    }
+
+    @Setup
+    public void setup()
+        throws IOException
+    {
+        final Integer[] keys = distribution.keys(8675309L, size);
+        value = createCollection(keys);
+        codec = createCodec();
+        encoded = encode();
+    }
+
+    @Benchmark
+    public byte[] encode(EncodedSize encodedSize)
+        throws IOException
+    {
+        final byte[] answer = encode();
+        encodedSize.bytesPerEntry = answer.length / size;
+        return answer;
+    }
+
+    @Benchmark
+    public Object decode()
+        throws IOException, ClassNotFoundException
+    {
+        if (codec != null) {
+            return Codecs.decode(codec, encoded);
+        } else {
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(encoded))) {
+                return in.readObject();
+            }
+        }
+    }
+
+    private byte[] encode()
+        throws IOException
+    {
+        if (codec != null) {
+            return Codecs.encode(codec, value);
+        } else {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(value);
+            }
+            return bytes.toByteArray();
+        }
+    }
+
+    private Object createCollection(Integer[] keys)
+    {
+        switch (collection) {
+            case "hashMap":
+            case "treeMap": {
+                IMap<Integer, String> map = collection.equals("hashMap") ? IMaps.hashed() : IMaps.sorted();
+                for (Integer key : keys) {
+                    map = map.assign(key, "v" + key);
+                }
+                return map;
+            }
+            case "list": {
+                return ILists.of(keys);
+            }
+            default:
+                throw new IllegalArgumentException("unknown collection: " + collection);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Codec<Object> createCodec()
+    {
+        if (format.equals("serialization")) {
+            return null;
+        }
+        switch (collection) {
+            case "hashMap":
+                return (Codec)Codecs.map(Codecs.ints(), Codecs.strings());
+            case "treeMap":
+                return (Codec)Codecs.sortedMap(ComparableComparator.<Integer>of(), Codecs.ints(), Codecs.strings());
+            case "list":
+                return (Codec)Codecs.list(Codecs.ints());
+            default:
+                throw new IllegalArgumentException("unknown collection: " + collection);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.benchmarks;
+
+import org.javimmutable.collections.IMap;
+import org.javimmutable.collections.atomic.AtomicMapRef;
+import org.javimmutable.collections.atomic.AtomicRef;
+import org.javimmutable.collections.atomic.BatchingWriter;
+import org.javimmutable.collections.atomic.ContentionPolicy;
+import org.javimmutable.collections.atomic.StripedMap;
+import org.javimmutable.collections.hash.HashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of the shared map writers when many threads assign random keys
+ * at once.  The naive variant is a hand written AtomicReference style loop without backoff,
+ * the others use the contention handling in the atomic package.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@Threads(16)
+public class ContentionBenchmarks
+{
+    private static final int KEY_RANGE = 100_000;
+
+    private AtomicRef<IMap<Integer, Integer>> spinning;
+    private AtomicMapRef<Integer, Integer> backoff;
+    private BatchingWriter<IMap<Integer, Integer>, HashMap.Editor<Integer, Integer>> batching;
+    private StripedMap<Integer, Integer> striped;
+
+    @Setup
+    public void setup()
+    {
+        spinning = AtomicRef.of(HashMap.of(), ContentionPolicy.spinOnly());
+        backoff = AtomicMapRef.of(HashMap.of());
+        batching = BatchingWriter.forHashMap(HashMap.of());
+        striped = StripedMap.of();
+    }
+
+    @Benchmark
+    public Object spinning()
+    {
+        final Integer key = nextKey();
+        return spinning.swap(map -> map.assign(key, key));
+    }
+
+    @Benchmark
+    public Object backoff()
+    {
+        final Integer key = nextKey();
+        return backoff.assign(key, key);
+    }
+
+    @Benchmark
+    public Object batching()
+    {
+        final Integer key = nextKey();
+        return batching.apply(editor -> editor.assign(key, key));
+    }
+
+    @Benchmark
+    public Object striped()
+    {
+        final Integer key = nextKey();
+        striped.assign(key, key);
+        return key;
+    }
+
+    private static Integer nextKey()
+    {
+        return ThreadLocalRandom.current().nextInt(KEY_RANGE);
+    }
+}
@@ -0,0 +1,239 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.benchmarks;
+
+import org.javimmutable.collections.IArray;
+import org.javimmutable.collections.IArrayBuilder;
+import org.javimmutable.collections.IArrayCursor;
+import org.javimmutable.collections.IArrays;
+import org.javimmutable.collections.ICursor;
+import org.javimmutable.collections.IMap;
+import org.javimmutable.collections.IMapBuilder;
+import org.javimmutable.collections.IMapCursor;
+import org.javimmutable.collections.IMapEntry;
+import org.javimmutable.collections.IMaps;
+import org.javimmutable.collections.ISet;
+import org.javimmutable.collections.ISetBuilder;
+import org.javimmutable.collections.ISets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares full iteration using Iterators against iteration using a reused cursor.
+ * Intended to be run with the GC profiler (-prof gc) so gc.alloc.rate.norm shows
+ * the bytes allocated per operation.  The cursor benchmarks reuse one cursor per
+ * thread so in steady state they should report zero bytes per operation for every
+ * implementation while the iterator benchmarks allocate per element.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CursorBenchmarks
+{
+    @Param({"hash", "tree", "hashSet", "treeSet", "array"})
+    public String implementation;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private Adapter adapter;
+
+    @Setup
+    public void setup()
+    {
+        final Integer[] keys = KeyDistribution.RANDOM.keys(8675309L, size);
+        adapter = createAdapter(implementation, keys);
+    }
+
+    @Benchmark
+    public void iterator(Blackhole bh)
+    {
+        adapter.iterator(bh);
+    }
+
+    @Benchmark
+    public void cursor(Blackhole bh)
+    {
+        adapter.cursor(bh);
+    }
+
+    private static Adapter createAdapter(String implementation,
+                                         Integer[] keys)
+    {
+        switch (implementation) {
+            case "hash":
+                return new MapAdapter(IMaps.hashedBuilder(), keys);
+            case "tree":
+                return new MapAdapter(IMaps.sortedBuilder(), keys);
+            case "hashSet":
+                return new SetAdapter(ISets.hashedBuilder(), keys);
+            case "treeSet":
+                return new SetAdapter(ISets.sortedBuilder(), keys);
+            case "array":
+                return new ArrayAdapter(keys);
+            default:
+                throw new IllegalArgumentException("unknown implementation: " + implementation);
+        }
+    }
+
+    private interface Adapter
+    {
+        void iterator(Blackhole bh);
+
+        void cursor(Blackhole bh);
+    }
+
+    private static class MapAdapter
+        implements Adapter
+    {
+        private final IMap<Integer, Integer> map;
+        private final IMapCursor<Integer, Integer> cursor;
+
+        private MapAdapter(IMapBuilder<Integer, Integer> builder,
+                           Integer[] keys)
+        {
+            for (Integer key : keys) {
+                builder.add(key, key);
+            }
+            map = builder.build();
+            cursor = map.cursor();
+        }
+
+        @Override
+        public void iterator(Blackhole bh)
+        {
+            for (IMapEntry<Integer, Integer> entry : map) {
+                bh.consume(entry.getKey());
+                bh.consume(entry.getValue());
+            }
+        }
+
+        @Override
+        public void cursor(Blackhole bh)
+        {
+            cursor.reset();
+            while (cursor.advance()) {
+                bh.consume(cursor.key());
+                bh.consume(cursor.value());
+            }
+        }
+    }
+
+    private static class SetAdapter
+        implements Adapter
+    {
+        private final ISet<Integer> set;
+        private final ICursor<Integer> cursor;
+
+        private SetAdapter(ISetBuilder<Integer> builder,
+                           Integer[] keys)
+        {
+            for (Integer key : keys) {
+                builder.add(key);
+            }
+            set = builder.build();
+            cursor = set.cursor();
+        }
+
+        @Override
+        public void iterator(Blackhole bh)
+        {
+            for (Integer value : set) {
+                bh.consume(value);
+            }
+        }
+
+        @Override
+        public void cursor(Blackhole bh)
+        {
+            cursor.reset();
+            while (cursor.advance()) {
+                bh.consume(cursor.value());
+            }
+        }
+    }
+
+    private static class ArrayAdapter
+        implements Adapter
+    {
+        private final IArray<Integer> array;
+        private final IArrayCursor<Integer> cursor;
+
+        private ArrayAdapter(Integer[] keys)
+        {
+            final IArrayBuilder<Integer> builder = IArrays.builder();
+            for (Integer key : keys) {
+                builder.put(key, key);
+            }
+            array = builder.build();
+            cursor = array.cursor();
+        }
+
+        @Override
+        public void iterator(Blackhole bh)
+        {
+            for (IMapEntry<Integer, Integer> entry : array) {
+                bh.consume(entry.getKey());
+                bh.consume(entry.getValue());
+            }
+        }
+
+        @Override
+        public void cursor(Blackhole bh)
+        {
+            cursor.reset();
+            while (cursor.advance()) {
+                bh.consume(cursor.index());
+                bh.consume(cursor.value());
+            }
+        }
+    }
+}
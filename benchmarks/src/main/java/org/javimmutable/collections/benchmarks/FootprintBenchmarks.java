@@ -0,0 +1,163 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.benchmarks;
+
+import org.javimmutable.collections.IMap;
+import org.javimmutable.collections.IMaps;
+import org.javimmutable.collections.ISet;
+import org.javimmutable.collections.ISets;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the heap retained per entry by the hash based collections.  Keys are created
+ * during setup and shared by every collection so only the collection's own structure is
+ * counted.  Retained size is estimated by comparing used heap after forcing garbage
+ * collection before and after building the collection and is reported as the bytesPerEntry
+ * counter.  JMH sums event counters over all measurement iterations and forks so the
+ * benchmark uses a single measurement iteration in a single fork.  The java.util collections
+ * are included for reference.  Needs a heap of at least 1GB for the default size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 1)
+@Fork(1)
+public class FootprintBenchmarks
+{
+    @Param({"hashMap", "hashSet", "javaHashMap", "javaHashSet"})
+    public String collection;
+
+    @Param({"1000000"})
+    public int size;
+
+    private Integer[] keys;
+    private Object retained;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint
+    {
+        public long bytesPerEntry;
+    }
+
+    @Setup
+    public void setup()
+    {
+        final Random random = new Random(size);
+        keys = new Integer[size];
+        for (int i = 0; i < size; ++i) {
+            keys[i] = random.nextInt();
+        }
+    }
+
+    @Benchmark
+    public Object build(Footprint footprint)
+    {
+        retained = null;
+        final long before = usedHeap();
+        retained = create();
+        final long after = usedHeap();
+        footprint.bytesPerEntry = (after - before) / size;
+        return retained;
+    }
+
+    private Object create()
+    {
+        switch (collection) {
+            case "hashMap": {
+                IMap<Integer, Integer> map = IMaps.hashed();
+                for (Integer key : keys) {
+                    map = map.assign(key, key);
+                }
+                return map;
+            }
+            case "hashSet": {
+                ISet<Integer> set = ISets.hashed();
+                for (Integer key : keys) {
+                    set = set.insert(key);
+                }
+                return set;
+            }
+            case "javaHashMap": {
+                final java.util.HashMap<Integer, Integer> map = new java.util.HashMap<>();
+                for (Integer key : keys) {
+                    map.put(key, key);
+                }
+                return map;
+            }
+            case "javaHashSet": {
+                final java.util.HashSet<Integer> set = new java.util.HashSet<>();
+                for (Integer key : keys) {
+                    set.add(key);
+                }
+                return set;
+            }
+            default:
+                throw new IllegalArgumentException(collection);
+        }
+    }
+
+    private static long usedHeap()
+    {
+        final Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        // repeat until collection stops freeing memory so garbage from building is not counted
+        for (int i = 0; i < 10; ++i) {
+            System.gc();
+            final long current = runtime.totalMemory() - runtime.freeMemory();
+            if (current >= used) {
+                break;
+            }
+            used = current;
+        }
+        return used;
+    }
+}
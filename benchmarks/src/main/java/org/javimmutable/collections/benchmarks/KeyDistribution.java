@@ -0,0 +1,121 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.benchmarks;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Controls how the integer keys used by the benchmarks are generated.
+ * The same seed always produces the same keys so runs are comparable.
+ */
+public enum KeyDistribution
+{
+    /**
+     * Keys are uniformly distributed over the full range of int.
+     */
+    RANDOM
+        {
+            @Override
+            int key(Random random,
+                    int ordinal)
+            {
+                return random.nextInt();
+            }
+        },
+    /**
+     * Keys are consecutive integers in random order.  Models database
+     * style sequential ids.
+     */
+    SEQUENTIAL
+        {
+            @Override
+            int key(Random random,
+                    int ordinal)
+            {
+                return ordinal;
+            }
+        },
+    /**
+     * Keys are multiples of 4096 in random order.  All keys share their
+     * low order bits which stresses hash functions that rely on them.
+     */
+    STRIDED
+        {
+            @Override
+            int key(Random random,
+                    int ordinal)
+            {
+                return ordinal << 12;
+            }
+        };
+
+    abstract int key(Random random,
+                     int ordinal);
+
+    /**
+     * Creates an array of count unique keys in random order.
+     */
+    Integer[] keys(long seed,
+                   int count)
+    {
+        final Random random = new Random(seed);
+        final Set<Integer> unique = new HashSet<>();
+        final Integer[] answer = new Integer[count];
+        int ordinal = 0;
+        for (int i = 0; i < count; ++i) {
+            Integer key = key(random, ordinal++);
+            while (!unique.add(key)) {
+                key = key(random, ordinal++);
+            }
+            answer[i] = key;
+        }
+        shuffle(random, answer);
+        return answer;
+    }
+
+    static <T> void shuffle(Random random,
+                            T[] values)
+    {
+        for (int i = values.length - 1; i > 0; --i) {
+            final int j = random.nextInt(i + 1);
+            final T temp = values[i];
+            values[i] = values[j];
+            values[j] = temp;
+        }
+    }
+}
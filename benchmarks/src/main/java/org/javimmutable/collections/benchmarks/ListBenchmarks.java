@@ -0,0 +1,342 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import org.javimmutable.collections.IDeque;
+import org.javimmutable.collections.IDeques;
+import org.javimmutable.collections.IList;
+import org.javimmutable.collections.ILists;
+import org.javimmutable.collections.indexed.IndexedHelper;
+import org.javimmutable.collections.iterators.IndexedIterator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures indexed access, modification and iteration for the list like collections.
+ * As with {@link MapBenchmarks} persistent implementations always start from the same
+ * list while the java.util baseline is modified in place and restored where needed to
+ * keep its size constant.  Guava lists are copied in full on every change.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ListBenchmarks
+{
+    @Param({"list", "deque", "java.util.ArrayList", "guava.ImmutableList"})
+    public String implementation;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private Adapter list;
+    private int[] indexes;
+    private int current;
+
+    @Setup
+    public void setup()
+    {
+        final Random random = new Random(8675309L);
+        indexes = new int[size];
+        for (int i = 0; i < size; ++i) {
+            indexes[i] = random.nextInt(size);
+        }
+        list = createAdapter(implementation, size);
+    }
+
+    @Benchmark
+    public Object get()
+    {
+        return list.get(nextIndex());
+    }
+
+    @Benchmark
+    public Object assign()
+    {
+        final int index = nextIndex();
+        return list.assign(index, -index);
+    }
+
+    @Benchmark
+    public Object insertLast()
+    {
+        return list.insertLast(current);
+    }
+
+    @Benchmark
+    public Object deleteLast()
+    {
+        return list.deleteLast();
+    }
+
+    @Benchmark
+    public void iterate(Blackhole bh)
+    {
+        list.iterate(bh);
+    }
+
+    private int nextIndex()
+    {
+        final int index = indexes[current];
+        current = (current + 1) % indexes.length;
+        return index;
+    }
+
+    static Adapter createAdapter(String implementation,
+                                 int size)
+    {
+        switch (implementation) {
+            case "list":
+                return new PersistentListAdapter(size);
+            case "deque":
+                return new PersistentDequeAdapter(size);
+            case "java.util.ArrayList":
+                return new MutableListAdapter(size);
+            case "guava.ImmutableList":
+                return new GuavaListAdapter(size);
+            default:
+                throw new IllegalArgumentException("unknown implementation: " + implementation);
+        }
+    }
+
+    interface Adapter
+    {
+        Object get(int index);
+
+        Object assign(int index,
+                      Integer value);
+
+        Object insertLast(Integer value);
+
+        Object deleteLast();
+
+        void iterate(Blackhole bh);
+    }
+
+    private static class PersistentListAdapter
+        implements Adapter
+    {
+        private final IList<Integer> list;
+
+        private PersistentListAdapter(int size)
+        {
+            list = ILists.<Integer>builder().addAll(IndexedHelper.range(0, size - 1)).build();
+        }
+
+        @Override
+        public Object get(int index)
+        {
+            return list.get(index);
+        }
+
+        @Override
+        public Object assign(int index,
+                             Integer value)
+        {
+            return list.assign(index, value);
+        }
+
+        @Override
+        public Object insertLast(Integer value)
+        {
+            return list.insertLast(value);
+        }
+
+        @Override
+        public Object deleteLast()
+        {
+            return list.deleteLast();
+        }
+
+        @Override
+        public void iterate(Blackhole bh)
+        {
+            list.forEach(bh::consume);
+        }
+    }
+
+    private static class PersistentDequeAdapter
+        implements Adapter
+    {
+        private final IDeque<Integer> deque;
+
+        private PersistentDequeAdapter(int size)
+        {
+            deque = IDeques.<Integer>builder().addAll(IndexedHelper.range(0, size - 1)).build();
+        }
+
+        @Override
+        public Object get(int index)
+        {
+            return deque.get(index);
+        }
+
+        @Override
+        public Object assign(int index,
+                             Integer value)
+        {
+            return deque.assign(index, value);
+        }
+
+        @Override
+        public Object insertLast(Integer value)
+        {
+            return deque.insertLast(value);
+        }
+
+        @Override
+        public Object deleteLast()
+        {
+            return deque.deleteLast();
+        }
+
+        @Override
+        public void iterate(Blackhole bh)
+        {
+            deque.forEach(bh::consume);
+        }
+    }
+
+    private static class MutableListAdapter
+        implements Adapter
+    {
+        private final List<Integer> list;
+
+        private MutableListAdapter(int size)
+        {
+            list = new ArrayList<>(size + 1);
+            IndexedIterator.forRange(0, size - 1).forEachRemaining(list::add);
+        }
+
+        @Override
+        public Object get(int index)
+        {
+            return list.get(index);
+        }
+
+        @Override
+        public Object assign(int index,
+                             Integer value)
+        {
+            return list.set(index, value);
+        }
+
+        @Override
+        public Object insertLast(Integer value)
+        {
+            list.add(value);
+            return list.remove(list.size() - 1);
+        }
+
+        @Override
+        public Object deleteLast()
+        {
+            final Integer value = list.remove(list.size() - 1);
+            list.add(value);
+            return value;
+        }
+
+        @Override
+        public void iterate(Blackhole bh)
+        {
+            list.forEach(bh::consume);
+        }
+    }
+
+    private static class GuavaListAdapter
+        implements Adapter
+    {
+        private final ImmutableList<Integer> list;
+
+        private GuavaListAdapter(int size)
+        {
+            list = ImmutableList.copyOf(IndexedIterator.forRange(0, size - 1));
+        }
+
+        @Override
+        public Object get(int index)
+        {
+            return list.get(index);
+        }
+
+        @Override
+        public Object assign(int index,
+                             Integer value)
+        {
+            final ImmutableList.Builder<Integer> builder = ImmutableList.builderWithExpectedSize(list.size());
+            builder.addAll(list.subList(0, index));
+            builder.add(value);
+            builder.addAll(list.subList(index + 1, list.size()));
+            return builder.build();
+        }
+
+        @Override
+        public Object insertLast(Integer value)
+        {
+            return ImmutableList.builderWithExpectedSize(list.size() + 1).addAll(list).add(value).build();
+        }
+
+        @Override
+        public Object deleteLast()
+        {
+            return list.subList(0, list.size() - 1);
+        }
+
+        @Override
+        public void iterate(Blackhole bh)
+        {
+            list.forEach(bh::consume);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.benchmarks;
+
+import org.javimmutable.collections.IListMap;
+import org.javimmutable.collections.IListMaps;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures appending values to and reading the lists of a list map.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ListMapBenchmarks
+{
+    private static final int VALUES_PER_KEY = 8;
+
+    @Param({"hash", "tree", "ordered"})
+    public String implementation;
+
+    @Param({"1000", "75000"})
+    public int size;
+
+    private IListMap<Integer, Integer> map;
+    private Integer[] keys;
+    private int current;
+
+    @Setup
+    public void setup()
+    {
+        keys = KeyDistribution.RANDOM.keys(8675309L, size);
+        IListMap<Integer, Integer> map = createEmpty(implementation);
+        for (Integer key : keys) {
+            for (int i = 0; i < VALUES_PER_KEY; ++i) {
+                map = map.insert(key, i);
+            }
+        }
+        this.map = map;
+    }
+
+    @Benchmark
+    public Object insert()
+    {
+        return map.insert(nextKey(), -1);
+    }
+
+    @Benchmark
+    public Object getList()
+    {
+        return map.getList(nextKey());
+    }
+
+    @Benchmark
+    public Object delete()
+    {
+        return map.delete(nextKey());
+    }
+
+    private Integer nextKey()
+    {
+        final Integer key = keys[current];
+        current = (current + 1) % keys.length;
+        return key;
+    }
+
+    private static IListMap<Integer, Integer> createEmpty(String implementation)
+    {
+        switch (implementation) {
+            case "hash":
+                return IListMaps.hashed();
+            case "tree":
+                return IListMaps.sorted();
+            case "ordered":
+                return IListMaps.ordered();
+            default:
+                throw new IllegalArgumentException("unknown implementation: " + implementation);
+        }
+    }
+}
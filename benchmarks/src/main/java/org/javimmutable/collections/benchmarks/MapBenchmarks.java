@@ -0,0 +1,372 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.benchmarks;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+import org.javimmutable.collections.IArray;
+import org.javimmutable.collections.IArrayBuilder;
+import org.javimmutable.collections.IArrays;
+import org.javimmutable.collections.IMap;
+import org.javimmutable.collections.IMapBuilder;
+import org.javimmutable.collections.IMaps;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures single key operations and full iteration for the map like collections.
+ * Persistent implementations always apply assign and delete to the same starting
+ * map so every invocation pays for the path copy of a single change.  The mutable
+ * java.util baselines modify their map in place.  Their delete benchmark puts the
+ * removed entry back so the map keeps its size and the reported time includes that put.
+ * The Guava baselines are immutable but not persistent so assign and delete copy the
+ * whole map.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MapBenchmarks
+{
+    @Param({"hash", "tree", "ordered", "array", "java.util.HashMap", "java.util.TreeMap", "guava.ImmutableMap", "guava.ImmutableSortedMap"})
+    public String implementation;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"RANDOM", "SEQUENTIAL"})
+    public KeyDistribution distribution;
+
+    private Adapter map;
+    private Integer[] presentKeys;
+    private Integer[] absentKeys;
+    private int presentIndex;
+    private int absentIndex;
+
+    @Setup
+    public void setup()
+    {
+        final Integer[] keys = distribution.keys(8675309L, 2 * size);
+        presentKeys = new Integer[size];
+        absentKeys = new Integer[size];
+        System.arraycopy(keys, 0, presentKeys, 0, size);
+        System.arraycopy(keys, size, absentKeys, 0, size);
+        map = createAdapter(implementation, presentKeys);
+    }
+
+    @Benchmark
+    public Object find()
+    {
+        return map.find(nextPresentKey());
+    }
+
+    @Benchmark
+    public Object findMissing()
+    {
+        return map.find(nextAbsentKey());
+    }
+
+    @Benchmark
+    public Object assignExisting()
+    {
+        final Integer key = nextPresentKey();
+        return map.assign(key, -key);
+    }
+
+    @Benchmark
+    public Object assignNew()
+    {
+        final Integer key = nextAbsentKey();
+        return map.assign(key, key);
+    }
+
+    @Benchmark
+    public Object delete()
+    {
+        return map.delete(nextPresentKey());
+    }
+
+    @Benchmark
+    public void iterate(Blackhole bh)
+    {
+        map.iterate(bh);
+    }
+
+    private Integer nextPresentKey()
+    {
+        final Integer key = presentKeys[presentIndex];
+        presentIndex = (presentIndex + 1) % presentKeys.length;
+        return key;
+    }
+
+    private Integer nextAbsentKey()
+    {
+        final Integer key = absentKeys[absentIndex];
+        absentIndex = (absentIndex + 1) % absentKeys.length;
+        return key;
+    }
+
+    static Adapter createAdapter(String implementation,
+                                 Integer[] keys)
+    {
+        switch (implementation) {
+            case "hash":
+                return new PersistentMapAdapter(IMaps.hashedBuilder(), keys);
+            case "tree":
+                return new PersistentMapAdapter(IMaps.sortedBuilder(), keys);
+            case "ordered":
+                return new PersistentMapAdapter(IMaps.orderedBuilder(), keys);
+            case "array":
+                return new ArrayAdapter(keys);
+            case "java.util.HashMap":
+                return new MutableMapAdapter(java.util.HashMap::new, keys);
+            case "java.util.TreeMap":
+                return new MutableMapAdapter(java.util.TreeMap::new, keys);
+            case "guava.ImmutableMap":
+                return new GuavaMapAdapter(ImmutableMap.builder(), keys);
+            case "guava.ImmutableSortedMap":
+                return new GuavaMapAdapter(ImmutableSortedMap.naturalOrder(), keys);
+            default:
+                throw new IllegalArgumentException("unknown implementation: " + implementation);
+        }
+    }
+
+    /**
+     * Common interface used by the benchmarks so each can be run against every implementation.
+     */
+    interface Adapter
+    {
+        Object find(Integer key);
+
+        Object assign(Integer key,
+                      Integer value);
+
+        Object delete(Integer key);
+
+        void iterate(Blackhole bh);
+    }
+
+    private static class PersistentMapAdapter
+        implements Adapter
+    {
+        private final IMap<Integer, Integer> map;
+
+        private PersistentMapAdapter(IMapBuilder<Integer, Integer> builder,
+                                     Integer[] keys)
+        {
+            for (Integer key : keys) {
+                builder.add(key, key);
+            }
+            map = builder.build();
+        }
+
+        @Override
+        public Object find(Integer key)
+        {
+            return map.get(key);
+        }
+
+        @Override
+        public Object assign(Integer key,
+                             Integer value)
+        {
+            return map.assign(key, value);
+        }
+
+        @Override
+        public Object delete(Integer key)
+        {
+            return map.delete(key);
+        }
+
+        @Override
+        public void iterate(Blackhole bh)
+        {
+            map.forEach((k, v) -> bh.consume(v));
+        }
+    }
+
+    private static class ArrayAdapter
+        implements Adapter
+    {
+        private final IArray<Integer> array;
+
+        private ArrayAdapter(Integer[] keys)
+        {
+            final IArrayBuilder<Integer> builder = IArrays.builder();
+            for (Integer key : keys) {
+                builder.put(key, key);
+            }
+            array = builder.build();
+        }
+
+        @Override
+        public Object find(Integer key)
+        {
+            return array.get(key);
+        }
+
+        @Override
+        public Object assign(Integer key,
+                             Integer value)
+        {
+            return array.assign(key, value);
+        }
+
+        @Override
+        public Object delete(Integer key)
+        {
+            return array.delete(key);
+        }
+
+        @Override
+        public void iterate(Blackhole bh)
+        {
+            array.forEach((i, v) -> bh.consume(v));
+        }
+    }
+
+    private static class MutableMapAdapter
+        implements Adapter
+    {
+        private final Map<Integer, Integer> map;
+
+        private MutableMapAdapter(Supplier<Map<Integer, Integer>> factory,
+                                  Integer[] keys)
+        {
+            map = factory.get();
+            for (Integer key : keys) {
+                map.put(key, key);
+            }
+        }
+
+        @Override
+        public Object find(Integer key)
+        {
+            return map.get(key);
+        }
+
+        @Override
+        public Object assign(Integer key,
+                             Integer value)
+        {
+            return map.put(key, value);
+        }
+
+        @Override
+        public Object delete(Integer key)
+        {
+            final Integer value = map.remove(key);
+            map.put(key, value);
+            return value;
+        }
+
+        @Override
+        public void iterate(Blackhole bh)
+        {
+            map.forEach((k, v) -> bh.consume(v));
+        }
+    }
+
+    private static class GuavaMapAdapter
+        implements Adapter
+    {
+        private final ImmutableMap<Integer, Integer> map;
+        private final Supplier<ImmutableMap.Builder<Integer, Integer>> factory;
+
+        private GuavaMapAdapter(ImmutableMap.Builder<Integer, Integer> builder,
+                                Integer[] keys)
+        {
+            for (Integer key : keys) {
+                builder.put(key, key);
+            }
+            map = builder.build();
+            factory = (map instanceof ImmutableSortedMap) ? ImmutableSortedMap::naturalOrder : ImmutableMap::builder;
+        }
+
+        @Override
+        public Object find(Integer key)
+        {
+            return map.get(key);
+        }
+
+        @Override
+        public Object assign(Integer key,
+                             Integer value)
+        {
+            return copyWithout(key).put(key, value).build();
+        }
+
+        @Override
+        public Object delete(Integer key)
+        {
+            return copyWithout(key).build();
+        }
+
+        private ImmutableMap.Builder<Integer, Integer> copyWithout(Integer key)
+        {
+            final ImmutableMap.Builder<Integer, Integer> builder = factory.get();
+            map.forEach((k, v) -> {
+                if (!k.equals(key)) {
+                    builder.put(k, v);
+                }
+            });
+            return builder;
+        }
+
+        @Override
+        public void iterate(Blackhole bh)
+        {
+            map.forEach((k, v) -> bh.consume(v));
+        }
+    }
+}
@@ -0,0 +1,235 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.benchmarks;
+
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.Multiset;
+import com.google.common.collect.TreeMultiset;
+import org.javimmutable.collections.IMultiset;
+import org.javimmutable.collections.IMultisets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures occurrence counting, insertion, deletion and iteration for the multisets.
+ * Every value starts with three occurrences.  The mutable Guava baselines undo
+ * their changes after each invocation so the multiset keeps its contents.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MultisetBenchmarks
+{
+    private static final int OCCURRENCES = 3;
+
+    @Param({"hash", "tree", "ordered", "guava.HashMultiset", "guava.TreeMultiset"})
+    public String implementation;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"RANDOM", "SEQUENTIAL"})
+    public KeyDistribution distribution;
+
+    private Adapter multiset;
+    private Integer[] values;
+    private int current;
+
+    @Setup
+    public void setup()
+    {
+        values = distribution.keys(8675309L, size);
+        multiset = createAdapter(implementation, values);
+    }
+
+    @Benchmark
+    public int count()
+    {
+        return multiset.count(nextValue());
+    }
+
+    @Benchmark
+    public Object insert()
+    {
+        return multiset.insert(nextValue());
+    }
+
+    @Benchmark
+    public Object deleteOccurrence()
+    {
+        return multiset.deleteOccurrence(nextValue());
+    }
+
+    @Benchmark
+    public void iterate(Blackhole bh)
+    {
+        multiset.iterate(bh);
+    }
+
+    private Integer nextValue()
+    {
+        final Integer value = values[current];
+        current = (current + 1) % values.length;
+        return value;
+    }
+
+    static Adapter createAdapter(String implementation,
+                                 Integer[] values)
+    {
+        switch (implementation) {
+            case "hash":
+                return new PersistentAdapter(IMultisets.hashed(), values);
+            case "tree":
+                return new PersistentAdapter(IMultisets.sorted(), values);
+            case "ordered":
+                return new PersistentAdapter(IMultisets.ordered(), values);
+            case "guava.HashMultiset":
+                return new GuavaAdapter(HashMultiset::create, values);
+            case "guava.TreeMultiset":
+                return new GuavaAdapter(TreeMultiset::create, values);
+            default:
+                throw new IllegalArgumentException("unknown implementation: " + implementation);
+        }
+    }
+
+    interface Adapter
+    {
+        int count(Integer value);
+
+        Object insert(Integer value);
+
+        Object deleteOccurrence(Integer value);
+
+        void iterate(Blackhole bh);
+    }
+
+    private static class PersistentAdapter
+        implements Adapter
+    {
+        private final IMultiset<Integer> multiset;
+
+        private PersistentAdapter(IMultiset<Integer> empty,
+                                  Integer[] values)
+        {
+            IMultiset<Integer> multiset = empty;
+            for (Integer value : values) {
+                multiset = multiset.insert(value, OCCURRENCES);
+            }
+            this.multiset = multiset;
+        }
+
+        @Override
+        public int count(Integer value)
+        {
+            return multiset.count(value);
+        }
+
+        @Override
+        public Object insert(Integer value)
+        {
+            return multiset.insert(value);
+        }
+
+        @Override
+        public Object deleteOccurrence(Integer value)
+        {
+            return multiset.deleteOccurrence(value);
+        }
+
+        @Override
+        public void iterate(Blackhole bh)
+        {
+            multiset.entries().forEach(bh::consume);
+        }
+    }
+
+    private static class GuavaAdapter
+        implements Adapter
+    {
+        private final Multiset<Integer> multiset;
+
+        private GuavaAdapter(Supplier<Multiset<Integer>> factory,
+                             Integer[] values)
+        {
+            multiset = factory.get();
+            for (Integer value : values) {
+                multiset.add(value, OCCURRENCES);
+            }
+        }
+
+        @Override
+        public int count(Integer value)
+        {
+            return multiset.count(value);
+        }
+
+        @Override
+        public Object insert(Integer value)
+        {
+            multiset.add(value);
+            return multiset.remove(value);
+        }
+
+        @Override
+        public Object deleteOccurrence(Integer value)
+        {
+            multiset.remove(value);
+            return multiset.add(value);
+        }
+
+        @Override
+        public void iterate(Blackhole bh)
+        {
+            multiset.entrySet().forEach(bh::consume);
+        }
+    }
+}
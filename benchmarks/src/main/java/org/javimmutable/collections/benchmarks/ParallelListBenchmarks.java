@@ -0,0 +1,115 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.benchmarks;
+
+import org.javimmutable.collections.Maybe;
+import org.javimmutable.collections.indexed.IndexedHelper;
+import org.javimmutable.collections.list.TreeList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the sequential TreeList bulk operations with their fork-join counterparts.
+ * The parallel versions run in the common ForkJoinPool using the default threshold so
+ * results depend on the number of available cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ParallelListBenchmarks
+{
+    @Param({"100000", "10000000"})
+    public int size;
+
+    private TreeList<Integer> list;
+
+    @Setup
+    public void setup()
+    {
+        list = TreeList.of(IndexedHelper.range(0, size - 1));
+    }
+
+    @Benchmark
+    public Object select()
+    {
+        return list.select(x -> x % 3 == 0);
+    }
+
+    @Benchmark
+    public Object parallelSelect()
+    {
+        return list.parallelSelect(x -> x % 3 == 0);
+    }
+
+    @Benchmark
+    public Object transform()
+    {
+        return list.transform(x -> -x);
+    }
+
+    @Benchmark
+    public Object parallelTransform()
+    {
+        return list.parallelTransform(x -> -x);
+    }
+
+    @Benchmark
+    public Object transformSome()
+    {
+        return list.transformSome(x -> x % 3 == 0 ? Maybe.of(-x) : Maybe.empty());
+    }
+
+    @Benchmark
+    public Object parallelTransformSome()
+    {
+        return list.parallelTransformSome(x -> x % 3 == 0 ? Maybe.of(-x) : Maybe.empty());
+    }
+}
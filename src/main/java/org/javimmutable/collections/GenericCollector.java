@@ -49,8 +49,8 @@ import java.util.stream.Collector;
 
 public final class GenericCollector
 {
-    private static final Set<Collector.Characteristics> ORDERED = Collections.unmodifiableSet(EnumSet.of(Collector.Characteristics.CONCURRENT));
-    private static final Set<Collector.Characteristics> UNORDERED = Collections.unmodifiableSet(EnumSet.of(Collector.Characteristics.UNORDERED, Collector.Characteristics.CONCURRENT));
+    private static final Set<Collector.Characteristics> ORDERED = Collections.emptySet();
+    private static final Set<Collector.Characteristics> UNORDERED = Collections.unmodifiableSet(EnumSet.of(Collector.Characteristics.UNORDERED));
 
     private GenericCollector()
     {
@@ -136,6 +136,11 @@ public final class GenericCollector
         }
     }
 
+    /**
+     * Each thread of a parallel stream accumulates into its own Accumulator so no locking
+     * is needed.  Partial results are merged using the combiner which should take advantage
+     * of any structural merge the collection supports.
+     */
     private static class Accumulator<T, C>
     {
         private Func2<C, T, C> adder;
@@ -151,12 +156,12 @@ public final class GenericCollector
             this.list = list;
         }
 
-        private synchronized void add(T value)
+        private void add(T value)
         {
             list = adder.apply(list, value);
         }
 
-        private synchronized Accumulator<T, C> combine(Accumulator<T, C> other)
+        private Accumulator<T, C> combine(Accumulator<T, C> other)
         {
             list = combiner.apply(list, other.list);
             return this;
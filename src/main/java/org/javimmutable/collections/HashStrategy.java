@@ -0,0 +1,153 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections;
+
+import org.javimmutable.collections.common.HashStrategies;
+
+import javax.annotation.Nonnull;
+import java.util.function.BiPredicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Determines how hash based collections compute the hash code of a key and decide whether
+ * two keys are the same.  The default strategy uses the keys' own hashCode() and equals()
+ * methods.  Other strategies allow keys with poorly distributed hash codes, keys compared
+ * by identity, and arrays compared by content to be used efficiently.
+ * <p>
+ * Implementations must be consistent: equivalent keys must always have the same hash code.
+ * Collections using different strategies never share structure so using a single instance
+ * for related collections allows operations such as union to work directly on their tries.
+ */
+public interface HashStrategy<T>
+{
+    /**
+     * Computes the hash code used to place value in a hash trie.
+     */
+    int hash(@Nonnull T value);
+
+    /**
+     * Determines whether a and b represent the same key.
+     */
+    boolean equivalent(@Nonnull T a,
+                       @Nonnull T b);
+
+    /**
+     * Strategy using hashCode() and equals().  This is the strategy used by all hash
+     * based collections unless another is specified.
+     */
+    @Nonnull
+    static <T> HashStrategy<T> standard()
+    {
+        return HashStrategies.standard();
+    }
+
+    /**
+     * Strategy using equals() and a bit mixing function applied to hashCode().  Useful for keys
+     * such as sequential Integer or Long ids whose hash codes share most of their high bits
+     * and so would otherwise crowd into a small part of the trie.
+     */
+    @Nonnull
+    static <T> HashStrategy<T> spreading()
+    {
+        return HashStrategies.spreading();
+    }
+
+    /**
+     * Strategy comparing keys using == and hashing them using System.identityHashCode().
+     */
+    @Nonnull
+    static <T> HashStrategy<T> identity()
+    {
+        return HashStrategies.identity();
+    }
+
+    /**
+     * Strategy comparing byte arrays by content.  Arrays must not be modified while in use as keys.
+     */
+    @Nonnull
+    static HashStrategy<byte[]> byteArrays()
+    {
+        return HashStrategies.byteArrays();
+    }
+
+    /**
+     * Strategy comparing char arrays by content.  Arrays must not be modified while in use as keys.
+     */
+    @Nonnull
+    static HashStrategy<char[]> charArrays()
+    {
+        return HashStrategies.charArrays();
+    }
+
+    /**
+     * Strategy comparing int arrays by content.  Arrays must not be modified while in use as keys.
+     */
+    @Nonnull
+    static HashStrategy<int[]> intArrays()
+    {
+        return HashStrategies.intArrays();
+    }
+
+    /**
+     * Strategy comparing long arrays by content.  Arrays must not be modified while in use as keys.
+     */
+    @Nonnull
+    static HashStrategy<long[]> longArrays()
+    {
+        return HashStrategies.longArrays();
+    }
+
+    /**
+     * Strategy using the provided functions.  The hash codes are used exactly as returned
+     * by hasher so use {@link #spread(int)} if they are not already well distributed.
+     * The strategy is serializable if both functions are serializable.
+     */
+    @Nonnull
+    static <T> HashStrategy<T> of(@Nonnull ToIntFunction<? super T> hasher,
+                                  @Nonnull BiPredicate<? super T, ? super T> equivalence)
+    {
+        return HashStrategies.of(hasher, equivalence);
+    }
+
+    /**
+     * Mixes the bits of hashCode so that every bit of the input affects the high bits of
+     * the result.  Uses the finalization step of MurmurHash3.
+     */
+    static int spread(int hashCode)
+    {
+        return HashStrategies.spread(hashCode);
+    }
+}
@@ -183,6 +183,14 @@ public interface IArray<T>
     <E extends Exception> void forEachThrows(@Nonnull IndexedProc1Throws<T, E> proc)
         throws E;
 
+    /**
+     * Creates a cursor that visits every element in the array in order by index without
+     * allocating any objects per element.  The cursor reports the actual index of each
+     * element as a primitive int.
+     */
+    @Nonnull
+    IArrayCursor<T> cursor();
+
     /**
      * Creates and returns a new Builder object for the same value type as this array.
      *
@@ -131,6 +131,17 @@ public final class IArrays
         return TrieArray.builder();
     }
 
+    /**
+     * Version of {@link #builder()} for use by a single thread.  Its methods do not
+     * synchronize.  When assertions are enabled the builder throws IllegalStateException
+     * if used by any thread other than the one that created it.
+     */
+    @Nonnull
+    public static <T> IArrayBuilder<T> unsynchronizedBuilder()
+    {
+        return TrieArray.unsynchronizedBuilder();
+    }
+
     /**
      * Collects values into a {@link IArray}.
      */
@@ -38,6 +38,7 @@ package org.javimmutable.collections;
 import javax.annotation.Nonnull;
 import java.io.Serializable;
 import java.util.Iterator;
+import java.util.function.Predicate;
 
 public interface ICollection<T>
     extends IStreamable<T>,
@@ -87,4 +88,54 @@ public interface ICollection<T>
      */
     @Nonnull
     ICollection<T> deleteAll();
+
+    /**
+     * Passes values to predicate in iteration order until it returns false.  Implementations
+     * stop descending their internal structure as soon as predicate returns false so this is
+     * the preferred way to perform a search that may end early.
+     *
+     * @return true if predicate returned true for every value
+     */
+    default boolean forEachWhile(@Nonnull Predicate<? super T> predicate)
+    {
+        for (T value : this) {
+            if (!predicate.test(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if predicate returns true for at least one value
+     */
+    default boolean anyMatch(@Nonnull Predicate<? super T> predicate)
+    {
+        return !forEachWhile(value -> !predicate.test(value));
+    }
+
+    /**
+     * @return true if predicate returns true for every value (including when the collection is empty)
+     */
+    default boolean allMatch(@Nonnull Predicate<? super T> predicate)
+    {
+        return forEachWhile(predicate);
+    }
+
+    /**
+     * @return the first value in iteration order for which predicate returns true
+     */
+    @Nonnull
+    default Maybe<T> findFirst(@Nonnull Predicate<? super T> predicate)
+    {
+        final Temp.Var1<Maybe<T>> answer = Temp.var(Maybe.empty());
+        forEachWhile(value -> {
+            if (predicate.test(value)) {
+                answer.x = Maybe.of(value);
+                return false;
+            }
+            return true;
+        });
+        return answer.x;
+    }
 }
@@ -106,6 +106,8 @@ public final class ICollectors
 
     /**
      * Creates a Collector suitable for use in the stream to produce a map.
+     * In a parallel stream each thread fills its own map and the partial
+     * maps are merged structurally rather than by re-inserting every entry.
      */
     @Nonnull
     public static <K, V> Collector<IMapEntry<K, V>, ?, IMap<K, V>> toMap()
@@ -178,6 +180,8 @@ public final class ICollectors
 
     /**
      * Collects into an unsorted set to the set.
+     * In a parallel stream each thread fills its own set and the partial
+     * sets are merged structurally rather than by re-inserting every value.
      */
     @Nonnull
     public static <T> Collector<T, ?, ISet<T>> toSet()
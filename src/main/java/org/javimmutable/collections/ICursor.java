@@ -0,0 +1,77 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Alternative to Iterator for visiting the values of a collection in hot loops.
+ * Implementations for the trie and tree based collections keep all of their
+ * traversal state in fields allocated when the cursor is created so visiting
+ * values creates no garbage.  A cursor starts positioned before the first value
+ * and can be reused by calling reset() to position it there again.
+ * <p>
+ * Typical usage:
+ * <pre>
+ *     final ICursor&lt;T&gt; cursor = set.cursor();
+ *     while (cursor.advance()) {
+ *         process(cursor.value());
+ *     }
+ * </pre>
+ */
+@NotThreadSafe
+public interface ICursor<T>
+{
+    /**
+     * Moves the cursor to the next value in the collection.
+     *
+     * @return true if the cursor is positioned at a value, false if no values remain
+     */
+    boolean advance();
+
+    /**
+     * Returns the value at the cursor's current position.
+     *
+     * @throws java.util.NoSuchElementException if advance() has not returned true since the last reset()
+     */
+    T value();
+
+    /**
+     * Positions the cursor before the first value so it can be used to visit the
+     * collection again.
+     */
+    void reset();
+}
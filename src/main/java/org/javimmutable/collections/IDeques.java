@@ -93,6 +93,17 @@ public final class IDeques
         return ArrayDeque.builder();
     }
 
+    /**
+     * Version of {@link #builder()} for use by a single thread.  Its methods do not
+     * synchronize.  When assertions are enabled the builder throws IllegalStateException
+     * if used by any thread other than the one that created it.
+     */
+    @Nonnull
+    public static <T> IDequeBuilder<T> unsynchronizedBuilder()
+    {
+        return ArrayDeque.unsynchronizedBuilder();
+    }
+
     /**
      * Collects values into a IDeque.
      */
@@ -94,6 +94,17 @@ public final class ILists
         return TreeList.listBuilder();
     }
 
+    /**
+     * Version of {@link #builder()} for use by a single thread.  Its methods do not
+     * synchronize.  When assertions are enabled the builder throws IllegalStateException
+     * if used by any thread other than the one that created it.
+     */
+    @Nonnull
+    public static <T> IListBuilder<T> unsynchronizedBuilder()
+    {
+        return TreeList.unsynchronizedListBuilder();
+    }
+
     /**
      * Efficiently collects values into a {@link IList} built atop a balanced binary tree.
      */
@@ -0,0 +1,174 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Immutable sparse array implementation using longs as keys.  Keys are traversed in signed long
+ * order by Iterators so negative values are visited before positive values.  The get, find,
+ * assign and delete methods accept primitive long indexes so lookups and updates never box
+ * the index.
+ * <p>
+ * Arrays are sparse meaning that they can contain elements at any valid index with no need
+ * to keep them consecutive (like a List).  Memory is managed to use no more than necessary
+ * for the number of elements currently in the array.
+ */
+@Immutable
+public interface ILongArray<T>
+    extends ICollection<IMapEntry<Long, T>>,
+            InvariantCheckable,
+            Serializable
+{
+    /**
+     * Return the value associated with index or null if no value is associated.
+     * Note that if null is an acceptable value to the container then this method
+     * will be ambiguous and find() should be used instead.
+     *
+     * @param index identifies the value to retrieve
+     * @return value associated with index or null if no value is associated
+     */
+    @Nullable
+    T get(long index);
+
+    /**
+     * Return the value associated with index or defaultValue if no value is associated.
+     * Note that if defaultValue is an acceptable value to the container then this method
+     * will be ambiguous and find() should be used instead.
+     *
+     * @param index        identifies the value to retrieve
+     * @param defaultValue value to return if no entry exists for index
+     * @return value associated with index or defaultValue if no value is associated
+     */
+    T getValueOr(long index,
+                 @Nullable T defaultValue);
+
+    /**
+     * Return a Holder containing the value associated wth the index or an empty
+     * Holder if no value is associated with the index.
+     *
+     * @param index identifies the value to retrieve
+     * @return possibly empty Holder containing any value associated with the index
+     */
+    @Nonnull
+    Maybe<T> find(long index);
+
+    /**
+     * Search for an Entry within the array and return a Holder indicating if the Entry
+     * was found and, if it was found, the Entry itself.
+     *
+     * @param index index to search for
+     * @return empty Holder if not found, otherwise filled Holder with Entry
+     */
+    @Nonnull
+    Maybe<IMapEntry<Long, T>> findEntry(long index);
+
+    @Nonnull
+    @Override
+    ILongArray<T> insert(IMapEntry<Long, T> value);
+
+    @Nonnull
+    @Override
+    ILongArray<T> insertAll(@Nonnull Iterator<? extends IMapEntry<Long, T>> iterator);
+
+    @Nonnull
+    @Override
+    ILongArray<T> insertAll(@Nonnull Iterable<? extends IMapEntry<Long, T>> iterable);
+
+    /**
+     * Sets the value associated with a specific index.  Value can be null.  If the index
+     * already has a value in the array the old value is discarded and the new value is
+     * stored in its place.  Returns a new {@link ILongArray} reflecting any changes.
+     * The original array is always left unchanged.
+     *
+     * @param index index
+     * @param value possibly null value
+     * @return new array reflecting the change
+     */
+    @Nonnull
+    ILongArray<T> assign(long index,
+                         @Nullable T value);
+
+    /**
+     * Deletes the entry for the specified index (if any).  Returns a new array if the value
+     * was deleted or the current array if the index was not contained in the array.
+     *
+     * @param index index
+     * @return same or different array depending on whether index was removed
+     */
+    @Nonnull
+    ILongArray<T> delete(long index);
+
+    /**
+     * @return an equivalent collection with no values
+     */
+    @Nonnull
+    @Override
+    ILongArray<T> deleteAll();
+
+    /**
+     * Creates an unmodifiable java.util.Map reflecting the values of the array.
+     *
+     * @return Map view of this array
+     */
+    @Nonnull
+    Map<Long, T> getMap();
+
+    /**
+     * Creates an IStreamable to access all of the array's keys.
+     */
+    @Nonnull
+    IStreamable<Long> keys();
+
+    /**
+     * Creates an IStreamable to access all of the array's values.
+     */
+    @Nonnull
+    IStreamable<T> values();
+
+    /**
+     * Creates and returns a new Builder object for the same value type as this array.
+     *
+     * @return An empty Builder object ready for use to create a new {@link ILongArray}.
+     */
+    @Nonnull
+    ILongArrayBuilder<T> toBuilder();
+}
@@ -0,0 +1,105 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections;
+
+import javax.annotation.Nonnull;
+import java.util.Iterator;
+
+public interface ILongArrayBuilder<T>
+{
+    /**
+     * Builds and returns a collection containing all of the added values.  May be called
+     * as often as desired and is safe to call and then continue adding more elements to build
+     * another collection with those additional elements.
+     *
+     * @return the collection
+     */
+    @Nonnull
+    ILongArray<T> build();
+
+    /**
+     * Determines how many values will be in the collection if build() is called now.
+     */
+    int size();
+
+    /**
+     * Adds the specified value to the values included in the collection when build() is called.
+     *
+     * @return the builder (convenience for chaining multiple calls)
+     */
+    @Nonnull
+    ILongArrayBuilder<T> put(long index,
+                             T value);
+
+    /**
+     * Adds all values from the provided Iterator using the entry keys as indexes and the
+     * entry values as values.  Intended to simplify adding all values from an existing
+     * {@link ILongArray} or {@link IMap} into a new Builder.
+     *
+     * @param source Iterator containing entries to add
+     * @return the builder (convenience for chaining multiple calls)
+     */
+    @Nonnull
+    default ILongArrayBuilder<T> putAll(@Nonnull Iterator<? extends IMapEntry<Long, ? extends T>> source)
+    {
+        while (source.hasNext()) {
+            final IMapEntry<Long, ? extends T> entry = source.next();
+            put(entry.getKey(), entry.getValue());
+        }
+        return this;
+    }
+
+    /**
+     * Adds all values from the provided Iterable using the entry keys as indexes and the
+     * entry values as values.
+     *
+     * @param source Iterable containing entries to add
+     * @return the builder (convenience for chaining multiple calls)
+     */
+    @Nonnull
+    default ILongArrayBuilder<T> putAll(@Nonnull Iterable<? extends IMapEntry<Long, ? extends T>> source)
+    {
+        return putAll(source.iterator());
+    }
+
+    /**
+     * Removes all objects and resets the builder to it's initial post-build state.
+     *
+     * @return the builder (convenience for chaining multiple calls)
+     */
+    @Nonnull
+    ILongArrayBuilder<T> clear();
+}
@@ -0,0 +1,111 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections;
+
+import org.javimmutable.collections.array.LongArray;
+
+import javax.annotation.Nonnull;
+import java.util.Iterator;
+import java.util.stream.Collector;
+
+public final class ILongArrays
+{
+    private ILongArrays()
+    {
+    }
+
+    /**
+     * Creates an empty sparse array that supports any long (positive or negative) as an index.
+     * Indexes do not need to be consecutive there can be gaps of any size between indexes.
+     */
+    @Nonnull
+    public static <T> ILongArray<T> of()
+    {
+        return LongArray.of();
+    }
+
+    /**
+     * Creates a sparse array containing all of the values from source that supports any long
+     * (positive or negative) as an index.  Copies all entries into the array using each key
+     * as an index for storing the corresponding value.
+     */
+    @Nonnull
+    public static <T> ILongArray<T> allOf(@Nonnull Iterator<? extends IMapEntry<Long, ? extends T>> source)
+    {
+        return LongArray.<T>builder().putAll(source).build();
+    }
+
+    /**
+     * Creates a sparse array containing all of the values from source that supports any long
+     * (positive or negative) as an index.  Copies all entries into the array using each key
+     * as an index for storing the corresponding value.
+     */
+    @Nonnull
+    public static <T> ILongArray<T> allOf(@Nonnull Iterable<? extends IMapEntry<Long, ? extends T>> source)
+    {
+        return allOf(source.iterator());
+    }
+
+    /**
+     * Produces a Builder for efficiently constructing a ILongArray built atop a 64-way
+     * long trie.  Values are added with explicit indexes using put().
+     */
+    @Nonnull
+    public static <T> ILongArrayBuilder<T> builder()
+    {
+        return LongArray.builder();
+    }
+
+    /**
+     * Version of {@link #builder()} for use by a single thread.  Its methods do not
+     * synchronize.  When assertions are enabled the builder throws IllegalStateException
+     * if used by any thread other than the one that created it.
+     */
+    @Nonnull
+    public static <T> ILongArrayBuilder<T> unsynchronizedBuilder()
+    {
+        return LongArray.unsynchronizedBuilder();
+    }
+
+    /**
+     * Collects entries into a {@link ILongArray} using each key as an index.
+     */
+    @Nonnull
+    public static <T> Collector<IMapEntry<Long, T>, ?, ILongArray<T>> collector()
+    {
+        return LongArray.collector();
+    }
+}
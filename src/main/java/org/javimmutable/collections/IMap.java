@@ -35,11 +35,14 @@
 
 package org.javimmutable.collections;
 
+import org.javimmutable.collections.iterators.IteratorMapCursor;
+
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.Immutable;
 import java.io.Serializable;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Objects;
 import java.util.function.BiPredicate;
 import java.util.stream.Collector;
 
@@ -219,6 +222,16 @@ public interface IMap<K, V>
         return assign(key, newValue);
     }
 
+    /**
+     * Creates a cursor that visits every entry in the map in the same order as iterator().
+     * Hash and tree based maps provide cursors that do not allocate any objects per entry.
+     */
+    @Nonnull
+    default IMapCursor<K, V> cursor()
+    {
+        return IteratorMapCursor.of(this);
+    }
+
     /**
      * Processes every key/value pair in this map using the provided function.
      */
@@ -240,6 +253,56 @@ public interface IMap<K, V>
         }
     }
 
+    /**
+     * Passes key/value pairs to predicate in iteration order until it returns false.
+     * Implementations stop descending their internal structure as soon as predicate
+     * returns false.
+     *
+     * @return true if predicate returned true for every key/value pair
+     */
+    default boolean forEachWhile(@Nonnull BiPredicate<K, V> predicate)
+    {
+        for (IMapEntry<K, V> e : this) {
+            if (!predicate.test(e.getKey(), e.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if predicate returns true for at least one key/value pair
+     */
+    default boolean anyMatch(@Nonnull BiPredicate<K, V> predicate)
+    {
+        return !forEachWhile((k, v) -> !predicate.test(k, v));
+    }
+
+    /**
+     * @return true if predicate returns true for every key/value pair (including when the map is empty)
+     */
+    default boolean allMatch(@Nonnull BiPredicate<K, V> predicate)
+    {
+        return forEachWhile(predicate);
+    }
+
+    /**
+     * @return the first entry in iteration order for which predicate returns true
+     */
+    @Nonnull
+    default Maybe<IMapEntry<K, V>> findFirst(@Nonnull BiPredicate<K, V> predicate)
+    {
+        final Temp.Var1<Maybe<IMapEntry<K, V>>> answer = Temp.var(Maybe.empty());
+        forEachWhile((k, v) -> {
+            if (predicate.test(k, v)) {
+                answer.x = Maybe.of(IMapEntry.of(k, v));
+                return false;
+            }
+            return true;
+        });
+        return answer.x;
+    }
+
     /**
      * Processes every key value pair in this map using the provided function to produce a value.
      *
@@ -276,6 +339,36 @@ public interface IMap<K, V>
         return sum;
     }
 
+    /**
+     * Reports every difference between this map and newer to visitor.  Keys only in newer are
+     * reported as added, keys only in this map as removed, and keys whose values are not equal
+     * as changed.  The default implementation visits every key in both maps but implementations
+     * that share structure between versions can skip any part of the maps that both have in common.
+     *
+     * @param newer   map to compare against this one
+     * @param visitor receives the differences
+     */
+    default void diff(@Nonnull IMap<K, V> newer,
+                      @Nonnull MapDiffVisitor<K, V> visitor)
+    {
+        if (newer == this) {
+            return;
+        }
+        for (IMapEntry<K, V> e : this) {
+            final Maybe<V> newValue = newer.find(e.getKey());
+            if (newValue.isEmpty()) {
+                visitor.removed(e.getKey(), e.getValue());
+            } else if (!Objects.equals(e.getValue(), newValue.unsafeGet())) {
+                visitor.changed(e.getKey(), e.getValue(), newValue.unsafeGet());
+            }
+        }
+        for (IMapEntry<K, V> e : newer) {
+            if (find(e.getKey()).isEmpty()) {
+                visitor.added(e.getKey(), e.getValue());
+            }
+        }
+    }
+
     /**
      * Returns a map of the same type as this containing only those elements for which
      * predicate returns true.  Implementations are optimized assuming predicate will
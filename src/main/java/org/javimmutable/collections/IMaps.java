@@ -296,4 +296,62 @@ public final class IMaps
     {
         return OrderedMap.builder();
     }
+
+    /**
+     * Version of {@link #hashedBuilder()} for use by a single thread.  Its methods do not
+     * synchronize.  When assertions are enabled the builder throws IllegalStateException
+     * if used by any thread other than the one that created it.
+     */
+    @Nonnull
+    public static <K, V> IMapBuilder<K, V> hashedUnsynchronizedBuilder()
+    {
+        return HashMap.unsynchronizedBuilder();
+    }
+
+    /**
+     * Version of {@link #sortedBuilder()} for use by a single thread.  Its methods do not synchronize.
+     */
+    @Nonnull
+    public static <K extends Comparable<K>, V> IMapBuilder<K, V> sortedUnsynchronizedBuilder()
+    {
+        return TreeMap.unsynchronizedBuilder();
+    }
+
+    /**
+     * Version of {@link #sortedBuilder(Comparator)} for use by a single thread.  Its methods do not synchronize.
+     */
+    @Nonnull
+    public static <K, V> IMapBuilder<K, V> sortedUnsynchronizedBuilder(@Nonnull Comparator<K> comparator)
+    {
+        return TreeMap.unsynchronizedBuilder(comparator);
+    }
+
+    /**
+     * Returns a single threaded builder for sorted maps whose keys are added in increasing order.
+     * Avoids sorting and copying the keys so building takes linear time.  Adding a key less than
+     * the previous key throws IllegalArgumentException.
+     */
+    @Nonnull
+    public static <K extends Comparable<K>, V> IMapBuilder<K, V> sortedPresortedBuilder()
+    {
+        return TreeMap.presortedBuilder();
+    }
+
+    /**
+     * Version of {@link #sortedPresortedBuilder()} using the specified Comparator.
+     */
+    @Nonnull
+    public static <K, V> IMapBuilder<K, V> sortedPresortedBuilder(@Nonnull Comparator<K> comparator)
+    {
+        return TreeMap.presortedBuilder(comparator);
+    }
+
+    /**
+     * Version of {@link #orderedBuilder()} for use by a single thread.  Its methods do not synchronize.
+     */
+    @Nonnull
+    public static <K, V> IMapBuilder<K, V> orderedUnsynchronizedBuilder()
+    {
+        return OrderedMap.unsynchronizedBuilder();
+    }
 }
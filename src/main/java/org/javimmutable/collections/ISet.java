@@ -35,6 +35,8 @@
 
 package org.javimmutable.collections;
 
+import org.javimmutable.collections.iterators.IteratorCursor;
+
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
@@ -293,4 +295,14 @@ public interface ISet<T>
     {
         return GenericCollector.unordered(this, deleteAll(), a -> a.isEmpty(), (a, v) -> a.insert(v), (a, b) -> a.insertAll(b));
     }
+
+    /**
+     * Creates a cursor that visits every value in the set in the same order as iterator().
+     * Hash and tree based sets provide cursors that do not allocate any objects per value.
+     */
+    @Nonnull
+    default ICursor<T> cursor()
+    {
+        return IteratorCursor.of(this);
+    }
 }
@@ -319,4 +319,62 @@ public final class ISets
     {
         return OrderedSet.builder();
     }
+
+    /**
+     * Version of {@link #hashedBuilder()} for use by a single thread.  Its methods do not
+     * synchronize.  When assertions are enabled the builder throws IllegalStateException
+     * if used by any thread other than the one that created it.
+     */
+    @Nonnull
+    public static <T> ISetBuilder<T> hashedUnsynchronizedBuilder()
+    {
+        return HashSet.unsynchronizedBuilder();
+    }
+
+    /**
+     * Version of {@link #sortedBuilder()} for use by a single thread.  Its methods do not synchronize.
+     */
+    @Nonnull
+    public static <T extends Comparable<T>> ISetBuilder<T> sortedUnsynchronizedBuilder()
+    {
+        return TreeSet.unsynchronizedBuilder();
+    }
+
+    /**
+     * Version of {@link #sortedBuilder(Comparator)} for use by a single thread.  Its methods do not synchronize.
+     */
+    @Nonnull
+    public static <T> ISetBuilder<T> sortedUnsynchronizedBuilder(@Nonnull Comparator<T> comparator)
+    {
+        return TreeSet.unsynchronizedBuilder(comparator);
+    }
+
+    /**
+     * Returns a single threaded builder for sorted sets whose values are added in increasing order.
+     * Avoids sorting and copying the values so building takes linear time.  Adding a value less
+     * than the previous value throws IllegalArgumentException.
+     */
+    @Nonnull
+    public static <T extends Comparable<T>> ISetBuilder<T> sortedPresortedBuilder()
+    {
+        return TreeSet.presortedBuilder();
+    }
+
+    /**
+     * Version of {@link #sortedPresortedBuilder()} using the specified Comparator.
+     */
+    @Nonnull
+    public static <T> ISetBuilder<T> sortedPresortedBuilder(@Nonnull Comparator<T> comparator)
+    {
+        return TreeSet.presortedBuilder(comparator);
+    }
+
+    /**
+     * Version of {@link #orderedBuilder()} for use by a single thread.  Its methods do not synchronize.
+     */
+    @Nonnull
+    public static <T> ISetBuilder<T> orderedUnsynchronizedBuilder()
+    {
+        return OrderedSet.unsynchronizedBuilder();
+    }
 }
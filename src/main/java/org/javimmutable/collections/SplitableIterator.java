@@ -69,6 +69,17 @@ public interface SplitableIterator<T>
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Returns the exact number of values remaining to be visited by this Iterator
+     * or -1 if that number cannot be determined without iterating.  Iterators
+     * that know their size must also produce split iterators that know theirs
+     * since Spliterators created from them report SIZED and SUBSIZED.
+     */
+    default long getExactSizeIfKnown()
+    {
+        return -1;
+    }
+
     /**
      * Utility method that creates a Spliterator with the specified characteristics that
      * encounters all of the same elements as this Iterator.  Implementations are allowed
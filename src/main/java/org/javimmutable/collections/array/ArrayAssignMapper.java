@@ -38,7 +38,8 @@ package org.javimmutable.collections.array;
 import javax.annotation.Nonnull;
 
 public interface ArrayAssignMapper<K, V, T>
-    extends ArraySizeMapper<T>
+    extends ArrayKeyMapper<K>,
+            ArraySizeMapper<T>
 {
     /**
      * Called during assign operation to create a new mapping
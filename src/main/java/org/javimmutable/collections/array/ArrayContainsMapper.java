@@ -38,6 +38,7 @@ package org.javimmutable.collections.array;
 import javax.annotation.Nonnull;
 
 public interface ArrayContainsMapper<K, T>
+    extends ArrayKeyMapper<K>
 {
     boolean mappedContains(@Nonnull T mapping,
                            @Nonnull K key);
@@ -39,7 +39,8 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 public interface ArrayDeleteMapper<K, T>
-    extends ArraySizeMapper<T>
+    extends ArrayKeyMapper<K>,
+            ArraySizeMapper<T>
 {
     /**
      * Called during delete operation to delete a key from a mapping.
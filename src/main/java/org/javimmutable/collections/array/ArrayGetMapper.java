@@ -40,6 +40,7 @@ import org.javimmutable.collections.Maybe;
 import javax.annotation.Nonnull;
 
 public interface ArrayGetMapper<K, V, T>
+    extends ArrayKeyMapper<K>
 {
     V mappedGetValueOr(@Nonnull T mapping,
                        @Nonnull K key,
@@ -0,0 +1,104 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.array;
+
+import org.javimmutable.collections.IMapEntry;
+import org.javimmutable.collections.MapDiffVisitor;
+import org.javimmutable.collections.Proc2;
+import org.javimmutable.collections.Proc2Throws;
+import org.javimmutable.collections.iterators.GenericIterator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.function.BiPredicate;
+
+/**
+ * Mapper used by the slot methods of {@link TrieArrayNode} that visit or combine
+ * whole slots.
+ */
+public interface ArraySlotEntryMapper<K, V, T>
+    extends ArraySlotMapper<T>
+{
+    @Nonnull
+    GenericIterator.Iterable<IMapEntry<K, V>> slotEntries(@Nonnull T[] values,
+                                                          int position);
+
+    void slotForEach(@Nonnull T[] values,
+                     int position,
+                     @Nonnull Proc2<K, V> proc);
+
+    <E extends Exception> void slotForEachThrows(@Nonnull T[] values,
+                                                 int position,
+                                                 @Nonnull Proc2Throws<K, V, E> proc)
+        throws E;
+
+    boolean slotForEachWhile(@Nonnull T[] values,
+                             int position,
+                             @Nonnull BiPredicate<K, V> predicate);
+
+    /**
+     * @return sum of the hash codes of the entries in the slot
+     */
+    int slotHashCode(@Nonnull T[] values,
+                     int position);
+
+    /**
+     * Adds the entries of the slot at otherPosition in other to the slot at position in
+     * values.  Values from other replace those already in the slot.
+     */
+    void slotUnion(@Nonnull T[] values,
+                   int position,
+                   @Nonnull T[] other,
+                   int otherPosition);
+
+    /**
+     * @return true if both slots contain equal keys mapped to equal values
+     */
+    boolean slotSameEntries(@Nonnull T[] values,
+                            int position,
+                            @Nonnull T[] other,
+                            int otherPosition);
+
+    /**
+     * Passes every difference between two slots to visitor.  The array for a slot
+     * that does not exist is null.
+     */
+    void slotDiff(@Nullable T[] oldValues,
+                  int oldPosition,
+                  @Nullable T[] newValues,
+                  int newPosition,
+                  @Nonnull MapDiffVisitor<K, V> visitor);
+}
@@ -0,0 +1,369 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.array;
+
+import org.javimmutable.collections.ILongArray;
+import org.javimmutable.collections.ILongArrayBuilder;
+import org.javimmutable.collections.IMapEntry;
+import org.javimmutable.collections.IStreamable;
+import org.javimmutable.collections.Maybe;
+import org.javimmutable.collections.SplitableIterator;
+import org.javimmutable.collections.common.LongArrayToMapAdaptor;
+import org.javimmutable.collections.common.StreamConstants;
+import org.javimmutable.collections.common.ThreadOwner;
+import org.javimmutable.collections.iterators.IteratorHelper;
+import org.javimmutable.collections.serialization.LongArrayProxy;
+import org.javimmutable.collections.util.Functions;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Collector;
+
+/**
+ * Sparse array using long indexes built on a {@link TrieLongArrayNode}.  Entries are
+ * visited in signed order of their indexes.
+ */
+public class LongArray<T>
+    implements Serializable,
+               ILongArray<T>
+{
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final LongArray EMPTY = new LongArray(TrieLongArrayNode.empty());
+    private static final int SPLITERATOR_CHARACTERISTICS = StreamConstants.SPLITERATOR_ORDERED;
+    private static final long serialVersionUID = -121805;
+
+    private final TrieLongArrayNode<T> root;
+    private int hashCode; // computed on first use, benign race as in String.hashCode()
+
+    private LongArray(@Nonnull TrieLongArrayNode<T> root)
+    {
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    public static <T> ILongArray<T> of()
+    {
+        return (ILongArray<T>)EMPTY;
+    }
+
+    @Nonnull
+    public static <T> ILongArrayBuilder<T> builder()
+    {
+        return new Builder<>();
+    }
+
+    @Nonnull
+    public static <T> UnsynchronizedBuilder<T> unsynchronizedBuilder()
+    {
+        return new UnsynchronizedBuilder<>();
+    }
+
+    @Nonnull
+    public static <T> Collector<IMapEntry<Long, T>, ?, ILongArray<T>> collector()
+    {
+        return Collector.<IMapEntry<Long, T>, Builder<T>, ILongArray<T>>of(() -> new Builder<>(),
+                                                                          (b, e) -> b.put(e.getKey(), e.getValue()),
+                                                                          (b1, b2) -> (Builder<T>)b1.putAll(b2.build().iterator()),
+                                                                          b -> b.build());
+    }
+
+    @Nullable
+    @Override
+    public T get(long index)
+    {
+        return root.getValueOr(index, null);
+    }
+
+    @Override
+    public T getValueOr(long index,
+                        @Nullable T defaultValue)
+    {
+        return root.getValueOr(index, defaultValue);
+    }
+
+    @Nonnull
+    @Override
+    public Maybe<T> find(long index)
+    {
+        return root.find(index);
+    }
+
+    @Nonnull
+    @Override
+    public Maybe<IMapEntry<Long, T>> findEntry(long index)
+    {
+        return find(index).map(v -> IMapEntry.of(index, v));
+    }
+
+    @Nonnull
+    @Override
+    public ILongArray<T> assign(long index,
+                                @Nullable T value)
+    {
+        return new LongArray<>(root.assign(index, value));
+    }
+
+    @Nonnull
+    @Override
+    public ILongArray<T> delete(long index)
+    {
+        final TrieLongArrayNode<T> newRoot = root.delete(index);
+        if (newRoot == root) {
+            return this;
+        } else if (newRoot.isEmpty()) {
+            return of();
+        } else {
+            return new LongArray<>(newRoot);
+        }
+    }
+
+    @Override
+    public int size()
+    {
+        return root.size();
+    }
+
+    @Nonnull
+    @Override
+    public ILongArray<T> deleteAll()
+    {
+        return of();
+    }
+
+    @Nonnull
+    @Override
+    public Map<Long, T> getMap()
+    {
+        return LongArrayToMapAdaptor.of(this);
+    }
+
+    @Nonnull
+    @Override
+    public ILongArray<T> insert(IMapEntry<Long, T> e)
+    {
+        return (e == null) ? this : assign(e.getKey(), e.getValue());
+    }
+
+    @Nonnull
+    @Override
+    public ILongArray<T> insertAll(@Nonnull Iterator<? extends IMapEntry<Long, T>> iterator)
+    {
+        return Functions.foldLeft((ILongArray<T>)this, iterator, ILongArray::insert);
+    }
+
+    @Nonnull
+    @Override
+    public ILongArray<T> insertAll(@Nonnull Iterable<? extends IMapEntry<Long, T>> iterable)
+    {
+        return insertAll(iterable.iterator());
+    }
+
+    @Override
+    public void checkInvariants()
+    {
+        root.checkInvariants();
+    }
+
+    @Nonnull
+    @Override
+    public SplitableIterator<IMapEntry<Long, T>> iterator()
+    {
+        return root.entries().iterator();
+    }
+
+    @Nonnull
+    @Override
+    public IStreamable<Long> keys()
+    {
+        return root.keys().streamable(SPLITERATOR_CHARACTERISTICS);
+    }
+
+    @Nonnull
+    @Override
+    public IStreamable<T> values()
+    {
+        return root.values().streamable(SPLITERATOR_CHARACTERISTICS);
+    }
+
+    @Override
+    public int getSpliteratorCharacteristics()
+    {
+        return SPLITERATOR_CHARACTERISTICS;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (o == this) {
+            return true;
+        }
+        if (o instanceof ILongArray) {
+            final ILongArray<?> other = (ILongArray<?>)o;
+            if (other.size() != size() || (o.getClass() == getClass() && o.hashCode() != hashCode())) {
+                return false;
+            }
+            return IteratorHelper.iteratorEquals(iterator(), other.iterator());
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int answer = hashCode;
+        if (answer == 0) {
+            answer = IteratorHelper.iteratorHashCode(iterator());
+            hashCode = answer;
+        }
+        return answer;
+    }
+
+    @Override
+    public String toString()
+    {
+        return IteratorHelper.iteratorToString(iterator());
+    }
+
+    @Nonnull
+    @Override
+    public ILongArrayBuilder<T> toBuilder()
+    {
+        return new Builder<>();
+    }
+
+    private Object writeReplace()
+    {
+        return new LongArrayProxy(this);
+    }
+
+    @ThreadSafe
+    public static class Builder<T>
+        implements ILongArrayBuilder<T>
+    {
+        private TrieLongArrayNode<T> root = TrieLongArrayNode.empty();
+
+        private Builder()
+        {
+        }
+
+        @Override
+        public synchronized int size()
+        {
+            return root.size();
+        }
+
+        @Nonnull
+        @Override
+        public synchronized ILongArrayBuilder<T> clear()
+        {
+            root = TrieLongArrayNode.empty();
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public synchronized ILongArrayBuilder<T> put(long index,
+                                                     T value)
+        {
+            root = root.assign(index, value);
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public synchronized ILongArray<T> build()
+        {
+            return root.isEmpty() ? of() : new LongArray<>(root);
+        }
+    }
+
+    /**
+     * Version of {@link Builder} for use by a single thread.  Its methods do not
+     * synchronize.  When assertions are enabled every method verifies that it is
+     * being called by the thread that created the builder.
+     */
+    @NotThreadSafe
+    public static class UnsynchronizedBuilder<T>
+        implements ILongArrayBuilder<T>
+    {
+        private final ThreadOwner owner = new ThreadOwner();
+        private TrieLongArrayNode<T> root = TrieLongArrayNode.empty();
+
+        private UnsynchronizedBuilder()
+        {
+        }
+
+        @Override
+        public int size()
+        {
+            assert owner.verify();
+            return root.size();
+        }
+
+        @Nonnull
+        @Override
+        public UnsynchronizedBuilder<T> clear()
+        {
+            assert owner.verify();
+            root = TrieLongArrayNode.empty();
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public UnsynchronizedBuilder<T> put(long index,
+                                            T value)
+        {
+            assert owner.verify();
+            root = root.assign(index, value);
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public ILongArray<T> build()
+        {
+            assert owner.verify();
+            return root.isEmpty() ? of() : new LongArray<>(root);
+        }
+    }
+}
@@ -37,6 +37,7 @@ package org.javimmutable.collections.array;
 
 import org.javimmutable.collections.IArray;
 import org.javimmutable.collections.IArrayBuilder;
+import org.javimmutable.collections.IArrayCursor;
 import org.javimmutable.collections.IMapEntry;
 import org.javimmutable.collections.IStreamable;
 import org.javimmutable.collections.IndexedProc1;
@@ -46,6 +47,7 @@ import org.javimmutable.collections.Proc1Throws;
 import org.javimmutable.collections.SplitableIterator;
 import org.javimmutable.collections.common.ArrayToMapAdaptor;
 import org.javimmutable.collections.common.StreamConstants;
+import org.javimmutable.collections.common.ThreadOwner;
 import org.javimmutable.collections.iterators.IteratorHelper;
 import org.javimmutable.collections.iterators.TransformIterator;
 import org.javimmutable.collections.serialization.ArrayProxy;
@@ -53,6 +55,7 @@ import org.javimmutable.collections.util.Functions;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
 import javax.annotation.concurrent.ThreadSafe;
 import java.io.Serializable;
 import java.util.Iterator;
@@ -90,6 +93,12 @@ public class TrieArray<T>
         return new Builder<>();
     }
 
+    @Nonnull
+    public static <T> UnsynchronizedBuilder<T> unsynchronizedBuilder()
+    {
+        return new UnsynchronizedBuilder<>();
+    }
+
     @Nonnull
     public static <T> Collector<T, ?, IArray<T>> collector()
     {
@@ -255,17 +264,41 @@ public class TrieArray<T>
         root.forEachThrows(proc);
     }
 
-    @SuppressWarnings("rawtypes")
+    @Nonnull
+    @Override
+    public IArrayCursor<T> cursor()
+    {
+        return new TrieArrayNode.Cursor<>(root);
+    }
+
+    @SuppressWarnings("unchecked")
     @Override
     public boolean equals(Object o)
     {
-        return (o == this) || ((o instanceof IArray) && IteratorHelper.iteratorEquals(iterator(), ((IArray)o).iterator()));
+        if (o == this) {
+            return true;
+        }
+        if (o instanceof IArray) {
+            final IArray<?> other = (IArray<?>)o;
+            if (other.size() != size() || (o.getClass() == getClass() && o.hashCode() != hashCode())) {
+                return false;
+            }
+            if (o instanceof TrieArray) {
+                return root.sameEntries(((TrieArray<T>)o).root);
+            }
+            return IteratorHelper.iteratorEquals(iterator(), other.iterator());
+        }
+        return false;
     }
 
+    /**
+     * Uses the hash codes cached in the trie nodes so only nodes created since the
+     * last call need to be visited.
+     */
     @Override
     public int hashCode()
     {
-        return IteratorHelper.iteratorHashCode(iterator());
+        return root.entriesHashCode();
     }
 
     @Override
@@ -348,4 +381,72 @@ public class TrieArray<T>
             return TransformIterator.of(builder.iterator(), IMapEntry::getValue);
         }
     }
+
+    /**
+     * Version of {@link Builder} for use by a single thread.  Its methods do not
+     * synchronize.  When assertions are enabled every method verifies that it is
+     * being called by the thread that created the builder.
+     */
+    @NotThreadSafe
+    public static class UnsynchronizedBuilder<T>
+        implements IArrayBuilder<T>
+    {
+        private final TrieArrayBuilder<T> builder = new TrieArrayBuilder<>();
+        private final ThreadOwner owner = new ThreadOwner();
+
+        private UnsynchronizedBuilder()
+        {
+        }
+
+        @Override
+        public int size()
+        {
+            assert owner.verify();
+            return builder.size();
+        }
+
+        @Nonnull
+        @Override
+        public UnsynchronizedBuilder<T> clear()
+        {
+            assert owner.verify();
+            builder.reset();
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public UnsynchronizedBuilder<T> add(T value)
+        {
+            assert owner.verify();
+            builder.add(value);
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public UnsynchronizedBuilder<T> put(int index,
+                                            T value)
+        {
+            assert owner.verify();
+            builder.put(index, value);
+            return this;
+        }
+
+        @Override
+        public UnsynchronizedBuilder<T> setNextIndex(int index)
+        {
+            assert owner.verify();
+            builder.setNextIndex(index);
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public IArray<T> build()
+        {
+            assert owner.verify();
+            return builder.size() == 0 ? of() : new TrieArray<>(builder.buildRoot());
+        }
+    }
 }
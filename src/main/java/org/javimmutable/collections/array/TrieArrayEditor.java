@@ -0,0 +1,460 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.array;
+
+import org.javimmutable.collections.Func1;
+import org.javimmutable.collections.Maybe;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import static org.javimmutable.collections.common.BitmaskMath.*;
+import static org.javimmutable.collections.common.IntArrayMappedTrieMath.*;
+
+/**
+ * Mutable editing session over a {@link TrieArrayNode}.  The first edit that passes
+ * through a node copies it into a mutable node owned by this editor.  All later edits
+ * to that node modify it in place so a long series of updates copies each affected
+ * node once rather than once per update.  Subtrees that are never edited remain shared
+ * with the original trie.  Calling freeze() converts the edited nodes back into an
+ * immutable trie and the editor can continue to be used afterwards.
+ * <p>
+ * The slot methods edit tries of slots in the same way as the corresponding methods of
+ * {@link TrieArrayNode}.  A given editor must always be used with the same slot width.
+ */
+@NotThreadSafe
+public class TrieArrayEditor<T>
+{
+    private TrieArrayNode<T> frozen;
+    @Nullable
+    private Node<T> root;
+
+    public TrieArrayEditor(@Nonnull TrieArrayNode<T> root)
+    {
+        frozen = root;
+    }
+
+    public int size()
+    {
+        return root != null ? root.size : frozen.size();
+    }
+
+    public <K> boolean mappedContains(@Nonnull ArrayContainsMapper<K, T> mapper,
+                                      @Nonnull K key)
+    {
+        return findSlot(mapper, 1, key, (values, position) -> mapper.mappedContains(values[position], key), false);
+    }
+
+    public <K, V> V mappedGetValueOr(@Nonnull ArrayGetMapper<K, V, T> mapper,
+                                     @Nonnull K key,
+                                     V defaultValue)
+    {
+        return findSlot(mapper, 1, key, (values, position) -> mapper.mappedGetValueOr(values[position], key, defaultValue), defaultValue);
+    }
+
+    @Nonnull
+    public <K, V> Maybe<V> mappedFind(@Nonnull ArrayGetMapper<K, V, T> mapper,
+                                      @Nonnull K key)
+    {
+        return findSlot(mapper, 1, key, (values, position) -> mapper.mappedFind(values[position], key), Maybe.empty());
+    }
+
+    public <K, V> void mappedAssign(@Nonnull ArrayAssignMapper<K, V, T> mapper,
+                                    @Nonnull K key,
+                                    V value)
+    {
+        final int index = TrieArrayNode.flip(mapper.mappedHashCode(key));
+        final int shiftCountForValue = TrieArrayNode.findShiftForIndex(index);
+        editableRoot(1).assignSlot(shiftCountForValue, index, TrieArrayNode.sizer(mapper), TrieArrayNode.assignEdit(mapper, key, value));
+    }
+
+    public <K, V> void mappedUpdate(@Nonnull ArrayUpdateMapper<K, V, T> mapper,
+                                    @Nonnull K key,
+                                    @Nonnull Func1<Maybe<V>, V> generator)
+    {
+        final int index = TrieArrayNode.flip(mapper.mappedHashCode(key));
+        final int shiftCountForValue = TrieArrayNode.findShiftForIndex(index);
+        editableRoot(1).assignSlot(shiftCountForValue, index, TrieArrayNode.sizer(mapper), TrieArrayNode.updateEdit(mapper, key, generator));
+    }
+
+    public <K> void mappedDelete(@Nonnull ArrayDeleteMapper<K, T> mapper,
+                                 @Nonnull K key)
+    {
+        final int index = TrieArrayNode.flip(mapper.mappedHashCode(key));
+        final int shiftCountForValue = TrieArrayNode.findShiftForIndex(index);
+        editableRoot(1).deleteSlot(shiftCountForValue, index, TrieArrayNode.sizer(mapper), TrieArrayNode.deleteEdit(mapper, key));
+    }
+
+    public <K, V> V slotGetValueOr(@Nonnull ArraySlotGetMapper<K, V, T> mapper,
+                                   @Nonnull K key,
+                                   V defaultValue)
+    {
+        return findSlot(mapper, mapper.slotWidth(), key, (values, position) -> mapper.slotGetValueOr(values, position, key, defaultValue), defaultValue);
+    }
+
+    @Nonnull
+    public <K, V> Maybe<V> slotFind(@Nonnull ArraySlotGetMapper<K, V, T> mapper,
+                                    @Nonnull K key)
+    {
+        return findSlot(mapper, mapper.slotWidth(), key, (values, position) -> mapper.slotFind(values, position, key), Maybe.empty());
+    }
+
+    public <K, V> void slotAssign(@Nonnull ArraySlotUpdateMapper<K, V, T> mapper,
+                                  @Nonnull K key,
+                                  V value)
+    {
+        final int index = TrieArrayNode.flip(mapper.mappedHashCode(key));
+        final int shiftCountForValue = TrieArrayNode.findShiftForIndex(index);
+        editableRoot(mapper.slotWidth()).assignSlot(shiftCountForValue, index, mapper::slotSize,
+                                                    (values, position) -> mapper.slotAssign(values, position, key, value));
+    }
+
+    public <K, V> void slotUpdate(@Nonnull ArraySlotUpdateMapper<K, V, T> mapper,
+                                  @Nonnull K key,
+                                  @Nonnull Func1<Maybe<V>, V> generator)
+    {
+        final int index = TrieArrayNode.flip(mapper.mappedHashCode(key));
+        final int shiftCountForValue = TrieArrayNode.findShiftForIndex(index);
+        editableRoot(mapper.slotWidth()).assignSlot(shiftCountForValue, index, mapper::slotSize,
+                                                    (values, position) -> mapper.slotUpdate(values, position, key, generator));
+    }
+
+    public <K, V> void slotDelete(@Nonnull ArraySlotUpdateMapper<K, V, T> mapper,
+                                  @Nonnull K key)
+    {
+        final int index = TrieArrayNode.flip(mapper.mappedHashCode(key));
+        final int shiftCountForValue = TrieArrayNode.findShiftForIndex(index);
+        editableRoot(mapper.slotWidth()).deleteSlot(shiftCountForValue, index, mapper::slotSize,
+                                                    (values, position) -> mapper.slotDelete(values, position, key));
+    }
+
+    /**
+     * Converts all nodes modified since the last call into immutable nodes and returns
+     * the resulting trie.  Returns the same instance as the previous call (or the original
+     * root) if nothing has been modified since then.
+     */
+    @Nonnull
+    public TrieArrayNode<T> freeze()
+    {
+        if (root != null) {
+            frozen = root.toNode();
+            root = null;
+        }
+        return frozen;
+    }
+
+    @Nonnull
+    private Node<T> editableRoot(int width)
+    {
+        if (root == null) {
+            root = Node.thaw(TrieArrayNode.ROOT_SHIFT_COUNT, 0, width, frozen);
+        }
+        assert root.width == width;
+        return root;
+    }
+
+    private <K, R> R findSlot(@Nonnull ArrayKeyMapper<K> mapper,
+                              int width,
+                              @Nonnull K key,
+                              @Nonnull TrieArrayNode.SlotFunction<T, R> found,
+                              R notFound)
+    {
+        final int index = TrieArrayNode.flip(mapper.mappedHashCode(key));
+        final int shiftCountForValue = TrieArrayNode.findShiftForIndex(index);
+        if (root != null) {
+            return root.findSlot(shiftCountForValue, index, found, notFound);
+        } else {
+            return findSharedSlot(frozen, shiftCountForValue, index, width, found, notFound);
+        }
+    }
+
+    private static <T, R> R findSharedSlot(@Nonnull TrieArrayNode<T> node,
+                                           int shiftCountForValue,
+                                           int index,
+                                           int width,
+                                           @Nonnull TrieArrayNode.SlotFunction<T, R> found,
+                                           R notFound)
+    {
+        final TrieArrayNode<T> owner = node.findNode(shiftCountForValue, index);
+        return owner != null ? found.apply(owner.valuesArray(), owner.slotPosition(width, index)) : notFound;
+    }
+
+    private static class Node<T>
+    {
+        private final int shiftCount;
+        private final int baseIndex;
+        private final int width;
+        private long valuesBitmask;
+        // the slot for each index starts at width * index
+        private final T[] values;
+        private long nodesBitmask;
+        // each child is either a Node owned by this editor or a shared TrieArrayNode
+        private final Object[] nodes;
+        private int size;
+        // the immutable node this node was thawed from, cleared on first modification
+        @Nullable
+        private TrieArrayNode<T> original;
+
+        private Node(int shiftCount,
+                     int index,
+                     int width)
+        {
+            assert shiftCount <= TrieArrayNode.ROOT_SHIFT_COUNT;
+            assert shiftCount >= TrieArrayNode.LEAF_SHIFT_COUNT;
+            this.shiftCount = shiftCount;
+            baseIndex = baseIndexAtShift(shiftCount, index);
+            this.width = width;
+            values = TrieArrayNode.allocateValues(width * ARRAY_SIZE);
+            nodes = new Object[ARRAY_SIZE];
+        }
+
+        /**
+         * Creates a mutable node at the specified shift count containing the same values as node.
+         * If node lives lower in the tree (because intermediate levels were skipped) it simply
+         * becomes the only child of the new node.
+         */
+        @Nonnull
+        private static <T> Node<T> thaw(int shiftCount,
+                                        int index,
+                                        int width,
+                                        @Nonnull TrieArrayNode<T> node)
+        {
+            final Node<T> answer = new Node<>(shiftCount, index, width);
+            if (node.shiftCount() == shiftCount) {
+                assert node.baseIndex() == answer.baseIndex;
+                final T[] nodeValues = node.valuesArray();
+                int position = 0;
+                for (long remaining = node.valuesBitmask(); remaining != 0; remaining = removeBit(remaining, leastBit(remaining))) {
+                    System.arraycopy(nodeValues, position, answer.values, width * indexForBit(leastBit(remaining)), width);
+                    position += width;
+                }
+                answer.valuesBitmask = node.valuesBitmask();
+                answer.nodesBitmask = node.nodesBitmask();
+                copyFromCompactArrayUsingBitmask(node.nodesBitmask(), node.nodesArray(), answer.nodes);
+            } else if (!node.isEmpty()) {
+                assert node.shiftCount() < shiftCount;
+                assert baseIndexAtShift(shiftCount, node.baseIndex()) == answer.baseIndex;
+                final int myIndex = indexAtShift(shiftCount, node.baseIndex());
+                answer.nodesBitmask = bitFromIndex(myIndex);
+                answer.nodes[myIndex] = node;
+            }
+            answer.size = node.size();
+            answer.original = node;
+            return answer;
+        }
+
+        private <R> R findSlot(int shiftCountForValue,
+                               int index,
+                               @Nonnull TrieArrayNode.SlotFunction<T, R> found,
+                               R notFound)
+        {
+            assert shiftCountForValue <= shiftCount;
+            final int myIndex = indexAtShift(shiftCount, index);
+            if (shiftCountForValue == shiftCount) {
+                return bitIsPresent(valuesBitmask, bitFromIndex(myIndex)) ? found.apply(values, width * myIndex) : notFound;
+            }
+            final Object child = nodes[myIndex];
+            if (child instanceof Node) {
+                return Node.<T>cast(child).findSlot(shiftCountForValue, index, found, notFound);
+            } else if (child != null) {
+                return findSharedSlot(TrieArrayEditor.<T>shared(child), shiftCountForValue, index, width, found, notFound);
+            } else {
+                return notFound;
+            }
+        }
+
+        /**
+         * Applies edit to the slot for index, creating the slot if necessary.
+         *
+         * @return true if the slot was modified
+         */
+        private boolean assignSlot(int shiftCountForValue,
+                                   int index,
+                                   @Nonnull TrieArrayNode.SlotIntFunction<T> sizer,
+                                   @Nonnull TrieArrayNode.SlotIntFunction<T> edit)
+        {
+            assert baseIndexAtShift(shiftCount, index) == baseIndex;
+            final int myIndex = indexAtShift(shiftCount, index);
+            final long bit = bitFromIndex(myIndex);
+            if (shiftCount == shiftCountForValue) {
+                final int position = width * myIndex;
+                if (bitIsPresent(valuesBitmask, bit)) {
+                    final T[] oldSlot = TrieArrayNode.copySlot(width, values, position);
+                    final int newSlotSize = edit.apply(values, position);
+                    if (TrieArrayNode.sameSlot(width, values, position, oldSlot, 0)) {
+                        return false;
+                    }
+                    size = size - sizer.apply(oldSlot, 0) + newSlotSize;
+                } else {
+                    size += edit.apply(values, position);
+                    valuesBitmask = addBit(valuesBitmask, bit);
+                }
+            } else if (bitIsPresent(nodesBitmask, bit)) {
+                final Node<T> node = editableNode(myIndex, index);
+                final int oldSize = node.size;
+                if (!node.assignSlot(shiftCountForValue, index, sizer, edit)) {
+                    return false;
+                }
+                size = size - oldSize + node.size;
+            } else {
+                final TrieArrayNode<T> node = TrieArrayNode.forSlot(shiftCountForValue, index, width, edit);
+                nodes[myIndex] = node;
+                nodesBitmask = addBit(nodesBitmask, bit);
+                size += node.size();
+            }
+            original = null;
+            return true;
+        }
+
+        /**
+         * Applies edit to the slot for index if there is one.  The slot is removed if the
+         * edit returns zero.
+         *
+         * @return true if the slot was modified
+         */
+        private boolean deleteSlot(int shiftCountForValue,
+                                   int index,
+                                   @Nonnull TrieArrayNode.SlotIntFunction<T> sizer,
+                                   @Nonnull TrieArrayNode.SlotIntFunction<T> edit)
+        {
+            assert baseIndexAtShift(shiftCount, index) == baseIndex;
+            final int myIndex = indexAtShift(shiftCount, index);
+            final long bit = bitFromIndex(myIndex);
+            if (shiftCount == shiftCountForValue) {
+                if (bitIsAbsent(valuesBitmask, bit)) {
+                    return false;
+                }
+                final int position = width * myIndex;
+                final T[] oldSlot = TrieArrayNode.copySlot(width, values, position);
+                final int newSlotSize = edit.apply(values, position);
+                if (TrieArrayNode.sameSlot(width, values, position, oldSlot, 0)) {
+                    return false;
+                }
+                if (newSlotSize == 0) {
+                    for (int i = 0; i < width; ++i) {
+                        values[position + i] = null;
+                    }
+                    valuesBitmask = removeBit(valuesBitmask, bit);
+                }
+                size = size - sizer.apply(oldSlot, 0) + newSlotSize;
+            } else {
+                if (bitIsAbsent(nodesBitmask, bit)) {
+                    return false;
+                }
+                final Object child = nodes[myIndex];
+                if (!(child instanceof Node) && TrieArrayEditor.<T>shared(child).findNode(shiftCountForValue, index) == null) {
+                    // no need to copy a shared node that does not contain the key
+                    return false;
+                }
+                final Node<T> node = editableNode(myIndex, index);
+                final int oldSize = node.size;
+                if (!node.deleteSlot(shiftCountForValue, index, sizer, edit)) {
+                    return false;
+                }
+                if (node.size == 0) {
+                    nodes[myIndex] = null;
+                    nodesBitmask = removeBit(nodesBitmask, bit);
+                }
+                size = size - oldSize + node.size;
+            }
+            original = null;
+            return true;
+        }
+
+        @Nonnull
+        private Node<T> editableNode(int myIndex,
+                                     int index)
+        {
+            final Object child = nodes[myIndex];
+            if (child instanceof Node) {
+                return cast(child);
+            } else {
+                final Node<T> node = thaw(shiftCount - 1, index, width, TrieArrayEditor.<T>shared(child));
+                nodes[myIndex] = node;
+                return node;
+            }
+        }
+
+        @Nonnull
+        private TrieArrayNode<T> toNode()
+        {
+            if (original != null) {
+                return original;
+            }
+            if (size == 0) {
+                return TrieArrayNode.empty();
+            }
+            if (valuesBitmask == 0 && bitCount(nodesBitmask) == 1) {
+                // return the single remaining node to minimize height of the tree
+                return freezeChild(nodes[indexForBit(nodesBitmask)]);
+            }
+            final T[] answerValues = TrieArrayNode.allocateValues(width * bitCount(valuesBitmask));
+            int position = 0;
+            for (long remaining = valuesBitmask; remaining != 0; remaining = removeBit(remaining, leastBit(remaining))) {
+                System.arraycopy(values, width * indexForBit(leastBit(remaining)), answerValues, position, width);
+                position += width;
+            }
+            final TrieArrayNode<T>[] answerNodes = TrieArrayNode.allocateNodes(bitCount(nodesBitmask));
+            copyToCompactArrayUsingBitmask(nodesBitmask, nodes, answerNodes, Node::freezeChild);
+            return new TrieArrayNode<>(shiftCount, baseIndex, valuesBitmask, answerValues, nodesBitmask, answerNodes, size);
+        }
+
+        @Nonnull
+        private static <T> TrieArrayNode<T> freezeChild(@Nonnull Object child)
+        {
+            if (child instanceof Node) {
+                return Node.<T>cast(child).toNode();
+            } else {
+                return shared(child);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        @Nonnull
+        private static <T> Node<T> cast(@Nonnull Object child)
+        {
+            return (Node<T>)child;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    private static <T> TrieArrayNode<T> shared(@Nonnull Object child)
+    {
+        return (TrieArrayNode<T>)child;
+    }
+}
@@ -37,24 +37,35 @@ package org.javimmutable.collections.array;
 
 import org.javimmutable.collections.Func0;
 import org.javimmutable.collections.Func1;
+import org.javimmutable.collections.IArrayCursor;
 import org.javimmutable.collections.IMapEntry;
 import org.javimmutable.collections.IndexedProc1;
 import org.javimmutable.collections.IndexedProc1Throws;
 import org.javimmutable.collections.IntFunc2;
+import org.javimmutable.collections.MapDiffVisitor;
 import org.javimmutable.collections.MapEntry;
 import org.javimmutable.collections.Maybe;
 import org.javimmutable.collections.Proc1;
 import org.javimmutable.collections.Proc1Throws;
+import org.javimmutable.collections.Proc2;
+import org.javimmutable.collections.Proc2Throws;
 import org.javimmutable.collections.common.ArrayHelper;
 import org.javimmutable.collections.common.IntArrayMappedTrieMath;
 import org.javimmutable.collections.indexed.IndexedList;
 import org.javimmutable.collections.iterators.GenericIterator;
+import org.javimmutable.collections.iterators.IteratorHelper;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiPredicate;
 import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 import static org.javimmutable.collections.common.BitmaskMath.*;
 import static org.javimmutable.collections.common.IntArrayMappedTrieMath.*;
@@ -62,6 +73,12 @@ import static org.javimmutable.collections.common.IntArrayMappedTrieMath.*;
 /**
  * Implements an array mapped trie using integers as keys.  When iterating keys
  * are visited in signed-integer order.
+ * <p>
+ * Normally each value occupies one element of its node's values array.  The slot
+ * methods (those taking an {@link ArraySlotMapper}) instead store each mapping in a
+ * slot of {@link ArraySlotMapper#slotWidth()} consecutive elements so that, for example,
+ * a key and its value can be stored side by side without a wrapper object.  A given
+ * trie must always be used with the same slot width.
  */
 public class TrieArrayNode<T>
 {
@@ -82,6 +99,8 @@ public class TrieArrayNode<T>
     private final long nodesBitmask;
     private final TrieArrayNode<T>[] nodes;
     private final int size;
+    private int hashCodeSum; // computed on first use, benign race as in String.hashCode()
+    private int entriesHashCode; // computed on first use, benign race as in String.hashCode()
 
     TrieArrayNode(int shiftCount,
                   int baseIndex,
@@ -91,7 +110,7 @@ public class TrieArrayNode<T>
                   @Nonnull TrieArrayNode<T>[] nodes,
                   int size)
     {
-        assert bitCount(valuesBitmask) == values.length;
+        assert (valuesBitmask == 0) ? (values.length == 0) : (values.length % bitCount(valuesBitmask) == 0);
         assert bitCount(nodesBitmask) == nodes.length;
         this.shiftCount = shiftCount;
         this.baseIndex = baseIndex;
@@ -112,9 +131,9 @@ public class TrieArrayNode<T>
     }
 
     @Nonnull
-    private static <T> TrieArrayNode<T> forValue(int shiftCount,
-                                                 int index,
-                                                 T value)
+    static <T> TrieArrayNode<T> forValue(int shiftCount,
+                                         int index,
+                                         T value)
     {
         assert shiftCount == findShiftForIndex(index);
         final int baseIndex = baseIndexAtShift(shiftCount, index);
@@ -125,6 +144,24 @@ public class TrieArrayNode<T>
         return new TrieArrayNode<>(shiftCount, baseIndex, valueBitmask, values, nodeBitmask, nodes, 1);
     }
 
+    /**
+     * Creates a node holding a single slot whose contents are filled in by edit.
+     */
+    @Nonnull
+    static <T> TrieArrayNode<T> forSlot(int shiftCount,
+                                        int index,
+                                        int width,
+                                        @Nonnull SlotIntFunction<T> edit)
+    {
+        assert shiftCount == findShiftForIndex(index);
+        final int baseIndex = baseIndexAtShift(shiftCount, index);
+        final long valueBitmask = bitFromIndex(indexAtShift(shiftCount, index));
+        final T[] values = allocateValues(width);
+        final int size = edit.apply(values, 0);
+        assert size > 0;
+        return new TrieArrayNode<>(shiftCount, baseIndex, valueBitmask, values, 0L, emptyNodes(), size);
+    }
+
     @Nonnull
     private static <T> TrieArrayNode<T> forNode(int shiftCount,
                                                 int nodeBaseIndex,
@@ -180,7 +217,7 @@ public class TrieArrayNode<T>
     public <K> boolean mappedContains(@Nonnull ArrayContainsMapper<K, T> mapper,
                                       @Nonnull K key)
     {
-        final T node = getNodeFofHashKey(key);
+        final T node = getNodeFofHashKey(mapper, key);
         return node != null && mapper.mappedContains(node, key);
     }
 
@@ -188,7 +225,7 @@ public class TrieArrayNode<T>
                                      @Nonnull K key,
                                      V defaultValue)
     {
-        final T node = getNodeFofHashKey(key);
+        final T node = getNodeFofHashKey(mapper, key);
         return node != null ? mapper.mappedGetValueOr(node, key, defaultValue) : defaultValue;
     }
 
@@ -196,7 +233,7 @@ public class TrieArrayNode<T>
     public <K, V> Maybe<V> mappedFind(@Nonnull ArrayGetMapper<K, V, T> mapper,
                                       @Nonnull K key)
     {
-        final T node = getNodeFofHashKey(key);
+        final T node = getNodeFofHashKey(mapper, key);
         return node != null ? mapper.mappedFind(node, key) : Maybe.empty();
     }
 
@@ -204,7 +241,7 @@ public class TrieArrayNode<T>
     public <K, V> Maybe<IMapEntry<K, V>> mappedFindEntry(@Nonnull ArrayFindEntryMapper<K, V, T> mapper,
                                                          @Nonnull K key)
     {
-        final T node = getNodeFofHashKey(key);
+        final T node = getNodeFofHashKey(mapper, key);
         return node != null ? mapper.mappedFindEntry(node, key) : Maybe.empty();
     }
 
@@ -213,9 +250,9 @@ public class TrieArrayNode<T>
                                                 @Nonnull K key,
                                                 V value)
     {
-        final int index = flip(key.hashCode());
+        final int index = flip(mapper.mappedHashCode(key));
         final int shiftCountForValue = findShiftForIndex(index);
-        return mappedAssignImpl(ROOT_SHIFT_COUNT, shiftCountForValue, index, mapper, key, value);
+        return assignSlotImpl(ROOT_SHIFT_COUNT, shiftCountForValue, index, 1, sizer(mapper), assignEdit(mapper, key, value));
     }
 
     @Nonnull
@@ -223,53 +260,513 @@ public class TrieArrayNode<T>
                                                 @Nonnull K key,
                                                 @Nonnull Func1<Maybe<V>, V> generator)
     {
-        final int index = flip(key.hashCode());
+        final int index = flip(mapper.mappedHashCode(key));
         final int shiftCountForValue = findShiftForIndex(index);
-        return mappedUpdateImpl(ROOT_SHIFT_COUNT, shiftCountForValue, index, mapper, key, generator);
+        return assignSlotImpl(ROOT_SHIFT_COUNT, shiftCountForValue, index, 1, sizer(mapper), updateEdit(mapper, key, generator));
     }
 
     @Nonnull
     public <K> TrieArrayNode<T> mappedDelete(@Nonnull ArrayDeleteMapper<K, T> mapper,
                                              @Nonnull K key)
     {
-        final int index = flip(key.hashCode());
+        final int index = flip(mapper.mappedHashCode(key));
+        final int shiftCountForValue = findShiftForIndex(index);
+        return deleteSlotImpl(shiftCountForValue, index, 1, sizer(mapper), deleteEdit(mapper, key));
+    }
+
+    public <K, V> V slotGetValueOr(@Nonnull ArraySlotGetMapper<K, V, T> mapper,
+                                   @Nonnull K key,
+                                   V defaultValue)
+    {
+        final int index = flip(mapper.mappedHashCode(key));
+        final TrieArrayNode<T> node = findNode(findShiftForIndex(index), index);
+        return node != null ? mapper.slotGetValueOr(node.values, node.slotPosition(mapper.slotWidth(), index), key, defaultValue) : defaultValue;
+    }
+
+    @Nonnull
+    public <K, V> Maybe<V> slotFind(@Nonnull ArraySlotGetMapper<K, V, T> mapper,
+                                    @Nonnull K key)
+    {
+        final int index = flip(mapper.mappedHashCode(key));
+        final TrieArrayNode<T> node = findNode(findShiftForIndex(index), index);
+        return node != null ? mapper.slotFind(node.values, node.slotPosition(mapper.slotWidth(), index), key) : Maybe.empty();
+    }
+
+    @Nonnull
+    public <K, V> Maybe<IMapEntry<K, V>> slotFindEntry(@Nonnull ArraySlotGetMapper<K, V, T> mapper,
+                                                       @Nonnull K key)
+    {
+        final int index = flip(mapper.mappedHashCode(key));
+        final TrieArrayNode<T> node = findNode(findShiftForIndex(index), index);
+        return node != null ? mapper.slotFindEntry(node.values, node.slotPosition(mapper.slotWidth(), index), key) : Maybe.empty();
+    }
+
+    @Nonnull
+    public <K, V> TrieArrayNode<T> slotAssign(@Nonnull ArraySlotUpdateMapper<K, V, T> mapper,
+                                              @Nonnull K key,
+                                              V value)
+    {
+        final int index = flip(mapper.mappedHashCode(key));
+        final int shiftCountForValue = findShiftForIndex(index);
+        return assignSlotImpl(ROOT_SHIFT_COUNT, shiftCountForValue, index, mapper.slotWidth(), mapper::slotSize,
+                              (values, position) -> mapper.slotAssign(values, position, key, value));
+    }
+
+    @Nonnull
+    public <K, V> TrieArrayNode<T> slotUpdate(@Nonnull ArraySlotUpdateMapper<K, V, T> mapper,
+                                              @Nonnull K key,
+                                              @Nonnull Func1<Maybe<V>, V> generator)
+    {
+        final int index = flip(mapper.mappedHashCode(key));
+        final int shiftCountForValue = findShiftForIndex(index);
+        return assignSlotImpl(ROOT_SHIFT_COUNT, shiftCountForValue, index, mapper.slotWidth(), mapper::slotSize,
+                              (values, position) -> mapper.slotUpdate(values, position, key, generator));
+    }
+
+    @Nonnull
+    public <K, V> TrieArrayNode<T> slotDelete(@Nonnull ArraySlotUpdateMapper<K, V, T> mapper,
+                                              @Nonnull K key)
+    {
+        final int index = flip(mapper.mappedHashCode(key));
         final int shiftCountForValue = findShiftForIndex(index);
-        return mappedDeleteImpl(shiftCountForValue, index, mapper, key);
+        return deleteSlotImpl(shiftCountForValue, index, mapper.slotWidth(), mapper::slotSize,
+                              (values, position) -> mapper.slotDelete(values, position, key));
+    }
+
+    /**
+     * Computes the union of this trie and other by walking both tries in parallel.
+     * Subtrees that appear in only one of the tries (or are the same object in both)
+     * are reused without being visited.
+     */
+    @Nonnull
+    public TrieArrayNode<T> mappedUnion(@Nonnull ArrayMergeMapper<T> mapper,
+                                        @Nonnull TrieArrayNode<T> other)
+    {
+        return unionImpl(1, sizer(mapper), (values, position, otherValues, otherPosition) -> values[position] = mapper.mappedUnion(values[position], otherValues[otherPosition]), other);
+    }
+
+    /**
+     * Same as {@link #mappedUnion} but for a trie of slots.  Mappings from other replace
+     * those from this trie for keys present in both.
+     */
+    @Nonnull
+    public <K, V> TrieArrayNode<T> slotUnion(@Nonnull ArraySlotEntryMapper<K, V, T> mapper,
+                                             @Nonnull TrieArrayNode<T> other)
+    {
+        return unionImpl(mapper.slotWidth(), mapper::slotSize, mapper::slotUnion, other);
+    }
+
+    @Nonnull
+    private TrieArrayNode<T> unionImpl(int width,
+                                       @Nonnull SlotIntFunction<T> sizer,
+                                       @Nonnull SlotMerge<T> merge,
+                                       @Nonnull TrieArrayNode<T> other)
+    {
+        if (this == other || other.isEmpty()) {
+            return this;
+        } else if (isEmpty()) {
+            return other;
+        } else if (shiftCount == other.shiftCount && baseIndex == other.baseIndex) {
+            return unionSameLevel(width, sizer, merge, other);
+        } else if (contains(other)) {
+            final int childIndex = indexAtShift(shiftCount, other.baseIndex);
+            final TrieArrayNode<T> child = childAt(childIndex);
+            return withChild(childIndex, child == null ? other : child.unionImpl(width, sizer, merge, other));
+        } else if (other.contains(this)) {
+            final int childIndex = indexAtShift(other.shiftCount, baseIndex);
+            final TrieArrayNode<T> child = other.childAt(childIndex);
+            final TrieArrayNode<T> newChild = (child == null) ? this : unionImpl(width, sizer, merge, child);
+            if (child != null && newChild == this && other.valuesBitmask == 0 && other.nodes.length == 1) {
+                // other only contained that child so there is no need to restore the skipped level.
+                // when other has no child at childIndex this becomes a sibling of other's only child
+                // so other's level must be kept.
+                return this;
+            }
+            return other.withChild(childIndex, newChild);
+        } else {
+            return forNodes(this, other);
+        }
+    }
+
+    /**
+     * Computes the intersection of this trie and other by walking both tries in parallel.
+     * Subtrees that are the same object in both tries are reused without being visited
+     * and subtrees that appear in only one of the tries are skipped.
+     */
+    @Nonnull
+    public TrieArrayNode<T> mappedIntersection(@Nonnull ArrayMergeMapper<T> mapper,
+                                               @Nonnull TrieArrayNode<T> other)
+    {
+        if (this == other) {
+            return this;
+        } else if (isEmpty() || other.isEmpty()) {
+            return empty();
+        } else if (shiftCount == other.shiftCount && baseIndex == other.baseIndex) {
+            return intersectionSameLevel(mapper, other);
+        } else if (contains(other)) {
+            final TrieArrayNode<T> child = childAt(indexAtShift(shiftCount, other.baseIndex));
+            return child == null ? empty() : child.mappedIntersection(mapper, other);
+        } else if (other.contains(this)) {
+            final TrieArrayNode<T> child = other.childAt(indexAtShift(other.shiftCount, baseIndex));
+            return child == null ? empty() : mappedIntersection(mapper, child);
+        } else {
+            return empty();
+        }
+    }
+
+    /**
+     * Computes a trie containing all of the keys in this trie that are not in other by
+     * walking both tries in parallel.  Subtrees that are the same object in both tries
+     * are discarded without being visited and subtrees that appear only in this trie
+     * are reused.
+     */
+    @Nonnull
+    public TrieArrayNode<T> mappedDifference(@Nonnull ArrayMergeMapper<T> mapper,
+                                             @Nonnull TrieArrayNode<T> other)
+    {
+        if (this == other) {
+            return empty();
+        } else if (isEmpty() || other.isEmpty()) {
+            return this;
+        } else if (shiftCount == other.shiftCount && baseIndex == other.baseIndex) {
+            return differenceSameLevel(mapper, other);
+        } else if (contains(other)) {
+            final int childIndex = indexAtShift(shiftCount, other.baseIndex);
+            final TrieArrayNode<T> child = childAt(childIndex);
+            return child == null ? this : withChild(childIndex, child.mappedDifference(mapper, other));
+        } else if (other.contains(this)) {
+            final TrieArrayNode<T> child = other.childAt(indexAtShift(other.shiftCount, baseIndex));
+            return child == null ? this : mappedDifference(mapper, child);
+        } else {
+            return this;
+        }
+    }
+
+    /**
+     * Calls proc with the old and new mapping for every index whose mapping is not the same
+     * object in this trie and other.  null is passed in place of the missing mapping for indexes
+     * that only appear in one of the tries.  Subtrees that are the same object in both tries
+     * are skipped without being visited.
+     */
+    public void diff(@Nonnull TrieArrayNode<T> other,
+                     @Nonnull Proc2<T, T> proc)
+    {
+        diffImpl(1, other, (mine, myPosition, theirs, theirPosition) -> proc.apply(mine == null ? null : mine[myPosition],
+                                                                                   theirs == null ? null : theirs[theirPosition]));
+    }
+
+    /**
+     * Passes every slot whose contents differ between this trie and newer to the mapper
+     * along with visitor.  Slots holding the same objects in both tries and subtrees that
+     * are the same object in both tries are skipped without being visited.
+     */
+    public <K, V> void slotDiff(@Nonnull ArraySlotEntryMapper<K, V, T> mapper,
+                                @Nonnull TrieArrayNode<T> newer,
+                                @Nonnull MapDiffVisitor<K, V> visitor)
+    {
+        diffImpl(mapper.slotWidth(), newer, (mine, myPosition, theirs, theirPosition) -> mapper.slotDiff(mine, myPosition, theirs, theirPosition, visitor));
+    }
+
+    /**
+     * Returns true if predicate returns true for every pair of values at the same index in
+     * this trie and other and both tries contain the same indexes.  Values and subtrees
+     * shared by the two tries are skipped.  Stops at the first difference found.
+     */
+    public boolean sameValues(@Nonnull TrieArrayNode<T> other,
+                              @Nonnull BiPredicate<T, T> predicate)
+    {
+        return sameSlotsImpl(1, other, (mine, myPosition, theirs, theirPosition) -> predicate.test(mine[myPosition], theirs[theirPosition]));
+    }
+
+    /**
+     * Returns true if other contains exactly the same keys mapped to equal values.  Slots and
+     * subtrees shared by the two tries are skipped.  Since the level of every index is fixed
+     * a slot present in only one of the tries means the tries contain different keys.
+     * Stops at the first difference found.
+     */
+    public <K, V> boolean slotSameEntries(@Nonnull ArraySlotEntryMapper<K, V, T> mapper,
+                                          @Nonnull TrieArrayNode<T> other)
+    {
+        return sameSlotsImpl(mapper.slotWidth(), other, mapper::slotSameEntries);
+    }
+
+    /**
+     * A node contains every index within its range so nodes covering the same range must
+     * have the same size and a node covering a larger range can only match if its sole
+     * contents are the child covering the smaller one.
+     */
+    private boolean sameSlotsImpl(int width,
+                                  @Nonnull TrieArrayNode<T> other,
+                                  @Nonnull SlotMatch<T> matcher)
+    {
+        if (this == other) {
+            return true;
+        } else if (size != other.size) {
+            return false;
+        } else if (isEmpty()) {
+            return true;
+        } else if (shiftCount == other.shiftCount && baseIndex == other.baseIndex) {
+            if (valuesBitmask != other.valuesBitmask || nodesBitmask != other.nodesBitmask) {
+                return false;
+            }
+            for (int position = 0; position < values.length; position += width) {
+                if (!sameSlot(width, values, position, other.values, position) && !matcher.test(values, position, other.values, position)) {
+                    return false;
+                }
+            }
+            for (int i = 0; i < nodes.length; ++i) {
+                if (!nodes[i].sameSlotsImpl(width, other.nodes[i], matcher)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (contains(other)) {
+            return values.length == 0 && nodes.length == 1 && nodes[0].sameSlotsImpl(width, other, matcher);
+        } else if (other.contains(this)) {
+            return other.values.length == 0 && other.nodes.length == 1 && sameSlotsImpl(width, other.nodes[0], matcher);
+        } else {
+            return false;
+        }
+    }
+
+    private void diffImpl(int width,
+                          @Nonnull TrieArrayNode<T> other,
+                          @Nonnull SlotDiff<T> proc)
+    {
+        if (this == other) {
+            return;
+        }
+        if (other.isEmpty()) {
+            forEachSlot(width, (values, position) -> proc.apply(values, position, null, 0));
+        } else if (isEmpty()) {
+            other.forEachSlot(width, (values, position) -> proc.apply(null, 0, values, position));
+        } else if (shiftCount == other.shiftCount && baseIndex == other.baseIndex) {
+            for (long remaining = addBit(valuesBitmask, other.valuesBitmask); remaining != 0; remaining = removeBit(remaining, leastBit(remaining))) {
+                final long bit = leastBit(remaining);
+                final int myPosition = width * arrayIndexForBit(valuesBitmask, bit);
+                final int theirPosition = width * arrayIndexForBit(other.valuesBitmask, bit);
+                if (bitIsAbsent(valuesBitmask, bit)) {
+                    proc.apply(null, 0, other.values, theirPosition);
+                } else if (bitIsAbsent(other.valuesBitmask, bit)) {
+                    proc.apply(values, myPosition, null, 0);
+                } else if (!sameSlot(width, values, myPosition, other.values, theirPosition)) {
+                    proc.apply(values, myPosition, other.values, theirPosition);
+                }
+            }
+            for (long remaining = addBit(nodesBitmask, other.nodesBitmask); remaining != 0; remaining = removeBit(remaining, leastBit(remaining))) {
+                final long bit = leastBit(remaining);
+                final TrieArrayNode<T> mine = bitIsPresent(nodesBitmask, bit) ? nodes[arrayIndexForBit(nodesBitmask, bit)] : empty();
+                final TrieArrayNode<T> theirs = bitIsPresent(other.nodesBitmask, bit) ? other.nodes[arrayIndexForBit(other.nodesBitmask, bit)] : empty();
+                mine.diffImpl(width, theirs, proc);
+            }
+        } else if (contains(other)) {
+            final TrieArrayNode<T> child = childAt(indexAtShift(shiftCount, other.baseIndex));
+            for (int position = 0; position < values.length; position += width) {
+                proc.apply(values, position, null, 0);
+            }
+            for (TrieArrayNode<T> node : nodes) {
+                if (node != child) {
+                    node.forEachSlot(width, (values, position) -> proc.apply(values, position, null, 0));
+                }
+            }
+            (child == null ? TrieArrayNode.<T>empty() : child).diffImpl(width, other, proc);
+        } else if (other.contains(this)) {
+            final TrieArrayNode<T> child = other.childAt(indexAtShift(other.shiftCount, baseIndex));
+            for (int position = 0; position < other.values.length; position += width) {
+                proc.apply(null, 0, other.values, position);
+            }
+            for (TrieArrayNode<T> node : other.nodes) {
+                if (node != child) {
+                    node.forEachSlot(width, (values, position) -> proc.apply(null, 0, values, position));
+                }
+            }
+            diffImpl(width, child == null ? empty() : child, proc);
+        } else {
+            forEachSlot(width, (values, position) -> proc.apply(values, position, null, 0));
+            other.forEachSlot(width, (values, position) -> proc.apply(null, 0, values, position));
+        }
+    }
+
+    /**
+     * Returns the sum of hasher applied to every value in this trie.  Each node caches its
+     * sum so after the first call only nodes created by later updates need to be visited.
+     * Because of the caching a given trie must always be hashed using the same hasher.
+     */
+    public int hashCodeSum(@Nonnull ToIntFunction<T> hasher)
+    {
+        return hashCodeSumImpl(1, (values, position) -> hasher.applyAsInt(values[position]));
+    }
+
+    /**
+     * Same as {@link #hashCodeSum} but sums the mapper's hash codes of the slots.
+     */
+    public <K, V> int slotHashCodeSum(@Nonnull ArraySlotEntryMapper<K, V, T> mapper)
+    {
+        return hashCodeSumImpl(mapper.slotWidth(), mapper::slotHashCode);
+    }
+
+    private int hashCodeSumImpl(int width,
+                                @Nonnull SlotIntFunction<T> hasher)
+    {
+        int answer = hashCodeSum;
+        if (answer == 0) {
+            for (int position = 0; position < values.length; position += width) {
+                answer += hasher.apply(values, position);
+            }
+            for (TrieArrayNode<T> node : nodes) {
+                answer += node.hashCodeSumImpl(width, hasher);
+            }
+            hashCodeSum = answer;
+        }
+        return answer;
+    }
+
+    /**
+     * Computes the same value as IteratorHelper.iteratorHashCode() would for the (index,value)
+     * entries of this trie in iteration order.  Every node caches its result so after an update
+     * only the nodes on the modified path need to be recomputed.  Only valid for tries whose
+     * size is their number of values.
+     */
+    public int entriesHashCode()
+    {
+        int answer = entriesHashCode;
+        if (answer == 0) {
+            for (long remaining = addBit(valuesBitmask, nodesBitmask); remaining != 0; remaining = removeBit(remaining, leastBit(remaining))) {
+                final long bit = leastBit(remaining);
+                if (bitIsPresent(valuesBitmask, bit)) {
+                    final int entryIndex = flip(baseIndex + shift(shiftCount, indexForBit(bit)));
+                    final T value = values[arrayIndexForBit(valuesBitmask, bit)];
+                    answer = 31 * answer + (Integer.hashCode(entryIndex) ^ Objects.hashCode(value));
+                }
+                if (bitIsPresent(nodesBitmask, bit)) {
+                    final TrieArrayNode<T> node = nodes[arrayIndexForBit(nodesBitmask, bit)];
+                    answer = answer * IteratorHelper.pow31(node.size) + node.entriesHashCode();
+                }
+            }
+            entriesHashCode = answer;
+        }
+        return answer;
+    }
+
+    /**
+     * Returns true if this trie contains the same (index,value) entries as other.  Subtrees that
+     * are the same object in both tries are skipped without visiting their values.  Nodes at
+     * the same level are compared directly.  Where the tries store a range at different levels
+     * the entries of those subtrees are compared by iterating over them.  Only valid for tries
+     * whose size is their number of values.
+     */
+    public boolean sameEntries(@Nonnull TrieArrayNode<T> other)
+    {
+        if (this == other) {
+            return true;
+        }
+        if (size != other.size) {
+            return false;
+        }
+        if (shiftCount != other.shiftCount || baseIndex != other.baseIndex) {
+            return IteratorHelper.iteratorEquals(entries().iterator(), other.entries().iterator());
+        }
+        if (valuesBitmask != other.valuesBitmask || nodesBitmask != other.nodesBitmask) {
+            return false;
+        }
+        for (int i = 0; i < values.length; ++i) {
+            if (!Objects.equals(values[i], other.values[i])) {
+                return false;
+            }
+        }
+        for (int i = 0; i < nodes.length; ++i) {
+            if (!nodes[i].sameEntries(other.nodes[i])) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public void forEach(@Nonnull Proc1<T> proc)
+    {
+        forEachSlot(1, (values, position) -> proc.apply(values[position]));
+    }
+
+    public <E extends Exception> void forEachThrows(@Nonnull Proc1Throws<T, E> proc)
+        throws E
+    {
+        forEachSlot(1, (values, position) -> proc.apply(values[position]));
+    }
+
+    /**
+     * Passes values to predicate in the same order as forEach() until it returns false.
+     *
+     * @return true if predicate returned true for every value
+     */
+    public boolean forEachWhile(@Nonnull Predicate<? super T> predicate)
+    {
+        return forEachSlotWhile(1, (values, position) -> predicate.test(values[position]));
+    }
+
+    public <K, V> void slotForEach(@Nonnull ArraySlotEntryMapper<K, V, T> mapper,
+                                   @Nonnull Proc2<K, V> proc)
+    {
+        forEachSlot(mapper.slotWidth(), (values, position) -> mapper.slotForEach(values, position, proc));
+    }
+
+    public <K, V, E extends Exception> void slotForEachThrows(@Nonnull ArraySlotEntryMapper<K, V, T> mapper,
+                                                              @Nonnull Proc2Throws<K, V, E> proc)
+        throws E
+    {
+        forEachSlot(mapper.slotWidth(), (values, position) -> mapper.slotForEachThrows(values, position, proc));
+    }
+
+    /**
+     * Passes entries to predicate in the same order as slotForEach() until it returns false.
+     *
+     * @return true if predicate returned true for every entry
+     */
+    public <K, V> boolean slotForEachWhile(@Nonnull ArraySlotEntryMapper<K, V, T> mapper,
+                                           @Nonnull BiPredicate<K, V> predicate)
+    {
+        return forEachSlotWhile(mapper.slotWidth(), (values, position) -> mapper.slotForEachWhile(values, position, predicate));
+    }
+
+    private <E extends Exception> void forEachSlot(int width,
+                                                   @Nonnull SlotProc<T, E> proc)
+        throws E
     {
         long combinedBitmask = addBit(valuesBitmask, nodesBitmask);
         while (combinedBitmask != 0) {
             final long bit = leastBit(combinedBitmask);
             if (bitIsPresent(valuesBitmask, bit)) {
                 final int arrayIndex = arrayIndexForBit(valuesBitmask, bit);
-                proc.apply(values[arrayIndex]);
+                proc.apply(values, width * arrayIndex);
             }
             if (bitIsPresent(nodesBitmask, bit)) {
                 final int nodeIndex = arrayIndexForBit(nodesBitmask, bit);
-                nodes[nodeIndex].forEach(proc);
+                nodes[nodeIndex].forEachSlot(width, proc);
             }
             combinedBitmask = removeBit(combinedBitmask, bit);
         }
     }
 
-    public <E extends Exception> void forEachThrows(@Nonnull Proc1Throws<T, E> proc)
-        throws E
+    private boolean forEachSlotWhile(int width,
+                                     @Nonnull SlotPredicate<T> predicate)
     {
         long combinedBitmask = addBit(valuesBitmask, nodesBitmask);
         while (combinedBitmask != 0) {
             final long bit = leastBit(combinedBitmask);
             if (bitIsPresent(valuesBitmask, bit)) {
                 final int arrayIndex = arrayIndexForBit(valuesBitmask, bit);
-                proc.apply(values[arrayIndex]);
+                if (!predicate.test(values, width * arrayIndex)) {
+                    return false;
+                }
             }
             if (bitIsPresent(nodesBitmask, bit)) {
                 final int nodeIndex = arrayIndexForBit(nodesBitmask, bit);
-                nodes[nodeIndex].forEachThrows(proc);
+                if (!nodes[nodeIndex].forEachSlotWhile(width, predicate)) {
+                    return false;
+                }
             }
             combinedBitmask = removeBit(combinedBitmask, bit);
         }
+        return true;
     }
 
     public void forEach(@Nonnull IndexedProc1<T> proc)
@@ -312,40 +809,20 @@ public class TrieArrayNode<T>
     }
 
     @Nullable
-    private <K> T getNodeFofHashKey(@Nonnull K key)
+    private <K> T getNodeFofHashKey(@Nonnull ArrayKeyMapper<K> mapper,
+                                    @Nonnull K key)
     {
-        final int index = flip(key.hashCode());
+        final int index = flip(mapper.mappedHashCode(key));
         final int shiftCountForValue = findShiftForIndex(index);
         return getValueOrImpl(shiftCountForValue, index, null);
     }
 
-    private T getValueOrImpl(int shiftCountForValue,
-                             int index,
-                             T defaultValue)
+    T getValueOrImpl(int shiftCountForValue,
+                     int index,
+                     T defaultValue)
     {
-        final int shiftCount = this.shiftCount;
-        if (shiftCountForValue > shiftCount) {
-            return defaultValue;
-        }
-        if (baseIndexAtShift(shiftCount, index) != baseIndex) {
-            return defaultValue;
-        }
-        final int myIndex = indexAtShift(shiftCount, index);
-        final long bit = bitFromIndex(myIndex);
-        if (shiftCountForValue == shiftCount) {
-            final long bitmask = this.valuesBitmask;
-            if (bitIsPresent(bitmask, bit)) {
-                final int arrayIndex = arrayIndexForBit(bitmask, bit);
-                return values[arrayIndex];
-            }
-        } else {
-            final long bitmask = this.nodesBitmask;
-            if (bitIsPresent(bitmask, bit)) {
-                final int arrayIndex = arrayIndexForBit(bitmask, bit);
-                return nodes[arrayIndex].getValueOrImpl(shiftCountForValue, index, defaultValue);
-            }
-        }
-        return defaultValue;
+        final TrieArrayNode<T> node = findNode(shiftCountForValue, index);
+        return node != null ? node.values[node.slotPosition(1, index)] : defaultValue;
     }
 
     @Nonnull
@@ -354,29 +831,38 @@ public class TrieArrayNode<T>
                            Func0<C> notFound,
                            Func1<T, C> found)
     {
-        final int shiftCount = this.shiftCount;
-        if (shiftCountForValue > shiftCount) {
-            return notFound.apply();
-        }
-        if (baseIndexAtShift(shiftCount, index) != baseIndex) {
-            return notFound.apply();
-        }
-        final int myIndex = indexAtShift(shiftCount, index);
-        final long bit = bitFromIndex(myIndex);
-        if (shiftCountForValue == shiftCount) {
-            final long bitmask = this.valuesBitmask;
-            if (bitIsPresent(bitmask, bit)) {
-                final int arrayIndex = arrayIndexForBit(bitmask, bit);
-                return found.apply(values[arrayIndex]);
+        final TrieArrayNode<T> node = findNode(shiftCountForValue, index);
+        return node != null ? found.apply(node.values[node.slotPosition(1, index)]) : notFound.apply();
+    }
+
+    /**
+     * Returns the node holding the value for index or null if there is no such value.
+     */
+    @Nullable
+    TrieArrayNode<T> findNode(int shiftCountForValue,
+                              int index)
+    {
+        TrieArrayNode<T> node = this;
+        while (shiftCountForValue <= node.shiftCount && baseIndexAtShift(node.shiftCount, index) == node.baseIndex) {
+            final long bit = bitFromIndex(indexAtShift(node.shiftCount, index));
+            if (shiftCountForValue == node.shiftCount) {
+                return bitIsPresent(node.valuesBitmask, bit) ? node : null;
             }
-        } else {
-            final long bitmask = this.nodesBitmask;
-            if (bitIsPresent(bitmask, bit)) {
-                final int arrayIndex = arrayIndexForBit(bitmask, bit);
-                return nodes[arrayIndex].findImpl(shiftCountForValue, index, notFound, found);
+            if (bitIsAbsent(node.nodesBitmask, bit)) {
+                return null;
             }
+            node = node.nodes[arrayIndexForBit(node.nodesBitmask, bit)];
         }
-        return notFound.apply();
+        return null;
+    }
+
+    /**
+     * Position in this node's values array of the first element of the slot for index.
+     */
+    int slotPosition(int width,
+                     int index)
+    {
+        return width * arrayIndexForBit(valuesBitmask, bitFromIndex(indexAtShift(shiftCount, index)));
     }
 
     @Nonnull
@@ -442,13 +928,18 @@ public class TrieArrayNode<T>
         }
     }
 
+    /**
+     * Applies edit to the slot for index, creating the slot (and any nodes needed to hold it)
+     * if it does not exist yet.  The edit is applied to a copy of the slot so this node is
+     * returned unchanged if the edit leaves every element of the slot as it was.
+     */
     @Nonnull
-    private <K, V> TrieArrayNode<T> mappedAssignImpl(int shiftCount,
-                                                     int shiftCountForValue,
-                                                     int index,
-                                                     @Nonnull ArrayAssignMapper<K, V, T> mapper,
-                                                     @Nonnull K key,
-                                                     V value)
+    private TrieArrayNode<T> assignSlotImpl(int shiftCount,
+                                            int shiftCountForValue,
+                                            int index,
+                                            int width,
+                                            @Nonnull SlotIntFunction<T> sizer,
+                                            @Nonnull SlotIntFunction<T> edit)
     {
         final int thisShiftCount = this.shiftCount;
         final int baseIndex = this.baseIndex;
@@ -463,7 +954,7 @@ public class TrieArrayNode<T>
             assert ancestorShiftCount <= shiftCount;
             if (ancestorShiftCount > thisShiftCount) {
                 final TrieArrayNode<T> ancestor = forNode(ancestorShiftCount, baseIndex, this);
-                return ancestor.mappedAssignImpl(ancestorShiftCount, shiftCountForValue, index, mapper, key, value);
+                return ancestor.assignSlotImpl(ancestorShiftCount, shiftCountForValue, index, width, sizer, edit);
             }
             shiftCount = thisShiftCount;
         }
@@ -477,25 +968,26 @@ public class TrieArrayNode<T>
         final TrieArrayNode<T>[] nodes = this.nodes;
         if (shiftCount == shiftCountForValue) {
             // Store the value in this node.
-            final long newBitmask = addBit(valuesBitmask, bit);
-            final int arrayIndex = arrayIndexForBit(valuesBitmask, bit);
+            final int position = width * arrayIndexForBit(valuesBitmask, bit);
             if (bitIsPresent(valuesBitmask, bit)) {
-                final T oldValue = values[arrayIndex];
-                final T newValue = mapper.mappedAssign(oldValue, key, value);
-                if (newValue == oldValue) {
+                final T[] slot = copySlot(width, values, position);
+                final int newSlotSize = edit.apply(slot, 0);
+                if (sameSlot(width, values, position, slot, 0)) {
                     return this;
                 } else {
-                    final int newSize = size - mapper.mappedSize(oldValue) + mapper.mappedSize(newValue);
+                    final int newSize = size - sizer.apply(values, position) + newSlotSize;
                     assert (newSize == size) || (newSize == size + 1);
-                    final T[] newValues = ArrayHelper.assign(values, arrayIndex, newValue);
-                    assert newSize == computeSize(mapper, nodes, newValues);
-                    return new TrieArrayNode<>(shiftCount, baseIndex, newBitmask, newValues, nodesBitmask, nodes, newSize);
+                    final T[] newValues = values.clone();
+                    System.arraycopy(slot, 0, newValues, position, width);
+                    assert newSize == computeSize(width, sizer, nodes, newValues);
+                    return new TrieArrayNode<>(shiftCount, baseIndex, valuesBitmask, newValues, nodesBitmask, nodes, newSize);
                 }
             } else {
-                final T newValue = mapper.mappedAssign(key, value);
-                assert mapper.mappedSize(newValue) == 1;
-                final T[] newValues = ArrayHelper.insert(TrieArrayNode::allocateValues, values, arrayIndex, newValue);
-                assert (size + 1) == computeSize(mapper, nodes, newValues);
+                final long newBitmask = addBit(valuesBitmask, bit);
+                final T[] newValues = insertSlot(width, values, position);
+                final int newSlotSize = edit.apply(newValues, position);
+                assert newSlotSize == 1;
+                assert (size + 1) == computeSize(width, sizer, nodes, newValues);
                 return new TrieArrayNode<>(shiftCount, baseIndex, newBitmask, newValues, nodesBitmask, nodes, size + 1);
             }
         } else {
@@ -503,23 +995,23 @@ public class TrieArrayNode<T>
             final int arrayIndex = arrayIndexForBit(nodesBitmask, bit);
             if (bitIsPresent(nodesBitmask, bit)) {
                 final TrieArrayNode<T> node = nodes[arrayIndex];
-                final TrieArrayNode<T> newNode = node.mappedAssignImpl(shiftCount - 1, shiftCountForValue, index, mapper, key, value);
+                final TrieArrayNode<T> newNode = node.assignSlotImpl(shiftCount - 1, shiftCountForValue, index, width, sizer, edit);
                 if (newNode == node) {
                     return this;
                 } else {
                     final TrieArrayNode<T>[] newNodes = ArrayHelper.assign(nodes, arrayIndex, newNode);
                     final int newSize = size - node.size() + newNode.size();
-                    assert newSize == computeSize(mapper, newNodes, values);
+                    assert newSize == computeSize(width, sizer, newNodes, values);
                     return new TrieArrayNode<>(shiftCount, baseIndex, valuesBitmask, values, nodesBitmask, newNodes, newSize);
                 }
             } else {
                 final long newBitmask = addBit(nodesBitmask, bit);
-                final TrieArrayNode<T> newNode = forValue(shiftCountForValue, index, mapper.mappedAssign(key, value));
+                final TrieArrayNode<T> newNode = forSlot(shiftCountForValue, index, width, edit);
                 if (valuesBitmask == 0 && nodesBitmask == 0) {
                     return newNode;
                 } else {
                     final TrieArrayNode<T>[] newNodes = ArrayHelper.insert(TrieArrayNode::allocateNodes, nodes, arrayIndex, newNode);
-                    assert (size + 1) == computeSize(mapper, newNodes, values);
+                    assert (size + 1) == computeSize(width, sizer, newNodes, values);
                     return new TrieArrayNode<>(shiftCount, baseIndex, valuesBitmask, values, newBitmask, newNodes, size + 1);
                 }
             }
@@ -527,93 +1019,8 @@ public class TrieArrayNode<T>
     }
 
     @Nonnull
-    private <K, V> TrieArrayNode<T> mappedUpdateImpl(int shiftCount,
-                                                     int shiftCountForValue,
-                                                     int index,
-                                                     @Nonnull ArrayUpdateMapper<K, V, T> mapper,
-                                                     @Nonnull K key,
-                                                     @Nonnull Func1<Maybe<V>, V> generator)
-    {
-        final int thisShiftCount = this.shiftCount;
-        final int baseIndex = this.baseIndex;
-        assert baseIndexAtShift(shiftCount, index) == baseIndexAtShift(shiftCount, baseIndex);
-        assert shiftCount >= thisShiftCount;
-        assert shiftCount >= shiftCountForValue;
-        if (shiftCount != thisShiftCount) {
-            // We are lower in tree than our parent expects, see if we need to create an ancestor to hold the value.
-            // This happens when we've skipped intermediate nodes for efficiency and one of those nodes needs to be
-            // inserted now because we are assigning a value that goes down a different branch than this node.
-            final int ancestorShiftCount = findCommonAncestorShift(baseIndex + shift(thisShiftCount, 1), index);
-            assert ancestorShiftCount <= shiftCount;
-            if (ancestorShiftCount > thisShiftCount) {
-                final TrieArrayNode<T> ancestor = forNode(ancestorShiftCount, baseIndex, this);
-                return ancestor.mappedUpdateImpl(ancestorShiftCount, shiftCountForValue, index, mapper, key, generator);
-            }
-            shiftCount = thisShiftCount;
-        }
-        // If we've gotten here we know the value belongs either in this node or in one of our descendent nodes.
-        assert baseIndexAtShift(shiftCount, index) == baseIndex;
-        final int myIndex = indexAtShift(shiftCount, index);
-        final long bit = bitFromIndex(myIndex);
-        final long valuesBitmask = this.valuesBitmask;
-        final long nodesBitmask = this.nodesBitmask;
-        final T[] values = this.values;
-        final TrieArrayNode<T>[] nodes = this.nodes;
-        if (shiftCount == shiftCountForValue) {
-            // Store the value in this node.
-            final long newBitmask = addBit(valuesBitmask, bit);
-            final int arrayIndex = arrayIndexForBit(valuesBitmask, bit);
-            if (bitIsPresent(valuesBitmask, bit)) {
-                final T oldValue = values[arrayIndex];
-                final T newValue = mapper.mappedUpdate(oldValue, key, generator);
-                if (newValue == oldValue) {
-                    return this;
-                } else {
-                    final int newSize = size - mapper.mappedSize(oldValue) + mapper.mappedSize(newValue);
-                    assert (newSize == size) || (newSize == size + 1);
-                    final T[] newValues = ArrayHelper.assign(values, arrayIndex, newValue);
-                    assert newSize == computeSize(mapper, nodes, newValues);
-                    return new TrieArrayNode<>(shiftCount, baseIndex, newBitmask, newValues, nodesBitmask, nodes, newSize);
-                }
-            } else {
-                final T newValue = mapper.mappedAssign(key, generator.apply(Maybe.empty()));
-                assert mapper.mappedSize(newValue) == 1;
-                final T[] newValues = ArrayHelper.insert(TrieArrayNode::allocateValues, values, arrayIndex, newValue);
-                assert (size + 1) == computeSize(mapper, nodes, newValues);
-                return new TrieArrayNode<>(shiftCount, baseIndex, newBitmask, newValues, nodesBitmask, nodes, size + 1);
-            }
-        } else {
-            // Store the value in a descendent node.
-            final int arrayIndex = arrayIndexForBit(nodesBitmask, bit);
-            if (bitIsPresent(nodesBitmask, bit)) {
-                final TrieArrayNode<T> node = nodes[arrayIndex];
-                final TrieArrayNode<T> newNode = node.mappedUpdateImpl(shiftCount - 1, shiftCountForValue, index, mapper, key, generator);
-                if (newNode == node) {
-                    return this;
-                } else {
-                    final TrieArrayNode<T>[] newNodes = ArrayHelper.assign(nodes, arrayIndex, newNode);
-                    final int newSize = size - node.size() + newNode.size();
-                    assert newSize == computeSize(mapper, newNodes, values);
-                    return new TrieArrayNode<>(shiftCount, baseIndex, valuesBitmask, values, nodesBitmask, newNodes, newSize);
-                }
-            } else {
-                final long newBitmask = addBit(nodesBitmask, bit);
-                final V value = generator.apply(Maybe.empty());
-                final TrieArrayNode<T> newNode = forValue(shiftCountForValue, index, mapper.mappedAssign(key, value));
-                if (valuesBitmask == 0 && nodesBitmask == 0) {
-                    return newNode;
-                } else {
-                    final TrieArrayNode<T>[] newNodes = ArrayHelper.insert(TrieArrayNode::allocateNodes, nodes, arrayIndex, newNode);
-                    assert (size + 1) == computeSize(mapper, newNodes, values);
-                    return new TrieArrayNode<>(shiftCount, baseIndex, valuesBitmask, values, newBitmask, newNodes, size + 1);
-                }
-            }
-        }
-    }
-
-    @Nonnull
-    private TrieArrayNode<T> deleteImpl(int shiftCountForValue,
-                                        int index)
+    private TrieArrayNode<T> deleteImpl(int shiftCountForValue,
+                                        int index)
     {
         final int shiftCount = this.shiftCount;
         if (shiftCountForValue > shiftCount) {
@@ -667,11 +1074,17 @@ public class TrieArrayNode<T>
         return this;
     }
 
+    /**
+     * Applies edit to the slot for index if there is one.  The slot is removed if the edit
+     * returns zero.  The edit is applied to a copy of the slot so this node is returned
+     * unchanged if the edit leaves every element of the slot as it was.
+     */
     @Nonnull
-    private <K> TrieArrayNode<T> mappedDeleteImpl(int shiftCountForValue,
-                                                  int index,
-                                                  @Nonnull ArrayDeleteMapper<K, T> mapper,
-                                                  @Nonnull K key)
+    private TrieArrayNode<T> deleteSlotImpl(int shiftCountForValue,
+                                            int index,
+                                            int width,
+                                            @Nonnull SlotIntFunction<T> sizer,
+                                            @Nonnull SlotIntFunction<T> edit)
     {
         final int shiftCount = this.shiftCount;
         if (shiftCountForValue > shiftCount) {
@@ -686,24 +1099,26 @@ public class TrieArrayNode<T>
         final T[] values = this.values;
         if (shiftCountForValue == shiftCount) {
             if (bitIsPresent(valuesBitmask, bit)) {
-                final long newBitmask;
-                final int arrayIndex = arrayIndexForBit(valuesBitmask, bit);
-                final T mapping = values[arrayIndex];
-                final T newMapping = mapper.mappedDelete(mapping, key);
-                if (newMapping != mapping) {
+                final int position = width * arrayIndexForBit(valuesBitmask, bit);
+                final T[] slot = copySlot(width, values, position);
+                final int newSlotSize = edit.apply(slot, 0);
+                if (!sameSlot(width, values, position, slot, 0)) {
+                    final int newSize = size - sizer.apply(values, position) + newSlotSize;
+                    final long newBitmask;
                     final T[] newValues;
-                    if (newMapping == null) {
-                        if (size == 1) {
+                    if (newSlotSize == 0) {
+                        if (newSize == 0) {
                             return empty();
                         }
                         newBitmask = removeBit(valuesBitmask, bit);
-                        newValues = ArrayHelper.delete(TrieArrayNode::allocateValues, values, arrayIndex);
+                        newValues = deleteSlot(width, values, position);
                     } else {
                         newBitmask = valuesBitmask;
-                        newValues = ArrayHelper.assign(values, arrayIndex, newMapping);
+                        newValues = values.clone();
+                        System.arraycopy(slot, 0, newValues, position, width);
                     }
-                    assert (size - 1) == computeSize(mapper, nodes, newValues);
-                    return new TrieArrayNode<>(shiftCount, baseIndex, newBitmask, newValues, nodesBitmask, nodes, size - 1);
+                    assert newSize == computeSize(width, sizer, nodes, newValues);
+                    return new TrieArrayNode<>(shiftCount, baseIndex, newBitmask, newValues, nodesBitmask, nodes, newSize);
                 }
             }
         } else {
@@ -712,7 +1127,7 @@ public class TrieArrayNode<T>
                 final int arrayIndex = arrayIndexForBit(bitmask, bit);
                 final TrieArrayNode<T>[] nodes = this.nodes;
                 final TrieArrayNode<T> node = nodes[arrayIndex];
-                final TrieArrayNode<T> newNode = node.mappedDeleteImpl(shiftCountForValue, index, mapper, key);
+                final TrieArrayNode<T> newNode = node.deleteSlotImpl(shiftCountForValue, index, width, sizer, edit);
                 if (newNode != node) {
                     final int newSize = size - node.size() + newNode.size();
                     if (newSize == 0) {
@@ -724,12 +1139,12 @@ public class TrieArrayNode<T>
                             return nodes[arrayIndexForBit(bitmask, newBitmask)];
                         } else {
                             final TrieArrayNode<T>[] newNodes = ArrayHelper.delete(TrieArrayNode::allocateNodes, nodes, arrayIndex);
-                            assert newSize == computeSize(mapper, newNodes, values);
+                            assert newSize == computeSize(width, sizer, newNodes, values);
                             return new TrieArrayNode<>(shiftCount, baseIndex, valuesBitmask, values, newBitmask, newNodes, newSize);
                         }
                     } else {
                         final TrieArrayNode<T>[] newNodes = ArrayHelper.assign(nodes, arrayIndex, newNode);
-                        assert newSize == computeSize(mapper, newNodes, values);
+                        assert newSize == computeSize(width, sizer, newNodes, values);
                         return new TrieArrayNode<>(shiftCount, baseIndex, valuesBitmask, values, bitmask, newNodes, newSize);
                     }
                 }
@@ -738,9 +1153,265 @@ public class TrieArrayNode<T>
         return this;
     }
 
+    @Nonnull
+    private TrieArrayNode<T> unionSameLevel(int width,
+                                            @Nonnull SlotIntFunction<T> sizer,
+                                            @Nonnull SlotMerge<T> merge,
+                                            @Nonnull TrieArrayNode<T> other)
+    {
+        final long newValuesBitmask = addBit(valuesBitmask, other.valuesBitmask);
+        final T[] newValues = allocateValues(width * bitCount(newValuesBitmask));
+        int position = 0;
+        for (long remaining = newValuesBitmask; remaining != 0; remaining = removeBit(remaining, leastBit(remaining))) {
+            final long bit = leastBit(remaining);
+            if (bitIsAbsent(valuesBitmask, bit)) {
+                System.arraycopy(other.values, width * arrayIndexForBit(other.valuesBitmask, bit), newValues, position, width);
+            } else {
+                final int myPosition = width * arrayIndexForBit(valuesBitmask, bit);
+                System.arraycopy(values, myPosition, newValues, position, width);
+                if (bitIsPresent(other.valuesBitmask, bit)) {
+                    final int otherPosition = width * arrayIndexForBit(other.valuesBitmask, bit);
+                    if (!sameSlot(width, values, myPosition, other.values, otherPosition)) {
+                        merge.apply(newValues, position, other.values, otherPosition);
+                    }
+                }
+            }
+            position += width;
+        }
+        final long newNodesBitmask = addBit(nodesBitmask, other.nodesBitmask);
+        final TrieArrayNode<T>[] newNodes = allocateNodes(bitCount(newNodesBitmask));
+        int nodeIndex = 0;
+        for (long remaining = newNodesBitmask; remaining != 0; remaining = removeBit(remaining, leastBit(remaining))) {
+            final long bit = leastBit(remaining);
+            final TrieArrayNode<T> mine = bitIsPresent(nodesBitmask, bit) ? nodes[arrayIndexForBit(nodesBitmask, bit)] : null;
+            final TrieArrayNode<T> theirs = bitIsPresent(other.nodesBitmask, bit) ? other.nodes[arrayIndexForBit(other.nodesBitmask, bit)] : null;
+            if (mine == null) {
+                newNodes[nodeIndex] = theirs;
+            } else if (theirs == null) {
+                newNodes[nodeIndex] = mine;
+            } else {
+                newNodes[nodeIndex] = mine.unionImpl(width, sizer, merge, theirs);
+            }
+            nodeIndex += 1;
+        }
+        if (!hasSameContents(newValuesBitmask, newValues, newNodesBitmask, newNodes) && other.hasSameContents(newValuesBitmask, newValues, newNodesBitmask, newNodes)) {
+            return other;
+        }
+        return mergeResult(width, sizer, newValuesBitmask, newValues, newNodesBitmask, newNodes);
+    }
+
+    @Nonnull
+    private TrieArrayNode<T> intersectionSameLevel(@Nonnull ArrayMergeMapper<T> mapper,
+                                                   @Nonnull TrieArrayNode<T> other)
+    {
+        long newValuesBitmask = 0;
+        final T[] newValues = allocateValues(bitCount(valuesBitmask & other.valuesBitmask));
+        int valueIndex = 0;
+        for (long remaining = valuesBitmask & other.valuesBitmask; remaining != 0; remaining = removeBit(remaining, leastBit(remaining))) {
+            final long bit = leastBit(remaining);
+            final T mine = values[arrayIndexForBit(valuesBitmask, bit)];
+            final T theirs = other.values[arrayIndexForBit(other.valuesBitmask, bit)];
+            final T value = (mine == theirs) ? mine : mapper.mappedIntersection(mine, theirs);
+            if (value != null) {
+                newValues[valueIndex++] = value;
+                newValuesBitmask = addBit(newValuesBitmask, bit);
+            }
+        }
+        long newNodesBitmask = 0;
+        final TrieArrayNode<T>[] newNodes = allocateNodes(bitCount(nodesBitmask & other.nodesBitmask));
+        int nodeIndex = 0;
+        for (long remaining = nodesBitmask & other.nodesBitmask; remaining != 0; remaining = removeBit(remaining, leastBit(remaining))) {
+            final long bit = leastBit(remaining);
+            final TrieArrayNode<T> mine = nodes[arrayIndexForBit(nodesBitmask, bit)];
+            final TrieArrayNode<T> theirs = other.nodes[arrayIndexForBit(other.nodesBitmask, bit)];
+            final TrieArrayNode<T> node = mine.mappedIntersection(mapper, theirs);
+            if (!node.isEmpty()) {
+                newNodes[nodeIndex++] = node;
+                newNodesBitmask = addBit(newNodesBitmask, bit);
+            }
+        }
+        return mergeResult(1, sizer(mapper), newValuesBitmask, trim(TrieArrayNode::allocateValues, newValues, valueIndex),
+                           newNodesBitmask, trim(TrieArrayNode::allocateNodes, newNodes, nodeIndex));
+    }
+
+    @Nonnull
+    private TrieArrayNode<T> differenceSameLevel(@Nonnull ArrayMergeMapper<T> mapper,
+                                                 @Nonnull TrieArrayNode<T> other)
+    {
+        long newValuesBitmask = 0;
+        final T[] newValues = allocateValues(bitCount(valuesBitmask));
+        int valueIndex = 0;
+        for (long remaining = valuesBitmask; remaining != 0; remaining = removeBit(remaining, leastBit(remaining))) {
+            final long bit = leastBit(remaining);
+            final T mine = values[arrayIndexForBit(valuesBitmask, bit)];
+            final T value;
+            if (bitIsAbsent(other.valuesBitmask, bit)) {
+                value = mine;
+            } else {
+                final T theirs = other.values[arrayIndexForBit(other.valuesBitmask, bit)];
+                value = (mine == theirs) ? null : mapper.mappedDifference(mine, theirs);
+            }
+            if (value != null) {
+                newValues[valueIndex++] = value;
+                newValuesBitmask = addBit(newValuesBitmask, bit);
+            }
+        }
+        long newNodesBitmask = 0;
+        final TrieArrayNode<T>[] newNodes = allocateNodes(bitCount(nodesBitmask));
+        int nodeIndex = 0;
+        for (long remaining = nodesBitmask; remaining != 0; remaining = removeBit(remaining, leastBit(remaining))) {
+            final long bit = leastBit(remaining);
+            final TrieArrayNode<T> mine = nodes[arrayIndexForBit(nodesBitmask, bit)];
+            final TrieArrayNode<T> node;
+            if (bitIsAbsent(other.nodesBitmask, bit)) {
+                node = mine;
+            } else {
+                node = mine.mappedDifference(mapper, other.nodes[arrayIndexForBit(other.nodesBitmask, bit)]);
+            }
+            if (!node.isEmpty()) {
+                newNodes[nodeIndex++] = node;
+                newNodesBitmask = addBit(newNodesBitmask, bit);
+            }
+        }
+        return mergeResult(1, sizer(mapper), newValuesBitmask, trim(TrieArrayNode::allocateValues, newValues, valueIndex),
+                           newNodesBitmask, trim(TrieArrayNode::allocateNodes, newNodes, nodeIndex));
+    }
+
+    /**
+     * Creates the node for the result of a set operation at this node's level.  Reuses this
+     * node if nothing has changed and collapses the result if it has only a single child.
+     */
+    @Nonnull
+    private TrieArrayNode<T> mergeResult(int width,
+                                         @Nonnull SlotIntFunction<T> sizer,
+                                         long newValuesBitmask,
+                                         @Nonnull T[] newValues,
+                                         long newNodesBitmask,
+                                         @Nonnull TrieArrayNode<T>[] newNodes)
+    {
+        if (hasSameContents(newValuesBitmask, newValues, newNodesBitmask, newNodes)) {
+            return this;
+        } else if (newValuesBitmask == 0 && newNodesBitmask == 0) {
+            return empty();
+        } else if (newValuesBitmask == 0 && bitCount(newNodesBitmask) == 1) {
+            return newNodes[0];
+        } else {
+            final int newSize = computeSize(width, sizer, newNodes, newValues);
+            return new TrieArrayNode<>(shiftCount, baseIndex, newValuesBitmask, newValues, newNodesBitmask, newNodes, newSize);
+        }
+    }
+
+    private boolean hasSameContents(long otherValuesBitmask,
+                                    @Nonnull T[] otherValues,
+                                    long otherNodesBitmask,
+                                    @Nonnull TrieArrayNode<T>[] otherNodes)
+    {
+        if (valuesBitmask != otherValuesBitmask || nodesBitmask != otherNodesBitmask) {
+            return false;
+        }
+        for (int i = 0; i < values.length; ++i) {
+            if (values[i] != otherValues[i]) {
+                return false;
+            }
+        }
+        for (int i = 0; i < nodes.length; ++i) {
+            if (nodes[i] != otherNodes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determines if other belongs in one of this node's children.
+     */
+    private boolean contains(@Nonnull TrieArrayNode<T> other)
+    {
+        return shiftCount > other.shiftCount && baseIndexAtShift(shiftCount, other.baseIndex) == baseIndex;
+    }
+
+    @Nullable
+    private TrieArrayNode<T> childAt(int childIndex)
+    {
+        final long bit = bitFromIndex(childIndex);
+        return bitIsPresent(nodesBitmask, bit) ? nodes[arrayIndexForBit(nodesBitmask, bit)] : null;
+    }
+
+    /**
+     * Returns a node identical to this one except that the child at childIndex has been
+     * replaced by newChild.  An empty newChild removes the child.
+     */
+    @Nonnull
+    private TrieArrayNode<T> withChild(int childIndex,
+                                       @Nonnull TrieArrayNode<T> newChild)
+    {
+        final long bit = bitFromIndex(childIndex);
+        final int arrayIndex = arrayIndexForBit(nodesBitmask, bit);
+        if (bitIsAbsent(nodesBitmask, bit)) {
+            if (newChild.isEmpty()) {
+                return this;
+            }
+            final TrieArrayNode<T>[] newNodes = ArrayHelper.insert(TrieArrayNode::allocateNodes, nodes, arrayIndex, newChild);
+            return new TrieArrayNode<>(shiftCount, baseIndex, valuesBitmask, values, addBit(nodesBitmask, bit), newNodes, size + newChild.size);
+        }
+        final TrieArrayNode<T> oldChild = nodes[arrayIndex];
+        if (newChild == oldChild) {
+            return this;
+        }
+        final int newSize = size - oldChild.size + newChild.size;
+        if (!newChild.isEmpty()) {
+            final TrieArrayNode<T>[] newNodes = ArrayHelper.assign(nodes, arrayIndex, newChild);
+            return new TrieArrayNode<>(shiftCount, baseIndex, valuesBitmask, values, nodesBitmask, newNodes, newSize);
+        } else if (newSize == 0) {
+            return empty();
+        }
+        final long newBitmask = removeBit(nodesBitmask, bit);
+        if (valuesBitmask == 0 && bitCount(newBitmask) == 1) {
+            // return the unaffected single remaining node to minimize height of the tree
+            return nodes[arrayIndexForBit(nodesBitmask, newBitmask)];
+        } else {
+            final TrieArrayNode<T>[] newNodes = ArrayHelper.delete(TrieArrayNode::allocateNodes, nodes, arrayIndex);
+            return new TrieArrayNode<>(shiftCount, baseIndex, valuesBitmask, values, newBitmask, newNodes, newSize);
+        }
+    }
+
+    /**
+     * Creates a node containing two nodes whose indexes do not overlap as children
+     * of their closest common ancestor.
+     */
+    @Nonnull
+    private static <T> TrieArrayNode<T> forNodes(@Nonnull TrieArrayNode<T> a,
+                                                 @Nonnull TrieArrayNode<T> b)
+    {
+        int shiftCount = Math.max(a.shiftCount, b.shiftCount) + 1;
+        while (baseIndexAtShift(shiftCount, a.baseIndex) != baseIndexAtShift(shiftCount, b.baseIndex)) {
+            shiftCount += 1;
+        }
+        assert shiftCount <= ROOT_SHIFT_COUNT;
+        final int aIndex = indexAtShift(shiftCount, a.baseIndex);
+        final int bIndex = indexAtShift(shiftCount, b.baseIndex);
+        assert aIndex != bIndex;
+        final TrieArrayNode<T>[] nodes = allocateNodes(2);
+        nodes[0] = (aIndex < bIndex) ? a : b;
+        nodes[1] = (aIndex < bIndex) ? b : a;
+        final long nodesBitmask = addBit(bitFromIndex(aIndex), bitFromIndex(bIndex));
+        return new TrieArrayNode<>(shiftCount, baseIndexAtShift(shiftCount, a.baseIndex), 0L, emptyValues(), nodesBitmask, nodes, a.size + b.size);
+    }
+
     public void checkInvariants(@Nullable ArraySizeMapper<T> mapper)
     {
-        if (bitCount(valuesBitmask) != values.length) {
+        checkInvariants(1, mapper != null ? sizer(mapper) : null);
+    }
+
+    public void slotCheckInvariants(@Nonnull ArraySlotMapper<T> mapper)
+    {
+        checkInvariants(mapper.slotWidth(), mapper::slotSize);
+    }
+
+    private void checkInvariants(int width,
+                                 @Nullable SlotIntFunction<T> sizer)
+    {
+        if (width * bitCount(valuesBitmask) != values.length) {
             throw new IllegalStateException(String.format("invalid bitmask for values array: bitmask=%s length=%d", Long.toBinaryString(valuesBitmask), values.length));
         }
         if (bitCount(nodesBitmask) != nodes.length) {
@@ -749,12 +1420,73 @@ public class TrieArrayNode<T>
         if (!checkChildShifts(shiftCount, nodes)) {
             throw new IllegalStateException("one or more nodes invalid for this branch");
         }
-        final int computedSize = mapper != null ? computeSize(mapper, nodes, values) : computeSize(nodes) + values.length;
+        final int computedSize = sizer != null ? computeSize(width, sizer, nodes, values) : computeSize(nodes) + values.length;
         if (computedSize != size) {
             throw new IllegalStateException(String.format("size mismatch: size=%d computed=%d", size, computedSize));
         }
     }
 
+    /**
+     * Creates a node from the parts returned by the accessors of an existing node.  Children
+     * must already have been restored.  Used to recreate tries that were saved node by node.
+     * width is the slot width of the trie, 1 for tries that are not used with slot methods.
+     *
+     * @throws IllegalArgumentException if the parts do not form a valid node
+     */
+    @Nonnull
+    public static <T> TrieArrayNode<T> restore(int width,
+                                               int shiftCount,
+                                               int baseIndex,
+                                               long valuesBitmask,
+                                               @Nonnull T[] values,
+                                               long nodesBitmask,
+                                               @Nonnull TrieArrayNode<T>[] nodes,
+                                               int size)
+    {
+        if (shiftCount < LEAF_SHIFT_COUNT || shiftCount > ROOT_SHIFT_COUNT) {
+            throw new IllegalArgumentException("invalid trie node shift: " + shiftCount);
+        }
+        if (width * bitCount(valuesBitmask) != values.length || bitCount(nodesBitmask) != nodes.length) {
+            throw new IllegalArgumentException("trie node bitmasks do not match its contents");
+        }
+        if (baseIndexAtShift(shiftCount, baseIndex) != baseIndex) {
+            throw new IllegalArgumentException("invalid trie node base index: " + baseIndex);
+        }
+        if (!checkChildShifts(shiftCount, nodes)) {
+            throw new IllegalArgumentException("invalid trie node child shift");
+        }
+        for (int i = 0; i < nodes.length; ++i) {
+            final TrieArrayNode<T> node = nodes[i];
+            final long bit = bitFromIndex(indexAtShift(shiftCount, node.baseIndex));
+            if (baseIndexAtShift(shiftCount, node.baseIndex) != baseIndex || bitIsAbsent(nodesBitmask, bit) || arrayIndexForBit(nodesBitmask, bit) != i) {
+                throw new IllegalArgumentException("trie node child is not within its parent");
+            }
+        }
+        if (values.length == 0 && nodes.length == 0) {
+            if (size != 0) {
+                throw new IllegalArgumentException("empty trie node has non-zero size");
+            }
+            return empty();
+        }
+        return new TrieArrayNode<>(shiftCount, baseIndex, valuesBitmask, values, nodesBitmask, nodes, size);
+    }
+
+    /**
+     * Determines whether a key whose hash code is hashCode belongs in the slot whose bit is
+     * slotBit in a node with the given shift and base index.  Used to verify the slots of
+     * tries that were saved node by node before they are restored.
+     */
+    public static boolean isSlotForHashCode(int shiftCount,
+                                            int baseIndex,
+                                            long slotBit,
+                                            int hashCode)
+    {
+        final int index = flip(hashCode);
+        return findShiftForIndex(index) == shiftCount &&
+               baseIndexAtShift(shiftCount, index) == baseIndex &&
+               bitFromIndex(indexAtShift(shiftCount, index)) == slotBit;
+    }
+
     @Nonnull
     public GenericIterator.Iterable<Integer> keys()
     {
@@ -779,19 +1511,25 @@ public class TrieArrayNode<T>
     @Nonnull
     public <K> GenericIterator.Iterable<K> mappedKeys(@Nonnull ArrayIterationMapper<K, ?, T> mapper)
     {
-        return mappedIterable(mapper::mappedKeys);
+        return slotIterable(1, (values, position) -> mapper.mappedKeys(values[position]));
     }
 
     @Nonnull
     public <V> GenericIterator.Iterable<V> mappedValues(@Nonnull ArrayIterationMapper<?, V, T> mapper)
     {
-        return mappedIterable(mapper::mappedValues);
+        return slotIterable(1, (values, position) -> mapper.mappedValues(values[position]));
     }
 
     @Nonnull
     public <K, V> GenericIterator.Iterable<IMapEntry<K, V>> mappedEntries(@Nonnull ArrayIterationMapper<K, V, T> mapper)
     {
-        return mappedIterable(mapper::mappedEntries);
+        return slotIterable(1, (values, position) -> mapper.mappedEntries(values[position]));
+    }
+
+    @Nonnull
+    public <K, V> GenericIterator.Iterable<IMapEntry<K, V>> slotEntries(@Nonnull ArraySlotEntryMapper<K, V, T> mapper)
+    {
+        return slotIterable(mapper.slotWidth(), mapper::slotEntries);
     }
 
     public int size()
@@ -799,6 +1537,57 @@ public class TrieArrayNode<T>
         return size;
     }
 
+    public int shiftCount()
+    {
+        return shiftCount;
+    }
+
+    public int baseIndex()
+    {
+        return baseIndex;
+    }
+
+    public long valuesBitmask()
+    {
+        return valuesBitmask;
+    }
+
+    /**
+     * Returns the value stored directly in this node at arrayIndex.  Values are stored in
+     * the order of their bits in {@link #valuesBitmask()}.
+     */
+    public T valueAt(int arrayIndex)
+    {
+        return values[arrayIndex];
+    }
+
+    @Nonnull
+    T[] valuesArray()
+    {
+        return values;
+    }
+
+    public long nodesBitmask()
+    {
+        return nodesBitmask;
+    }
+
+    /**
+     * Returns the child of this node at arrayIndex.  Children are stored in the order of
+     * their bits in {@link #nodesBitmask()}.
+     */
+    @Nonnull
+    public TrieArrayNode<T> nodeAt(int arrayIndex)
+    {
+        return nodes[arrayIndex];
+    }
+
+    @Nonnull
+    TrieArrayNode<T>[] nodesArray()
+    {
+        return nodes;
+    }
+
     private int computeUserIndexForValue(Integer valueIndex)
     {
         return flip(baseIndex + shift(shiftCount, valueIndex));
@@ -844,7 +1633,8 @@ public class TrieArrayNode<T>
     }
 
     @Nonnull
-    private <V> GenericIterator.Iterable<V> mappedIterable(@Nonnull Func1<T, GenericIterator.Iterable<V>> valueFunction)
+    private <V> GenericIterator.Iterable<V> slotIterable(int width,
+                                                         @Nonnull SlotFunction<T, GenericIterator.Iterable<V>> slotFunction)
     {
         return new GenericIterator.Iterable<V>()
         {
@@ -854,21 +1644,21 @@ public class TrieArrayNode<T>
                                                              int offset,
                                                              int limit)
             {
-                final List<GenericIterator.Iterable<V>> iterables = new ArrayList<>(values.length + nodes.length);
+                final List<GenericIterator.Iterable<V>> iterables = new ArrayList<>(bitCount(valuesBitmask) + nodes.length);
                 long combinedBitmask = addBit(valuesBitmask, nodesBitmask);
                 while (combinedBitmask != 0) {
                     final long bit = leastBit(combinedBitmask);
                     if (bitIsPresent(valuesBitmask, bit)) {
-                        final int arrayIndex = arrayIndexForBit(valuesBitmask, bit);
-                        iterables.add(valueFunction.apply(values[arrayIndex]));
+                        final int position = width * arrayIndexForBit(valuesBitmask, bit);
+                        iterables.add(slotFunction.apply(values, position));
                     }
                     if (bitIsPresent(nodesBitmask, bit)) {
                         final int nodeIndex = arrayIndexForBit(nodesBitmask, bit);
-                        iterables.add(nodes[nodeIndex].mappedIterable(valueFunction));
+                        iterables.add(nodes[nodeIndex].slotIterable(width, slotFunction));
                     }
                     combinedBitmask = removeBit(combinedBitmask, bit);
                 }
-                assert iterables.size() == (values.length + nodes.length);
+                assert iterables.size() == (bitCount(valuesBitmask) + nodes.length);
                 return GenericIterator.multiIterableState(parent, IndexedList.retained(iterables), offset, limit);
             }
 
@@ -908,6 +1698,14 @@ public class TrieArrayNode<T>
         return (TrieArrayNode<T>[])EMPTY_NODES;
     }
 
+    @Nonnull
+    private static <X> X[] trim(@Nonnull ArrayHelper.Allocator<X> allocator,
+                                @Nonnull X[] array,
+                                int length)
+    {
+        return (length == array.length) ? array : ArrayHelper.prefix(allocator, array, length);
+    }
+
     static int findShiftForIndex(int index)
     {
         return findMinimumShiftForZeroBelowHashCode(index);
@@ -939,6 +1737,102 @@ public class TrieArrayNode<T>
         return index ^ SIGN_BIT;
     }
 
+    @Nonnull
+    static <T> SlotIntFunction<T> sizer(@Nonnull ArraySizeMapper<T> mapper)
+    {
+        return (values, position) -> mapper.mappedSize(values[position]);
+    }
+
+    /**
+     * Adapts mappedAssign to an edit of a slot of width 1.
+     */
+    @Nonnull
+    static <K, V, T> SlotIntFunction<T> assignEdit(@Nonnull ArrayAssignMapper<K, V, T> mapper,
+                                                   @Nonnull K key,
+                                                   V value)
+    {
+        return (values, position) -> {
+            final T current = values[position];
+            values[position] = (current == null) ? mapper.mappedAssign(key, value) : mapper.mappedAssign(current, key, value);
+            return mapper.mappedSize(values[position]);
+        };
+    }
+
+    /**
+     * Adapts mappedUpdate to an edit of a slot of width 1.
+     */
+    @Nonnull
+    static <K, V, T> SlotIntFunction<T> updateEdit(@Nonnull ArrayUpdateMapper<K, V, T> mapper,
+                                                   @Nonnull K key,
+                                                   @Nonnull Func1<Maybe<V>, V> generator)
+    {
+        return (values, position) -> {
+            final T current = values[position];
+            values[position] = (current == null) ? mapper.mappedAssign(key, generator.apply(Maybe.empty())) : mapper.mappedUpdate(current, key, generator);
+            return mapper.mappedSize(values[position]);
+        };
+    }
+
+    /**
+     * Adapts mappedDelete to an edit of a slot of width 1.
+     */
+    @Nonnull
+    static <K, T> SlotIntFunction<T> deleteEdit(@Nonnull ArrayDeleteMapper<K, T> mapper,
+                                                @Nonnull K key)
+    {
+        return (values, position) -> {
+            final T mapping = mapper.mappedDelete(values[position], key);
+            values[position] = mapping;
+            return (mapping == null) ? 0 : mapper.mappedSize(mapping);
+        };
+    }
+
+    static <T> boolean sameSlot(int width,
+                                        @Nonnull T[] a,
+                                        int aPosition,
+                                        @Nonnull T[] b,
+                                        int bPosition)
+    {
+        for (int i = 0; i < width; ++i) {
+            if (a[aPosition + i] != b[bPosition + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Nonnull
+    static <T> T[] copySlot(int width,
+                                    @Nonnull T[] values,
+                                    int position)
+    {
+        final T[] slot = allocateValues(width);
+        System.arraycopy(values, position, slot, 0, width);
+        return slot;
+    }
+
+    @Nonnull
+    private static <T> T[] insertSlot(int width,
+                                      @Nonnull T[] values,
+                                      int position)
+    {
+        final T[] newValues = allocateValues(values.length + width);
+        System.arraycopy(values, 0, newValues, 0, position);
+        System.arraycopy(values, position, newValues, position + width, values.length - position);
+        return newValues;
+    }
+
+    @Nonnull
+    private static <T> T[] deleteSlot(int width,
+                                      @Nonnull T[] values,
+                                      int position)
+    {
+        final T[] newValues = allocateValues(values.length - width);
+        System.arraycopy(values, 0, newValues, 0, position);
+        System.arraycopy(values, position + width, newValues, position, newValues.length - position);
+        return newValues;
+    }
+
     private static <T> boolean checkChildShifts(int shiftCount,
                                                 @Nonnull TrieArrayNode<T>[] nodes)
     {
@@ -950,16 +1844,17 @@ public class TrieArrayNode<T>
         return true;
     }
 
-    private static <K, T> int computeSize(@Nonnull ArraySizeMapper<T> mapper,
-                                          @Nonnull TrieArrayNode<T>[] children,
-                                          @Nonnull T[] values)
+    private static <T> int computeSize(int width,
+                                       @Nonnull SlotIntFunction<T> sizer,
+                                       @Nonnull TrieArrayNode<T>[] children,
+                                       @Nonnull T[] values)
     {
         int total = 0;
         for (TrieArrayNode<T> child : children) {
             total += child.size();
         }
-        for (T value : values) {
-            total += mapper.mappedSize(value);
+        for (int position = 0; position < values.length; position += width) {
+            total += sizer.apply(values, position);
         }
         return total;
     }
@@ -972,4 +1867,188 @@ public class TrieArrayNode<T>
         }
         return total;
     }
+
+    /**
+     * Cursor that visits the values of a trie in the same order as forEach().  Maintains
+     * its own stack of nodes and unvisited bitmasks sized for the deepest possible trie
+     * so advancing never allocates.  Cursors over tries of slots visit each slot once
+     * and provide access to all of its elements.
+     */
+    @NotThreadSafe
+    public static class Cursor<T>
+        implements IArrayCursor<T>
+    {
+        private final TrieArrayNode<T> root;
+        private final int width;
+        private final TrieArrayNode<T>[] nodes;
+        private final long[] valueBits;
+        private final long[] nodeBits;
+        private int top;
+        private int index;
+        private T[] values;
+        private int position;
+        private boolean positioned;
+
+        public Cursor(@Nonnull TrieArrayNode<T> root)
+        {
+            this(root, 1);
+        }
+
+        public Cursor(@Nonnull TrieArrayNode<T> root,
+                      int width)
+        {
+            this.root = root;
+            this.width = width;
+            nodes = allocateNodes(ROOT_SHIFT_COUNT + 1);
+            valueBits = new long[ROOT_SHIFT_COUNT + 1];
+            nodeBits = new long[ROOT_SHIFT_COUNT + 1];
+            reset();
+        }
+
+        @Override
+        public boolean advance()
+        {
+            while (top >= 0) {
+                final TrieArrayNode<T> node = nodes[top];
+                final long remainingValues = valueBits[top];
+                final long remainingNodes = nodeBits[top];
+                if ((remainingValues | remainingNodes) == 0) {
+                    nodes[top] = null;
+                    top -= 1;
+                    continue;
+                }
+                final long bit = leastBit(addBit(remainingValues, remainingNodes));
+                if (bitIsPresent(remainingValues, bit)) {
+                    valueBits[top] = removeBit(remainingValues, bit);
+                    index = flip(node.baseIndex + shift(node.shiftCount, indexForBit(bit)));
+                    values = node.values;
+                    position = width * arrayIndexForBit(node.valuesBitmask, bit);
+                    positioned = true;
+                    return true;
+                }
+                nodeBits[top] = removeBit(remainingNodes, bit);
+                push(node.nodes[arrayIndexForBit(node.nodesBitmask, bit)]);
+            }
+            values = null;
+            positioned = false;
+            return false;
+        }
+
+        @Override
+        public int index()
+        {
+            if (!positioned) {
+                throw new NoSuchElementException();
+            }
+            return index;
+        }
+
+        @Override
+        public T value()
+        {
+            return slotElement(0);
+        }
+
+        /**
+         * Returns the element at offset within the current slot.
+         */
+        public T slotElement(int offset)
+        {
+            if (!positioned) {
+                throw new NoSuchElementException();
+            }
+            assert offset >= 0 && offset < width;
+            return values[position + offset];
+        }
+
+        @Override
+        public void reset()
+        {
+            while (top > 0) {
+                nodes[top] = null;
+                top -= 1;
+            }
+            top = -1;
+            values = null;
+            positioned = false;
+            push(root);
+        }
+
+        private void push(@Nonnull TrieArrayNode<T> node)
+        {
+            top += 1;
+            nodes[top] = node;
+            valueBits[top] = node.valuesBitmask;
+            nodeBits[top] = node.nodesBitmask;
+        }
+    }
+
+    /**
+     * Operation on the slot starting at position.  Used to compute the size or hash code
+     * of a slot or to edit a slot in place, in which case it returns the slot's new size.
+     */
+    @FunctionalInterface
+    interface SlotIntFunction<T>
+    {
+        int apply(@Nonnull T[] values,
+                  int position);
+    }
+
+    @FunctionalInterface
+    interface SlotFunction<T, R>
+    {
+        R apply(@Nonnull T[] values,
+                int position);
+    }
+
+    @FunctionalInterface
+    interface SlotProc<T, E extends Exception>
+    {
+        void apply(@Nonnull T[] values,
+                   int position)
+            throws E;
+    }
+
+    @FunctionalInterface
+    interface SlotPredicate<T>
+    {
+        boolean test(@Nonnull T[] values,
+                     int position);
+    }
+
+    /**
+     * Determines whether the slot at otherPosition in other matches the slot at position in values.
+     */
+    @FunctionalInterface
+    interface SlotMatch<T>
+    {
+        boolean test(@Nonnull T[] values,
+                     int position,
+                     @Nonnull T[] other,
+                     int otherPosition);
+    }
+
+    /**
+     * Merges the slot at otherPosition in other into the slot at position in values.
+     */
+    @FunctionalInterface
+    interface SlotMerge<T>
+    {
+        void apply(@Nonnull T[] values,
+                   int position,
+                   @Nonnull T[] other,
+                   int otherPosition);
+    }
+
+    /**
+     * Receives a pair of different slots.  The array for a slot that is missing is null.
+     */
+    @FunctionalInterface
+    interface SlotDiff<T>
+    {
+        void apply(@Nullable T[] first,
+                   int firstPosition,
+                   @Nullable T[] second,
+                   int secondPosition);
+    }
 }
@@ -35,9 +35,12 @@
 
 package org.javimmutable.collections.array;
 
+import org.javimmutable.collections.Func0;
+import org.javimmutable.collections.Func1;
 import org.javimmutable.collections.IMapEntry;
 import org.javimmutable.collections.IStreamable;
 import org.javimmutable.collections.MapEntry;
+import org.javimmutable.collections.Maybe;
 import org.javimmutable.collections.common.ArrayHelper;
 import org.javimmutable.collections.common.StreamConstants;
 import org.javimmutable.collections.indexed.IndexedList;
@@ -117,6 +120,14 @@ public class TrieLongArrayNode<T>
         return getValueOrImpl(shiftCountForValue, index, defaultValue);
     }
 
+    @Nonnull
+    public Maybe<T> find(long index)
+    {
+        index = flip(index);
+        final int shiftCountForValue = findShiftForIndex(index);
+        return findImpl(shiftCountForValue, index, () -> Maybe.empty(), value -> Maybe.of(value));
+    }
+
     @Nonnull
     public TrieLongArrayNode<T> assign(long index,
                                        T value)
@@ -201,6 +212,37 @@ public class TrieLongArrayNode<T>
         return defaultValue;
     }
 
+    @Nonnull
+    private <C> C findImpl(int shiftCountForValue,
+                           long index,
+                           Func0<C> notFound,
+                           Func1<T, C> found)
+    {
+        final int shiftCount = this.shiftCount;
+        if (shiftCountForValue > shiftCount) {
+            return notFound.apply();
+        }
+        if (baseIndexAtShift(shiftCount, index) != baseIndex) {
+            return notFound.apply();
+        }
+        final int myIndex = indexAtShift(shiftCount, index);
+        final long bit = bitFromIndex(myIndex);
+        if (shiftCountForValue == shiftCount) {
+            final long bitmask = this.valuesBitmask;
+            if (bitIsPresent(bitmask, bit)) {
+                final int arrayIndex = arrayIndexForBit(bitmask, bit);
+                return found.apply(values[arrayIndex]);
+            }
+        } else {
+            final long bitmask = this.nodesBitmask;
+            if (bitIsPresent(bitmask, bit)) {
+                final int arrayIndex = arrayIndexForBit(bitmask, bit);
+                return nodes[arrayIndex].findImpl(shiftCountForValue, index, notFound, found);
+            }
+        }
+        return notFound.apply();
+    }
+
     @Nonnull
     private TrieLongArrayNode<T> assignImpl(int shiftCount,
                                             int shiftCountForValue,
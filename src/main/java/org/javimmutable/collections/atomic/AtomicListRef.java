@@ -0,0 +1,95 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.atomic;
+
+import org.javimmutable.collections.IList;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * {@link AtomicRef} holding an {@link IList} with convenience methods for the common
+ * updates.  Each method retries as described in {@link AtomicRef#swap} and returns the
+ * list that was published.
+ */
+@ThreadSafe
+public class AtomicListRef<T>
+    extends AtomicRef<IList<T>>
+{
+    private AtomicListRef(@Nonnull IList<T> initialValue,
+                          @Nonnull ContentionPolicy policy)
+    {
+        super(initialValue, policy);
+    }
+
+    @Nonnull
+    public static <T> AtomicListRef<T> of(@Nonnull IList<T> initialValue)
+    {
+        return new AtomicListRef<>(initialValue, ContentionPolicy.defaultPolicy());
+    }
+
+    @Nonnull
+    public static <T> AtomicListRef<T> of(@Nonnull IList<T> initialValue,
+                                          @Nonnull ContentionPolicy policy)
+    {
+        return new AtomicListRef<>(initialValue, policy);
+    }
+
+    @Nonnull
+    public IList<T> insertFirst(@Nullable T value)
+    {
+        return swap(list -> list.insertFirst(value));
+    }
+
+    @Nonnull
+    public IList<T> insertLast(@Nullable T value)
+    {
+        return swap(list -> list.insertLast(value));
+    }
+
+    /**
+     * Replaces the value at index.  Since other threads may insert or delete values concurrently
+     * this is only meaningful when all writers leave the indexes of existing values unchanged.
+     */
+    @Nonnull
+    public IList<T> assign(int index,
+                           @Nullable T value)
+    {
+        return swap(list -> list.assign(index, value));
+    }
+}
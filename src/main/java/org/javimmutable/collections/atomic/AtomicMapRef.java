@@ -33,62 +33,78 @@
 // (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
 // OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
-package org.javimmutable.collections.hash.map;
+
+package org.javimmutable.collections.atomic;
 
 import org.javimmutable.collections.Func1;
-import org.javimmutable.collections.IMapEntry;
+import org.javimmutable.collections.IMap;
 import org.javimmutable.collections.Maybe;
-import org.javimmutable.collections.Proc2;
-import org.javimmutable.collections.Proc2Throws;
-import org.javimmutable.collections.common.CollisionMap;
-import org.javimmutable.collections.iterators.GenericIterator;
 
 import javax.annotation.Nonnull;
-import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
 
-public interface ArrayMapNode<K, V>
+/**
+ * {@link AtomicRef} holding an {@link IMap} with convenience methods for the common
+ * single key updates.  Each method retries as described in {@link AtomicRef#swap} and
+ * returns the map that was published.
+ */
+@ThreadSafe
+public class AtomicMapRef<K, V>
+    extends AtomicRef<IMap<K, V>>
 {
-    int size(@Nonnull CollisionMap<K, V> collisionMap);
-
-    V getValueOr(@Nonnull CollisionMap<K, V> collisionMap,
-                 @Nonnull K key,
-                 V defaultValue);
+    private AtomicMapRef(@Nonnull IMap<K, V> initialValue,
+                         @Nonnull ContentionPolicy policy)
+    {
+        super(initialValue, policy);
+    }
 
     @Nonnull
-    Maybe<V> find(@Nonnull CollisionMap<K, V> collisionMap,
-                  @Nonnull K key);
+    public static <K, V> AtomicMapRef<K, V> of(@Nonnull IMap<K, V> initialValue)
+    {
+        return new AtomicMapRef<>(initialValue, ContentionPolicy.defaultPolicy());
+    }
 
     @Nonnull
-    Maybe<IMapEntry<K, V>> findEntry(@Nonnull CollisionMap<K, V> collisionMap,
-                                     @Nonnull K key);
+    public static <K, V> AtomicMapRef<K, V> of(@Nonnull IMap<K, V> initialValue,
+                                               @Nonnull ContentionPolicy policy)
+    {
+        return new AtomicMapRef<>(initialValue, policy);
+    }
 
     @Nonnull
-    ArrayMapNode<K, V> assign(@Nonnull CollisionMap<K, V> collisionMap,
-                              @Nonnull K key,
-                              V value);
-
-    @Nullable
-    ArrayMapNode<K, V> delete(@Nonnull CollisionMap<K, V> collisionMap,
-                              @Nonnull K key);
+    public IMap<K, V> assign(@Nonnull K key,
+                             V value)
+    {
+        return swap(map -> map.assign(key, value));
+    }
 
+    /**
+     * Replaces the value for key with the result of calling generator with the current value
+     * (if any).  The generator may be called multiple times if other threads modify the map
+     * concurrently so it must not have side effects.
+     */
     @Nonnull
-    ArrayMapNode<K, V> update(@Nonnull CollisionMap<K, V> collisionMap,
-                              @Nonnull K key,
-                              @Nonnull Func1<Maybe<V>, V> generator);
+    public IMap<K, V> update(@Nonnull K key,
+                             @Nonnull Func1<Maybe<V>, V> generator)
+    {
+        return swap(map -> map.update(key, generator));
+    }
 
     @Nonnull
-    GenericIterator.Iterable<K> keys(@Nonnull CollisionMap<K, V> collisionMap);
+    public IMap<K, V> delete(@Nonnull K key)
+    {
+        return swap(map -> map.delete(key));
+    }
 
     @Nonnull
-    GenericIterator.Iterable<V> values(@Nonnull CollisionMap<K, V> collisionMap);
+    public IMap<K, V> assignAll(@Nonnull IMap<? extends K, ? extends V> other)
+    {
+        return swap(map -> map.assignAll(other));
+    }
 
     @Nonnull
-    GenericIterator.Iterable<IMapEntry<K, V>> entries(@Nonnull CollisionMap<K, V> collisionMap);
-
-    void forEach(@Nonnull CollisionMap<K, V> collisionMap,
-                 @Nonnull Proc2<K, V> proc);
-
-    <E extends Exception> void forEachThrows(@Nonnull CollisionMap<K, V> collisionMap,
-                                             @Nonnull Proc2Throws<K, V, E> proc)
-        throws E;
+    public Maybe<V> find(@Nonnull K key)
+    {
+        return get().find(key);
+    }
 }
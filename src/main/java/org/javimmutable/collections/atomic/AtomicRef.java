@@ -0,0 +1,226 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.atomic;
+
+import org.javimmutable.collections.Func1;
+import org.javimmutable.collections.Temp;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread safe holder for an immutable value (usually one of the persistent collections)
+ * that replaces the usual hand written AtomicReference compare-and-set loop.  Updates are
+ * expressed as functions from the current value to the new value.  If another thread
+ * publishes a value between reading the current value and publishing the new one the
+ * function is called again with the newer value so it must not have side effects.
+ * <p>
+ * Failed attempts are handled according to a {@link ContentionPolicy} (immediate retries,
+ * exponential backoff and finally a fallback lock) and counted so that the cost of
+ * contention can be monitored using {@link #metrics()}.
+ */
+@ThreadSafe
+public class AtomicRef<C>
+{
+    private final AtomicReference<C> value;
+    private final ContentionPolicy policy;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongAdder updates = new LongAdder();
+    private final LongAdder failedCompareAndSets = new LongAdder();
+    private final LongAdder backoffs = new LongAdder();
+    private final LongAdder lockedUpdates = new LongAdder();
+
+    protected AtomicRef(@Nonnull C initialValue,
+                        @Nonnull ContentionPolicy policy)
+    {
+        value = new AtomicReference<>(initialValue);
+        this.policy = policy;
+    }
+
+    @Nonnull
+    public static <C> AtomicRef<C> of(@Nonnull C initialValue)
+    {
+        return new AtomicRef<>(initialValue, ContentionPolicy.defaultPolicy());
+    }
+
+    @Nonnull
+    public static <C> AtomicRef<C> of(@Nonnull C initialValue,
+                                      @Nonnull ContentionPolicy policy)
+    {
+        return new AtomicRef<>(initialValue, policy);
+    }
+
+    @Nonnull
+    public C get()
+    {
+        return value.get();
+    }
+
+    /**
+     * Unconditionally replaces the current value.
+     */
+    public void set(@Nonnull C newValue)
+    {
+        value.set(newValue);
+    }
+
+    /**
+     * Replaces the current value with newValue only if the current value is the same
+     * object as expected.  Failures are counted in the metrics but not retried.
+     */
+    public boolean compareAndSet(@Nonnull C expected,
+                                 @Nonnull C newValue)
+    {
+        if (value.compareAndSet(expected, newValue)) {
+            updates.increment();
+            return true;
+        } else {
+            failedCompareAndSets.increment();
+            return false;
+        }
+    }
+
+    /**
+     * Replaces the current value with the result of calling update with it, retrying
+     * as necessary until the result is published.  If update returns the same object
+     * it was given nothing is published.
+     *
+     * @return the value that was published
+     */
+    @Nonnull
+    public C swap(@Nonnull Func1<C, C> update)
+    {
+        if (policy.usesLock() && lock.isLocked()) {
+            // other writers are already queued on the lock so trying to beat them is wasted effort
+            return swapLocked(update);
+        }
+        int failures = 0;
+        C current = value.get();
+        for (; ; ) {
+            final C next = update.apply(current);
+            if (next == current || value.compareAndSet(current, next)) {
+                updates.increment();
+                return next;
+            }
+            failedCompareAndSets.increment();
+            failures += 1;
+            if (policy.shouldLock(failures)) {
+                return swapLocked(update);
+            }
+            if (policy.backoff(failures)) {
+                backoffs.increment();
+            }
+            current = value.get();
+        }
+    }
+
+    /**
+     * Same as {@link #swap} but returns the value that was replaced.
+     */
+    @Nonnull
+    public C getAndSwap(@Nonnull Func1<C, C> update)
+    {
+        final Temp.Var1<C> previous = Temp.var(null);
+        swap(current -> {
+            previous.x = current;
+            return update.apply(current);
+        });
+        return previous.x;
+    }
+
+    /**
+     * Applies all of the updates in order and publishes the final result using a single
+     * compare-and-set.  This is much cheaper than calling {@link #swap} once per update
+     * when several changes need to be made since intermediate values are never published
+     * and a conflict only has to be resolved once.
+     *
+     * @return the value that was published
+     */
+    @Nonnull
+    public C swapAll(@Nonnull Iterable<? extends Func1<C, C>> updates)
+    {
+        return swap(current -> {
+            C answer = current;
+            for (Func1<C, C> update : updates) {
+                answer = update.apply(answer);
+            }
+            return answer;
+        });
+    }
+
+    @Nonnull
+    public ContentionMetrics metrics()
+    {
+        return new ContentionMetrics(updates.sum(), failedCompareAndSets.sum(), backoffs.sum(), lockedUpdates.sum());
+    }
+
+    @Nonnull
+    public ContentionPolicy policy()
+    {
+        return policy;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.valueOf(value.get());
+    }
+
+    @Nonnull
+    private C swapLocked(@Nonnull Func1<C, C> update)
+    {
+        lock.lock();
+        try {
+            for (; ; ) {
+                final C current = value.get();
+                final C next = update.apply(current);
+                if (next == current || value.compareAndSet(current, next)) {
+                    updates.increment();
+                    lockedUpdates.increment();
+                    return next;
+                }
+                // a writer that has not yet fallen back to the lock beat us
+                failedCompareAndSets.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,383 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.atomic;
+
+import org.javimmutable.collections.Func1;
+import org.javimmutable.collections.IMap;
+import org.javimmutable.collections.ISet;
+import org.javimmutable.collections.hash.EmptyHashMap;
+import org.javimmutable.collections.hash.EmptyHashSet;
+import org.javimmutable.collections.hash.HashMap;
+import org.javimmutable.collections.hash.HashSet;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Group commit writer for an immutable value.  Rather than having every writer compute
+ * its own new version and race to publish it, writers enqueue their update and whichever
+ * writer arrives while no batch is in progress becomes the combiner.  The combiner drains
+ * the queue, applies every pending update to a single edit session and publishes one new
+ * version for the whole batch.  Each writer receives a future that completes with the
+ * version containing its update.
+ * <p>
+ * An edit session is described by a {@link Session}.  The simplest session (see
+ * {@link #of}) just threads the value through the update functions.  The hash collection
+ * sessions (see {@link #forHashMap} and {@link #forHashSet}) apply the batch using an
+ * Editor which modifies nodes in place and freezes them once per batch, so a batch of
+ * n updates allocates far less than n separate versions would.
+ * <p>
+ * Update functions are called on the combiner's thread, so they must be quick and must
+ * not wait for other writers.  A combiner applies batches until its own update has been
+ * published plus at most one more batch for other writers.  Any updates still queued
+ * when it returns are applied by a task on the common fork join pool.
+ * <p>
+ * An update that throws fails its own future and the rest of the batch is still applied.
+ * Editor based sessions modify nodes in place so a failed update may have left partial
+ * changes in the editor.  For those sessions the batch is restarted from the published
+ * version without the failed update.  Update functions should therefore be free of side
+ * effects since they can be called more than once.
+ */
+@ThreadSafe
+public class BatchingWriter<C, E>
+{
+    private static final int MAX_BATCH_SIZE = 1024;
+
+    private final Session<C, E> session;
+    private final ConcurrentLinkedQueue<Pending<C, E>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean combining = new AtomicBoolean();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder updates = new LongAdder();
+    private volatile C current;
+
+    private BatchingWriter(@Nonnull C initialValue,
+                           @Nonnull Session<C, E> session)
+    {
+        this.session = session;
+        current = initialValue;
+    }
+
+    /**
+     * Converts between the published value and the mutable state used to apply a batch.
+     */
+    public interface Session<C, E>
+    {
+        @Nonnull
+        E begin(@Nonnull C current);
+
+        @Nonnull
+        C commit(@Nonnull E edits);
+
+        /**
+         * True if update functions modify the edit state in place rather than returning
+         * a new value.  A failed update can leave partial changes in such a state so the
+         * batch has to be restarted without it.
+         */
+        default boolean isMutable()
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Creates a writer whose updates are plain functions from one version to the next.
+     */
+    @Nonnull
+    public static <C> BatchingWriter<C, C> of(@Nonnull C initialValue)
+    {
+        return new BatchingWriter<>(initialValue, new Session<C, C>()
+        {
+            @Nonnull
+            @Override
+            public C begin(@Nonnull C current)
+            {
+                return current;
+            }
+
+            @Nonnull
+            @Override
+            public C commit(@Nonnull C edits)
+            {
+                return edits;
+            }
+        });
+    }
+
+    /**
+     * Creates a writer whose updates modify a {@link HashMap.Editor}.  The initial value
+     * must have been created by {@link HashMap}.
+     */
+    @Nonnull
+    public static <K, V> BatchingWriter<IMap<K, V>, HashMap.Editor<K, V>> forHashMap(@Nonnull IMap<K, V> initialValue)
+    {
+        final Session<IMap<K, V>, HashMap.Editor<K, V>> session = new Session<IMap<K, V>, HashMap.Editor<K, V>>()
+        {
+            @Nonnull
+            @Override
+            public HashMap.Editor<K, V> begin(@Nonnull IMap<K, V> current)
+            {
+                if (current instanceof HashMap) {
+                    return ((HashMap<?, K, V>)current).editor();
+                } else {
+                    return ((EmptyHashMap<K, V>)current).editor();
+                }
+            }
+
+            @Nonnull
+            @Override
+            public IMap<K, V> commit(@Nonnull HashMap.Editor<K, V> edits)
+            {
+                return edits.build();
+            }
+
+            @Override
+            public boolean isMutable()
+            {
+                return true;
+            }
+        };
+        if (!(initialValue instanceof HashMap || initialValue instanceof EmptyHashMap)) {
+            throw new IllegalArgumentException("initial value must be a hash map");
+        }
+        return new BatchingWriter<>(initialValue, session);
+    }
+
+    /**
+     * Creates a writer whose updates modify a {@link HashSet.Editor}.  The initial value
+     * must have been created by {@link HashSet}.
+     */
+    @Nonnull
+    public static <T> BatchingWriter<ISet<T>, HashSet.Editor<T>> forHashSet(@Nonnull ISet<T> initialValue)
+    {
+        final Session<ISet<T>, HashSet.Editor<T>> session = new Session<ISet<T>, HashSet.Editor<T>>()
+        {
+            @Nonnull
+            @Override
+            public HashSet.Editor<T> begin(@Nonnull ISet<T> current)
+            {
+                if (current instanceof HashSet) {
+                    return ((HashSet<T>)current).editor();
+                } else {
+                    return ((EmptyHashSet<T>)current).editor();
+                }
+            }
+
+            @Nonnull
+            @Override
+            public ISet<T> commit(@Nonnull HashSet.Editor<T> edits)
+            {
+                return edits.build();
+            }
+
+            @Override
+            public boolean isMutable()
+            {
+                return true;
+            }
+        };
+        if (!(initialValue instanceof HashSet || initialValue instanceof EmptyHashSet)) {
+            throw new IllegalArgumentException("initial value must be a hash set");
+        }
+        return new BatchingWriter<>(initialValue, session);
+    }
+
+    /**
+     * Returns the most recently published version.
+     */
+    @Nonnull
+    public C get()
+    {
+        return current;
+    }
+
+    /**
+     * Queues the update for the next batch.  If no batch is in progress the calling thread
+     * applies queued updates until its own update has been published and then applies at
+     * most one more batch before returning.  Otherwise the update is applied by whichever
+     * thread is currently combining.
+     *
+     * @return future completed with the first published version that includes the update
+     */
+    @Nonnull
+    public CompletableFuture<C> submit(@Nonnull Func1<E, E> update)
+    {
+        final Pending<C, E> pending = new Pending<>(update);
+        queue.add(pending);
+        if (combining.compareAndSet(false, true)) {
+            try {
+                while (!pending.future.isDone()) {
+                    combine();
+                }
+                combine();
+            } finally {
+                combining.set(false);
+            }
+            handOff();
+        }
+        return pending.future;
+    }
+
+    /**
+     * Submits the update and waits for the version containing it to be published.
+     *
+     * @return the published version
+     */
+    @Nonnull
+    public C apply(@Nonnull Func1<E, E> update)
+    {
+        return submit(update).join();
+    }
+
+    /**
+     * Number of versions published so far.
+     */
+    public long batchCount()
+    {
+        return batches.sum();
+    }
+
+    /**
+     * Number of updates applied so far.
+     */
+    public long updateCount()
+    {
+        return updates.sum();
+    }
+
+    /**
+     * Called after releasing the flag.  An update added while the flag was held found it
+     * taken and returned, so any such update is left for a task on the common pool.
+     */
+    private void handOff()
+    {
+        if (!queue.isEmpty()) {
+            ForkJoinPool.commonPool().execute(this::drain);
+        }
+    }
+
+    private void drain()
+    {
+        if (combining.compareAndSet(false, true)) {
+            try {
+                combine();
+            } finally {
+                combining.set(false);
+            }
+            handOff();
+        }
+    }
+
+    private void combine()
+    {
+        final List<Pending<C, E>> batch = new ArrayList<>();
+        Pending<C, E> pending;
+        while (batch.size() < MAX_BATCH_SIZE && (pending = queue.poll()) != null) {
+            batch.add(pending);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        final Throwable[] errors = new Throwable[batch.size()];
+        C published;
+        try {
+            published = applyBatch(batch, errors);
+        } catch (RuntimeException | Error ex) {
+            // the session itself failed so nothing from this batch can be published
+            for (Pending<C, E> p : batch) {
+                p.future.completeExceptionally(ex);
+            }
+            return;
+        }
+        current = published;
+        batches.increment();
+        updates.add(batch.size());
+        for (int i = 0; i < batch.size(); ++i) {
+            final Throwable error = errors[i];
+            if (error == null) {
+                batch.get(i).future.complete(published);
+            } else {
+                batch.get(i).future.completeExceptionally(error);
+            }
+        }
+    }
+
+    /**
+     * Applies every update in the batch that has not already failed.  When an update
+     * fails in a mutable session the partially edited state is discarded and the
+     * batch starts over, so each restart removes one failed update.
+     */
+    @Nonnull
+    private C applyBatch(@Nonnull List<Pending<C, E>> batch,
+                         @Nonnull Throwable[] errors)
+    {
+        for (; ; ) {
+            E edits = session.begin(current);
+            boolean restart = false;
+            for (int i = 0; i < batch.size() && !restart; ++i) {
+                if (errors[i] == null) {
+                    try {
+                        edits = batch.get(i).update.apply(edits);
+                    } catch (RuntimeException | Error ex) {
+                        errors[i] = ex;
+                        restart = session.isMutable();
+                    }
+                }
+            }
+            if (!restart) {
+                return session.commit(edits);
+            }
+        }
+    }
+
+    private static class Pending<C, E>
+    {
+        private final Func1<E, E> update;
+        private final CompletableFuture<C> future = new CompletableFuture<>();
+
+        private Pending(@Nonnull Func1<E, E> update)
+        {
+            this.update = update;
+        }
+    }
+}
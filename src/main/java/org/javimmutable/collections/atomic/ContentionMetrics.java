@@ -33,81 +33,75 @@
 // (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
 // OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
-package org.javimmutable.collections.hash.set;
 
-import org.javimmutable.collections.Proc1;
-import org.javimmutable.collections.Proc1Throws;
-import org.javimmutable.collections.common.CollisionSet;
-import org.javimmutable.collections.iterators.GenericIterator;
+package org.javimmutable.collections.atomic;
 
-import javax.annotation.Nonnull;
-import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 
+/**
+ * Snapshot of the counters maintained by an {@link AtomicRef}.  Comparing updates with
+ * failedCompareAndSets shows how much work is being wasted on path copies that were
+ * discarded because another thread won the race.
+ */
 @Immutable
-public class ArraySingleValueSetNode<T>
-    implements ArraySetNode<T>
+public final class ContentionMetrics
 {
-    private final T value;
+    private final long updates;
+    private final long failedCompareAndSets;
+    private final long backoffs;
+    private final long lockedUpdates;
 
-    public ArraySingleValueSetNode(T value)
+    ContentionMetrics(long updates,
+                      long failedCompareAndSets,
+                      long backoffs,
+                      long lockedUpdates)
     {
-        this.value = value;
+        this.updates = updates;
+        this.failedCompareAndSets = failedCompareAndSets;
+        this.backoffs = backoffs;
+        this.lockedUpdates = lockedUpdates;
     }
 
-    @Override
-    public int size(@Nonnull CollisionSet<T> collisionSet)
-    {
-        return 1;
-    }
-
-    @Override
-    public boolean contains(@Nonnull CollisionSet<T> collisionSet,
-                            @Nonnull T value)
-    {
-        return this.value.equals(value);
-    }
-
-    @Nonnull
-    @Override
-    public ArraySetNode<T> insert(@Nonnull CollisionSet<T> collisionSet,
-                                  @Nonnull T value)
+    /**
+     * Number of update operations that have completed, including those that left the value unchanged.
+     */
+    public long getUpdates()
     {
-        final T thisValue = this.value;
-        if (thisValue.equals(value)) {
-            return this;
-        } else {
-            return new ArrayMultiValueSetNode<>(collisionSet.dual(thisValue, value));
-        }
+        return updates;
     }
 
-    @Nullable
-    @Override
-    public ArraySetNode<T> delete(@Nonnull CollisionSet<T> collisionSet,
-                                  @Nonnull T value)
+    /**
+     * Number of times an update had to be recomputed because another thread changed the value first.
+     */
+    public long getFailedCompareAndSets()
     {
-        return value.equals(this.value) ? null : this;
+        return failedCompareAndSets;
     }
 
-    @Nonnull
-    @Override
-    public GenericIterator.Iterable<T> values(@Nonnull CollisionSet<T> collisionSet)
+    /**
+     * Number of times a thread parked before retrying an update.
+     */
+    public long getBackoffs()
     {
-        return GenericIterator.singleValueIterable(value);
+        return backoffs;
     }
 
-    @Override
-    public void forEach(@Nonnull CollisionSet<T> collisionSet,
-                        @Nonnull Proc1<T> proc)
+    /**
+     * Number of updates that were completed while holding the fallback lock.
+     */
+    public long getLockedUpdates()
     {
-        proc.apply(value);
+        return lockedUpdates;
     }
 
     @Override
-    public <E extends Exception> void forEachThrows(@Nonnull CollisionSet<T> collisionSet,
-                                                    @Nonnull Proc1Throws<T, E> proc)
-        throws E
+    public String toString()
     {
-        proc.apply(value);
+        return "ContentionMetrics{" +
+               "updates=" + updates +
+               ", failedCompareAndSets=" + failedCompareAndSets +
+               ", backoffs=" + backoffs +
+               ", lockedUpdates=" + lockedUpdates +
+               '}';
     }
 }
@@ -0,0 +1,173 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.atomic;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Controls how an {@link AtomicRef} reacts when its compare-and-set fails because another
+ * thread published a new value first.  The first few retries happen immediately.  After
+ * that the thread parks for an exponentially increasing time between minBackoffNanos and
+ * maxBackoffNanos before trying again.  Once a single update has failed lockThreshold times
+ * the thread finishes its update while holding a lock so that heavily contended writers
+ * queue up instead of repeatedly copying paths that will be thrown away.
+ */
+@Immutable
+public final class ContentionPolicy
+{
+    private static final ContentionPolicy DEFAULT = new ContentionPolicy(4, 1_000L, 1_000_000L, 16);
+
+    private final int spinRetries;
+    private final long minBackoffNanos;
+    private final long maxBackoffNanos;
+    private final int lockThreshold;
+
+    private ContentionPolicy(int spinRetries,
+                             long minBackoffNanos,
+                             long maxBackoffNanos,
+                             int lockThreshold)
+    {
+        if (spinRetries < 0 || minBackoffNanos < 0 || maxBackoffNanos < minBackoffNanos || lockThreshold < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.spinRetries = spinRetries;
+        this.minBackoffNanos = minBackoffNanos;
+        this.maxBackoffNanos = maxBackoffNanos;
+        this.lockThreshold = lockThreshold;
+    }
+
+    /**
+     * Policy that retries 4 times without pausing, then backs off from 1 microsecond up to
+     * 1 millisecond and falls back to the lock after 16 failures.
+     */
+    @Nonnull
+    public static ContentionPolicy defaultPolicy()
+    {
+        return DEFAULT;
+    }
+
+    @Nonnull
+    public static ContentionPolicy of(int spinRetries,
+                                      long minBackoffNanos,
+                                      long maxBackoffNanos,
+                                      int lockThreshold)
+    {
+        return new ContentionPolicy(spinRetries, minBackoffNanos, maxBackoffNanos, lockThreshold);
+    }
+
+    /**
+     * Policy that retries indefinitely without ever pausing or locking.  This is the
+     * behavior of a hand written AtomicReference loop.
+     */
+    @Nonnull
+    public static ContentionPolicy spinOnly()
+    {
+        return new ContentionPolicy(Integer.MAX_VALUE, 0L, 0L, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Policy with the same backoff as this one but that never falls back to a lock.
+     */
+    @Nonnull
+    public ContentionPolicy withoutLock()
+    {
+        return new ContentionPolicy(spinRetries, minBackoffNanos, maxBackoffNanos, Integer.MAX_VALUE);
+    }
+
+    public int getSpinRetries()
+    {
+        return spinRetries;
+    }
+
+    public long getMinBackoffNanos()
+    {
+        return minBackoffNanos;
+    }
+
+    public long getMaxBackoffNanos()
+    {
+        return maxBackoffNanos;
+    }
+
+    public int getLockThreshold()
+    {
+        return lockThreshold;
+    }
+
+    boolean usesLock()
+    {
+        return lockThreshold != Integer.MAX_VALUE;
+    }
+
+    boolean shouldLock(int failures)
+    {
+        return failures >= lockThreshold;
+    }
+
+    /**
+     * Number of nanoseconds to pause after the specified number of consecutive failures.
+     * Zero while failures is within the spin retries.
+     */
+    long backoffNanos(int failures)
+    {
+        if (failures <= spinRetries) {
+            return 0L;
+        }
+        final int doublings = Math.min(failures - spinRetries - 1, 62);
+        final long nanos = minBackoffNanos << doublings;
+        return (nanos < minBackoffNanos || nanos > maxBackoffNanos) ? maxBackoffNanos : nanos;
+    }
+
+    /**
+     * Pauses as appropriate for the specified number of consecutive failures.
+     *
+     * @return true if the thread actually paused
+     */
+    boolean backoff(int failures)
+    {
+        final long nanos = backoffNanos(failures);
+        if (nanos > 0) {
+            LockSupport.parkNanos(nanos);
+            return true;
+        } else {
+            Thread.onSpinWait();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.atomic;
+
+import org.javimmutable.collections.Func1;
+import org.javimmutable.collections.IMap;
+import org.javimmutable.collections.Maybe;
+import org.javimmutable.collections.hash.HashMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Mutable concurrent map that spreads its keys over a number of persistent {@link HashMap}
+ * shards so that writers to different shards never contend with each other.  Each shard
+ * is updated using its own lock free compare-and-set loop.
+ * <p>
+ * Keys are assigned to shards using the high bits of their hash codes.  Since HashMap
+ * organizes its trie by those same bits every shard occupies a separate subtree of the
+ * trie that a single HashMap would use.  That allows {@link #snapshot()} to produce an
+ * immutable IMap containing every shard by merging the shard tries structurally which
+ * only touches the few nodes above the shards and never copies any entries.
+ * <p>
+ * A snapshot is consistent: it reflects the state of every shard at a single instant.
+ * It collects the shard maps twice and retries until both collections agree.  Every shard
+ * has a version that writers increment before publishing a change so a shard that changed
+ * and then changed back, for example to the shared empty map, is still detected.  If
+ * writers keep changing shards the snapshot briefly holds back new writes until it succeeds.
+ * <p>
+ * The structural merge requires all shards to use the same collision handling, which
+ * is the case when all keys are Comparable or all keys are not.  Mixing the two still
+ * produces a correct snapshot but its entries will be copied.
+ */
+@ThreadSafe
+public class StripedMap<K, V>
+{
+    public static final int DEFAULT_SHARD_BITS = 4;
+    public static final int MAX_SHARD_BITS = 8;
+
+    private static final int SNAPSHOT_ATTEMPTS_BEFORE_BLOCKING = 4;
+
+    private final AtomicReferenceArray<IMap<K, V>> shards;
+    private final AtomicLongArray versions;
+    private final int shardShift;
+    private final AtomicInteger blockingSnapshots = new AtomicInteger();
+
+    private StripedMap(int shardBits)
+    {
+        if (shardBits < 0 || shardBits > MAX_SHARD_BITS) {
+            throw new IllegalArgumentException("shardBits must be between 0 and " + MAX_SHARD_BITS);
+        }
+        final int shardCount = 1 << shardBits;
+        shards = new AtomicReferenceArray<>(shardCount);
+        versions = new AtomicLongArray(shardCount);
+        for (int i = 0; i < shardCount; ++i) {
+            shards.set(i, HashMap.of());
+        }
+        // shifting an int by 32 is a no-op so a single shard uses a mask of zero instead
+        shardShift = shardBits == 0 ? 0 : 32 - shardBits;
+    }
+
+    @Nonnull
+    public static <K, V> StripedMap<K, V> of()
+    {
+        return new StripedMap<>(DEFAULT_SHARD_BITS);
+    }
+
+    /**
+     * Creates an empty map with 2^shardBits shards.
+     */
+    @Nonnull
+    public static <K, V> StripedMap<K, V> of(int shardBits)
+    {
+        return new StripedMap<>(shardBits);
+    }
+
+    public int shardCount()
+    {
+        return shards.length();
+    }
+
+    public V getValueOr(@Nonnull K key,
+                        V defaultValue)
+    {
+        return shards.get(shardFor(key)).getValueOr(key, defaultValue);
+    }
+
+    public V get(@Nonnull K key)
+    {
+        return getValueOr(key, null);
+    }
+
+    @Nonnull
+    public Maybe<V> find(@Nonnull K key)
+    {
+        return shards.get(shardFor(key)).find(key);
+    }
+
+    public void assign(@Nonnull K key,
+                       V value)
+    {
+        swap(key, map -> map.assign(key, value));
+    }
+
+    /**
+     * Replaces the value for key with the result of calling generator with the current value
+     * (if any).  The generator may be called multiple times if other threads modify the same
+     * shard concurrently so it must not have side effects.
+     *
+     * @return the value returned by the generator call whose result was published
+     */
+    public V update(@Nonnull K key,
+                    @Nonnull Func1<Maybe<V>, V> generator)
+    {
+        return swap(key, map -> map.update(key, generator)).get(key);
+    }
+
+    public void delete(@Nonnull K key)
+    {
+        swap(key, map -> map.delete(key));
+    }
+
+    /**
+     * Sum of the shard sizes.  Shards are read one at a time so when other threads are
+     * writing this might not match the size of any single snapshot.
+     */
+    public int size()
+    {
+        int answer = 0;
+        for (int i = 0; i < shards.length(); ++i) {
+            answer += shards.get(i).size();
+        }
+        return answer;
+    }
+
+    public boolean isEmpty()
+    {
+        for (int i = 0; i < shards.length(); ++i) {
+            if (shards.get(i).isNonEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes all keys.  Each shard is cleared atomically but not all shards at once.
+     */
+    public void clear()
+    {
+        for (int i = 0; i < shards.length(); ++i) {
+            swapShard(i, map -> HashMap.of());
+        }
+    }
+
+    /**
+     * Returns an immutable map containing the contents of every shard at a single instant.
+     */
+    @Nonnull
+    public IMap<K, V> snapshot()
+    {
+        final int shardCount = shards.length();
+        final Object[] collected = new Object[shardCount];
+        final long[] collectedVersions = new long[shardCount];
+        for (int attempt = 0; attempt < SNAPSHOT_ATTEMPTS_BEFORE_BLOCKING; ++attempt) {
+            if (collectTwice(collected, collectedVersions)) {
+                return merge(collected);
+            }
+        }
+        blockingSnapshots.incrementAndGet();
+        try {
+            // writers that were already past the gate publish at most one more change each
+            while (!collectTwice(collected, collectedVersions)) {
+                Thread.onSpinWait();
+            }
+            return merge(collected);
+        } finally {
+            blockingSnapshots.decrementAndGet();
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return snapshot().toString();
+    }
+
+    @Nonnull
+    private IMap<K, V> swap(@Nonnull K key,
+                            @Nonnull Func1<IMap<K, V>, IMap<K, V>> update)
+    {
+        return swapShard(shardFor(key), update);
+    }
+
+    /**
+     * The version is incremented after reading the current map and before publishing
+     * the new one.  Any change published after a snapshot read a shard's version, other
+     * than the first one, therefore also changes the version.  The first one changes
+     * the shard's map to a different object so comparing both detects every change.
+     */
+    @Nonnull
+    private IMap<K, V> swapShard(int shard,
+                                 @Nonnull Func1<IMap<K, V>, IMap<K, V>> update)
+    {
+        for (; ; ) {
+            while (blockingSnapshots.get() > 0) {
+                Thread.onSpinWait();
+            }
+            final IMap<K, V> current = shards.get(shard);
+            final IMap<K, V> next = update.apply(current);
+            if (next == current) {
+                return next;
+            }
+            versions.incrementAndGet(shard);
+            if (shards.compareAndSet(shard, current, next)) {
+                return next;
+            }
+        }
+    }
+
+    private int shardFor(@Nonnull K key)
+    {
+        return shardShift == 0 ? 0 : key.hashCode() >>> shardShift;
+    }
+
+    private boolean collectTwice(@Nonnull Object[] collected,
+                                 @Nonnull long[] collectedVersions)
+    {
+        collect(collected, collectedVersions);
+        return isUnchanged(collected, collectedVersions);
+    }
+
+    // package-private so unit tests can change shards between the two collections
+    void collect(@Nonnull Object[] collected,
+                 @Nonnull long[] collectedVersions)
+    {
+        for (int i = 0; i < collected.length; ++i) {
+            collectedVersions[i] = versions.get(i);
+            collected[i] = shards.get(i);
+        }
+    }
+
+    boolean isUnchanged(@Nonnull Object[] collected,
+                        @Nonnull long[] collectedVersions)
+    {
+        for (int i = 0; i < collected.length; ++i) {
+            if (collected[i] != shards.get(i) || collectedVersions[i] != versions.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    private IMap<K, V> merge(@Nonnull Object[] collected)
+    {
+        IMap<K, V> answer = HashMap.of();
+        for (Object shard : collected) {
+            final IMap<K, V> map = (IMap<K, V>)shard;
+            if (map.isNonEmpty()) {
+                answer = answer.isEmpty() ? map : answer.assignAll(map);
+            }
+        }
+        return answer;
+    }
+}
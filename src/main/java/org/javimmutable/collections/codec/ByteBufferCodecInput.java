@@ -33,47 +33,69 @@
 // (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
 // OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
-package org.javimmutable.collections.listmap;
+package org.javimmutable.collections.codec;
 
-import org.javimmutable.collections.IListMap;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.io.EOFException;
+import java.nio.ByteBuffer;
 
-import java.util.Random;
-
-public final class ListMapTimingLoop
+@NotThreadSafe
+class ByteBufferCodecInput
+    implements CodecInput
 {
-    private ListMapTimingLoop()
+    private final ByteBuffer buffer;
+
+    ByteBufferCodecInput(@Nonnull ByteBuffer buffer)
+    {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public byte readByte()
+        throws EOFException
+    {
+        require(1);
+        return buffer.get();
+    }
+
+    @Override
+    public void readBytes(@Nonnull byte[] bytes,
+                          int offset,
+                          int length)
+        throws EOFException
+    {
+        require(length);
+        buffer.get(bytes, offset, length);
+    }
+
+    @Override
+    public int readInt()
+        throws EOFException
+    {
+        require(4);
+        return buffer.getInt();
+    }
+
+    @Override
+    public long readLong()
+        throws EOFException
+    {
+        require(8);
+        return buffer.getLong();
+    }
+
+    @Override
+    public int remaining()
     {
+        return buffer.remaining();
     }
 
-    public static void main(String[] args)
+    private void require(int length)
+        throws EOFException
     {
-        final int maxLoops = 25000000;
-        final int maxKey = 75000;
-        final int maxValue = 999999999;
-        Random random = new Random(1000);
-        int adds = 0;
-        int removes = 0;
-        int gets = 0;
-        long startPer = System.currentTimeMillis();
-        IListMap<Integer, Integer> map = HashListMap.of();
-        for (int i = 1; i <= maxLoops; ++i) {
-            int command = 1 + random.nextInt(12);
-            if (command <= 6) {
-                Integer key = random.nextInt(maxKey);
-                Integer value = random.nextInt(maxValue);
-                map = map.insert(key, value);
-                adds += 1;
-            } else if (command <= 7) {
-                Integer key = random.nextInt(maxKey);
-                map = map.delete(key);
-                removes += 1;
-            } else {
-                Integer key = random.nextInt(maxKey);
-                map.find(key);
-                gets += 1;
-            }
+        if (buffer.remaining() < length) {
+            throw new EOFException();
         }
-        long endPer = System.currentTimeMillis();
-        System.out.printf("phm size %d adds %d removes %d gets %d elapsed %d%n", map.size(), adds, removes, gets, (endPer - startPer));
     }
 }
@@ -0,0 +1,139 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.codec;
+
+import javax.annotation.Nonnull;
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Source of bytes read by a {@link Codec}.  Reading past the end of the input
+ * throws an EOFException.
+ */
+public interface CodecInput
+{
+    byte readByte()
+        throws IOException;
+
+    void readBytes(@Nonnull byte[] bytes,
+                   int offset,
+                   int length)
+        throws IOException;
+
+    int readInt()
+        throws IOException;
+
+    long readLong()
+        throws IOException;
+
+    /**
+     * Number of bytes left in the input or Integer.MAX_VALUE if unknown.  Used to reject
+     * lengths that could not possibly be satisfied before allocating space for them.
+     */
+    int remaining();
+
+    /**
+     * Reads a value written by {@link CodecOutput#writeVarInt}.
+     *
+     * @throws IOException if the value is longer than five bytes
+     */
+    default int readVarInt()
+        throws IOException
+    {
+        int answer = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final byte b = readByte();
+            answer |= (b & 0x7f) << shift;
+            if (b >= 0) {
+                return answer;
+            }
+        }
+        throw new IOException("malformed variable length int");
+    }
+
+    /**
+     * Reads a value written by {@link CodecOutput#writeVarLong}.
+     *
+     * @throws IOException if the value is longer than ten bytes
+     */
+    default long readVarLong()
+        throws IOException
+    {
+        long answer = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final byte b = readByte();
+            answer |= (long)(b & 0x7f) << shift;
+            if (b >= 0) {
+                return answer;
+            }
+        }
+        throw new IOException("malformed variable length long");
+    }
+
+    /**
+     * Reads a count or length written using {@link CodecOutput#writeVarInt}.
+     *
+     * @throws IOException if the value is negative
+     */
+    default int readLength()
+        throws IOException
+    {
+        final int length = readVarInt();
+        if (length < 0) {
+            throw new IOException("invalid length: " + length);
+        }
+        return length;
+    }
+
+    /**
+     * Creates an input that reads from in.
+     */
+    @Nonnull
+    static CodecInput of(@Nonnull DataInput in)
+    {
+        return new DataCodecInput(in);
+    }
+
+    /**
+     * Creates an input that reads from buffer starting at its current position.
+     */
+    @Nonnull
+    static CodecInput of(@Nonnull ByteBuffer buffer)
+    {
+        return new ByteBufferCodecInput(buffer);
+    }
+}
@@ -0,0 +1,113 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.codec;
+
+import javax.annotation.Nonnull;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Destination for bytes written by a {@link Codec}.  Variable length integers are
+ * written seven bits per byte starting with the least significant bits.
+ */
+public interface CodecOutput
+{
+    void writeByte(int value)
+        throws IOException;
+
+    void writeBytes(@Nonnull byte[] bytes,
+                    int offset,
+                    int length)
+        throws IOException;
+
+    /**
+     * Writes all 32 bits of value in big endian order.
+     */
+    void writeInt(int value)
+        throws IOException;
+
+    /**
+     * Writes all 64 bits of value in big endian order.
+     */
+    void writeLong(long value)
+        throws IOException;
+
+    /**
+     * Writes value as an unsigned variable length integer.  Values less than 128 take one byte.
+     */
+    default void writeVarInt(int value)
+        throws IOException
+    {
+        while ((value & ~0x7f) != 0) {
+            writeByte((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        writeByte(value);
+    }
+
+    /**
+     * Writes value as an unsigned variable length integer.  Values less than 128 take one byte.
+     */
+    default void writeVarLong(long value)
+        throws IOException
+    {
+        while ((value & ~0x7fL) != 0) {
+            writeByte((int)(value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        writeByte((int)value);
+    }
+
+    /**
+     * Creates an output that writes to out.
+     */
+    @Nonnull
+    static CodecOutput of(@Nonnull DataOutput out)
+    {
+        return new DataCodecOutput(out);
+    }
+
+    /**
+     * Creates an output that writes to buffer starting at its current position.
+     * Writing past the buffer's limit throws a BufferOverflowException.
+     */
+    @Nonnull
+    static CodecOutput of(@Nonnull ByteBuffer buffer)
+    {
+        return new ByteBufferCodecOutput(buffer);
+    }
+}
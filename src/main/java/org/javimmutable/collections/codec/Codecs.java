@@ -0,0 +1,866 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.codec;
+
+import org.javimmutable.collections.Func0;
+import org.javimmutable.collections.Func1;
+import org.javimmutable.collections.IList;
+import org.javimmutable.collections.IListBuilder;
+import org.javimmutable.collections.IListMap;
+import org.javimmutable.collections.IMap;
+import org.javimmutable.collections.IMapBuilder;
+import org.javimmutable.collections.IMapEntry;
+import org.javimmutable.collections.IMultiset;
+import org.javimmutable.collections.IMultisets;
+import org.javimmutable.collections.ISet;
+import org.javimmutable.collections.ISetBuilder;
+import org.javimmutable.collections.ISetMap;
+import org.javimmutable.collections.common.AbstractMultiset;
+import org.javimmutable.collections.hash.HashMap;
+import org.javimmutable.collections.hash.HashSet;
+import org.javimmutable.collections.list.TreeList;
+import org.javimmutable.collections.listmap.HashListMap;
+import org.javimmutable.collections.setmap.HashSetMap;
+import org.javimmutable.collections.tree.TreeMap;
+import org.javimmutable.collections.tree.TreeSet;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Factory methods for the standard {@link Codec}s.  Collection codecs write the number of
+ * elements as a variable length integer followed by each element using the element codec.
+ * Since collection codecs are themselves codecs they can be nested to encode collections
+ * of collections.  Decoding uses the collections' builders so each collection is built in
+ * a single pass rather than by inserting elements one at a time.
+ * <p>
+ * All codecs reject null values unless wrapped using {@link #nullable(Codec)}.
+ */
+public final class Codecs
+{
+    private static final int MAX_INITIAL_CAPACITY = 1024;
+
+    private Codecs()
+    {
+    }
+
+    /**
+     * Encodes value into a new byte array using codec.
+     */
+    @Nonnull
+    public static <T> byte[] encode(@Nonnull Codec<T> codec,
+                                    T value)
+        throws IOException
+    {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        codec.encode(CodecOutput.of(new DataOutputStream(bytes)), value);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a value previously encoded by {@link #encode}.
+     *
+     * @throws IOException if bytes are malformed or contain extra bytes after the value
+     */
+    public static <T> T decode(@Nonnull Codec<T> codec,
+                               @Nonnull byte[] bytes)
+        throws IOException
+    {
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        final T answer = codec.decode(CodecInput.of(buffer));
+        if (buffer.hasRemaining()) {
+            throw new IOException("unexpected bytes after value: " + buffer.remaining());
+        }
+        return answer;
+    }
+
+    /**
+     * Booleans written as a single byte.
+     */
+    @Nonnull
+    public static Codec<Boolean> booleans()
+    {
+        return BooleanCodec.INSTANCE;
+    }
+
+    /**
+     * Ints written as zig-zag variable length integers so that small positive and
+     * negative values take only one or two bytes.
+     */
+    @Nonnull
+    public static Codec<Integer> ints()
+    {
+        return IntCodec.INSTANCE;
+    }
+
+    /**
+     * Longs written as zig-zag variable length integers so that small positive and
+     * negative values take only one or two bytes.
+     */
+    @Nonnull
+    public static Codec<Long> longs()
+    {
+        return LongCodec.INSTANCE;
+    }
+
+    /**
+     * Doubles written as their eight byte IEEE 754 representation.
+     */
+    @Nonnull
+    public static Codec<Double> doubles()
+    {
+        return DoubleCodec.INSTANCE;
+    }
+
+    /**
+     * Strings written as their UTF-8 encoding preceded by its length in bytes.
+     */
+    @Nonnull
+    public static Codec<String> strings()
+    {
+        return StringCodec.INSTANCE;
+    }
+
+    /**
+     * Byte arrays written as their contents preceded by their length.
+     */
+    @Nonnull
+    public static Codec<byte[]> byteArrays()
+    {
+        return ByteArrayCodec.INSTANCE;
+    }
+
+    /**
+     * Wraps codec so that it can also encode null.  Values are preceded by a flag byte.
+     */
+    @Nonnull
+    public static <T> Codec<T> nullable(@Nonnull Codec<T> codec)
+    {
+        return new NullableCodec<>(codec);
+    }
+
+    /**
+     * Creates a codec for values of type U by converting them to and from values of type T
+     * and encoding those using codec.  Useful for enums, identifiers and simple value classes.
+     */
+    @Nonnull
+    public static <T, U> Codec<U> transform(@Nonnull Codec<T> codec,
+                                            @Nonnull Func1<? super U, ? extends T> toEncoded,
+                                            @Nonnull Func1<? super T, ? extends U> fromEncoded)
+    {
+        return new TransformCodec<>(codec, toEncoded, fromEncoded);
+    }
+
+    /**
+     * Lists decoded as TreeLists.
+     */
+    @Nonnull
+    public static <T> Codec<IList<T>> list(@Nonnull Codec<T> codec)
+    {
+        return list(TreeList::unsynchronizedListBuilder, codec);
+    }
+
+    /**
+     * Lists decoded using builders obtained from builderFactory.
+     */
+    @Nonnull
+    public static <T> Codec<IList<T>> list(@Nonnull Func0<? extends IListBuilder<T>> builderFactory,
+                                           @Nonnull Codec<T> codec)
+    {
+        return new ListCodec<>(builderFactory, codec);
+    }
+
+    /**
+     * Sets decoded as HashSets.
+     */
+    @Nonnull
+    public static <T> Codec<ISet<T>> set(@Nonnull Codec<T> codec)
+    {
+        return set(HashSet::unsynchronizedBuilder, codec);
+    }
+
+    /**
+     * Sets decoded as TreeSets sorted using comparator.  Values are written in the order
+     * returned by the set's iterator so this codec must only be used to encode sets sorted
+     * using the same comparator.  That allows them to be decoded in linear time.
+     */
+    @Nonnull
+    public static <T> Codec<ISet<T>> sortedSet(@Nonnull Comparator<T> comparator,
+                                               @Nonnull Codec<T> codec)
+    {
+        return set(() -> TreeSet.presortedBuilder(comparator), codec);
+    }
+
+    /**
+     * Sets decoded using builders obtained from builderFactory.
+     */
+    @Nonnull
+    public static <T> Codec<ISet<T>> set(@Nonnull Func0<? extends ISetBuilder<T>> builderFactory,
+                                         @Nonnull Codec<T> codec)
+    {
+        return new SetCodec<>(builderFactory, codec);
+    }
+
+    /**
+     * Maps decoded as HashMaps.
+     */
+    @Nonnull
+    public static <K, V> Codec<IMap<K, V>> map(@Nonnull Codec<K> keyCodec,
+                                               @Nonnull Codec<V> valueCodec)
+    {
+        return map(HashMap::unsynchronizedBuilder, keyCodec, valueCodec);
+    }
+
+    /**
+     * Maps decoded as TreeMaps sorted using comparator.  See {@link #sortedSet} for
+     * restrictions.
+     */
+    @Nonnull
+    public static <K, V> Codec<IMap<K, V>> sortedMap(@Nonnull Comparator<K> comparator,
+                                                     @Nonnull Codec<K> keyCodec,
+                                                     @Nonnull Codec<V> valueCodec)
+    {
+        return map(() -> TreeMap.presortedBuilder(comparator), keyCodec, valueCodec);
+    }
+
+    /**
+     * Maps decoded using builders obtained from builderFactory.
+     */
+    @Nonnull
+    public static <K, V> Codec<IMap<K, V>> map(@Nonnull Func0<? extends IMapBuilder<K, V>> builderFactory,
+                                               @Nonnull Codec<K> keyCodec,
+                                               @Nonnull Codec<V> valueCodec)
+    {
+        return new MapCodec<>(builderFactory, keyCodec, valueCodec);
+    }
+
+    /**
+     * Multisets decoded as hash multisets.
+     */
+    @Nonnull
+    public static <T> Codec<IMultiset<T>> multiset(@Nonnull Codec<T> codec)
+    {
+        return multiset(IMultisets.hashed(), codec);
+    }
+
+    /**
+     * Multisets decoded by adding values and their counts to empty.
+     */
+    @Nonnull
+    public static <T> Codec<IMultiset<T>> multiset(@Nonnull IMultiset<T> empty,
+                                                   @Nonnull Codec<T> codec)
+    {
+        return new MultisetCodec<>(empty.deleteAll(), codec);
+    }
+
+    /**
+     * Set maps decoded as HashSetMaps.
+     */
+    @Nonnull
+    public static <K, V> Codec<ISetMap<K, V>> setMap(@Nonnull Codec<K> keyCodec,
+                                                     @Nonnull Codec<V> valueCodec)
+    {
+        return setMap(HashSetMap.of(), keyCodec, valueCodec);
+    }
+
+    /**
+     * Set maps decoded by adding keys and their sets of values to empty.
+     */
+    @Nonnull
+    public static <K, V> Codec<ISetMap<K, V>> setMap(@Nonnull ISetMap<K, V> empty,
+                                                     @Nonnull Codec<K> keyCodec,
+                                                     @Nonnull Codec<V> valueCodec)
+    {
+        return new SetMapCodec<>(empty.deleteAll(), keyCodec, valueCodec);
+    }
+
+    /**
+     * List maps decoded as HashListMaps.
+     */
+    @Nonnull
+    public static <K, V> Codec<IListMap<K, V>> listMap(@Nonnull Codec<K> keyCodec,
+                                                       @Nonnull Codec<V> valueCodec)
+    {
+        return listMap(HashListMap.of(), keyCodec, valueCodec);
+    }
+
+    /**
+     * List maps decoded by adding keys and their lists of values to empty.
+     */
+    @Nonnull
+    public static <K, V> Codec<IListMap<K, V>> listMap(@Nonnull IListMap<K, V> empty,
+                                                       @Nonnull Codec<K> keyCodec,
+                                                       @Nonnull Codec<V> valueCodec)
+    {
+        return new ListMapCodec<>(empty.deleteAll(), keyCodec, valueCodec);
+    }
+
+    /**
+     * Reads length values into a java List.  The initial capacity is capped so that a
+     * corrupt length cannot force a huge allocation before any values are read.
+     */
+    @Nonnull
+    private static <T> List<T> readValues(@Nonnull CodecInput in,
+                                          @Nonnull Codec<T> codec,
+                                          int length)
+        throws IOException
+    {
+        final List<T> answer = new ArrayList<>(Math.min(length, MAX_INITIAL_CAPACITY));
+        for (int i = 0; i < length; ++i) {
+            answer.add(codec.decode(in));
+        }
+        return answer;
+    }
+
+    @Nonnull
+    private static byte[] readBytes(@Nonnull CodecInput in)
+        throws IOException
+    {
+        final int length = in.readLength();
+        if (length > in.remaining()) {
+            throw new EOFException();
+        }
+        final byte[] bytes = new byte[length];
+        in.readBytes(bytes, 0, length);
+        return bytes;
+    }
+
+    @Immutable
+    private static class BooleanCodec
+        implements Codec<Boolean>
+    {
+        private static final BooleanCodec INSTANCE = new BooleanCodec();
+
+        @Override
+        public void encode(@Nonnull CodecOutput out,
+                           Boolean value)
+            throws IOException
+        {
+            out.writeByte(value ? 1 : 0);
+        }
+
+        @Override
+        public Boolean decode(@Nonnull CodecInput in)
+            throws IOException
+        {
+            final byte value = in.readByte();
+            if (value == 0) {
+                return Boolean.FALSE;
+            } else if (value == 1) {
+                return Boolean.TRUE;
+            } else {
+                throw new IOException("invalid boolean: " + value);
+            }
+        }
+    }
+
+    @Immutable
+    private static class IntCodec
+        implements Codec<Integer>
+    {
+        private static final IntCodec INSTANCE = new IntCodec();
+
+        @Override
+        public void encode(@Nonnull CodecOutput out,
+                           Integer value)
+            throws IOException
+        {
+            final int v = value;
+            out.writeVarInt((v << 1) ^ (v >> 31));
+        }
+
+        @Override
+        public Integer decode(@Nonnull CodecInput in)
+            throws IOException
+        {
+            final int v = in.readVarInt();
+            return (v >>> 1) ^ -(v & 1);
+        }
+    }
+
+    @Immutable
+    private static class LongCodec
+        implements Codec<Long>
+    {
+        private static final LongCodec INSTANCE = new LongCodec();
+
+        @Override
+        public void encode(@Nonnull CodecOutput out,
+                           Long value)
+            throws IOException
+        {
+            final long v = value;
+            out.writeVarLong((v << 1) ^ (v >> 63));
+        }
+
+        @Override
+        public Long decode(@Nonnull CodecInput in)
+            throws IOException
+        {
+            final long v = in.readVarLong();
+            return (v >>> 1) ^ -(v & 1);
+        }
+    }
+
+    @Immutable
+    private static class DoubleCodec
+        implements Codec<Double>
+    {
+        private static final DoubleCodec INSTANCE = new DoubleCodec();
+
+        @Override
+        public void encode(@Nonnull CodecOutput out,
+                           Double value)
+            throws IOException
+        {
+            out.writeLong(Double.doubleToRawLongBits(value));
+        }
+
+        @Override
+        public Double decode(@Nonnull CodecInput in)
+            throws IOException
+        {
+            return Double.longBitsToDouble(in.readLong());
+        }
+    }
+
+    @Immutable
+    private static class StringCodec
+        implements Codec<String>
+    {
+        private static final StringCodec INSTANCE = new StringCodec();
+
+        @Override
+        public void encode(@Nonnull CodecOutput out,
+                           String value)
+            throws IOException
+        {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeVarInt(bytes.length);
+            out.writeBytes(bytes, 0, bytes.length);
+        }
+
+        @Override
+        public String decode(@Nonnull CodecInput in)
+            throws IOException
+        {
+            return new String(readBytes(in), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Immutable
+    private static class ByteArrayCodec
+        implements Codec<byte[]>
+    {
+        private static final ByteArrayCodec INSTANCE = new ByteArrayCodec();
+
+        @Override
+        public void encode(@Nonnull CodecOutput out,
+                           byte[] value)
+            throws IOException
+        {
+            out.writeVarInt(value.length);
+            out.writeBytes(value, 0, value.length);
+        }
+
+        @Override
+        public byte[] decode(@Nonnull CodecInput in)
+            throws IOException
+        {
+            return readBytes(in);
+        }
+    }
+
+    @Immutable
+    private static class NullableCodec<T>
+        implements Codec<T>
+    {
+        private final Codec<T> codec;
+
+        private NullableCodec(@Nonnull Codec<T> codec)
+        {
+            this.codec = codec;
+        }
+
+        @Override
+        public void encode(@Nonnull CodecOutput out,
+                           @Nullable T value)
+            throws IOException
+        {
+            if (value == null) {
+                out.writeByte(0);
+            } else {
+                out.writeByte(1);
+                codec.encode(out, value);
+            }
+        }
+
+        @Nullable
+        @Override
+        public T decode(@Nonnull CodecInput in)
+            throws IOException
+        {
+            return booleans().decode(in) ? codec.decode(in) : null;
+        }
+    }
+
+    @Immutable
+    private static class TransformCodec<T, U>
+        implements Codec<U>
+    {
+        private final Codec<T> codec;
+        private final Func1<? super U, ? extends T> toEncoded;
+        private final Func1<? super T, ? extends U> fromEncoded;
+
+        private TransformCodec(@Nonnull Codec<T> codec,
+                               @Nonnull Func1<? super U, ? extends T> toEncoded,
+                               @Nonnull Func1<? super T, ? extends U> fromEncoded)
+        {
+            this.codec = codec;
+            this.toEncoded = toEncoded;
+            this.fromEncoded = fromEncoded;
+        }
+
+        @Override
+        public void encode(@Nonnull CodecOutput out,
+                           U value)
+            throws IOException
+        {
+            codec.encode(out, toEncoded.apply(value));
+        }
+
+        @Override
+        public U decode(@Nonnull CodecInput in)
+            throws IOException
+        {
+            return fromEncoded.apply(codec.decode(in));
+        }
+    }
+
+    @Immutable
+    private static class ListCodec<T>
+        implements Codec<IList<T>>
+    {
+        private final Func0<? extends IListBuilder<T>> builderFactory;
+        private final Codec<T> codec;
+
+        private ListCodec(@Nonnull Func0<? extends IListBuilder<T>> builderFactory,
+                          @Nonnull Codec<T> codec)
+        {
+            this.builderFactory = builderFactory;
+            this.codec = codec;
+        }
+
+        @Override
+        public void encode(@Nonnull CodecOutput out,
+                           IList<T> value)
+            throws IOException
+        {
+            out.writeVarInt(value.size());
+            for (T element : value) {
+                codec.encode(out, element);
+            }
+        }
+
+        @Override
+        public IList<T> decode(@Nonnull CodecInput in)
+            throws IOException
+        {
+            final int size = in.readLength();
+            final IListBuilder<T> builder = builderFactory.apply();
+            for (int i = 0; i < size; ++i) {
+                builder.add(codec.decode(in));
+            }
+            return builder.build();
+        }
+    }
+
+    @Immutable
+    private static class SetCodec<T>
+        implements Codec<ISet<T>>
+    {
+        private final Func0<? extends ISetBuilder<T>> builderFactory;
+        private final Codec<T> codec;
+
+        private SetCodec(@Nonnull Func0<? extends ISetBuilder<T>> builderFactory,
+                         @Nonnull Codec<T> codec)
+        {
+            this.builderFactory = builderFactory;
+            this.codec = codec;
+        }
+
+        @Override
+        public void encode(@Nonnull CodecOutput out,
+                           ISet<T> value)
+            throws IOException
+        {
+            out.writeVarInt(value.size());
+            for (T element : value) {
+                codec.encode(out, element);
+            }
+        }
+
+        @Override
+        public ISet<T> decode(@Nonnull CodecInput in)
+            throws IOException
+        {
+            final int size = in.readLength();
+            final ISetBuilder<T> builder = builderFactory.apply();
+            try {
+                for (int i = 0; i < size; ++i) {
+                    builder.add(codec.decode(in));
+                }
+            } catch (IllegalArgumentException ex) {
+                throw new IOException("values rejected by builder", ex);
+            }
+            return builder.build();
+        }
+    }
+
+    @Immutable
+    private static class MapCodec<K, V>
+        implements Codec<IMap<K, V>>
+    {
+        private final Func0<? extends IMapBuilder<K, V>> builderFactory;
+        private final Codec<K> keyCodec;
+        private final Codec<V> valueCodec;
+
+        private MapCodec(@Nonnull Func0<? extends IMapBuilder<K, V>> builderFactory,
+                         @Nonnull Codec<K> keyCodec,
+                         @Nonnull Codec<V> valueCodec)
+        {
+            this.builderFactory = builderFactory;
+            this.keyCodec = keyCodec;
+            this.valueCodec = valueCodec;
+        }
+
+        @Override
+        public void encode(@Nonnull CodecOutput out,
+                           IMap<K, V> value)
+            throws IOException
+        {
+            out.writeVarInt(value.size());
+            for (IMapEntry<K, V> entry : value) {
+                keyCodec.encode(out, entry.getKey());
+                valueCodec.encode(out, entry.getValue());
+            }
+        }
+
+        @Override
+        public IMap<K, V> decode(@Nonnull CodecInput in)
+            throws IOException
+        {
+            final int size = in.readLength();
+            final IMapBuilder<K, V> builder = builderFactory.apply();
+            try {
+                for (int i = 0; i < size; ++i) {
+                    final K key = keyCodec.decode(in);
+                    final V value = valueCodec.decode(in);
+                    builder.add(key, value);
+                }
+            } catch (IllegalArgumentException ex) {
+                throw new IOException("keys rejected by builder", ex);
+            }
+            return builder.build();
+        }
+    }
+
+    @Immutable
+    private static class MultisetCodec<T>
+        implements Codec<IMultiset<T>>
+    {
+        private final IMultiset<T> empty;
+        private final Codec<T> codec;
+
+        private MultisetCodec(@Nonnull IMultiset<T> empty,
+                              @Nonnull Codec<T> codec)
+        {
+            this.empty = empty;
+            this.codec = codec;
+        }
+
+        @Override
+        public void encode(@Nonnull CodecOutput out,
+                           IMultiset<T> value)
+            throws IOException
+        {
+            out.writeVarInt(value.size());
+            for (IMapEntry<T, Integer> entry : value.entries()) {
+                codec.encode(out, entry.getKey());
+                out.writeVarInt(entry.getValue());
+            }
+        }
+
+        @Override
+        public IMultiset<T> decode(@Nonnull CodecInput in)
+            throws IOException
+        {
+            final int size = in.readLength();
+            if (empty instanceof AbstractMultiset) {
+                final AbstractMultiset<T> multiset = (AbstractMultiset<T>)empty;
+                final AbstractMultiset<T>.CountsBuilder counts = multiset.countsBuilder();
+                for (int i = 0; i < size; ++i) {
+                    final T value = codec.decode(in);
+                    counts.add(value, readCount(in));
+                }
+                try {
+                    return size == 0 ? empty : counts.build();
+                } catch (IllegalArgumentException ex) {
+                    throw new IOException(ex.getMessage());
+                }
+            } else {
+                IMultiset<T> answer = empty;
+                for (int i = 0; i < size; ++i) {
+                    final T value = codec.decode(in);
+                    answer = answer.insert(value, readCount(in));
+                }
+                return answer;
+            }
+        }
+
+        private static int readCount(@Nonnull CodecInput in)
+            throws IOException
+        {
+            final int count = in.readVarInt();
+            if (count <= 0) {
+                throw new IOException("invalid count: " + count);
+            }
+            return count;
+        }
+    }
+
+    @Immutable
+    private static class SetMapCodec<K, V>
+        implements Codec<ISetMap<K, V>>
+    {
+        private final ISetMap<K, V> empty;
+        private final Codec<K> keyCodec;
+        private final Codec<V> valueCodec;
+
+        private SetMapCodec(@Nonnull ISetMap<K, V> empty,
+                            @Nonnull Codec<K> keyCodec,
+                            @Nonnull Codec<V> valueCodec)
+        {
+            this.empty = empty;
+            this.keyCodec = keyCodec;
+            this.valueCodec = valueCodec;
+        }
+
+        @Override
+        public void encode(@Nonnull CodecOutput out,
+                           ISetMap<K, V> value)
+            throws IOException
+        {
+            out.writeVarInt(value.size());
+            for (IMapEntry<K, ISet<V>> entry : value) {
+                keyCodec.encode(out, entry.getKey());
+                out.writeVarInt(entry.getValue().size());
+                for (V element : entry.getValue()) {
+                    valueCodec.encode(out, element);
+                }
+            }
+        }
+
+        @Override
+        public ISetMap<K, V> decode(@Nonnull CodecInput in)
+            throws IOException
+        {
+            final int size = in.readLength();
+            ISetMap<K, V> answer = empty;
+            for (int i = 0; i < size; ++i) {
+                final K key = keyCodec.decode(in);
+                answer = answer.insertAll(key, readValues(in, valueCodec, in.readLength()));
+            }
+            return answer;
+        }
+    }
+
+    @Immutable
+    private static class ListMapCodec<K, V>
+        implements Codec<IListMap<K, V>>
+    {
+        private final IListMap<K, V> empty;
+        private final Codec<K> keyCodec;
+        private final Codec<V> valueCodec;
+
+        private ListMapCodec(@Nonnull IListMap<K, V> empty,
+                             @Nonnull Codec<K> keyCodec,
+                             @Nonnull Codec<V> valueCodec)
+        {
+            this.empty = empty;
+            this.keyCodec = keyCodec;
+            this.valueCodec = valueCodec;
+        }
+
+        @Override
+        public void encode(@Nonnull CodecOutput out,
+                           IListMap<K, V> value)
+            throws IOException
+        {
+            out.writeVarInt(value.size());
+            for (IMapEntry<K, IList<V>> entry : value) {
+                keyCodec.encode(out, entry.getKey());
+                out.writeVarInt(entry.getValue().size());
+                for (V element : entry.getValue()) {
+                    valueCodec.encode(out, element);
+                }
+            }
+        }
+
+        @Override
+        public IListMap<K, V> decode(@Nonnull CodecInput in)
+            throws IOException
+        {
+            final int size = in.readLength();
+            IListMap<K, V> answer = empty;
+            for (int i = 0; i < size; ++i) {
+                final K key = keyCodec.decode(in);
+                answer = answer.insertAll(key, readValues(in, valueCodec, in.readLength()));
+            }
+            return answer;
+        }
+    }
+}
@@ -33,38 +33,36 @@
 // (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
 // OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
-package org.javimmutable.collections.hash.set;
-
-import org.javimmutable.collections.Proc1;
-import org.javimmutable.collections.Proc1Throws;
-import org.javimmutable.collections.common.CollisionSet;
-import org.javimmutable.collections.iterators.GenericIterator;
+package org.javimmutable.collections.codec;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.function.Predicate;
 
-public interface ArraySetNode<T>
+/**
+ * Node level access to the stream being read by a {@link SnapshotReader}.  Passed to the
+ * map packages so they can read and validate the nodes of their own maps.
+ */
+public interface SnapshotNodeInput<K, V>
 {
-    int size(@Nonnull CollisionSet<T> collisionSet);
-
-    boolean contains(@Nonnull CollisionSet<T> collisionSet,
-                     @Nonnull T value);
-
     @Nonnull
-    ArraySetNode<T> insert(@Nonnull CollisionSet<T> collisionSet,
-                           @Nonnull T value);
+    CodecInput input();
 
-    @Nullable
-    ArraySetNode<T> delete(@Nonnull CollisionSet<T> collisionSet,
-                           @Nonnull T value);
+    K readKey()
+        throws IOException;
 
-    @Nonnull
-    GenericIterator.Iterable<T> values(@Nonnull CollisionSet<T> collisionSet);
-
-    void forEach(@Nonnull CollisionSet<T> collisionSet,
-                 @Nonnull Proc1<T> proc);
+    V readValue()
+        throws IOException;
 
-    <E extends Exception> void forEachThrows(@Nonnull CollisionSet<T> collisionSet,
-                                             @Nonnull Proc1Throws<T, E> proc)
-        throws E;
+    /**
+     * Reads a reference to a previously read node.  Returns null if the reference is
+     * to no node.
+     *
+     * @throws IOException if the id is unknown or accept rejects the node
+     */
+    @Nullable
+    Object readReference(@Nonnull Predicate<Object> accept,
+                         @Nonnull String description)
+        throws IOException;
 }
@@ -0,0 +1,84 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.codec;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+
+/**
+ * Node level access to the stream being written by a {@link SnapshotWriter}.  Passed to the
+ * map packages so they can write the nodes of their own maps without exposing them.  Each
+ * node is started once, after every node it refers to, and is then referred to by its id.
+ */
+public interface SnapshotNodeOutput<K, V>
+{
+    @Nonnull
+    CodecOutput output();
+
+    void writeKey(K key)
+        throws IOException;
+
+    void writeValue(V value)
+        throws IOException;
+
+    /**
+     * Determines whether node has already been written by this or an earlier version.
+     */
+    boolean isWritten(@Nonnull Object node);
+
+    void startTrieNode(@Nonnull Object node)
+        throws IOException;
+
+    void startTreeLeaf(@Nonnull Object node)
+        throws IOException;
+
+    void startTreeBranch(@Nonnull Object node)
+        throws IOException;
+
+    void startHashMap()
+        throws IOException;
+
+    void startTreeMap()
+        throws IOException;
+
+    /**
+     * Writes a reference to a previously written node.  A null node is written as a
+     * reference to no node.
+     */
+    void writeReference(@Nullable Object node)
+        throws IOException;
+}
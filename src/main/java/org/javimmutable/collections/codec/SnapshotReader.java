@@ -0,0 +1,208 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.codec;
+
+import org.javimmutable.collections.IList;
+import org.javimmutable.collections.IListBuilder;
+import org.javimmutable.collections.IMap;
+import org.javimmutable.collections.Maybe;
+import org.javimmutable.collections.hash.HashMap;
+import org.javimmutable.collections.hash.HashMapSnapshots;
+import org.javimmutable.collections.list.TreeList;
+import org.javimmutable.collections.tree.TreeMapSnapshots;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.function.Predicate;
+
+import static org.javimmutable.collections.codec.SnapshotWriter.*;
+
+/**
+ * Reads the versions of a map written by a {@link SnapshotWriter}.  Each node is created
+ * once and every version that shares it in the snapshot shares the same object in memory.
+ * <p>
+ * TreeMaps using natural ordering are restored using natural ordering.  TreeMaps using
+ * any other comparator can only be read if that comparator is given to the constructor.
+ * <p>
+ * Every node is checked for structural consistency as it is read and the keys of each
+ * TreeMap are checked to be in order for its comparator.  The keys of a HashMap are rehashed
+ * as they are read and checked against the trie slot they were written to.  Keys whose hash
+ * codes differ from when they were written, such as enums or other keys using identity hash
+ * codes, cause each version containing them to be rebuilt from its entries.  Rebuilt versions
+ * share no structure with other versions.
+ */
+@NotThreadSafe
+public final class SnapshotReader<K, V>
+{
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+    private final Comparator<K> comparator;
+    private final CodecInput in;
+    private final ArrayList<Object> nodes;
+    private final HashMapSnapshots hashMaps;
+    private final TreeMapSnapshots treeMaps;
+    private final NodeInput nodeInput;
+    private boolean finished;
+
+    public SnapshotReader(@Nonnull Codec<K> keyCodec,
+                          @Nonnull Codec<V> valueCodec,
+                          @Nonnull CodecInput in)
+    {
+        this(keyCodec, valueCodec, null, in);
+    }
+
+    public SnapshotReader(@Nonnull Codec<K> keyCodec,
+                          @Nonnull Codec<V> valueCodec,
+                          @Nullable Comparator<K> comparator,
+                          @Nonnull CodecInput in)
+    {
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.comparator = comparator;
+        this.in = in;
+        nodes = new ArrayList<>();
+        hashMaps = new HashMapSnapshots();
+        treeMaps = new TreeMapSnapshots();
+        nodeInput = new NodeInput();
+    }
+
+    /**
+     * Reads the next version in the snapshot.  Returns an empty Maybe once the end of
+     * the snapshot has been reached.
+     */
+    @Nonnull
+    public Maybe<IMap<K, V>> read()
+        throws IOException
+    {
+        while (!finished) {
+            final int tag = in.readByte();
+            switch (tag) {
+                case END:
+                    finished = true;
+                    break;
+                case TRIE_NODE:
+                    nodes.add(hashMaps.readNode(nodeInput));
+                    break;
+                case TREE_NODE:
+                    nodes.add(treeMaps.readBranch(nodeInput));
+                    break;
+                case TREE_LEAF:
+                    nodes.add(treeMaps.readLeaf(nodeInput));
+                    break;
+                case HASH_MAP:
+                    return Maybe.of(hashMaps.readMap(nodeInput));
+                case EMPTY_HASH_MAP:
+                    return Maybe.of(HashMap.of());
+                case TREE_MAP:
+                    return Maybe.of(treeMaps.readMap(nodeInput, comparator));
+                default:
+                    throw new IOException("unknown snapshot record: " + tag);
+            }
+        }
+        return Maybe.empty();
+    }
+
+    /**
+     * Reads all of the remaining versions in the snapshot.
+     */
+    @Nonnull
+    public IList<IMap<K, V>> readAll()
+        throws IOException
+    {
+        final IListBuilder<IMap<K, V>> answer = TreeList.listBuilder();
+        for (Maybe<IMap<K, V>> version = read(); version.isFull(); version = read()) {
+            answer.add(version.unsafeGet());
+        }
+        return answer.build();
+    }
+
+    /**
+     * Returns the number of distinct nodes read so far.
+     */
+    public int getNodeCount()
+    {
+        return nodes.size();
+    }
+
+    private class NodeInput
+        implements SnapshotNodeInput<K, V>
+    {
+        @Nonnull
+        @Override
+        public CodecInput input()
+        {
+            return in;
+        }
+
+        @Override
+        public K readKey()
+            throws IOException
+        {
+            return keyCodec.decode(in);
+        }
+
+        @Override
+        public V readValue()
+            throws IOException
+        {
+            return valueCodec.decode(in);
+        }
+
+        @Nullable
+        @Override
+        public Object readReference(@Nonnull Predicate<Object> accept,
+                                    @Nonnull String description)
+            throws IOException
+        {
+            final int reference = in.readLength();
+            if (reference == 0) {
+                return null;
+            }
+            if (reference > nodes.size()) {
+                throw new IOException("unknown node id: " + (reference - 1));
+            }
+            final Object node = nodes.get(reference - 1);
+            if (!accept.test(node)) {
+                throw new IOException("node " + (reference - 1) + " is not a " + description);
+            }
+            return node;
+        }
+    }
+}
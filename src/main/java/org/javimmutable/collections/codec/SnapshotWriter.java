@@ -0,0 +1,233 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.codec;
+
+import org.javimmutable.collections.IMap;
+import org.javimmutable.collections.hash.EmptyHashMap;
+import org.javimmutable.collections.hash.HashMap;
+import org.javimmutable.collections.hash.HashMapSnapshots;
+import org.javimmutable.collections.tree.TreeMap;
+import org.javimmutable.collections.tree.TreeMapSnapshots;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.io.IOException;
+import java.util.IdentityHashMap;
+
+/**
+ * Writes a sequence of versions of a map so that nodes shared by several versions are
+ * only written once.  Each node is assigned an id the first time it is written and later
+ * versions refer to it by that id.  Since successive versions of a persistent map share
+ * all but the nodes along the paths to changed keys, writing a version that differs from
+ * an earlier one by a few keys writes only a few nodes.  {@link SnapshotReader} restores
+ * the versions with the same nodes shared between them in memory.
+ * <p>
+ * Records are written as each version is written.  Every node record precedes the
+ * records of any nodes or versions that refer to it.  {@link #finish()} must be called
+ * after the last version to mark the end of the snapshot.
+ * <p>
+ * Supports {@link HashMap}s using standard hashing and {@link TreeMap}s.  Versions need
+ * not all be the same type of map but only nodes of the same type can be shared.  Node
+ * ids are kept until the writer is discarded so a single writer should be used for one
+ * batch of versions.
+ */
+@NotThreadSafe
+public final class SnapshotWriter<K, V>
+{
+    static final int END = 0;
+    static final int TRIE_NODE = 1;
+    static final int TREE_NODE = 2;
+    static final int TREE_LEAF = 3;
+    static final int HASH_MAP = 4;
+    static final int EMPTY_HASH_MAP = 5;
+    static final int TREE_MAP = 6;
+
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+    private final CodecOutput out;
+    private final IdentityHashMap<Object, Integer> ids;
+    private final NodeOutput nodeOutput;
+    private boolean finished;
+
+    public SnapshotWriter(@Nonnull Codec<K> keyCodec,
+                          @Nonnull Codec<V> valueCodec,
+                          @Nonnull CodecOutput out)
+    {
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.out = out;
+        ids = new IdentityHashMap<>();
+        nodeOutput = new NodeOutput();
+    }
+
+    /**
+     * Writes any nodes of map that have not already been written followed by a record
+     * for the map itself.
+     *
+     * @throws IllegalArgumentException if map is not a supported type
+     * @throws IllegalStateException    if {@link #finish()} has already been called
+     */
+    @SuppressWarnings("unchecked")
+    public void write(@Nonnull IMap<K, V> map)
+        throws IOException
+    {
+        if (finished) {
+            throw new IllegalStateException("snapshot already finished");
+        }
+        if (map instanceof HashMap) {
+            HashMapSnapshots.write((HashMap<?, K, V>)map, nodeOutput);
+        } else if (map instanceof TreeMap) {
+            TreeMapSnapshots.write((TreeMap<K, V>)map, nodeOutput);
+        } else if (map instanceof EmptyHashMap) {
+            out.writeByte(EMPTY_HASH_MAP);
+        } else {
+            throw new IllegalArgumentException("snapshots do not support " + map.getClass().getName());
+        }
+    }
+
+    /**
+     * Writes the end of snapshot marker.  No further versions can be written.
+     */
+    public void finish()
+        throws IOException
+    {
+        if (!finished) {
+            out.writeByte(END);
+            finished = true;
+        }
+    }
+
+    /**
+     * Returns the number of distinct nodes written so far.
+     */
+    public int getNodeCount()
+    {
+        return ids.size();
+    }
+
+    /**
+     * Writes the tag that starts the record for node and assigns node the next id.
+     * Nodes referred to by node must already have been written.
+     */
+    private void startNode(@Nonnull Object node,
+                           int tag)
+        throws IOException
+    {
+        assert !ids.containsKey(node);
+        out.writeByte(tag);
+        ids.put(node, ids.size());
+    }
+
+    private class NodeOutput
+        implements SnapshotNodeOutput<K, V>
+    {
+        @Nonnull
+        @Override
+        public CodecOutput output()
+        {
+            return out;
+        }
+
+        @Override
+        public void writeKey(K key)
+            throws IOException
+        {
+            keyCodec.encode(out, key);
+        }
+
+        @Override
+        public void writeValue(V value)
+            throws IOException
+        {
+            valueCodec.encode(out, value);
+        }
+
+        @Override
+        public boolean isWritten(@Nonnull Object node)
+        {
+            return ids.containsKey(node);
+        }
+
+        @Override
+        public void startTrieNode(@Nonnull Object node)
+            throws IOException
+        {
+            startNode(node, TRIE_NODE);
+        }
+
+        @Override
+        public void startTreeLeaf(@Nonnull Object node)
+            throws IOException
+        {
+            startNode(node, TREE_LEAF);
+        }
+
+        @Override
+        public void startTreeBranch(@Nonnull Object node)
+            throws IOException
+        {
+            startNode(node, TREE_NODE);
+        }
+
+        @Override
+        public void startHashMap()
+            throws IOException
+        {
+            out.writeByte(HASH_MAP);
+        }
+
+        @Override
+        public void startTreeMap()
+            throws IOException
+        {
+            out.writeByte(TREE_MAP);
+        }
+
+        @Override
+        public void writeReference(@Nullable Object node)
+            throws IOException
+        {
+            if (node == null) {
+                out.writeVarInt(0);
+            } else {
+                final Integer id = ids.get(node);
+                assert id != null;
+                out.writeVarInt(id + 1);
+            }
+        }
+    }
+}
@@ -36,6 +36,7 @@
 package org.javimmutable.collections.common;
 
 import org.javimmutable.collections.IMap;
+import org.javimmutable.collections.IMapBuilder;
 import org.javimmutable.collections.IMapEntry;
 import org.javimmutable.collections.IMultiset;
 import org.javimmutable.collections.ISet;
@@ -383,6 +384,16 @@ public abstract class AbstractMultiset<T>
         }
     }
 
+    /**
+     * Returns a builder that creates a multiset of the same class as this one from values
+     * and their counts without adding them one occurrence at a time.
+     */
+    @Nonnull
+    public CountsBuilder countsBuilder()
+    {
+        return new CountsBuilder();
+    }
+
     /**
      * Implemented by derived classes to create a new instance of the appropriate class.
      *
@@ -652,6 +663,59 @@ public abstract class AbstractMultiset<T>
         }
     }
 
+    /**
+     * Builds the underlying map of a new multiset directly.  If a value is added more
+     * than once its last count replaces the earlier ones.
+     */
+    public class CountsBuilder
+    {
+        private final IMapBuilder<T, Integer> counts;
+
+        private CountsBuilder()
+        {
+            counts = map.mapBuilder();
+        }
+
+        /**
+         * Sets the number of occurrences of value.
+         *
+         * @throws IllegalArgumentException if count is not positive
+         */
+        @Nonnull
+        public CountsBuilder add(@Nonnull T value,
+                                 int count)
+        {
+            Conditions.stopNull(value);
+            if (count <= 0) {
+                throw new IllegalArgumentException();
+            }
+            counts.add(value, count);
+            return this;
+        }
+
+        /**
+         * Creates the multiset.
+         *
+         * @throws IllegalArgumentException if the total number of occurrences exceeds Integer.MAX_VALUE
+         */
+        @Nonnull
+        public IMultiset<T> build()
+        {
+            final IMap<T, Integer> newMap = counts.build();
+            if (newMap.isEmpty()) {
+                return deleteAll();
+            }
+            long total = 0;
+            for (IMapEntry<T, Integer> entry : newMap) {
+                total += entry.getValue();
+            }
+            if (total > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("total occurrences exceed " + Integer.MAX_VALUE);
+            }
+            return create(newMap, (int)total);
+        }
+    }
+
     private class Counter
     {
         private final Map<T, Integer> counts;
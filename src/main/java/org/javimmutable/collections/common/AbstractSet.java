@@ -42,6 +42,7 @@ import org.javimmutable.collections.iterators.IteratorHelper;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.Immutable;
 import java.util.Iterator;
+import java.util.Objects;
 import java.util.Set;
 
 @Immutable
@@ -131,10 +132,18 @@ public abstract class AbstractSet<T>
         return SetAdaptor.of(this);
     }
 
+    /**
+     * Follows the java.util.Set contract so that sets with equal contents have equal
+     * hash codes regardless of their iteration order.
+     */
     @Override
     public int hashCode()
     {
-        return IteratorHelper.iteratorHashCode(iterator());
+        int answer = 0;
+        for (T value : this) {
+            answer += Objects.hashCode(value);
+        }
+        return answer;
     }
 
     @Override
@@ -35,15 +35,18 @@
 
 package org.javimmutable.collections.common;
 
+import org.javimmutable.collections.ICursor;
 import org.javimmutable.collections.IMap;
 import org.javimmutable.collections.IMapEntry;
 import org.javimmutable.collections.ISet;
 import org.javimmutable.collections.SplitableIterator;
+import org.javimmutable.collections.iterators.MapKeyCursor;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.function.Predicate;
 
 public abstract class AbstractSetUsingMap<T>
     extends AbstractSet<T>
@@ -173,6 +176,19 @@ public abstract class AbstractSetUsingMap<T>
         return map.keys().iterator();
     }
 
+    @Override
+    public boolean forEachWhile(@Nonnull Predicate<? super T> predicate)
+    {
+        return map.forEachWhile((k, v) -> predicate.test(k));
+    }
+
+    @Nonnull
+    @Override
+    public ICursor<T> cursor()
+    {
+        return MapKeyCursor.of(map.cursor());
+    }
+
     @Override
     public int getSpliteratorCharacteristics()
     {
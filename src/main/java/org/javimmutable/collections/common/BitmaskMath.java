@@ -140,6 +140,20 @@ public final class BitmaskMath
         assert destIndex.a == dest.length;
     }
 
+    public static <D, S extends D> void copyFromCompactArrayUsingBitmask(long bitmask,
+                                                                         @Nonnull S[] source,
+                                                                         @Nonnull D[] dest)
+    {
+        assert source.length == bitCount(bitmask);
+        int sourceIndex = 0;
+        while (bitmask != 0) {
+            final long bit = leastBit(bitmask);
+            dest[indexForBit(bit)] = source[sourceIndex];
+            sourceIndex += 1;
+            bitmask = removeBit(bitmask, bit);
+        }
+    }
+
     public static long bitmask(int... indices)
     {
         long answer = 0;
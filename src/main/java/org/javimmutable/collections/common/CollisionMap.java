@@ -36,6 +36,7 @@
 package org.javimmutable.collections.common;
 
 import org.javimmutable.collections.Func1;
+import org.javimmutable.collections.HashStrategy;
 import org.javimmutable.collections.IMapEntry;
 import org.javimmutable.collections.Maybe;
 import org.javimmutable.collections.Proc2;
@@ -49,6 +50,8 @@ import org.javimmutable.collections.iterators.GenericIterator;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import java.util.function.BiPredicate;
+
 /**
  * Interface for simple collection objects that manage the contents of leaf nodes in the hash table.
  * Implementations are free to use any class for their leaf nodes and manage them as needed.
@@ -59,6 +62,15 @@ public interface CollisionMap<K, V>
     {
     }
 
+    /**
+     * Strategy used to hash and compare keys.  Defaults to their own hashCode() and equals().
+     */
+    @Nonnull
+    default HashStrategy<K> hashStrategy()
+    {
+        return HashStrategy.standard();
+    }
+
     @Nonnull
     Node empty();
 
@@ -150,6 +162,14 @@ public interface CollisionMap<K, V>
                                              @Nonnull Proc2Throws<K, V, E> proc)
         throws E;
 
+    /**
+     * Passes entries to predicate until it returns false.
+     *
+     * @return true if predicate returned true for every entry
+     */
+    boolean forEachWhile(@Nonnull Node node,
+                         @Nonnull BiPredicate<K, V> predicate);
+
     <R> R reduce(@Nonnull Node node,
                  R sum,
                  @Nonnull Sum2<K, V, R> proc);
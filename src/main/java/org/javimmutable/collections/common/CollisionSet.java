@@ -35,6 +35,7 @@
 
 package org.javimmutable.collections.common;
 
+import org.javimmutable.collections.HashStrategy;
 import org.javimmutable.collections.Proc1;
 import org.javimmutable.collections.Proc1Throws;
 import org.javimmutable.collections.SplitableIterable;
@@ -46,6 +47,8 @@ import org.javimmutable.collections.iterators.GenericIterator;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import java.util.function.Predicate;
+
 /**
  * Interface for simple collection objects that manage the contents of leaf nodes in the hash table.
  * Implementations are free to use any class for their leaf nodes and manage them as needed.
@@ -56,6 +59,15 @@ public interface CollisionSet<T>
     {
     }
 
+    /**
+     * Strategy used to hash and compare values.  Defaults to their own hashCode() and equals().
+     */
+    @Nonnull
+    default HashStrategy<T> hashStrategy()
+    {
+        return HashStrategy.standard();
+    }
+
     @Nonnull
     Node empty();
 
@@ -129,6 +141,14 @@ public interface CollisionSet<T>
                                              @Nonnull Proc1Throws<T, E> proc)
         throws E;
 
+    /**
+     * Passes values to predicate until it returns false.
+     *
+     * @return true if predicate returned true for every value
+     */
+    boolean forEachWhile(@Nonnull Node node,
+                         @Nonnull Predicate<? super T> predicate);
+
     <R> R reduce(@Nonnull Node node,
                  R sum,
                  @Nonnull Sum1<T, R> proc);
@@ -0,0 +1,355 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.common;
+
+import org.javimmutable.collections.HashStrategy;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.BiPredicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Implementations of the strategies provided by {@link HashStrategy}.  The built in
+ * strategies are serializable singletons.
+ */
+public final class HashStrategies
+{
+    private HashStrategies()
+    {
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    public static <T> HashStrategy<T> standard()
+    {
+        return (HashStrategy<T>)Standard.INSTANCE;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    public static <T> HashStrategy<T> spreading()
+    {
+        return (HashStrategy<T>)Spreading.INSTANCE;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    public static <T> HashStrategy<T> identity()
+    {
+        return (HashStrategy<T>)Identity.INSTANCE;
+    }
+
+    @Nonnull
+    public static HashStrategy<byte[]> byteArrays()
+    {
+        return ByteArrays.INSTANCE;
+    }
+
+    @Nonnull
+    public static HashStrategy<char[]> charArrays()
+    {
+        return CharArrays.INSTANCE;
+    }
+
+    @Nonnull
+    public static HashStrategy<int[]> intArrays()
+    {
+        return IntArrays.INSTANCE;
+    }
+
+    @Nonnull
+    public static HashStrategy<long[]> longArrays()
+    {
+        return LongArrays.INSTANCE;
+    }
+
+    @Nonnull
+    public static <T> HashStrategy<T> of(@Nonnull ToIntFunction<? super T> hasher,
+                                         @Nonnull BiPredicate<? super T, ? super T> equivalence)
+    {
+        return new Custom<>(hasher, equivalence);
+    }
+
+    /**
+     * Returns the hash code value contributes to the hash code of a collection using strategy.
+     * Strategies whose equivalence is equals() use hashCode() so that collections using them
+     * have the same hash codes as equal collections using other strategies or java.util
+     * collections.  Other strategies use their own hash since equivalent values can have
+     * different hashCode() values.
+     */
+    public static <T> int elementHashCode(@Nonnull HashStrategy<T> strategy,
+                                          @Nonnull T value)
+    {
+        if (strategy == Standard.INSTANCE || strategy == Spreading.INSTANCE) {
+            return value.hashCode();
+        } else {
+            return strategy.hash(value);
+        }
+    }
+
+    public static int spread(int h)
+    {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    @Immutable
+    private static class Standard
+        implements HashStrategy<Object>,
+                   Serializable
+    {
+        private static final Standard INSTANCE = new Standard();
+        private static final long serialVersionUID = -121805;
+
+        @Override
+        public int hash(@Nonnull Object value)
+        {
+            return value.hashCode();
+        }
+
+        @Override
+        public boolean equivalent(@Nonnull Object a,
+                                  @Nonnull Object b)
+        {
+            return a.equals(b);
+        }
+
+        private Object readResolve()
+        {
+            return INSTANCE;
+        }
+    }
+
+    @Immutable
+    private static class Spreading
+        implements HashStrategy<Object>,
+                   Serializable
+    {
+        private static final Spreading INSTANCE = new Spreading();
+        private static final long serialVersionUID = -121805;
+
+        @Override
+        public int hash(@Nonnull Object value)
+        {
+            return spread(value.hashCode());
+        }
+
+        @Override
+        public boolean equivalent(@Nonnull Object a,
+                                  @Nonnull Object b)
+        {
+            return a.equals(b);
+        }
+
+        private Object readResolve()
+        {
+            return INSTANCE;
+        }
+    }
+
+    @Immutable
+    private static class Identity
+        implements HashStrategy<Object>,
+                   Serializable
+    {
+        private static final Identity INSTANCE = new Identity();
+        private static final long serialVersionUID = -121805;
+
+        @Override
+        public int hash(@Nonnull Object value)
+        {
+            return spread(System.identityHashCode(value));
+        }
+
+        @Override
+        public boolean equivalent(@Nonnull Object a,
+                                  @Nonnull Object b)
+        {
+            return a == b;
+        }
+
+        private Object readResolve()
+        {
+            return INSTANCE;
+        }
+    }
+
+    @Immutable
+    private static class ByteArrays
+        implements HashStrategy<byte[]>,
+                   Serializable
+    {
+        private static final ByteArrays INSTANCE = new ByteArrays();
+        private static final long serialVersionUID = -121805;
+
+        @Override
+        public int hash(@Nonnull byte[] value)
+        {
+            return spread(Arrays.hashCode(value));
+        }
+
+        @Override
+        public boolean equivalent(@Nonnull byte[] a,
+                                  @Nonnull byte[] b)
+        {
+            return Arrays.equals(a, b);
+        }
+
+        private Object readResolve()
+        {
+            return INSTANCE;
+        }
+    }
+
+    @Immutable
+    private static class CharArrays
+        implements HashStrategy<char[]>,
+                   Serializable
+    {
+        private static final CharArrays INSTANCE = new CharArrays();
+        private static final long serialVersionUID = -121805;
+
+        @Override
+        public int hash(@Nonnull char[] value)
+        {
+            return spread(Arrays.hashCode(value));
+        }
+
+        @Override
+        public boolean equivalent(@Nonnull char[] a,
+                                  @Nonnull char[] b)
+        {
+            return Arrays.equals(a, b);
+        }
+
+        private Object readResolve()
+        {
+            return INSTANCE;
+        }
+    }
+
+    @Immutable
+    private static class IntArrays
+        implements HashStrategy<int[]>,
+                   Serializable
+    {
+        private static final IntArrays INSTANCE = new IntArrays();
+        private static final long serialVersionUID = -121805;
+
+        @Override
+        public int hash(@Nonnull int[] value)
+        {
+            return spread(Arrays.hashCode(value));
+        }
+
+        @Override
+        public boolean equivalent(@Nonnull int[] a,
+                                  @Nonnull int[] b)
+        {
+            return Arrays.equals(a, b);
+        }
+
+        private Object readResolve()
+        {
+            return INSTANCE;
+        }
+    }
+
+    @Immutable
+    private static class LongArrays
+        implements HashStrategy<long[]>,
+                   Serializable
+    {
+        private static final LongArrays INSTANCE = new LongArrays();
+        private static final long serialVersionUID = -121805;
+
+        @Override
+        public int hash(@Nonnull long[] value)
+        {
+            return spread(Arrays.hashCode(value));
+        }
+
+        @Override
+        public boolean equivalent(@Nonnull long[] a,
+                                  @Nonnull long[] b)
+        {
+            return Arrays.equals(a, b);
+        }
+
+        private Object readResolve()
+        {
+            return INSTANCE;
+        }
+    }
+
+    @Immutable
+    private static class Custom<T>
+        implements HashStrategy<T>,
+                   Serializable
+    {
+        private static final long serialVersionUID = -121805;
+
+        private final ToIntFunction<? super T> hasher;
+        private final BiPredicate<? super T, ? super T> equivalence;
+
+        private Custom(@Nonnull ToIntFunction<? super T> hasher,
+                       @Nonnull BiPredicate<? super T, ? super T> equivalence)
+        {
+            this.hasher = hasher;
+            this.equivalence = equivalence;
+        }
+
+        @Override
+        public int hash(@Nonnull T value)
+        {
+            return hasher.applyAsInt(value);
+        }
+
+        @Override
+        public boolean equivalent(@Nonnull T a,
+                                  @Nonnull T b)
+        {
+            return equivalence.test(a, b);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.common;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Objects;
+
+/**
+ * Compares the values of two trees that each hold a sequence of values, such as two
+ * versions of a list.  The trees are walked in parallel and whenever both walks reach
+ * the same node object at the same position the whole subtree is skipped without
+ * visiting its values.  Since versions derived from one another share every subtree
+ * not on the paths to their changes, comparing them costs time proportional to the
+ * size of the changes rather than the size of the sequences.  The trees need not have
+ * the same shape.
+ */
+public final class SequenceTrees
+{
+    /**
+     * Describes the shape of a tree.  Branches have at least one child and hold no values
+     * of their own.  Leaves have no children.
+     */
+    public interface Shape<N>
+    {
+        int size(@Nonnull N node);
+
+        int childCount(@Nonnull N node);
+
+        @Nonnull
+        N child(@Nonnull N node,
+                int index);
+
+        Object value(@Nonnull N leaf,
+                     int index);
+    }
+
+    private SequenceTrees()
+    {
+    }
+
+    /**
+     * Returns true if the two trees contain equal values in the same order.
+     */
+    public static <N> boolean sameValues(@Nonnull Shape<N> shape,
+                                         @Nonnull N a,
+                                         @Nonnull N b)
+    {
+        if (a == b) {
+            return true;
+        }
+        if (shape.size(a) != shape.size(b)) {
+            return false;
+        }
+        final Walk<N> aWalk = new Walk<>(shape, a);
+        final Walk<N> bWalk = new Walk<>(shape, b);
+        while (aWalk.skipEmpty() && bWalk.skipEmpty()) {
+            final N aNode = aWalk.top();
+            final N bNode = bWalk.top();
+            if (aNode == bNode && aWalk.offset == 0 && bWalk.offset == 0) {
+                aWalk.pop();
+                bWalk.pop();
+            } else if (aWalk.isBranch() && (!bWalk.isBranch() || shape.size(aNode) >= shape.size(bNode))) {
+                aWalk.expand();
+            } else if (bWalk.isBranch()) {
+                bWalk.expand();
+            } else {
+                final int count = Math.min(aWalk.remaining(), bWalk.remaining());
+                for (int i = 0; i < count; ++i) {
+                    if (!Objects.equals(shape.value(aNode, aWalk.offset + i), shape.value(bNode, bWalk.offset + i))) {
+                        return false;
+                    }
+                }
+                aWalk.advance(count);
+                bWalk.advance(count);
+            }
+        }
+        return !aWalk.skipEmpty() && !bWalk.skipEmpty();
+    }
+
+    /**
+     * Stack of the nodes not yet visited with the next node to visit on top.  Only the
+     * top node can be partially visited and only if it is a leaf.
+     */
+    private static class Walk<N>
+    {
+        private final Shape<N> shape;
+        private final ArrayList<N> stack;
+        private int offset;
+
+        private Walk(@Nonnull Shape<N> shape,
+                     @Nonnull N root)
+        {
+            this.shape = shape;
+            stack = new ArrayList<>();
+            stack.add(root);
+        }
+
+        /**
+         * Discards empty nodes from the top of the stack.
+         *
+         * @return true if any nodes remain
+         */
+        private boolean skipEmpty()
+        {
+            while (!stack.isEmpty() && shape.size(top()) == 0) {
+                pop();
+            }
+            return !stack.isEmpty();
+        }
+
+        @Nonnull
+        private N top()
+        {
+            return stack.get(stack.size() - 1);
+        }
+
+        private boolean isBranch()
+        {
+            return shape.childCount(top()) > 0;
+        }
+
+        private int remaining()
+        {
+            return shape.size(top()) - offset;
+        }
+
+        private void pop()
+        {
+            stack.remove(stack.size() - 1);
+            offset = 0;
+        }
+
+        private void expand()
+        {
+            assert offset == 0;
+            final N node = top();
+            pop();
+            for (int i = shape.childCount(node) - 1; i >= 0; --i) {
+                stack.add(shape.child(node, i));
+            }
+        }
+
+        private void advance(int count)
+        {
+            offset += count;
+            if (offset == shape.size(top())) {
+                pop();
+            }
+        }
+    }
+}
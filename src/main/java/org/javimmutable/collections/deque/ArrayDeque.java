@@ -43,13 +43,16 @@ import org.javimmutable.collections.InvariantCheckable;
 import org.javimmutable.collections.Maybe;
 import org.javimmutable.collections.SplitableIterator;
 import org.javimmutable.collections.common.DequeListAdaptor;
+import org.javimmutable.collections.common.SequenceTrees;
 import org.javimmutable.collections.common.StreamConstants;
+import org.javimmutable.collections.common.ThreadOwner;
 import org.javimmutable.collections.indexed.IndexedList;
 import org.javimmutable.collections.iterators.IteratorHelper;
 import org.javimmutable.collections.serialization.ArrayDequeProxy;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
 import java.util.Iterator;
 import java.util.List;
 import java.util.function.Predicate;
@@ -82,7 +85,7 @@ public class ArrayDeque<T>
     @Nonnull
     public static <T> IDeque<T> of(Indexed<? extends T> source)
     {
-        return new Builder<T>().addAll(source).build();
+        return ArrayDeque.<T>unsynchronizedBuilder().addAll(source).build();
     }
 
     @Nonnull
@@ -91,6 +94,12 @@ public class ArrayDeque<T>
         return new Builder<>();
     }
 
+    @Nonnull
+    public static <T> UnsynchronizedBuilder<T> unsynchronizedBuilder()
+    {
+        return new UnsynchronizedBuilder<>();
+    }
+
     @Nonnull
     public static <T> Collector<T, ?, IDeque<T>> collector()
     {
@@ -148,7 +157,7 @@ public class ArrayDeque<T>
     @Override
     public ArrayDeque<T> select(@Nonnull Predicate<T> predicate)
     {
-        final Builder<T> builder = builder();
+        final UnsynchronizedBuilder<T> builder = unsynchronizedBuilder();
         for (T value : this) {
             if (predicate.test(value)) {
                 builder.add(value);
@@ -343,7 +352,7 @@ public class ArrayDeque<T>
     @Override
     public <A> ArrayDeque<A> transform(@Nonnull Func1<T, A> transform)
     {
-        final Builder<A> builder = builder();
+        final UnsynchronizedBuilder<A> builder = unsynchronizedBuilder();
         for (T t : root) {
             builder.add(transform.apply(t));
         }
@@ -353,7 +362,7 @@ public class ArrayDeque<T>
     @Override
     public <A> ArrayDeque<A> transformSome(@Nonnull Func1<T, Maybe<A>> transform)
     {
-        final Builder<A> builder = builder();
+        final UnsynchronizedBuilder<A> builder = unsynchronizedBuilder();
         for (T t : root) {
             transform.apply(t).apply(v -> builder.add(v));
         }
@@ -395,16 +404,37 @@ public class ArrayDeque<T>
         root.checkInvariants();
     }
 
+    /**
+     * Deques that differ in size or hash code are rejected without examining their values.
+     * Two ArrayDeques are compared by walking their trees and skipping the subtrees they share.
+     */
     @Override
     public boolean equals(Object o)
     {
-        return (o == this) || ((o instanceof IDeque) && IteratorHelper.iteratorEquals(iterator(), ((IDeque)o).iterator()));
+        if (o == this) {
+            return true;
+        }
+        if (o instanceof IDeque) {
+            final IDeque<?> other = (IDeque<?>)o;
+            if (other.size() != size() || (o.getClass() == getClass() && o.hashCode() != hashCode())) {
+                return false;
+            }
+            if (o instanceof ArrayDeque) {
+                return SequenceTrees.sameValues(NodeShape.INSTANCE, root, ((ArrayDeque<?>)o).root);
+            }
+            return IteratorHelper.iteratorEquals(iterator(), other.iterator());
+        }
+        return false;
     }
 
+    /**
+     * Uses the hash codes cached in the tree nodes so only nodes created since the
+     * last call need to be visited.
+     */
     @Override
     public int hashCode()
     {
-        return IteratorHelper.iteratorHashCode(iterator());
+        return root.listHashCode();
     }
 
     @Override
@@ -470,4 +500,105 @@ public class ArrayDeque<T>
             builder.checkInvariants();
         }
     }
+
+    /**
+     * Version of {@link Builder} for use by a single thread.  Its methods do not
+     * synchronize.  When assertions are enabled every method verifies that it is
+     * being called by the thread that created the builder.
+     */
+    @NotThreadSafe
+    public static class UnsynchronizedBuilder<T>
+        implements IDequeBuilder<T>,
+                   InvariantCheckable
+    {
+        private final ForwardBuilder<T> builder;
+        private final ThreadOwner owner = new ThreadOwner();
+
+        private UnsynchronizedBuilder()
+        {
+            builder = ForwardBuilder.insertAtEnd(EmptyNode.of());
+        }
+
+        @Nonnull
+        @Override
+        public ArrayDeque<T> build()
+        {
+            assert owner.verify();
+            return create(builder.build());
+        }
+
+        @Override
+        public int size()
+        {
+            assert owner.verify();
+            return builder.size();
+        }
+
+        @Nonnull
+        @Override
+        public UnsynchronizedBuilder<T> add(T value)
+        {
+            assert owner.verify();
+            builder.add(value);
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public UnsynchronizedBuilder<T> clear()
+        {
+            assert owner.verify();
+            builder.clear();
+            return this;
+        }
+
+        @Override
+        public void checkInvariants()
+        {
+            builder.checkInvariants();
+        }
+    }
+
+    private static class NodeShape
+        implements SequenceTrees.Shape<Node<?>>
+    {
+        private static final NodeShape INSTANCE = new NodeShape();
+
+        @Override
+        public int size(@Nonnull Node<?> node)
+        {
+            return node.size();
+        }
+
+        @Override
+        public int childCount(@Nonnull Node<?> node)
+        {
+            final BranchNode<?> branch = node.castAsBranch();
+            return (branch == null) ? 0 : branch.filledNodes().size() + 2;
+        }
+
+        @Nonnull
+        @Override
+        public Node<?> child(@Nonnull Node<?> node,
+                             int index)
+        {
+            final BranchNode<?> branch = node.castAsBranch();
+            assert branch != null;
+            final Indexed<? extends Node<?>> nodes = branch.filledNodes();
+            if (index == 0) {
+                return branch.prefix();
+            } else if (index <= nodes.size()) {
+                return nodes.get(index - 1);
+            } else {
+                return branch.suffix();
+            }
+        }
+
+        @Override
+        public Object value(@Nonnull Node<?> leaf,
+                            int index)
+        {
+            return leaf.get(index);
+        }
+    }
 }
@@ -39,6 +39,7 @@ import org.javimmutable.collections.Indexed;
 import org.javimmutable.collections.Maybe;
 import org.javimmutable.collections.indexed.IndexedArray;
 import org.javimmutable.collections.iterators.GenericIterator;
+import org.javimmutable.collections.iterators.IteratorHelper;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -62,6 +63,7 @@ class BranchNode<T>
     private final Node<T> prefix;  // possibly empty and can be any depth < this.depth
     private final Node<T>[] nodes; // all of these are full and have depth - 1
     private final Node<T> suffix;  // possibly empty and can be any depth < this.depth
+    private int listHashCode; // computed on first use, benign race as in String.hashCode()
 
     private BranchNode(int depth,
                        int size,
@@ -422,6 +424,21 @@ class BranchNode<T>
         return new BranchNode<>(depth, size, suffix.reverse(), newNodes, prefix.reverse());
     }
 
+    @Override
+    public int listHashCode()
+    {
+        int answer = listHashCode;
+        if (answer == 0) {
+            answer = prefix.listHashCode();
+            for (Node<T> node : nodes) {
+                answer = answer * IteratorHelper.pow31(node.size()) + node.listHashCode();
+            }
+            answer = answer * IteratorHelper.pow31(suffix.size()) + suffix.listHashCode();
+            listHashCode = answer;
+        }
+        return answer;
+    }
+
     Node<T> prefix()
     {
         return prefix;
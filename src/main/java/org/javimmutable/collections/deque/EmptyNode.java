@@ -157,6 +157,12 @@ final class EmptyNode<T>
         return 0;
     }
 
+    @Override
+    public int listHashCode()
+    {
+        return 0;
+    }
+
     @Nonnull
     @Override
     public Node<T> reverse()
@@ -43,6 +43,7 @@ import org.javimmutable.collections.iterators.GenericIterator;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
+import java.util.Objects;
 
 /**
  * Node that forms the bottom of the 32-way tree and contains up to 32 values.
@@ -211,6 +212,16 @@ class LeafNode<T>
         return values.length;
     }
 
+    @Override
+    public int listHashCode()
+    {
+        int answer = 0;
+        for (T value : values) {
+            answer = 31 * answer + Objects.hashCode(value);
+        }
+        return answer;
+    }
+
     @Override
     public void checkInvariants()
     {
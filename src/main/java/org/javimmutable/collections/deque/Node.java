@@ -78,6 +78,13 @@ interface Node<T>
 
     int computedSize();
 
+    /**
+     * Computes the same value as IteratorHelper.iteratorHashCode() would for this node's values.
+     * Branches cache their result so after an update only the nodes on the modified paths
+     * need to be recomputed.
+     */
+    int listHashCode();
+
     @Nonnull
     @Override
     default SplitableIterator<T> iterator()
@@ -38,8 +38,10 @@ package org.javimmutable.collections.hash;
 import org.javimmutable.collections.IMap;
 import org.javimmutable.collections.IMapBuilder;
 import org.javimmutable.collections.IMapEntry;
+import org.javimmutable.collections.MapDiffVisitor;
 import org.javimmutable.collections.Maybe;
 import org.javimmutable.collections.SplitableIterator;
+import org.javimmutable.collections.array.TrieArrayNode;
 import org.javimmutable.collections.common.AbstractMap;
 import org.javimmutable.collections.common.StreamConstants;
 import org.javimmutable.collections.iterators.EmptyIterator;
@@ -48,6 +50,7 @@ import org.javimmutable.collections.serialization.HashMapProxy;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.Immutable;
 import java.io.Serializable;
+import java.util.stream.Collector;
 
 /**
  * Singleton implementation of {@link IMap} that contains no elements.
@@ -75,6 +78,23 @@ public class EmptyHashMap<K, V>
         return HashMap.builder();
     }
 
+    /**
+     * Returns an {@link HashMap.Editor} that starts out empty.  The collision handling
+     * strategy is selected using the first key assigned to the editor.
+     */
+    @Nonnull
+    public HashMap.Editor<K, V> editor()
+    {
+        return new HashMap.Editor<>(this, TrieArrayNode.empty(), null);
+    }
+
+    @Nonnull
+    @Override
+    public Collector<IMapEntry<K, V>, ?, IMap<K, V>> mapCollector()
+    {
+        return HashMap.createMapCollector();
+    }
+
     @Nonnull
     @Override
     public Maybe<V> find(@Nonnull K key)
@@ -137,6 +157,13 @@ public class EmptyHashMap<K, V>
         return defaultValue;
     }
 
+    @Override
+    public void diff(@Nonnull IMap<K, V> newer,
+                     @Nonnull MapDiffVisitor<K, V> visitor)
+    {
+        newer.forEach(visitor::added);
+    }
+
     @Override
     public void checkInvariants()
     {
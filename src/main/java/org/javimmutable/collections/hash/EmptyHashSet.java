@@ -37,6 +37,7 @@ package org.javimmutable.collections.hash;
 
 import org.javimmutable.collections.ISet;
 import org.javimmutable.collections.SplitableIterator;
+import org.javimmutable.collections.array.TrieArrayNode;
 import org.javimmutable.collections.common.AbstractSet;
 import org.javimmutable.collections.common.StreamConstants;
 import org.javimmutable.collections.iterators.EmptyIterator;
@@ -46,6 +47,7 @@ import javax.annotation.Nullable;
 import java.io.Serializable;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.stream.Collector;
 
 public class EmptyHashSet<T>
     extends AbstractSet<T>
@@ -54,12 +56,31 @@ public class EmptyHashSet<T>
     @SuppressWarnings("rawtypes")
     private static final EmptyHashSet INSTANCE = new EmptyHashSet();
 
+    private static final long serialVersionUID = -7102180499799102995L;
+
     @SuppressWarnings("unchecked")
     public static <T> EmptyHashSet<T> instance()
     {
         return (EmptyHashSet<T>)INSTANCE;
     }
 
+    /**
+     * Returns an {@link HashSet.Editor} that starts out empty.  The collision handling
+     * strategy is selected using the first value inserted into the editor.
+     */
+    @Nonnull
+    public HashSet.Editor<T> editor()
+    {
+        return new HashSet.Editor<>(this, TrieArrayNode.empty(), null);
+    }
+
+    @Nonnull
+    @Override
+    public Collector<T, ?, ISet<T>> setCollector()
+    {
+        return HashSet.createSetCollector();
+    }
+
     @Override
     protected Set<T> emptyMutableSet()
     {
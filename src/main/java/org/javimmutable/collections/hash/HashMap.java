@@ -36,9 +36,12 @@
 package org.javimmutable.collections.hash;
 
 import org.javimmutable.collections.Func1;
+import org.javimmutable.collections.HashStrategy;
 import org.javimmutable.collections.IMap;
 import org.javimmutable.collections.IMapBuilder;
+import org.javimmutable.collections.IMapCursor;
 import org.javimmutable.collections.IMapEntry;
+import org.javimmutable.collections.MapDiffVisitor;
 import org.javimmutable.collections.Maybe;
 import org.javimmutable.collections.Proc2;
 import org.javimmutable.collections.Proc2Throws;
@@ -46,36 +49,40 @@ import org.javimmutable.collections.SplitableIterator;
 import org.javimmutable.collections.Sum2;
 import org.javimmutable.collections.Sum2Throws;
 import org.javimmutable.collections.Temp;
-import org.javimmutable.collections.array.ArrayAssignMapper;
-import org.javimmutable.collections.array.ArrayDeleteMapper;
-import org.javimmutable.collections.array.ArrayFindEntryMapper;
-import org.javimmutable.collections.array.ArrayIterationMapper;
-import org.javimmutable.collections.array.ArrayUpdateMapper;
-import org.javimmutable.collections.array.TrieArrayBuilder;
+import org.javimmutable.collections.array.ArraySlotEntryMapper;
+import org.javimmutable.collections.array.ArraySlotGetMapper;
+import org.javimmutable.collections.array.ArraySlotUpdateMapper;
+import org.javimmutable.collections.array.TrieArrayEditor;
 import org.javimmutable.collections.array.TrieArrayNode;
 import org.javimmutable.collections.common.AbstractMap;
 import org.javimmutable.collections.common.CollisionMap;
-import org.javimmutable.collections.hash.map.ArrayMapNode;
-import org.javimmutable.collections.hash.map.ArraySingleValueMapNode;
+import org.javimmutable.collections.common.ThreadOwner;
+import org.javimmutable.collections.hash.map.ArrayMapEntries;
 import org.javimmutable.collections.iterators.GenericIterator;
 import org.javimmutable.collections.list.ListCollisionMap;
+import org.javimmutable.collections.serialization.CustomHashMapProxy;
 import org.javimmutable.collections.serialization.HashMapProxy;
 import org.javimmutable.collections.tree.TreeCollisionMap;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.NotThreadSafe;
 import javax.annotation.concurrent.ThreadSafe;
 import java.io.Serializable;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiPredicate;
 import java.util.stream.Collector;
 
 @Immutable
 public class HashMap<T, K, V>
     extends AbstractMap<K, V>
-    implements ArrayUpdateMapper<K, V, ArrayMapNode<K, V>>,
-               ArrayFindEntryMapper<K, V, ArrayMapNode<K, V>>,
-               ArrayIterationMapper<K, V, ArrayMapNode<K, V>>,
-               ArrayDeleteMapper<K, ArrayMapNode<K, V>>,
+    implements ArraySlotGetMapper<K, V, Object>,
+               ArraySlotUpdateMapper<K, V, Object>,
+               ArraySlotEntryMapper<K, V, Object>,
                Serializable
 {
     // this is safe since CollisionMap works for any possible K and V
@@ -88,11 +95,11 @@ public class HashMap<T, K, V>
 
     private static final long serialVersionUID = -121805;
 
-    private final TrieArrayNode<ArrayMapNode<K, V>> root;
+    private final TrieArrayNode<Object> root;
     private final CollisionMap<K, V> collisionMap;
 
-    private HashMap(TrieArrayNode<ArrayMapNode<K, V>> root,
-                    CollisionMap<K, V> collisionMap)
+    HashMap(TrieArrayNode<Object> root,
+            CollisionMap<K, V> collisionMap)
     {
         this.root = root;
         this.collisionMap = collisionMap;
@@ -154,48 +161,129 @@ public class HashMap<T, K, V>
         return (IMap<K, V>)TREE_EMPTY;
     }
 
+    /**
+     * Returns an empty map that hashes and compares keys using strategy.  Hash code collisions
+     * are handled using linked lists compared using the strategy.  Maps derived from the
+     * returned map share its strategy (even when they become empty) so retain and reuse the
+     * returned map rather than calling this method repeatedly for maps that will be combined.
+     */
+    @Nonnull
+    public static <K, V> IMap<K, V> of(@Nonnull HashStrategy<K> strategy)
+    {
+        return emptyMap(ListCollisionMap.instance(strategy));
+    }
+
     public static <K, V> IMapBuilder<K, V> builder()
     {
         return new Builder<>();
     }
 
+    /**
+     * Returns a builder for use by a single thread.  Unlike {@link #builder()} its methods
+     * do not synchronize.  The builder is an {@link Editor} starting from an empty map.
+     */
+    @Nonnull
+    public static <K, V> Editor<K, V> unsynchronizedBuilder()
+    {
+        return HashMap.<K, V>of().editor();
+    }
+
+    /**
+     * Returns a builder that builds the map in parallel using the common ForkJoinPool.
+     * Keys are grouped by the top bits of their hash codes and each group is built into
+     * its own sub-trie by a separate task before the sub-tries are merged.  Adding entries
+     * only appends them to an array so the builder is not thread safe.
+     */
+    @Nonnull
+    public static <K, V> IMapBuilder<K, V> parallelBuilder()
+    {
+        return parallelBuilder(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as {@link #parallelBuilder()} but builds using the provided pool.
+     */
+    @Nonnull
+    public static <K, V> IMapBuilder<K, V> parallelBuilder(@Nonnull ForkJoinPool pool)
+    {
+        return new ParallelHashMapBuilder<>(pool, HashPartitions.DEFAULT_THRESHOLD, 0);
+    }
+
+    /**
+     * Creates a map containing the same entries as source using a {@link #parallelBuilder()}.
+     * The source must not be modified while the copy is being made.
+     */
+    @Nonnull
+    public static <K, V> IMap<K, V> copyOf(@Nonnull Map<? extends K, ? extends V> source)
+    {
+        return copyOf(ForkJoinPool.commonPool(), source);
+    }
+
+    /**
+     * Same as {@link #copyOf(Map)} but builds using the provided pool.
+     */
+    @Nonnull
+    public static <K, V> IMap<K, V> copyOf(@Nonnull ForkJoinPool pool,
+                                           @Nonnull Map<? extends K, ? extends V> source)
+    {
+        return new ParallelHashMapBuilder<K, V>(pool, HashPartitions.DEFAULT_THRESHOLD, source.size()).add(source).build();
+    }
+
     @Nonnull
     @Override
     public IMapBuilder<K, V> mapBuilder()
     {
-        return builder();
+        if (hasStandardHashing(collisionMap)) {
+            return builder();
+        } else {
+            return new Editor<>(emptyMap(collisionMap), TrieArrayNode.empty(), collisionMap);
+        }
     }
 
+    /**
+     * Returns an {@link Editor} whose contents start out identical to this map.  The editor
+     * modifies its own copies of nodes in place and so is much faster than calling assign()
+     * repeatedly when applying a large number of changes.  This map is never modified.
+     */
+    @Nonnull
+    public Editor<K, V> editor()
+    {
+        return new Editor<>(this, root, collisionMap);
+    }
+
+    /**
+     * Creates a Collector that gives each thread of a parallel stream its own {@link Editor}
+     * and combines the partial results by merging their tries structurally.
+     */
     @Nonnull
     public static <K, V> Collector<IMapEntry<K, V>, ?, IMap<K, V>> createMapCollector()
     {
-        return Collector.<IMapEntry<K, V>, IMapBuilder<K, V>, IMap<K, V>>of(HashMap::builder,
-                                                                            (b, v) -> b.add(v),
-                                                                            (b1, b2) -> b1.add(b2),
-                                                                            b -> b.build(),
-                                                                            Collector.Characteristics.UNORDERED,
-                                                                            Collector.Characteristics.CONCURRENT);
+        return Collector.<IMapEntry<K, V>, Editor<K, V>, IMap<K, V>>of(() -> new Editor<>(of(), TrieArrayNode.empty(), null, null),
+                                                                       (e, v) -> e.add(v),
+                                                                       (e1, e2) -> e1.combine(e2),
+                                                                       e -> e.build(),
+                                                                       Collector.Characteristics.UNORDERED);
     }
 
     @Override
     public V getValueOr(K key,
                         V defaultValue)
     {
-        return root.mappedGetValueOr(this, key, defaultValue);
+        return root.slotGetValueOr(this, key, defaultValue);
     }
 
     @Nonnull
     @Override
     public Maybe<V> find(@Nonnull K key)
     {
-        return root.mappedFind(this, key);
+        return root.slotFind(this, key);
     }
 
     @Nonnull
     @Override
     public Maybe<IMapEntry<K, V>> findEntry(@Nonnull K key)
     {
-        return root.mappedFindEntry(this, key);
+        return root.slotFindEntry(this, key);
     }
 
     @Nonnull
@@ -203,7 +291,7 @@ public class HashMap<T, K, V>
     public IMap<K, V> assign(@Nonnull K key,
                              V value)
     {
-        final TrieArrayNode<ArrayMapNode<K, V>> newRoot = root.mappedAssign(this, key, value);
+        final TrieArrayNode<Object> newRoot = root.slotAssign(this, key, value);
         if (newRoot == root) {
             return this;
         } else {
@@ -216,7 +304,7 @@ public class HashMap<T, K, V>
     public IMap<K, V> update(@Nonnull K key,
                              @Nonnull Func1<Maybe<V>, V> generator)
     {
-        final TrieArrayNode<ArrayMapNode<K, V>> newRoot = root.mappedUpdate(this, key, generator);
+        final TrieArrayNode<Object> newRoot = root.slotUpdate(this, key, generator);
         if (newRoot == root) {
             return this;
         } else {
@@ -228,16 +316,49 @@ public class HashMap<T, K, V>
     @Override
     public IMap<K, V> delete(@Nonnull K key)
     {
-        final TrieArrayNode<ArrayMapNode<K, V>> newRoot = root.mappedDelete(this, key);
+        final TrieArrayNode<Object> newRoot = root.slotDelete(this, key);
         if (newRoot == root) {
             return this;
         } else if (newRoot.isEmpty()) {
-            return of();
+            return emptyMap(collisionMap);
         } else {
             return new HashMap<>(newRoot, collisionMap);
         }
     }
 
+    /**
+     * Merges the tries of the two maps directly when map is a HashMap using the same
+     * collision strategy.  Subtrees present in only one of the maps are reused as is.
+     */
+    @Nonnull
+    @Override
+    public IMap<K, V> assignAll(@Nonnull IMap<? extends K, ? extends V> map)
+    {
+        final HashMap<?, K, V> otherMap = compatibleHashMap(map);
+        if (otherMap != null) {
+            final TrieArrayNode<Object> newRoot = root.slotUnion(this, otherMap.root);
+            if (newRoot == root) {
+                return this;
+            } else if (newRoot == otherMap.root) {
+                return otherMap;
+            } else {
+                return new HashMap<>(newRoot, collisionMap);
+            }
+        }
+        return super.assignAll(map);
+    }
+
+    @Nonnull
+    @Override
+    @SuppressWarnings("unchecked")
+    public IMap<K, V> insertAll(@Nonnull Iterable<? extends IMapEntry<K, V>> values)
+    {
+        if (values instanceof IMap) {
+            return assignAll((IMap<K, V>)values);
+        }
+        return super.insertAll(values);
+    }
+
     @Override
     public int size()
     {
@@ -248,27 +369,40 @@ public class HashMap<T, K, V>
     @Override
     public IMap<K, V> deleteAll()
     {
-        return of();
+        return emptyMap(collisionMap);
     }
 
     @Nonnull
     @Override
     public SplitableIterator<IMapEntry<K, V>> iterator()
     {
-        return root.mappedEntries(this).iterator();
+        return root.slotEntries(this).iterator();
+    }
+
+    @Nonnull
+    @Override
+    public IMapCursor<K, V> cursor()
+    {
+        return new EntryCursor<>(root, collisionMap);
     }
 
     @Override
     public void forEach(@Nonnull Proc2<K, V> proc)
     {
-        root.forEach(node -> node.forEach(collisionMap, proc));
+        root.slotForEach(this, proc);
     }
 
     @Override
     public <E extends Exception> void forEachThrows(@Nonnull Proc2Throws<K, V, E> proc)
         throws E
     {
-        root.forEachThrows(node -> node.forEachThrows(collisionMap, proc));
+        root.slotForEachThrows(this, proc);
+    }
+
+    @Override
+    public boolean forEachWhile(@Nonnull BiPredicate<K, V> predicate)
+    {
+        return root.slotForEachWhile(this, predicate);
     }
 
     @Override
@@ -290,95 +424,223 @@ public class HashMap<T, K, V>
         return sum.x;
     }
 
+    /**
+     * Compares the tries of the two maps directly when newer is a HashMap using the same
+     * collision strategy.  Any part of the trie shared by the two maps is skipped so the
+     * cost is proportional to the amount of change rather than the size of the maps.
+     */
+    @Override
+    public void diff(@Nonnull IMap<K, V> newer,
+                     @Nonnull MapDiffVisitor<K, V> visitor)
+    {
+        if (newer instanceof HashMap && ((HashMap<?, K, V>)newer).collisionMap == collisionMap) {
+            final HashMap<?, K, V> newerMap = (HashMap<?, K, V>)newer;
+            root.slotDiff(this, newerMap.root, visitor);
+        } else if (newer instanceof EmptyHashMap) {
+            forEach(visitor::removed);
+        } else {
+            super.diff(newer, visitor);
+        }
+    }
+
+    /**
+     * Uses the hash codes cached in the trie nodes so only nodes created since the
+     * last call need to be visited.  Uses the formula defined by {@link java.util.Map}
+     * except that maps whose hash strategy is not based on equals() use the strategy's
+     * hash of each key in place of the key's hashCode().
+     */
+    @Override
+    public int hashCode()
+    {
+        return root.slotHashCodeSum(this);
+    }
+
+    /**
+     * Compares the tries directly when o is a HashMap using the same collision map.
+     * Differing hash codes are rejected immediately and subtrees shared by the two
+     * maps are skipped without examining their entries.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean equals(Object o)
+    {
+        if (o == this) {
+            return true;
+        }
+        final HashMap<?, K, V> other = (o instanceof IMap) ? compatibleHashMap((IMap<K, V>)o) : null;
+        if (other != null) {
+            if (size() != other.size()) {
+                return false;
+            }
+            if (hashCode() != other.hashCode()) {
+                return false;
+            }
+            return root.slotSameEntries(this, other.root);
+        }
+        return super.equals(o);
+    }
+
     @Override
     public void checkInvariants()
     {
-        root.checkInvariants(this);
+        root.slotCheckInvariants(this);
     }
 
     @Override
-    public V mappedGetValueOr(@Nonnull ArrayMapNode<K, V> mapping,
-                              @Nonnull K key,
-                              V defaultValue)
+    public int mappedHashCode(@Nonnull K key)
     {
-        return mapping.getValueOr(collisionMap, key, defaultValue);
+        return collisionMap.hashStrategy().hash(key);
     }
 
-    @Nonnull
     @Override
-    public Maybe<V> mappedFind(@Nonnull ArrayMapNode<K, V> mapping,
-                               @Nonnull K key)
+    public int slotWidth()
     {
-        return mapping.find(collisionMap, key);
+        return ArrayMapEntries.WIDTH;
     }
 
-    @Nonnull
     @Override
-    public Maybe<IMapEntry<K, V>> mappedFindEntry(@Nonnull ArrayMapNode<K, V> mapping,
-                                                  @Nonnull K key)
+    public int slotSize(@Nonnull Object[] values,
+                        int position)
     {
-        return mapping.findEntry(collisionMap, key);
+        return ArrayMapEntries.size(collisionMap, values, position);
     }
 
-    @Nonnull
     @Override
-    public ArrayMapNode<K, V> mappedAssign(@Nonnull K key,
-                                           V value)
+    public V slotGetValueOr(@Nonnull Object[] values,
+                            int position,
+                            @Nonnull K key,
+                            V defaultValue)
     {
-        return new ArraySingleValueMapNode<>(key, value);
+        return ArrayMapEntries.getValueOr(collisionMap, values, position, key, defaultValue);
     }
 
     @Nonnull
     @Override
-    public ArrayMapNode<K, V> mappedAssign(@Nonnull ArrayMapNode<K, V> current,
-                                           @Nonnull K key,
-                                           V value)
+    public Maybe<V> slotFind(@Nonnull Object[] values,
+                             int position,
+                             @Nonnull K key)
     {
-        return current.assign(collisionMap, key, value);
+        return ArrayMapEntries.find(collisionMap, values, position, key);
     }
 
     @Nonnull
     @Override
-    public ArrayMapNode<K, V> mappedUpdate(@Nonnull ArrayMapNode<K, V> current,
-                                           @Nonnull K key,
-                                           @Nonnull Func1<Maybe<V>, V> generator)
+    public Maybe<IMapEntry<K, V>> slotFindEntry(@Nonnull Object[] values,
+                                                int position,
+                                                @Nonnull K key)
     {
-        return current.update(collisionMap, key, generator);
+        return ArrayMapEntries.findEntry(collisionMap, values, position, key);
     }
 
-    @Nullable
     @Override
-    public ArrayMapNode<K, V> mappedDelete(@Nonnull ArrayMapNode<K, V> current,
-                                           @Nonnull K key)
+    public int slotAssign(@Nonnull Object[] values,
+                          int position,
+                          @Nonnull K key,
+                          V value)
     {
-        return current.delete(collisionMap, key);
+        return ArrayMapEntries.assign(collisionMap, values, position, key, value);
     }
 
     @Override
-    public int mappedSize(@Nonnull ArrayMapNode<K, V> mapping)
+    public int slotUpdate(@Nonnull Object[] values,
+                          int position,
+                          @Nonnull K key,
+                          @Nonnull Func1<Maybe<V>, V> generator)
     {
-        return mapping.size(collisionMap);
+        return ArrayMapEntries.update(collisionMap, values, position, key, generator);
     }
 
-    @Nonnull
     @Override
-    public GenericIterator.Iterable<K> mappedKeys(@Nonnull ArrayMapNode<K, V> mapping)
+    public int slotDelete(@Nonnull Object[] values,
+                          int position,
+                          @Nonnull K key)
     {
-        return mapping.keys(collisionMap);
+        return ArrayMapEntries.delete(collisionMap, values, position, key);
     }
 
     @Nonnull
     @Override
-    public GenericIterator.Iterable<V> mappedValues(@Nonnull ArrayMapNode<K, V> mapping)
+    public GenericIterator.Iterable<IMapEntry<K, V>> slotEntries(@Nonnull Object[] values,
+                                                                 int position)
     {
-        return mapping.values(collisionMap);
+        return ArrayMapEntries.entries(collisionMap, values, position);
+    }
+
+    @Override
+    public void slotForEach(@Nonnull Object[] values,
+                            int position,
+                            @Nonnull Proc2<K, V> proc)
+    {
+        ArrayMapEntries.forEach(collisionMap, values, position, proc);
+    }
+
+    @Override
+    public <E extends Exception> void slotForEachThrows(@Nonnull Object[] values,
+                                                        int position,
+                                                        @Nonnull Proc2Throws<K, V, E> proc)
+        throws E
+    {
+        ArrayMapEntries.forEachThrows(collisionMap, values, position, proc);
+    }
+
+    @Override
+    public boolean slotForEachWhile(@Nonnull Object[] values,
+                                    int position,
+                                    @Nonnull BiPredicate<K, V> predicate)
+    {
+        return ArrayMapEntries.forEachWhile(collisionMap, values, position, predicate);
+    }
+
+    @Override
+    public int slotHashCode(@Nonnull Object[] values,
+                            int position)
+    {
+        return ArrayMapEntries.entriesHashCode(collisionMap, values, position);
+    }
+
+    /**
+     * Combines two slots for the same hash code with the values from other
+     * replacing any values from the first slot with the same key.
+     */
+    @Override
+    public void slotUnion(@Nonnull Object[] values,
+                          int position,
+                          @Nonnull Object[] other,
+                          int otherPosition)
+    {
+        ArrayMapEntries.union(collisionMap, values, position, other, otherPosition);
+    }
+
+    @Override
+    public boolean slotSameEntries(@Nonnull Object[] values,
+                                   int position,
+                                   @Nonnull Object[] other,
+                                   int otherPosition)
+    {
+        return ArrayMapEntries.sameEntries(collisionMap, values, position, other, otherPosition);
     }
 
-    @Nonnull
     @Override
-    public GenericIterator.Iterable<IMapEntry<K, V>> mappedEntries(@Nonnull ArrayMapNode<K, V> mapping)
+    public void slotDiff(@Nullable Object[] oldValues,
+                         int oldPosition,
+                         @Nullable Object[] newValues,
+                         int newPosition,
+                         @Nonnull MapDiffVisitor<K, V> visitor)
+    {
+        ArrayMapEntries.diff(collisionMap, oldValues, oldPosition, newValues, newPosition, visitor);
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private HashMap<?, K, V> compatibleHashMap(@Nonnull IMap<? extends K, ? extends V> other)
     {
-        return mapping.entries(collisionMap);
+        if (other instanceof HashMap) {
+            final HashMap<?, K, V> otherMap = (HashMap<?, K, V>)other;
+            if (otherMap.collisionMap == collisionMap) {
+                return otherMap;
+            }
+        }
+        return null;
     }
 
     // for unit test to verify proper transforms selected
@@ -388,25 +650,150 @@ public class HashMap<T, K, V>
         return collisionMap;
     }
 
+    @Nonnull
+    TrieArrayNode<Object> getRoot()
+    {
+        return root;
+    }
+
+    /**
+     * Returns the strategy used to hash and compare this map's keys.
+     */
+    @Nonnull
+    public HashStrategy<K> getHashStrategy()
+    {
+        return collisionMap.hashStrategy();
+    }
+
+    /**
+     * Maps using the standard strategy share the EmptyHashMap singleton when empty.  Maps using
+     * any other strategy remain a HashMap so later keys are still hashed using that strategy.
+     */
+    @Nonnull
+    private static <K, V> IMap<K, V> emptyMap(@Nullable CollisionMap<K, V> collisionMap)
+    {
+        if (hasStandardHashing(collisionMap)) {
+            return of();
+        } else {
+            return new HashMap<>(TrieArrayNode.empty(), collisionMap);
+        }
+    }
+
+    private static boolean hasStandardHashing(@Nullable CollisionMap<?, ?> collisionMap)
+    {
+        return collisionMap == null || collisionMap.hashStrategy() == HashStrategy.standard();
+    }
+
     private Object writeReplace()
     {
-        return new HashMapProxy(this);
+        if (hasStandardHashing(collisionMap)) {
+            return new HashMapProxy(this);
+        } else {
+            return new CustomHashMapProxy(this);
+        }
+    }
+
+    /**
+     * Cursor over the trie's slots.  Slots holding a single entry are visited by reading
+     * the key and value directly from the trie so visiting them allocates nothing.  Slots
+     * holding colliding keys are visited using their iterator.
+     */
+    @NotThreadSafe
+    private static class EntryCursor<K, V>
+        implements IMapCursor<K, V>
+    {
+        private final TrieArrayNode.Cursor<Object> nodes;
+        private final CollisionMap<K, V> collisionMap;
+        private Iterator<IMapEntry<K, V>> collisions;
+        private K key;
+        private V value;
+        private boolean positioned;
+
+        private EntryCursor(@Nonnull TrieArrayNode<Object> root,
+                            @Nonnull CollisionMap<K, V> collisionMap)
+        {
+            this.nodes = new TrieArrayNode.Cursor<>(root, ArrayMapEntries.WIDTH);
+            this.collisionMap = collisionMap;
+        }
+
+        @Override
+        public boolean advance()
+        {
+            if (collisions != null) {
+                if (collisions.hasNext()) {
+                    setEntry(collisions.next());
+                    return true;
+                }
+                collisions = null;
+            }
+            if (!nodes.advance()) {
+                key = null;
+                value = null;
+                positioned = false;
+                return false;
+            }
+            final Object slotKey = nodes.slotElement(0);
+            if (ArrayMapEntries.isCollision(slotKey)) {
+                collisions = ArrayMapEntries.collisionEntries(collisionMap, slotKey).iterator();
+                setEntry(collisions.next());
+            } else {
+                key = ArrayMapEntries.key(slotKey);
+                value = ArrayMapEntries.value(nodes.slotElement(1));
+            }
+            positioned = true;
+            return true;
+        }
+
+        @Nonnull
+        @Override
+        public K key()
+        {
+            if (!positioned) {
+                throw new NoSuchElementException();
+            }
+            return key;
+        }
+
+        @Override
+        public V value()
+        {
+            if (!positioned) {
+                throw new NoSuchElementException();
+            }
+            return value;
+        }
+
+        @Override
+        public void reset()
+        {
+            nodes.reset();
+            collisions = null;
+            key = null;
+            value = null;
+            positioned = false;
+        }
+
+        private void setEntry(@Nonnull IMapEntry<K, V> entry)
+        {
+            key = entry.getKey();
+            value = entry.getValue();
+        }
     }
 
     @ThreadSafe
     public static class Builder<K, V>
         implements IMapBuilder<K, V>,
-                   ArrayAssignMapper<K, V, ArrayMapNode<K, V>>
+                   ArraySlotUpdateMapper<K, V, Object>
 
     {
-        private final TrieArrayBuilder<ArrayMapNode<K, V>> builder = new TrieArrayBuilder<>();
+        private TrieArrayEditor<Object> editor = new TrieArrayEditor<>(TrieArrayNode.empty());
         private CollisionMap<K, V> collisionMap = ListCollisionMap.instance();
 
         @Nonnull
         @Override
         public synchronized IMap<K, V> build()
         {
-            final TrieArrayNode<ArrayMapNode<K, V>> root = builder.buildRoot();
+            final TrieArrayNode<Object> root = editor.freeze();
             if (root.isEmpty()) {
                 return of();
             } else {
@@ -418,7 +805,7 @@ public class HashMap<T, K, V>
         @Override
         public synchronized IMapBuilder<K, V> clear()
         {
-            builder.reset();
+            editor = new TrieArrayEditor<>(TrieArrayNode.empty());
             collisionMap = ListCollisionMap.instance();
             return this;
         }
@@ -428,44 +815,301 @@ public class HashMap<T, K, V>
         public synchronized IMapBuilder<K, V> add(@Nonnull K key,
                                                   V value)
         {
-            if (builder.size() == 0) {
+            if (editor.size() == 0) {
                 if (key instanceof Comparable) {
                     collisionMap = TreeCollisionMap.instance();
                 } else {
                     collisionMap = ListCollisionMap.instance();
                 }
             }
-            builder.assign(this, key, value);
+            editor.slotAssign(this, key, value);
             return this;
         }
 
         @Override
         public synchronized int size()
         {
-            return builder.size();
+            return editor.size();
+        }
+
+        @Override
+        public int slotWidth()
+        {
+            return ArrayMapEntries.WIDTH;
+        }
+
+        @Override
+        public int slotSize(@Nonnull Object[] values,
+                            int position)
+        {
+            return ArrayMapEntries.size(collisionMap, values, position);
+        }
+
+        @Override
+        public int slotAssign(@Nonnull Object[] values,
+                              int position,
+                              @Nonnull K key,
+                              V value)
+        {
+            return ArrayMapEntries.assign(collisionMap, values, position, key, value);
+        }
+
+        @Override
+        public int slotUpdate(@Nonnull Object[] values,
+                              int position,
+                              @Nonnull K key,
+                              @Nonnull Func1<Maybe<V>, V> generator)
+        {
+            return ArrayMapEntries.update(collisionMap, values, position, key, generator);
+        }
+
+        @Override
+        public int slotDelete(@Nonnull Object[] values,
+                              int position,
+                              @Nonnull K key)
+        {
+            return ArrayMapEntries.delete(collisionMap, values, position, key);
+        }
+    }
+
+    /**
+     * Transient editing session for a HashMap.  Changes are made in place to nodes
+     * owned by the editor so applying many changes allocates far fewer objects than
+     * calling assign() or delete() on the map repeatedly.  Calling build() freezes the
+     * current contents into an immutable map.  The editor remains usable after build()
+     * and later changes never affect maps already returned by build().
+     * <p>
+     * An editor belongs to the thread that created it.  When assertions are enabled calling
+     * any method from another thread throws an IllegalStateException.  Editors used internally
+     * by the map collector have no owner since parallel streams hand containers between threads.
+     */
+    @NotThreadSafe
+    public static class Editor<K, V>
+        implements IMapBuilder<K, V>,
+                   ArraySlotGetMapper<K, V, Object>,
+                   ArraySlotUpdateMapper<K, V, Object>
+    {
+        @Nullable
+        private final ThreadOwner owner;
+        private TrieArrayEditor<Object> editor;
+        @Nullable
+        private CollisionMap<K, V> collisionMap;
+        private IMap<K, V> built;
+        private TrieArrayNode<Object> builtRoot;
+
+        Editor(@Nonnull IMap<K, V> map,
+               @Nonnull TrieArrayNode<Object> root,
+               @Nullable CollisionMap<K, V> collisionMap)
+        {
+            this(map, root, collisionMap, new ThreadOwner());
+        }
+
+        Editor(@Nonnull IMap<K, V> map,
+               @Nonnull TrieArrayNode<Object> root,
+               @Nullable CollisionMap<K, V> collisionMap,
+               @Nullable ThreadOwner owner)
+        {
+            this.owner = owner;
+            editor = new TrieArrayEditor<>(root);
+            this.collisionMap = collisionMap;
+            built = map;
+            builtRoot = root;
+        }
+
+        @Nonnull
+        public Editor<K, V> assign(@Nonnull K key,
+                                   V value)
+        {
+            checkOwner();
+            selectCollisionMap(key);
+            editor.slotAssign(this, key, value);
+            return this;
+        }
+
+        @Nonnull
+        public Editor<K, V> update(@Nonnull K key,
+                                   @Nonnull Func1<Maybe<V>, V> generator)
+        {
+            checkOwner();
+            selectCollisionMap(key);
+            editor.slotUpdate(this, key, generator);
+            return this;
+        }
+
+        @Nonnull
+        public Editor<K, V> delete(@Nonnull K key)
+        {
+            checkOwner();
+            editor.slotDelete(this, key);
+            return this;
+        }
+
+        public V getValueOr(@Nonnull K key,
+                            V defaultValue)
+        {
+            checkOwner();
+            return editor.slotGetValueOr(this, key, defaultValue);
+        }
+
+        @Nonnull
+        public Maybe<V> find(@Nonnull K key)
+        {
+            checkOwner();
+            return editor.slotFind(this, key);
+        }
+
+        @Override
+        public int size()
+        {
+            checkOwner();
+            return editor.size();
+        }
+
+        @Nonnull
+        @Override
+        public IMap<K, V> build()
+        {
+            checkOwner();
+            final TrieArrayNode<Object> root = editor.freeze();
+            if (root != builtRoot) {
+                if (root.isEmpty()) {
+                    built = emptyMap(collisionMap);
+                } else {
+                    assert collisionMap != null;
+                    built = new HashMap<>(root, collisionMap);
+                }
+                builtRoot = root;
+            }
+            return built;
+        }
+
+        @Nonnull
+        @Override
+        public Editor<K, V> add(@Nonnull K key,
+                                V value)
+        {
+            return assign(key, value);
+        }
+
+        @Nonnull
+        @Override
+        public Editor<K, V> clear()
+        {
+            checkOwner();
+            editor = new TrieArrayEditor<>(TrieArrayNode.empty());
+            return this;
+        }
+
+        /**
+         * Replaces the contents of this editor with the result of assigning every
+         * value from other on top of this editor's values.  Used by the map collector
+         * to merge partial results from a parallel stream structurally.
+         */
+        @Nonnull
+        Editor<K, V> combine(@Nonnull Editor<K, V> other)
+        {
+            if (other.size() == 0) {
+                return this;
+            } else if (size() == 0) {
+                return other;
+            }
+            final IMap<K, V> merged = build().assignAll(other.build());
+            if (merged instanceof HashMap) {
+                final HashMap<?, K, V> mergedMap = (HashMap<?, K, V>)merged;
+                editor = new TrieArrayEditor<>(mergedMap.root);
+                collisionMap = mergedMap.collisionMap;
+                built = merged;
+                builtRoot = mergedMap.root;
+            }
+            return this;
+        }
+
+        @Override
+        public int mappedHashCode(@Nonnull K key)
+        {
+            return (collisionMap == null) ? key.hashCode() : collisionMap.hashStrategy().hash(key);
+        }
+
+        @Override
+        public int slotWidth()
+        {
+            return ArrayMapEntries.WIDTH;
+        }
+
+        @Override
+        public int slotSize(@Nonnull Object[] values,
+                            int position)
+        {
+            return ArrayMapEntries.size(collisionMap, values, position);
+        }
+
+        @Override
+        public V slotGetValueOr(@Nonnull Object[] values,
+                                int position,
+                                @Nonnull K key,
+                                V defaultValue)
+        {
+            return ArrayMapEntries.getValueOr(collisionMap, values, position, key, defaultValue);
         }
 
         @Nonnull
         @Override
-        public synchronized ArrayMapNode<K, V> mappedAssign(@Nonnull K key,
-                                                            V value)
+        public Maybe<V> slotFind(@Nonnull Object[] values,
+                                 int position,
+                                 @Nonnull K key)
         {
-            return new ArraySingleValueMapNode<>(key, value);
+            return ArrayMapEntries.find(collisionMap, values, position, key);
         }
 
         @Nonnull
         @Override
-        public synchronized ArrayMapNode<K, V> mappedAssign(@Nonnull ArrayMapNode<K, V> current,
-                                                            @Nonnull K key,
-                                                            V value)
+        public Maybe<IMapEntry<K, V>> slotFindEntry(@Nonnull Object[] values,
+                                                    int position,
+                                                    @Nonnull K key)
+        {
+            return ArrayMapEntries.findEntry(collisionMap, values, position, key);
+        }
+
+        @Override
+        public int slotAssign(@Nonnull Object[] values,
+                              int position,
+                              @Nonnull K key,
+                              V value)
+        {
+            return ArrayMapEntries.assign(collisionMap, values, position, key, value);
+        }
+
+        @Override
+        public int slotUpdate(@Nonnull Object[] values,
+                              int position,
+                              @Nonnull K key,
+                              @Nonnull Func1<Maybe<V>, V> generator)
         {
-            return current.assign(collisionMap, key, value);
+            return ArrayMapEntries.update(collisionMap, values, position, key, generator);
         }
 
         @Override
-        public synchronized int mappedSize(@Nonnull ArrayMapNode<K, V> mapping)
+        public int slotDelete(@Nonnull Object[] values,
+                              int position,
+                              @Nonnull K key)
+        {
+            return ArrayMapEntries.delete(collisionMap, values, position, key);
+        }
+
+        private void selectCollisionMap(@Nonnull K key)
+        {
+            if (collisionMap == null) {
+                if (key instanceof Comparable) {
+                    collisionMap = TreeCollisionMap.instance();
+                } else {
+                    collisionMap = ListCollisionMap.instance();
+                }
+            }
+        }
+
+        private void checkOwner()
         {
-            return mapping.size(collisionMap);
+            assert owner == null || owner.verify();
         }
     }
 }
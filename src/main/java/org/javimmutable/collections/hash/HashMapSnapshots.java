@@ -0,0 +1,294 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.hash;
+
+import org.javimmutable.collections.HashStrategy;
+import org.javimmutable.collections.IMap;
+import org.javimmutable.collections.array.TrieArrayNode;
+import org.javimmutable.collections.codec.SnapshotNodeInput;
+import org.javimmutable.collections.codec.SnapshotNodeOutput;
+import org.javimmutable.collections.codec.SnapshotReader;
+import org.javimmutable.collections.codec.SnapshotWriter;
+import org.javimmutable.collections.common.CollisionMap;
+import org.javimmutable.collections.hash.map.ArrayMapEntries;
+import org.javimmutable.collections.list.ListCollisionMap;
+import org.javimmutable.collections.tree.TreeCollisionMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Writes and reads the trie nodes of {@link HashMap}s for {@link SnapshotWriter} and
+ * {@link SnapshotReader}.  Each instance remembers the nodes it has read and only creates
+ * maps from those nodes.  Every node is checked as it is read so no map it creates can be
+ * malformed.
+ * <p>
+ * The keys of each slot are rehashed as they are read and checked against the slot they
+ * were written to.  Keys whose hash codes differ from when they were written, such as
+ * enums or other keys using identity hash codes, cause each map containing them to be
+ * rebuilt from its entries.  Rebuilt maps share no structure with other maps.
+ */
+@NotThreadSafe
+public final class HashMapSnapshots
+{
+    private static final int LIST_COLLISIONS = 0;
+    private static final int TREE_COLLISIONS = 1;
+
+    private final Set<Object> restoredNodes;
+    private final Set<Object> misplacedNodes;
+
+    public HashMapSnapshots()
+    {
+        restoredNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+        misplacedNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    /**
+     * Writes any trie nodes of map that have not already been written followed by the record
+     * for the map itself.
+     *
+     * @throws IllegalArgumentException if map does not use standard hashing
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> void write(@Nonnull HashMap<?, K, V> map,
+                                    @Nonnull SnapshotNodeOutput<K, V> out)
+        throws IOException
+    {
+        if (map.getHashStrategy() != HashStrategy.standard()) {
+            throw new IllegalArgumentException("snapshots require standard hashing");
+        }
+        final CollisionMap<K, V> collisionMap = map.getCollisionMap();
+        final boolean treeCollisions = collisionMap instanceof TreeCollisionMap;
+        final TrieArrayNode<Object> root = map.getRoot();
+        writeTrieNode(out, collisionMap, treeCollisions, root);
+        out.startHashMap();
+        out.output().writeByte(treeCollisions ? TREE_COLLISIONS : LIST_COLLISIONS);
+        out.writeReference(root);
+    }
+
+    /**
+     * Reads a trie node record.  The node's children must already have been read.
+     */
+    @Nonnull
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <K, V> Object readNode(@Nonnull SnapshotNodeInput<K, V> in)
+        throws IOException
+    {
+        final int shiftCount = in.input().readVarInt();
+        final int baseIndex = in.input().readInt();
+        final long valuesBitmask = in.input().readLong();
+        final long nodesBitmask = in.input().readLong();
+        final int size = in.input().readLength();
+        final int slotCount = Long.bitCount(valuesBitmask);
+        final Object[] slots = new Object[ArrayMapEntries.WIDTH * slotCount];
+        boolean misplaced = false;
+        int computedSize = 0;
+        long remainingBits = valuesBitmask;
+        for (int i = 0; i < slotCount; ++i) {
+            final long slotBit = Long.lowestOneBit(remainingBits);
+            remainingBits ^= slotBit;
+            final int slotSize = in.input().readLength();
+            if (!readSlot(in, slots, ArrayMapEntries.WIDTH * i, slotSize, shiftCount, baseIndex, slotBit)) {
+                misplaced = true;
+            }
+            computedSize += slotSize;
+        }
+        final TrieArrayNode<Object>[] children = (TrieArrayNode<Object>[])new TrieArrayNode[Long.bitCount(nodesBitmask)];
+        for (int i = 0; i < children.length; ++i) {
+            children[i] = (TrieArrayNode<Object>)readReference(in);
+            if (children[i] == null) {
+                throw new IOException("missing trie node child");
+            }
+            if (misplacedNodes.contains(children[i])) {
+                misplaced = true;
+            }
+            computedSize += children[i].size();
+        }
+        if (computedSize != size) {
+            throw new IOException("trie node size does not match its contents");
+        }
+        final TrieArrayNode<Object> node;
+        try {
+            node = TrieArrayNode.restore(ArrayMapEntries.WIDTH, shiftCount, baseIndex, valuesBitmask, slots, nodesBitmask, children, size);
+        } catch (IllegalArgumentException ex) {
+            throw new IOException(ex.getMessage());
+        }
+        restoredNodes.add(node);
+        if (misplaced) {
+            misplacedNodes.add(node);
+        }
+        return node;
+    }
+
+    /**
+     * Reads a map record referring to a root node previously read by this object.  Maps
+     * containing keys that are not in the slots their hash codes select are rebuilt.
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public <K, V> IMap<K, V> readMap(@Nonnull SnapshotNodeInput<K, V> in)
+        throws IOException
+    {
+        final boolean treeCollisions = readTreeCollisions(in);
+        final TrieArrayNode<Object> root = (TrieArrayNode<Object>)readReference(in);
+        if (root == null || root.isEmpty()) {
+            return HashMap.of();
+        }
+        final IMap<K, V> map = new HashMap<>(root, HashMapSnapshots.<K, V>collisionMap(treeCollisions));
+        if (misplacedNodes.contains(root)) {
+            return HashMap.<K, V>unsynchronizedBuilder().add(map).build();
+        }
+        return map;
+    }
+
+    /**
+     * Trie nodes are written as their shift, base index, bitmasks and size followed by
+     * their slots and references to their children.
+     */
+    private static <K, V> void writeTrieNode(@Nonnull SnapshotNodeOutput<K, V> out,
+                                             @Nonnull CollisionMap<K, V> collisionMap,
+                                             boolean treeCollisions,
+                                             @Nonnull TrieArrayNode<Object> node)
+        throws IOException
+    {
+        if (out.isWritten(node)) {
+            return;
+        }
+        final int valueCount = Long.bitCount(node.valuesBitmask());
+        final int nodeCount = Long.bitCount(node.nodesBitmask());
+        for (int i = 0; i < nodeCount; ++i) {
+            writeTrieNode(out, collisionMap, treeCollisions, node.nodeAt(i));
+        }
+        out.startTrieNode(node);
+        out.output().writeVarInt(node.shiftCount());
+        out.output().writeInt(node.baseIndex());
+        out.output().writeLong(node.valuesBitmask());
+        out.output().writeLong(node.nodesBitmask());
+        out.output().writeVarInt(node.size());
+        for (int i = 0; i < valueCount; ++i) {
+            writeSlot(out, collisionMap, treeCollisions, node, i);
+        }
+        for (int i = 0; i < nodeCount; ++i) {
+            out.writeReference(node.nodeAt(i));
+        }
+    }
+
+    /**
+     * Slots are written as the number of entries followed by each entry.  Slots holding
+     * colliding keys also record which type of collision map holds them.
+     */
+    private static <K, V> void writeSlot(@Nonnull SnapshotNodeOutput<K, V> out,
+                                         @Nonnull CollisionMap<K, V> collisionMap,
+                                         boolean treeCollisions,
+                                         @Nonnull TrieArrayNode<Object> node,
+                                         int slotIndex)
+        throws IOException
+    {
+        final int position = ArrayMapEntries.WIDTH * slotIndex;
+        final Object[] slot = {node.valueAt(position), node.valueAt(position + 1)};
+        final int size = ArrayMapEntries.size(collisionMap, slot, 0);
+        out.output().writeVarInt(size);
+        if (size > 1) {
+            out.output().writeByte(treeCollisions ? TREE_COLLISIONS : LIST_COLLISIONS);
+        }
+        ArrayMapEntries.<K, V, IOException>forEachThrows(collisionMap, slot, 0, (key, value) -> {
+            out.writeKey(key);
+            out.writeValue(value);
+        });
+    }
+
+    /**
+     * Reads the entries of a slot and checks that the hash code of each key places it in that slot.
+     *
+     * @return true if every key belongs in the slot
+     */
+    private static <K, V> boolean readSlot(@Nonnull SnapshotNodeInput<K, V> in,
+                                           @Nonnull Object[] slots,
+                                           int position,
+                                           int size,
+                                           int shiftCount,
+                                           int baseIndex,
+                                           long slotBit)
+        throws IOException
+    {
+        if (size == 0) {
+            throw new IOException("hash map node has no entries");
+        }
+        final CollisionMap<K, V> collisionMap = collisionMap((size > 1) && readTreeCollisions(in));
+        boolean placed = true;
+        for (int i = 0; i < size; ++i) {
+            final K key = in.readKey();
+            if (!TrieArrayNode.isSlotForHashCode(shiftCount, baseIndex, slotBit, HashStrategy.standard().hash(key))) {
+                placed = false;
+            }
+            ArrayMapEntries.assign(collisionMap, slots, position, key, in.readValue());
+        }
+        if (ArrayMapEntries.size(collisionMap, slots, position) != size) {
+            throw new IOException("hash map node contains duplicate keys");
+        }
+        return placed;
+    }
+
+    private static boolean readTreeCollisions(@Nonnull SnapshotNodeInput<?, ?> in)
+        throws IOException
+    {
+        final int collisionType = in.input().readByte();
+        switch (collisionType) {
+            case LIST_COLLISIONS:
+                return false;
+            case TREE_COLLISIONS:
+                return true;
+            default:
+                throw new IOException("unknown collision map type: " + collisionType);
+        }
+    }
+
+    private Object readReference(@Nonnull SnapshotNodeInput<?, ?> in)
+        throws IOException
+    {
+        return in.readReference(restoredNodes::contains, "TrieArrayNode");
+    }
+
+    @Nonnull
+    private static <K, V> CollisionMap<K, V> collisionMap(boolean treeCollisions)
+    {
+        return treeCollisions ? TreeCollisionMap.instance() : ListCollisionMap.instance();
+    }
+}
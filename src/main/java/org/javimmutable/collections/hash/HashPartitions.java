@@ -0,0 +1,166 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.hash;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+
+/**
+ * Groups keys by the top bits of their hash codes so that every group occupies its own
+ * subtree of a hash trie.  The groups can be built independently on a ForkJoinPool and
+ * then merged using the structural union of the tries.  Since no two groups share an
+ * index the union only visits the few trie levels above the groups.
+ * <p>
+ * Grouping is a stable counting sort so keys within a group retain their original order.
+ */
+@Immutable
+class HashPartitions
+{
+    static final int DEFAULT_THRESHOLD = 8192;
+
+    private static final int PARTITION_BITS = 8;
+    private static final int PARTITION_COUNT = 1 << PARTITION_BITS;
+    private static final int PARTITION_SHIFT = 32 - PARTITION_BITS;
+
+    private final int[] starts;
+    private final int[] order;
+
+    HashPartitions(@Nonnull Object[] keys,
+                   int count)
+    {
+        final int[] partitions = new int[count];
+        final int[] starts = new int[PARTITION_COUNT + 1];
+        for (int i = 0; i < count; ++i) {
+            final int partition = keys[i].hashCode() >>> PARTITION_SHIFT;
+            partitions[i] = partition;
+            starts[partition + 1] += 1;
+        }
+        for (int p = 1; p <= PARTITION_COUNT; ++p) {
+            starts[p] += starts[p - 1];
+        }
+        final int[] next = new int[PARTITION_COUNT];
+        System.arraycopy(starts, 0, next, 0, PARTITION_COUNT);
+        final int[] order = new int[count];
+        for (int i = 0; i < count; ++i) {
+            order[next[partitions[i]]++] = i;
+        }
+        this.starts = starts;
+        this.order = order;
+    }
+
+    /**
+     * Builds a partial result for every run of partitions containing at most threshold keys
+     * (or a single partition if it is larger) and combines adjacent results until only
+     * one remains.  Runs are built and combined in parallel using the provided pool.
+     *
+     * @return combined result or null if there were no keys
+     */
+    @Nullable
+    <R> R build(@Nonnull ForkJoinPool pool,
+                int threshold,
+                @Nonnull RangeBuilder<R> builder,
+                @Nonnull BinaryOperator<R> combiner)
+    {
+        return pool.invoke(new Task<>(0, PARTITION_COUNT, threshold, builder, combiner));
+    }
+
+    @FunctionalInterface
+    interface RangeBuilder<R>
+    {
+        /**
+         * Builds a partial result from the keys at positions order[offset] through
+         * order[limit - 1] of the original array.
+         */
+        @Nonnull
+        R build(@Nonnull int[] order,
+                int offset,
+                int limit);
+    }
+
+    private class Task<R>
+        extends RecursiveTask<R>
+    {
+        private static final long serialVersionUID = -121805;
+
+        private final int firstPartition;
+        private final int lastPartition;
+        private final int threshold;
+        private final RangeBuilder<R> builder;
+        private final BinaryOperator<R> combiner;
+
+        private Task(int firstPartition,
+                     int lastPartition,
+                     int threshold,
+                     @Nonnull RangeBuilder<R> builder,
+                     @Nonnull BinaryOperator<R> combiner)
+        {
+            this.firstPartition = firstPartition;
+            this.lastPartition = lastPartition;
+            this.threshold = threshold;
+            this.builder = builder;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected R compute()
+        {
+            final int offset = starts[firstPartition];
+            final int limit = starts[lastPartition];
+            if (offset == limit) {
+                return null;
+            } else if (limit - offset <= threshold || lastPartition - firstPartition == 1) {
+                return builder.build(order, offset, limit);
+            }
+            final int middle = (firstPartition + lastPartition) >>> 1;
+            final Task<R> left = new Task<>(firstPartition, middle, threshold, builder, combiner);
+            left.fork();
+            final R right = new Task<>(middle, lastPartition, threshold, builder, combiner).compute();
+            final R answer = left.join();
+            if (answer == null) {
+                return right;
+            } else if (right == null) {
+                return answer;
+            } else {
+                return combiner.apply(answer, right);
+            }
+        }
+    }
+}
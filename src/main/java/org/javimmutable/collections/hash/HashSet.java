@@ -35,49 +35,62 @@
 
 package org.javimmutable.collections.hash;
 
+import org.javimmutable.collections.HashStrategy;
+import org.javimmutable.collections.ICursor;
 import org.javimmutable.collections.IMapEntry;
 import org.javimmutable.collections.ISet;
 import org.javimmutable.collections.ISetBuilder;
 import org.javimmutable.collections.Proc1Throws;
 import org.javimmutable.collections.SplitableIterator;
+import org.javimmutable.collections.Temp;
 import org.javimmutable.collections.array.ArrayAssignMapper;
 import org.javimmutable.collections.array.ArrayContainsMapper;
 import org.javimmutable.collections.array.ArrayDeleteMapper;
 import org.javimmutable.collections.array.ArrayIterationMapper;
+import org.javimmutable.collections.array.ArrayMergeMapper;
+import org.javimmutable.collections.array.TrieArrayEditor;
 import org.javimmutable.collections.array.TrieArrayNode;
 import org.javimmutable.collections.common.AbstractSet;
 import org.javimmutable.collections.common.CollisionSet;
 import org.javimmutable.collections.common.StreamConstants;
-import org.javimmutable.collections.hash.set.ArraySetNode;
-import org.javimmutable.collections.hash.set.ArraySingleValueSetNode;
+import org.javimmutable.collections.common.ThreadOwner;
+import org.javimmutable.collections.hash.set.ArraySetValues;
 import org.javimmutable.collections.iterators.GenericIterator;
 import org.javimmutable.collections.list.ListCollisionSet;
+import org.javimmutable.collections.serialization.CustomHashSetProxy;
 import org.javimmutable.collections.serialization.HashSetProxy;
 import org.javimmutable.collections.tree.TreeCollisionSet;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.NotThreadSafe;
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collector;
 
 @Immutable
 public class HashSet<T>
     extends AbstractSet<T>
-    implements ArrayAssignMapper<T, T, ArraySetNode<T>>,
-               ArrayContainsMapper<T, ArraySetNode<T>>,
-               ArrayIterationMapper<T, T, ArraySetNode<T>>,
-               ArrayDeleteMapper<T, ArraySetNode<T>>,
+    implements ArrayAssignMapper<T, T, Object>,
+               ArrayContainsMapper<T, Object>,
+               ArrayIterationMapper<T, T, Object>,
+               ArrayDeleteMapper<T, Object>,
+               ArrayMergeMapper<Object>,
                Serializable
 {
     private static final long serialVersionUID = -121805;
 
-    private final TrieArrayNode<ArraySetNode<T>> root;
+    private final TrieArrayNode<Object> root;
     private final CollisionSet<T> collisionSet;
 
-    HashSet(@Nonnull TrieArrayNode<ArraySetNode<T>> root,
+    HashSet(@Nonnull TrieArrayNode<Object> root,
             @Nonnull CollisionSet<T> collisionSet)
     {
         this.root = root;
@@ -86,8 +99,8 @@ public class HashSet<T>
 
     HashSet(@Nonnull T value)
     {
-        root = TrieArrayNode.<ArraySetNode<T>>empty().mappedAssign(this, value, value);
         collisionSet = selectCollisionSetForValue(value);
+        root = TrieArrayNode.empty().mappedAssign(this, value, value);
     }
 
     public static <T> ISet<T> of()
@@ -95,6 +108,18 @@ public class HashSet<T>
         return EmptyHashSet.instance();
     }
 
+    /**
+     * Returns an empty set that hashes and compares values using strategy.  Hash code collisions
+     * are handled using linked lists compared using the strategy.  Sets derived from the
+     * returned set share its strategy (even when they become empty) so retain and reuse the
+     * returned set rather than calling this method repeatedly for sets that will be combined.
+     */
+    @Nonnull
+    public static <T> ISet<T> of(@Nonnull HashStrategy<T> strategy)
+    {
+        return emptySet(ListCollisionSet.instance(strategy));
+    }
+
     static <T> ISet<T> usingList()
     {
         return new HashSet<>(TrieArrayNode.empty(), ListCollisionSet.instance());
@@ -111,6 +136,82 @@ public class HashSet<T>
         return new HashSetBuilder<>();
     }
 
+    /**
+     * Returns a builder for use by a single thread.  Unlike {@link #builder()} its methods
+     * do not synchronize.  The builder is an {@link Editor} starting from an empty set.
+     */
+    @Nonnull
+    public static <T> Editor<T> unsynchronizedBuilder()
+    {
+        return EmptyHashSet.<T>instance().editor();
+    }
+
+    /**
+     * Returns a builder that builds the set in parallel using the common ForkJoinPool.
+     * Values are grouped by the top bits of their hash codes and each group is built into
+     * its own sub-trie by a separate task before the sub-tries are merged.  Adding values
+     * only appends them to an array so the builder is not thread safe.
+     */
+    @Nonnull
+    public static <T> ISetBuilder<T> parallelBuilder()
+    {
+        return parallelBuilder(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as {@link #parallelBuilder()} but builds using the provided pool.
+     */
+    @Nonnull
+    public static <T> ISetBuilder<T> parallelBuilder(@Nonnull ForkJoinPool pool)
+    {
+        return new ParallelHashSetBuilder<>(pool, HashPartitions.DEFAULT_THRESHOLD, 0);
+    }
+
+    /**
+     * Creates a set containing the same values as source using a {@link #parallelBuilder()}.
+     * The source must not be modified while the copy is being made.
+     */
+    @Nonnull
+    public static <T> ISet<T> copyOf(@Nonnull Collection<? extends T> source)
+    {
+        return copyOf(ForkJoinPool.commonPool(), source);
+    }
+
+    /**
+     * Same as {@link #copyOf(Collection)} but builds using the provided pool.
+     */
+    @Nonnull
+    public static <T> ISet<T> copyOf(@Nonnull ForkJoinPool pool,
+                                     @Nonnull Collection<? extends T> source)
+    {
+        return new ParallelHashSetBuilder<T>(pool, HashPartitions.DEFAULT_THRESHOLD, source.size()).add(source).build();
+    }
+
+    /**
+     * Returns an {@link Editor} whose contents start out identical to this set.  The editor
+     * modifies its own copies of nodes in place and so is much faster than calling insert()
+     * repeatedly when applying a large number of changes.  This set is never modified.
+     */
+    @Nonnull
+    public Editor<T> editor()
+    {
+        return new Editor<>(this, root, collisionSet);
+    }
+
+    /**
+     * Creates a Collector that gives each thread of a parallel stream its own {@link Editor}
+     * and combines the partial results by merging their tries structurally.
+     */
+    @Nonnull
+    public static <T> Collector<T, ?, ISet<T>> createSetCollector()
+    {
+        return Collector.<T, Editor<T>, ISet<T>>of(() -> new Editor<>(of(), TrieArrayNode.empty(), null, null),
+                                                   (e, v) -> e.add(v),
+                                                   (e1, e2) -> e1.combine(e2),
+                                                   e -> e.build(),
+                                                   Collector.Characteristics.UNORDERED);
+    }
+
     static <T> CollisionSet<T> selectCollisionSetForValue(@Nonnull T value)
     {
         if (value instanceof Comparable) {
@@ -124,7 +225,7 @@ public class HashSet<T>
     @Override
     public ISet<T> deleteAll()
     {
-        return of();
+        return emptySet(collisionSet);
     }
 
     @Override
@@ -153,11 +254,22 @@ public class HashSet<T>
         return createForDelete(root.mappedDelete(this, value));
     }
 
+    @Nonnull
+    @Override
+    public ISet<T> deleteAll(@Nonnull Iterable<? extends T> other)
+    {
+        final HashSet<T> otherSet = compatibleHashSet(other);
+        if (otherSet != null) {
+            return createForDelete(root.mappedDifference(this, otherSet.root));
+        }
+        return super.deleteAll(other);
+    }
+
     @Nonnull
     @Override
     public ISet<T> deleteAll(@Nonnull Iterator<? extends T> other)
     {
-        TrieArrayNode<ArraySetNode<T>> newRoot = root;
+        TrieArrayNode<Object> newRoot = root;
         while (other.hasNext()) {
             T value = other.next();
             newRoot = newRoot.mappedDelete(this, value);
@@ -165,11 +277,30 @@ public class HashSet<T>
         return createForDelete(newRoot);
     }
 
+    @Nonnull
+    @Override
+    public ISet<T> insertAll(@Nonnull Iterable<? extends T> values)
+    {
+        return union(values);
+    }
+
+    @Nonnull
+    @Override
+    public ISet<T> union(@Nonnull Iterable<? extends T> other)
+    {
+        final HashSet<T> otherSet = compatibleHashSet(other);
+        if (otherSet != null) {
+            final TrieArrayNode<Object> newRoot = root.mappedUnion(this, otherSet.root);
+            return (newRoot == otherSet.root) ? otherSet : createForUpdate(newRoot);
+        }
+        return super.union(other);
+    }
+
     @Nonnull
     @Override
     public ISet<T> union(@Nonnull Iterator<? extends T> other)
     {
-        TrieArrayNode<ArraySetNode<T>> newRoot = root;
+        TrieArrayNode<Object> newRoot = root;
         while (other.hasNext()) {
             T value = other.next();
             newRoot = newRoot.mappedAssign(this, value, value);
@@ -177,6 +308,32 @@ public class HashSet<T>
         return createForUpdate(newRoot);
     }
 
+    @Nonnull
+    @Override
+    public ISet<T> intersection(@Nonnull Iterable<? extends T> other)
+    {
+        final HashSet<T> otherSet = compatibleHashSet(other);
+        if (otherSet != null) {
+            return createForDelete(root.mappedIntersection(this, otherSet.root));
+        } else if (!hasStandardHashing(collisionSet)) {
+            return intersectionUsingStrategy(other.iterator());
+        }
+        return super.intersection(other);
+    }
+
+    @Nonnull
+    @Override
+    public ISet<T> intersection(@Nonnull ISet<? extends T> other)
+    {
+        final HashSet<T> otherSet = compatibleHashSet(other);
+        if (otherSet != null) {
+            return createForDelete(root.mappedIntersection(this, otherSet.root));
+        } else if (!hasStandardHashing(collisionSet)) {
+            return intersectionUsingStrategy(other.iterator());
+        }
+        return super.intersection(other);
+    }
+
     @Nonnull
     @Override
     public ISet<T> intersection(@Nonnull Iterator<? extends T> values)
@@ -189,6 +346,10 @@ public class HashSet<T>
             return deleteAll();
         }
 
+        if (!hasStandardHashing(collisionSet)) {
+            return intersectionUsingStrategy(values);
+        }
+
         Set<T> otherSet = emptyMutableSet();
         while (values.hasNext()) {
             final T value = values.next();
@@ -204,7 +365,10 @@ public class HashSet<T>
     @Override
     public ISet<T> intersection(@Nonnull Set<? extends T> otherSet)
     {
-        TrieArrayNode<ArraySetNode<T>> newRoot = root;
+        if (!hasStandardHashing(collisionSet)) {
+            return intersectionUsingStrategy(otherSet.iterator());
+        }
+        TrieArrayNode<Object> newRoot = root;
         for (T value : root.mappedKeys(this)) {
             if (!otherSet.contains(value)) {
                 newRoot = newRoot.mappedDelete(this, value);
@@ -219,6 +383,42 @@ public class HashSet<T>
         return root.size();
     }
 
+    /**
+     * Uses the hash codes cached in the trie nodes so only nodes created since the
+     * last call need to be visited.  Uses the formula defined by {@link java.util.Set}
+     * except that sets whose hash strategy is not based on equals() use the strategy's
+     * hash of each value in place of the value's hashCode().
+     */
+    @Override
+    public int hashCode()
+    {
+        return root.hashCodeSum(node -> ArraySetValues.valuesHashCode(collisionSet, node));
+    }
+
+    /**
+     * Compares the tries directly when o is a HashSet using the same collision set.
+     * See {@link HashMap#equals} for details.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean equals(Object o)
+    {
+        if (o == this) {
+            return true;
+        }
+        final HashSet<T> other = (o instanceof ISet) ? compatibleHashSet((ISet<T>)o) : null;
+        if (other != null) {
+            if (size() != other.size()) {
+                return false;
+            }
+            if (hashCode() != other.hashCode()) {
+                return false;
+            }
+            return root.sameValues(other.root, (mine, theirs) -> ArraySetValues.sameValues(collisionSet, mine, theirs));
+        }
+        return super.equals(o);
+    }
+
     @Override
     public boolean isEmpty()
     {
@@ -234,14 +434,20 @@ public class HashSet<T>
     @Override
     public void forEach(@Nonnull Consumer<? super T> action)
     {
-        root.forEach(node -> node.forEach(collisionSet, action::accept));
+        root.forEach(node -> ArraySetValues.forEach(collisionSet, node, action::accept));
     }
 
     @Override
     public <E extends Exception> void forEachThrows(@Nonnull Proc1Throws<T, E> proc)
         throws E
     {
-        root.forEachThrows(node -> node.forEachThrows(collisionSet, proc));
+        root.forEachThrows(node -> ArraySetValues.forEachThrows(collisionSet, node, proc));
+    }
+
+    @Override
+    public boolean forEachWhile(@Nonnull Predicate<? super T> predicate)
+    {
+        return root.forEachWhile(node -> ArraySetValues.forEachWhile(collisionSet, node, predicate));
     }
 
     @Nonnull
@@ -251,6 +457,13 @@ public class HashSet<T>
         return root.mappedKeys(this).iterator();
     }
 
+    @Nonnull
+    @Override
+    public ICursor<T> cursor()
+    {
+        return new ValueCursor<>(root, collisionSet);
+    }
+
     @Override
     public int getSpliteratorCharacteristics()
     {
@@ -258,72 +471,185 @@ public class HashSet<T>
     }
 
     @Override
-    public boolean mappedContains(@Nonnull ArraySetNode<T> mapping,
+    public int mappedHashCode(@Nonnull T key)
+    {
+        return collisionSet.hashStrategy().hash(key);
+    }
+
+    @Override
+    public boolean mappedContains(@Nonnull Object mapping,
                                   @Nonnull T key)
     {
-        return mapping.contains(collisionSet, key);
+        return ArraySetValues.contains(collisionSet, mapping, key);
     }
 
     @Nonnull
     @Override
-    public ArraySetNode<T> mappedAssign(@Nonnull T key,
-                                        T ignored)
+    public Object mappedAssign(@Nonnull T key,
+                               T ignored)
     {
         assert key == ignored;
-        return new ArraySingleValueSetNode<>(key);
+        return key;
     }
 
     @Nonnull
     @Override
-    public ArraySetNode<T> mappedAssign(@Nonnull ArraySetNode<T> current,
-                                        @Nonnull T key,
-                                        T ignored)
+    public Object mappedAssign(@Nonnull Object current,
+                               @Nonnull T key,
+                               T ignored)
     {
         assert key == ignored;
-        return current.insert(collisionSet, key);
+        return ArraySetValues.insert(collisionSet, current, key);
+    }
+
+    @Nullable
+    @Override
+    public Object mappedDelete(@Nonnull Object current,
+                               @Nonnull T key)
+    {
+        return ArraySetValues.delete(collisionSet, current, key);
+    }
+
+    @Override
+    public int mappedSize(@Nonnull Object mapping)
+    {
+        return ArraySetValues.size(collisionSet, mapping);
+    }
+
+    @Nonnull
+    @Override
+    public Object mappedUnion(@Nonnull Object first,
+                              @Nonnull Object second)
+    {
+        final Temp.Var1<Object> answer = Temp.var(first);
+        ArraySetValues.forEach(collisionSet, second, value -> answer.x = ArraySetValues.insert(collisionSet, answer.x, value));
+        return answer.x;
     }
 
     @Nullable
     @Override
-    public ArraySetNode<T> mappedDelete(@Nonnull ArraySetNode<T> current,
-                                        @Nonnull T key)
+    public Object mappedIntersection(@Nonnull Object first,
+                                     @Nonnull Object second)
     {
-        return current.delete(collisionSet, key);
+        final Temp.Var1<Object> answer = Temp.var(first);
+        ArraySetValues.forEach(collisionSet, first, value -> {
+            if (!ArraySetValues.contains(collisionSet, second, value)) {
+                answer.x = ArraySetValues.delete(collisionSet, answer.x, value);
+            }
+        });
+        return answer.x;
     }
 
+    @Nullable
     @Override
-    public int mappedSize(@Nonnull ArraySetNode<T> mapping)
+    public Object mappedDifference(@Nonnull Object first,
+                                   @Nonnull Object second)
     {
-        return mapping.size(collisionSet);
+        final Temp.Var1<Object> answer = Temp.var(first);
+        ArraySetValues.forEach(collisionSet, second, value -> {
+            if (answer.x != null) {
+                answer.x = ArraySetValues.delete(collisionSet, answer.x, value);
+            }
+        });
+        return answer.x;
     }
 
     @Nonnull
     @Override
-    public GenericIterator.Iterable<T> mappedKeys(@Nonnull ArraySetNode<T> mapping)
+    public GenericIterator.Iterable<T> mappedKeys(@Nonnull Object mapping)
     {
-        return mapping.values(collisionSet);
+        return ArraySetValues.values(collisionSet, mapping);
     }
 
     @Nonnull
     @Override
-    public GenericIterator.Iterable<T> mappedValues(@Nonnull ArraySetNode<T> mapping)
+    public GenericIterator.Iterable<T> mappedValues(@Nonnull Object mapping)
     {
-        return mapping.values(collisionSet);
+        return ArraySetValues.values(collisionSet, mapping);
     }
 
     @Nonnull
     @Override
-    public GenericIterator.Iterable<IMapEntry<T, T>> mappedEntries(@Nonnull ArraySetNode<T> mapping)
+    public GenericIterator.Iterable<IMapEntry<T, T>> mappedEntries(@Nonnull Object mapping)
+    {
+        return GenericIterator.transformIterable(ArraySetValues.values(collisionSet, mapping), k -> IMapEntry.of(k, k));
+    }
+
+    /**
+     * Returns the strategy used to hash and compare this set's values.
+     */
+    @Nonnull
+    public HashStrategy<T> getHashStrategy()
     {
-        return GenericIterator.transformIterable(mapping.values(collisionSet), k -> IMapEntry.of(k, k));
+        return collisionSet.hashStrategy();
+    }
+
+    /**
+     * Sets using the standard strategy share the EmptyHashSet singleton when empty.  Sets using
+     * any other strategy remain a HashSet so later values are still hashed using that strategy.
+     */
+    @Nonnull
+    private static <T> ISet<T> emptySet(@Nullable CollisionSet<T> collisionSet)
+    {
+        if (hasStandardHashing(collisionSet)) {
+            return of();
+        } else {
+            return new HashSet<>(TrieArrayNode.empty(), collisionSet);
+        }
+    }
+
+    private static boolean hasStandardHashing(@Nullable CollisionSet<?> collisionSet)
+    {
+        return collisionSet == null || collisionSet.hashStrategy() == HashStrategy.standard();
     }
 
     private Object writeReplace()
     {
-        return new HashSetProxy(this);
+        if (hasStandardHashing(collisionSet)) {
+            return new HashSetProxy(this);
+        } else {
+            return new CustomHashSetProxy(this);
+        }
     }
 
-    private ISet<T> createForUpdate(@Nonnull TrieArrayNode<ArraySetNode<T>> newRoot)
+    /**
+     * Structural set operations require both tries to interpret their collision nodes
+     * the same way so they are only used when other is a HashSet using the same
+     * collision strategy as this set.
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private HashSet<T> compatibleHashSet(@Nonnull Iterable<? extends T> other)
+    {
+        if (other instanceof HashSet) {
+            final HashSet<T> otherSet = (HashSet<T>)other;
+            if (otherSet.collisionSet == collisionSet) {
+                return otherSet;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Intersection with values that are not in a compatible HashSet when this set does not
+     * use standard hashing.  The values are placed in a trie using this set's strategy so
+     * they are matched by the strategy's equivalence rather than by equals() and the values
+     * kept are the ones stored in this set.
+     */
+    @Nonnull
+    private ISet<T> intersectionUsingStrategy(@Nonnull Iterator<? extends T> values)
+    {
+        final TrieArrayEditor<Object> candidates = new TrieArrayEditor<>(TrieArrayNode.empty());
+        while (values.hasNext()) {
+            final T value = values.next();
+            if (value != null) {
+                candidates.mappedAssign(this, value, value);
+            }
+        }
+        return createForDelete(root.mappedIntersection(this, candidates.freeze()));
+    }
+
+    private ISet<T> createForUpdate(@Nonnull TrieArrayNode<Object> newRoot)
     {
         if (root == newRoot) {
             return this;
@@ -333,14 +659,263 @@ public class HashSet<T>
         }
     }
 
-    private ISet<T> createForDelete(@Nonnull TrieArrayNode<ArraySetNode<T>> newRoot)
+    private ISet<T> createForDelete(@Nonnull TrieArrayNode<Object> newRoot)
     {
         if (root == newRoot) {
             return this;
         } else if (newRoot.isEmpty()) {
-            return of();
+            return emptySet(collisionSet);
         } else {
             return new HashSet<>(newRoot, collisionSet);
         }
     }
+
+    /**
+     * Transient editing session for a HashSet.  Changes are made in place to nodes
+     * owned by the editor so applying many changes allocates far fewer objects than
+     * calling insert() or delete() on the set repeatedly.  Calling build() freezes the
+     * current contents into an immutable set.  The editor remains usable after build()
+     * and later changes never affect sets already returned by build().
+     * <p>
+     * An editor belongs to the thread that created it.  When assertions are enabled calling
+     * any method from another thread throws an IllegalStateException.  Editors used internally
+     * by the set collector have no owner since parallel streams hand containers between threads.
+     */
+    @NotThreadSafe
+    public static class Editor<T>
+        implements ISetBuilder<T>,
+                   ArrayAssignMapper<T, T, Object>,
+                   ArrayContainsMapper<T, Object>,
+                   ArrayDeleteMapper<T, Object>
+    {
+        @Nullable
+        private final ThreadOwner owner;
+        private TrieArrayEditor<Object> editor;
+        @Nullable
+        private CollisionSet<T> collisionSet;
+        private ISet<T> built;
+        private TrieArrayNode<Object> builtRoot;
+
+        Editor(@Nonnull ISet<T> set,
+               @Nonnull TrieArrayNode<Object> root,
+               @Nullable CollisionSet<T> collisionSet)
+        {
+            this(set, root, collisionSet, new ThreadOwner());
+        }
+
+        Editor(@Nonnull ISet<T> set,
+               @Nonnull TrieArrayNode<Object> root,
+               @Nullable CollisionSet<T> collisionSet,
+               @Nullable ThreadOwner owner)
+        {
+            this.owner = owner;
+            editor = new TrieArrayEditor<>(root);
+            this.collisionSet = collisionSet;
+            built = set;
+            builtRoot = root;
+        }
+
+        @Nonnull
+        public Editor<T> insert(@Nonnull T value)
+        {
+            checkOwner();
+            if (collisionSet == null) {
+                collisionSet = selectCollisionSetForValue(value);
+            }
+            editor.mappedAssign(this, value, value);
+            return this;
+        }
+
+        @Nonnull
+        public Editor<T> delete(@Nonnull T value)
+        {
+            checkOwner();
+            editor.mappedDelete(this, value);
+            return this;
+        }
+
+        public boolean contains(@Nullable T value)
+        {
+            checkOwner();
+            return value != null && editor.mappedContains(this, value);
+        }
+
+        @Override
+        public int size()
+        {
+            checkOwner();
+            return editor.size();
+        }
+
+        @Nonnull
+        @Override
+        public ISet<T> build()
+        {
+            checkOwner();
+            final TrieArrayNode<Object> root = editor.freeze();
+            if (root != builtRoot) {
+                if (root.isEmpty()) {
+                    built = emptySet(collisionSet);
+                } else {
+                    assert collisionSet != null;
+                    built = new HashSet<>(root, collisionSet);
+                }
+                builtRoot = root;
+            }
+            return built;
+        }
+
+        @Nonnull
+        @Override
+        public Editor<T> add(T value)
+        {
+            return insert(value);
+        }
+
+        @Nonnull
+        @Override
+        public Editor<T> clear()
+        {
+            checkOwner();
+            editor = new TrieArrayEditor<>(TrieArrayNode.empty());
+            return this;
+        }
+
+        /**
+         * Replaces the contents of this editor with the union of its values and
+         * those of other.  Used by the set collector to merge partial results
+         * from a parallel stream structurally.
+         */
+        @Nonnull
+        Editor<T> combine(@Nonnull Editor<T> other)
+        {
+            if (other.size() == 0) {
+                return this;
+            } else if (size() == 0) {
+                return other;
+            }
+            final ISet<T> merged = build().union(other.build());
+            if (merged instanceof HashSet) {
+                final HashSet<T> mergedSet = (HashSet<T>)merged;
+                editor = new TrieArrayEditor<>(mergedSet.root);
+                collisionSet = mergedSet.collisionSet;
+                built = merged;
+                builtRoot = mergedSet.root;
+            }
+            return this;
+        }
+
+        @Override
+        public int mappedHashCode(@Nonnull T key)
+        {
+            return (collisionSet == null) ? key.hashCode() : collisionSet.hashStrategy().hash(key);
+        }
+
+        @Override
+        public boolean mappedContains(@Nonnull Object mapping,
+                                      @Nonnull T key)
+        {
+            return ArraySetValues.contains(collisionSet, mapping, key);
+        }
+
+        @Nonnull
+        @Override
+        public Object mappedAssign(@Nonnull T key,
+                                   T ignored)
+        {
+            assert key == ignored;
+            return key;
+        }
+
+        @Nonnull
+        @Override
+        public Object mappedAssign(@Nonnull Object current,
+                                   @Nonnull T key,
+                                   T ignored)
+        {
+            assert key == ignored;
+            return ArraySetValues.insert(collisionSet, current, key);
+        }
+
+        @Nullable
+        @Override
+        public Object mappedDelete(@Nonnull Object current,
+                                   @Nonnull T key)
+        {
+            return ArraySetValues.delete(collisionSet, current, key);
+        }
+
+        @Override
+        public int mappedSize(@Nonnull Object mapping)
+        {
+            return ArraySetValues.size(collisionSet, mapping);
+        }
+
+        private void checkOwner()
+        {
+            assert owner == null || owner.verify();
+        }
+    }
+
+    /**
+     * Cursor over the trie's values.  Slots holding a single value are visited
+     * directly.  Slots holding colliding values are visited using their iterator.
+     */
+    @NotThreadSafe
+    private static class ValueCursor<T>
+        implements ICursor<T>
+    {
+        private final TrieArrayNode.Cursor<Object> nodes;
+        private final CollisionSet<T> collisionSet;
+        private Iterator<T> collisions;
+        private T value;
+
+        private ValueCursor(@Nonnull TrieArrayNode<Object> root,
+                            @Nonnull CollisionSet<T> collisionSet)
+        {
+            this.nodes = new TrieArrayNode.Cursor<>(root);
+            this.collisionSet = collisionSet;
+        }
+
+        @Override
+        public boolean advance()
+        {
+            if (collisions != null) {
+                if (collisions.hasNext()) {
+                    value = collisions.next();
+                    return true;
+                }
+                collisions = null;
+            }
+            if (!nodes.advance()) {
+                value = null;
+                return false;
+            }
+            final Object node = nodes.value();
+            if (ArraySetValues.isCollision(node)) {
+                collisions = ArraySetValues.<T>values(collisionSet, node).iterator();
+                value = collisions.next();
+            } else {
+                value = ArraySetValues.value(node);
+            }
+            return true;
+        }
+
+        @Override
+        public T value()
+        {
+            if (value == null) {
+                throw new NoSuchElementException();
+            }
+            return value;
+        }
+
+        @Override
+        public void reset()
+        {
+            nodes.reset();
+            collisions = null;
+            value = null;
+        }
+    }
 }
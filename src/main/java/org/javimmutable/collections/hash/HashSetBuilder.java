@@ -40,8 +40,7 @@ import org.javimmutable.collections.ISetBuilder;
 import org.javimmutable.collections.array.ArrayAssignMapper;
 import org.javimmutable.collections.array.TrieArrayBuilder;
 import org.javimmutable.collections.common.CollisionSet;
-import org.javimmutable.collections.hash.set.ArraySetNode;
-import org.javimmutable.collections.hash.set.ArraySingleValueSetNode;
+import org.javimmutable.collections.hash.set.ArraySetValues;
 import org.javimmutable.collections.list.ListCollisionSet;
 
 import javax.annotation.Nonnull;
@@ -50,9 +49,9 @@ import javax.annotation.concurrent.ThreadSafe;
 @ThreadSafe
 class HashSetBuilder<T>
     implements ISetBuilder<T>,
-               ArrayAssignMapper<T, T, ArraySetNode<T>>
+               ArrayAssignMapper<T, T, Object>
 {
-    private final TrieArrayBuilder<ArraySetNode<T>> builder = new TrieArrayBuilder<>();
+    private final TrieArrayBuilder<Object> builder = new TrieArrayBuilder<>();
     private CollisionSet<T> collisionSet = ListCollisionSet.instance();
 
     @Nonnull
@@ -94,26 +93,26 @@ class HashSetBuilder<T>
 
     @Nonnull
     @Override
-    public synchronized ArraySetNode<T> mappedAssign(@Nonnull T key,
-                                                     T ignored)
+    public synchronized Object mappedAssign(@Nonnull T key,
+                                            T ignored)
     {
         assert key == ignored;
-        return new ArraySingleValueSetNode<>(key);
+        return key;
     }
 
     @Nonnull
     @Override
-    public synchronized ArraySetNode<T> mappedAssign(@Nonnull ArraySetNode<T> current,
-                                                     @Nonnull T key,
-                                                     T ignored)
+    public synchronized Object mappedAssign(@Nonnull Object current,
+                                            @Nonnull T key,
+                                            T ignored)
     {
         assert key == ignored;
-        return current.insert(collisionSet, key);
+        return ArraySetValues.insert(collisionSet, current, key);
     }
 
     @Override
-    public synchronized int mappedSize(@Nonnull ArraySetNode<T> mapping)
+    public synchronized int mappedSize(@Nonnull Object mapping)
     {
-        return mapping.size(collisionSet);
+        return ArraySetValues.size(collisionSet, mapping);
     }
 }
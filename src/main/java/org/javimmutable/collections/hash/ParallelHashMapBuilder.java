@@ -0,0 +1,150 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.hash;
+
+import org.javimmutable.collections.IMap;
+import org.javimmutable.collections.IMapBuilder;
+import org.javimmutable.collections.array.TrieArrayNode;
+import org.javimmutable.collections.common.CollisionMap;
+import org.javimmutable.collections.list.ListCollisionMap;
+import org.javimmutable.collections.tree.TreeCollisionMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Builder that collects keys and values into arrays and builds the map on a ForkJoinPool.
+ * The keys are grouped by the top bits of their hash codes (see {@link HashPartitions}),
+ * each group is built into its own trie by an {@link HashMap.Editor} and the resulting
+ * tries are merged using {@link HashMap#assignAll}.  Adding a key more than once keeps the
+ * last value just as with {@link HashMap.Builder}.
+ */
+@NotThreadSafe
+class ParallelHashMapBuilder<K, V>
+    implements IMapBuilder<K, V>
+{
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+    private Object[] keys;
+    private Object[] values;
+    private int count;
+    private IMap<K, V> built;
+
+    ParallelHashMapBuilder(@Nonnull ForkJoinPool pool,
+                           int threshold,
+                           int expectedSize)
+    {
+        this.pool = pool;
+        this.threshold = threshold;
+        keys = new Object[Math.max(INITIAL_CAPACITY, expectedSize)];
+        values = new Object[keys.length];
+    }
+
+    @Nonnull
+    @Override
+    public IMap<K, V> build()
+    {
+        if (built == null) {
+            built = buildImpl();
+        }
+        return built;
+    }
+
+    @Nonnull
+    @Override
+    public IMapBuilder<K, V> add(@Nonnull K key,
+                                 V value)
+    {
+        if (count == keys.length) {
+            final int newCapacity = count + (count >> 1);
+            keys = Arrays.copyOf(keys, newCapacity);
+            values = Arrays.copyOf(values, newCapacity);
+        }
+        keys[count] = key;
+        values[count] = value;
+        count += 1;
+        built = null;
+        return this;
+    }
+
+    /**
+     * Since duplicate keys are only resolved while building this has to build the map
+     * to determine its size.
+     */
+    @Override
+    public int size()
+    {
+        return build().size();
+    }
+
+    @Nonnull
+    @Override
+    public IMapBuilder<K, V> clear()
+    {
+        Arrays.fill(keys, 0, count, null);
+        Arrays.fill(values, 0, count, null);
+        count = 0;
+        built = null;
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    private IMap<K, V> buildImpl()
+    {
+        if (count == 0) {
+            return HashMap.of();
+        }
+        final Object[] keys = this.keys;
+        final Object[] values = this.values;
+        final CollisionMap<K, V> collisionMap = (keys[0] instanceof Comparable) ? TreeCollisionMap.instance() : ListCollisionMap.instance();
+        final IMap<K, V> answer = new HashPartitions(keys, count).build(pool, threshold, (order, offset, limit) -> {
+            final HashMap.Editor<K, V> editor = new HashMap.Editor<>(HashMap.of(), TrieArrayNode.empty(), collisionMap, null);
+            for (int i = offset; i < limit; ++i) {
+                final int index = order[i];
+                editor.assign((K)keys[index], (V)values[index]);
+            }
+            return editor.build();
+        }, IMap::assignAll);
+        assert answer != null;
+        return answer;
+    }
+}
@@ -0,0 +1,138 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.hash;
+
+import org.javimmutable.collections.ISet;
+import org.javimmutable.collections.ISetBuilder;
+import org.javimmutable.collections.array.TrieArrayNode;
+import org.javimmutable.collections.common.CollisionSet;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Builder that collects values into an array and builds the set on a ForkJoinPool.
+ * The values are grouped by the top bits of their hash codes (see {@link HashPartitions}),
+ * each group is built into its own trie by an {@link HashSet.Editor} and the resulting
+ * tries are merged using {@link HashSet#union(Iterable)}.
+ */
+@NotThreadSafe
+class ParallelHashSetBuilder<T>
+    implements ISetBuilder<T>
+{
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+    private Object[] values;
+    private int count;
+    private ISet<T> built;
+
+    ParallelHashSetBuilder(@Nonnull ForkJoinPool pool,
+                           int threshold,
+                           int expectedSize)
+    {
+        this.pool = pool;
+        this.threshold = threshold;
+        values = new Object[Math.max(INITIAL_CAPACITY, expectedSize)];
+    }
+
+    @Nonnull
+    @Override
+    public ISet<T> build()
+    {
+        if (built == null) {
+            built = buildImpl();
+        }
+        return built;
+    }
+
+    @Nonnull
+    @Override
+    public ISetBuilder<T> add(T value)
+    {
+        if (count == values.length) {
+            values = Arrays.copyOf(values, count + (count >> 1));
+        }
+        values[count] = value;
+        count += 1;
+        built = null;
+        return this;
+    }
+
+    /**
+     * Since duplicate values are only resolved while building this has to build the set
+     * to determine its size.
+     */
+    @Override
+    public int size()
+    {
+        return build().size();
+    }
+
+    @Nonnull
+    @Override
+    public ISetBuilder<T> clear()
+    {
+        Arrays.fill(values, 0, count, null);
+        count = 0;
+        built = null;
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    private ISet<T> buildImpl()
+    {
+        if (count == 0) {
+            return HashSet.of();
+        }
+        final Object[] values = this.values;
+        final CollisionSet<T> collisionSet = HashSet.selectCollisionSetForValue((T)values[0]);
+        final ISet<T> answer = new HashPartitions(values, count).build(pool, threshold, (order, offset, limit) -> {
+            final HashSet.Editor<T> editor = new HashSet.Editor<>(HashSet.of(), TrieArrayNode.empty(), collisionSet, null);
+            for (int i = offset; i < limit; ++i) {
+                editor.insert((T)values[order[i]]);
+            }
+            return editor.build();
+        }, ISet::union);
+        assert answer != null;
+        return answer;
+    }
+}
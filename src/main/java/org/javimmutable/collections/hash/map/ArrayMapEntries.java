@@ -0,0 +1,401 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.hash.map;
+
+import org.javimmutable.collections.Func1;
+import org.javimmutable.collections.HashStrategy;
+import org.javimmutable.collections.IMapEntry;
+import org.javimmutable.collections.MapDiffVisitor;
+import org.javimmutable.collections.MapEntry;
+import org.javimmutable.collections.Maybe;
+import org.javimmutable.collections.Proc2;
+import org.javimmutable.collections.Proc2Throws;
+import org.javimmutable.collections.common.CollisionMap;
+import org.javimmutable.collections.common.HashStrategies;
+import org.javimmutable.collections.iterators.GenericIterator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import java.util.Objects;
+import java.util.function.BiPredicate;
+
+/**
+ * Operations on the slots of a HashMap trie.  Each slot is a pair of array elements.  A
+ * slot normally holds an entry's key and value side by side so a map needs no per entry
+ * wrapper object.  Entries whose keys have identical hash codes share a slot holding an
+ * {@link ArrayMultiValueMapNode} in place of the key and null in place of the value.
+ * Methods that modify a slot do so in place and return the number of entries left in it.
+ */
+public final class ArrayMapEntries
+{
+    public static final int WIDTH = 2;
+
+    private ArrayMapEntries()
+    {
+    }
+
+    public static boolean isCollision(@Nullable Object slotKey)
+    {
+        return slotKey instanceof ArrayMultiValueMapNode;
+    }
+
+    public static <K, V> int size(@Nonnull CollisionMap<K, V> collisionMap,
+                                  @Nonnull Object[] values,
+                                  int position)
+    {
+        final Object slotKey = values[position];
+        if (slotKey instanceof ArrayMultiValueMapNode) {
+            return ArrayMapEntries.<K, V>collision(slotKey).size(collisionMap);
+        } else {
+            return 1;
+        }
+    }
+
+    public static <K, V> V getValueOr(@Nonnull CollisionMap<K, V> collisionMap,
+                                      @Nonnull Object[] values,
+                                      int position,
+                                      @Nonnull K key,
+                                      V defaultValue)
+    {
+        final Object slotKey = values[position];
+        if (slotKey instanceof ArrayMultiValueMapNode) {
+            return ArrayMapEntries.<K, V>collision(slotKey).getValueOr(collisionMap, key, defaultValue);
+        } else if (collisionMap.hashStrategy().equivalent(key, key(slotKey))) {
+            return value(values[position + 1]);
+        } else {
+            return defaultValue;
+        }
+    }
+
+    @Nonnull
+    public static <K, V> Maybe<V> find(@Nonnull CollisionMap<K, V> collisionMap,
+                                       @Nonnull Object[] values,
+                                       int position,
+                                       @Nonnull K key)
+    {
+        final Object slotKey = values[position];
+        if (slotKey instanceof ArrayMultiValueMapNode) {
+            return ArrayMapEntries.<K, V>collision(slotKey).find(collisionMap, key);
+        } else if (collisionMap.hashStrategy().equivalent(key, key(slotKey))) {
+            return Maybe.of(value(values[position + 1]));
+        } else {
+            return Maybe.empty();
+        }
+    }
+
+    @Nonnull
+    public static <K, V> Maybe<IMapEntry<K, V>> findEntry(@Nonnull CollisionMap<K, V> collisionMap,
+                                                          @Nonnull Object[] values,
+                                                          int position,
+                                                          @Nonnull K key)
+    {
+        final Object slotKey = values[position];
+        if (slotKey instanceof ArrayMultiValueMapNode) {
+            return ArrayMapEntries.<K, V>collision(slotKey).findEntry(collisionMap, key);
+        } else if (collisionMap.hashStrategy().equivalent(key, key(slotKey))) {
+            return Maybe.of(MapEntry.entry(key(slotKey), value(values[position + 1])));
+        } else {
+            return Maybe.empty();
+        }
+    }
+
+    /**
+     * Assigns value to key in the slot.  The slot is created if it is empty and turned into
+     * a collision if key is not equivalent to the key already in the slot.
+     */
+    public static <K, V> int assign(@Nonnull CollisionMap<K, V> collisionMap,
+                                    @Nonnull Object[] values,
+                                    int position,
+                                    @Nonnull K key,
+                                    V value)
+    {
+        final Object slotKey = values[position];
+        if (slotKey == null) {
+            values[position] = key;
+            values[position + 1] = value;
+            return 1;
+        } else if (slotKey instanceof ArrayMultiValueMapNode) {
+            final ArrayMultiValueMapNode<K, V> node = ArrayMapEntries.<K, V>collision(slotKey).assign(collisionMap, key, value);
+            values[position] = node;
+            return node.size(collisionMap);
+        } else if (collisionMap.hashStrategy().equivalent(key, key(slotKey))) {
+            values[position + 1] = value;
+            return 1;
+        } else {
+            values[position] = new ArrayMultiValueMapNode<K, V>(collisionMap.dual(key(slotKey), value(values[position + 1]), key, value));
+            values[position + 1] = null;
+            return 2;
+        }
+    }
+
+    /**
+     * Same as {@link #assign} but uses generator to compute the value for key.
+     */
+    public static <K, V> int update(@Nonnull CollisionMap<K, V> collisionMap,
+                                    @Nonnull Object[] values,
+                                    int position,
+                                    @Nonnull K key,
+                                    @Nonnull Func1<Maybe<V>, V> generator)
+    {
+        final Object slotKey = values[position];
+        if (slotKey == null) {
+            values[position] = key;
+            values[position + 1] = generator.apply(Maybe.empty());
+            return 1;
+        } else if (slotKey instanceof ArrayMultiValueMapNode) {
+            final ArrayMultiValueMapNode<K, V> node = ArrayMapEntries.<K, V>collision(slotKey).update(collisionMap, key, generator);
+            values[position] = node;
+            return node.size(collisionMap);
+        } else if (collisionMap.hashStrategy().equivalent(key, key(slotKey))) {
+            values[position + 1] = generator.apply(Maybe.of(value(values[position + 1])));
+            return 1;
+        } else {
+            values[position] = new ArrayMultiValueMapNode<K, V>(collisionMap.dual(key(slotKey), value(values[position + 1]), key, generator.apply(Maybe.empty())));
+            values[position + 1] = null;
+            return 2;
+        }
+    }
+
+    /**
+     * Removes key from the slot.  A collision left with a single entry is turned back
+     * into a plain entry.  Returns zero if key was the only key in the slot.
+     */
+    public static <K, V> int delete(@Nonnull CollisionMap<K, V> collisionMap,
+                                    @Nonnull Object[] values,
+                                    int position,
+                                    @Nonnull K key)
+    {
+        final Object slotKey = values[position];
+        if (slotKey instanceof ArrayMultiValueMapNode) {
+            final CollisionMap.Node oldNode = ArrayMapEntries.<K, V>collision(slotKey).node();
+            final CollisionMap.Node newNode = collisionMap.delete(oldNode, key);
+            final int newSize = collisionMap.size(newNode);
+            if (newNode == oldNode) {
+                return newSize;
+            } else if (newSize == 1) {
+                final IMapEntry<K, V> remaining = collisionMap.first(newNode);
+                values[position] = remaining.getKey();
+                values[position + 1] = remaining.getValue();
+            } else {
+                values[position] = new ArrayMultiValueMapNode<K, V>(newNode);
+            }
+            return newSize;
+        } else if (collisionMap.hashStrategy().equivalent(key, key(slotKey))) {
+            values[position] = null;
+            values[position + 1] = null;
+            return 0;
+        } else {
+            return 1;
+        }
+    }
+
+    @Nonnull
+    public static <K, V> GenericIterator.Iterable<IMapEntry<K, V>> entries(@Nonnull CollisionMap<K, V> collisionMap,
+                                                                           @Nonnull Object[] values,
+                                                                           int position)
+    {
+        final Object slotKey = values[position];
+        if (slotKey instanceof ArrayMultiValueMapNode) {
+            return ArrayMapEntries.<K, V>collision(slotKey).entries(collisionMap);
+        } else {
+            return GenericIterator.singleValueIterable(MapEntry.entry(key(slotKey), value(values[position + 1])));
+        }
+    }
+
+    /**
+     * Entries of a slot whose key is a collision.
+     */
+    @Nonnull
+    public static <K, V> GenericIterator.Iterable<IMapEntry<K, V>> collisionEntries(@Nonnull CollisionMap<K, V> collisionMap,
+                                                                                    @Nonnull Object slotKey)
+    {
+        return ArrayMapEntries.<K, V>collision(slotKey).entries(collisionMap);
+    }
+
+    public static <K, V> void forEach(@Nonnull CollisionMap<K, V> collisionMap,
+                                      @Nonnull Object[] values,
+                                      int position,
+                                      @Nonnull Proc2<K, V> proc)
+    {
+        final Object slotKey = values[position];
+        if (slotKey instanceof ArrayMultiValueMapNode) {
+            ArrayMapEntries.<K, V>collision(slotKey).forEach(collisionMap, proc);
+        } else {
+            proc.apply(key(slotKey), value(values[position + 1]));
+        }
+    }
+
+    public static <K, V, E extends Exception> void forEachThrows(@Nonnull CollisionMap<K, V> collisionMap,
+                                                                 @Nonnull Object[] values,
+                                                                 int position,
+                                                                 @Nonnull Proc2Throws<K, V, E> proc)
+        throws E
+    {
+        final Object slotKey = values[position];
+        if (slotKey instanceof ArrayMultiValueMapNode) {
+            ArrayMapEntries.<K, V>collision(slotKey).forEachThrows(collisionMap, proc);
+        } else {
+            proc.apply(key(slotKey), value(values[position + 1]));
+        }
+    }
+
+    /**
+     * Passes entries to predicate until it returns false.
+     *
+     * @return true if predicate returned true for every entry
+     */
+    public static <K, V> boolean forEachWhile(@Nonnull CollisionMap<K, V> collisionMap,
+                                              @Nonnull Object[] values,
+                                              int position,
+                                              @Nonnull BiPredicate<K, V> predicate)
+    {
+        final Object slotKey = values[position];
+        if (slotKey instanceof ArrayMultiValueMapNode) {
+            return ArrayMapEntries.<K, V>collision(slotKey).forEachWhile(collisionMap, predicate);
+        } else {
+            return predicate.test(key(slotKey), value(values[position + 1]));
+        }
+    }
+
+    /**
+     * Sum of the hash codes of the entries in the slot.  Each entry's hash code is the
+     * hash code of its key xor the hash code of its value as defined by {@link java.util.Map.Entry}.
+     * Key hash codes come from {@link HashStrategies#elementHashCode} so maps whose keys
+     * are equivalent under a strategy not based on equals() have the same hash code.
+     */
+    public static <K, V> int entriesHashCode(@Nonnull CollisionMap<K, V> collisionMap,
+                                             @Nonnull Object[] values,
+                                             int position)
+    {
+        final HashStrategy<K> strategy = collisionMap.hashStrategy();
+        final Object slotKey = values[position];
+        if (slotKey instanceof ArrayMultiValueMapNode) {
+            int answer = 0;
+            for (IMapEntry<K, V> entry : ArrayMapEntries.<K, V>collision(slotKey).entries(collisionMap)) {
+                answer += HashStrategies.elementHashCode(strategy, entry.getKey()) ^ Objects.hashCode(entry.getValue());
+            }
+            return answer;
+        } else {
+            return HashStrategies.elementHashCode(strategy, ArrayMapEntries.<K>key(slotKey)) ^ Objects.hashCode(values[position + 1]);
+        }
+    }
+
+    /**
+     * Assigns every entry of the slot at otherPosition in other to the slot at position
+     * in values.
+     */
+    public static <K, V> void union(@Nonnull CollisionMap<K, V> collisionMap,
+                                    @Nonnull Object[] values,
+                                    int position,
+                                    @Nonnull Object[] other,
+                                    int otherPosition)
+    {
+        ArrayMapEntries.<K, V>forEach(collisionMap, other, otherPosition, (key, value) -> assign(collisionMap, values, position, key, value));
+    }
+
+    /**
+     * Determines whether two slots contain exactly the same keys mapped to equal values.
+     */
+    public static <K, V> boolean sameEntries(@Nonnull CollisionMap<K, V> collisionMap,
+                                             @Nonnull Object[] values,
+                                             int position,
+                                             @Nonnull Object[] other,
+                                             int otherPosition)
+    {
+        if (size(collisionMap, values, position) != size(collisionMap, other, otherPosition)) {
+            return false;
+        }
+        return ArrayMapEntries.<K, V>forEachWhile(collisionMap, values, position, (key, value) -> {
+            final Maybe<V> theirs = find(collisionMap, other, otherPosition, key);
+            return theirs.isFull() && Objects.equals(value, theirs.unsafeGet());
+        });
+    }
+
+    /**
+     * Passes every difference between two slots to visitor.  The array of a slot that
+     * does not exist is null.
+     */
+    public static <K, V> void diff(@Nonnull CollisionMap<K, V> collisionMap,
+                                   @Nullable Object[] oldValues,
+                                   int oldPosition,
+                                   @Nullable Object[] newValues,
+                                   int newPosition,
+                                   @Nonnull MapDiffVisitor<K, V> visitor)
+    {
+        if (oldValues == null) {
+            assert newValues != null;
+            forEach(collisionMap, newValues, newPosition, visitor::added);
+        } else if (newValues == null) {
+            forEach(collisionMap, oldValues, oldPosition, visitor::removed);
+        } else {
+            ArrayMapEntries.<K, V>forEach(collisionMap, oldValues, oldPosition, (key, oldValue) -> {
+                final Maybe<V> newValue = find(collisionMap, newValues, newPosition, key);
+                if (newValue.isEmpty()) {
+                    visitor.removed(key, oldValue);
+                } else if (!Objects.equals(oldValue, newValue.unsafeGet())) {
+                    visitor.changed(key, oldValue, newValue.unsafeGet());
+                }
+            });
+            ArrayMapEntries.<K, V>forEach(collisionMap, newValues, newPosition, (key, newValue) -> {
+                if (find(collisionMap, oldValues, oldPosition, key).isEmpty()) {
+                    visitor.added(key, newValue);
+                }
+            });
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    public static <K> K key(@Nonnull Object slotKey)
+    {
+        assert !(slotKey instanceof ArrayMultiValueMapNode);
+        return (K)slotKey;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> V value(@Nullable Object slotValue)
+    {
+        return (V)slotValue;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    private static <K, V> ArrayMultiValueMapNode<K, V> collision(@Nonnull Object slotKey)
+    {
+        return (ArrayMultiValueMapNode<K, V>)slotKey;
+    }
+}
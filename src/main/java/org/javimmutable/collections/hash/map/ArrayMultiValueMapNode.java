@@ -44,28 +44,38 @@ import org.javimmutable.collections.common.CollisionMap;
 import org.javimmutable.collections.iterators.GenericIterator;
 
 import javax.annotation.Nonnull;
-import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 
+import java.util.function.BiPredicate;
+
+/**
+ * Holds entries of a HashMap whose keys have identical hash codes.  All other entries are
+ * stored directly in the trie (see {@link ArrayMapEntries}) so this class is only instantiated
+ * for actual hash collisions.  Its constructor is package private so no key added to a map
+ * can ever be mistaken for one of these nodes.
+ */
 @Immutable
-public class ArrayMultiValueMapNode<K, V>
-    implements ArrayMapNode<K, V>
+public final class ArrayMultiValueMapNode<K, V>
 {
     @Nonnull
     private final CollisionMap.Node node;
 
-    public ArrayMultiValueMapNode(@Nonnull CollisionMap.Node node)
+    ArrayMultiValueMapNode(@Nonnull CollisionMap.Node node)
     {
         this.node = node;
     }
 
-    @Override
+    @Nonnull
+    CollisionMap.Node node()
+    {
+        return node;
+    }
+
     public int size(@Nonnull CollisionMap<K, V> collisionMap)
     {
         return collisionMap.size(node);
     }
 
-    @Override
     public V getValueOr(@Nonnull CollisionMap<K, V> collisionMap,
                         @Nonnull K key,
                         V defaultValue)
@@ -74,7 +84,6 @@ public class ArrayMultiValueMapNode<K, V>
     }
 
     @Nonnull
-    @Override
     public Maybe<V> find(@Nonnull CollisionMap<K, V> collisionMap,
                          @Nonnull K key)
     {
@@ -82,7 +91,6 @@ public class ArrayMultiValueMapNode<K, V>
     }
 
     @Nonnull
-    @Override
     public Maybe<IMapEntry<K, V>> findEntry(@Nonnull CollisionMap<K, V> collisionMap,
                                             @Nonnull K key)
     {
@@ -90,10 +98,9 @@ public class ArrayMultiValueMapNode<K, V>
     }
 
     @Nonnull
-    @Override
-    public ArrayMapNode<K, V> assign(@Nonnull CollisionMap<K, V> collisionMap,
-                                     @Nonnull K key,
-                                     V value)
+    public ArrayMultiValueMapNode<K, V> assign(@Nonnull CollisionMap<K, V> collisionMap,
+                                               @Nonnull K key,
+                                               V value)
     {
         final CollisionMap.Node thisNode = this.node;
         final CollisionMap.Node newNode = collisionMap.update(thisNode, key, value);
@@ -105,10 +112,9 @@ public class ArrayMultiValueMapNode<K, V>
     }
 
     @Nonnull
-    @Override
-    public ArrayMapNode<K, V> update(@Nonnull CollisionMap<K, V> collisionMap,
-                                     @Nonnull K key,
-                                     @Nonnull Func1<Maybe<V>, V> generator)
+    public ArrayMultiValueMapNode<K, V> update(@Nonnull CollisionMap<K, V> collisionMap,
+                                               @Nonnull K key,
+                                               @Nonnull Func1<Maybe<V>, V> generator)
     {
         final CollisionMap.Node thisNode = this.node;
         final CollisionMap.Node newNode = collisionMap.update(thisNode, key, generator);
@@ -119,61 +125,33 @@ public class ArrayMultiValueMapNode<K, V>
         }
     }
 
-    @Nullable
-    @Override
-    public ArrayMapNode<K, V> delete(@Nonnull CollisionMap<K, V> collisionMap,
-                                     @Nonnull K key)
-    {
-        final CollisionMap.Node thisNode = this.node;
-        final CollisionMap.Node newNode = collisionMap.delete(thisNode, key);
-        if (newNode == thisNode) {
-            return this;
-        } else {
-            final int newSize = collisionMap.size(newNode);
-            switch (newSize) {
-                case 0:
-                    return null;
-                case 1:
-                    return new ArraySingleValueMapNode<>(collisionMap.first(newNode));
-                default:
-                    return new ArrayMultiValueMapNode<>(newNode);
-            }
-        }
-    }
-
-    @Nonnull
-    @Override
-    public GenericIterator.Iterable<K> keys(@Nonnull CollisionMap<K, V> collisionMap)
-    {
-        return GenericIterator.transformIterable(collisionMap.genericIterable(node), IMapEntry::getKey);
-    }
-
-    @Nonnull
-    @Override
-    public GenericIterator.Iterable<V> values(@Nonnull CollisionMap<K, V> collisionMap)
-    {
-        return GenericIterator.transformIterable(collisionMap.genericIterable(node), IMapEntry::getValue);
-    }
-
     @Nonnull
-    @Override
     public GenericIterator.Iterable<IMapEntry<K, V>> entries(@Nonnull CollisionMap<K, V> collisionMap)
     {
         return collisionMap.genericIterable(node);
     }
 
-    @Override
     public void forEach(@Nonnull CollisionMap<K, V> collisionMap,
                         @Nonnull Proc2<K, V> proc)
     {
         collisionMap.forEach(node, proc);
     }
 
-    @Override
     public <E extends Exception> void forEachThrows(@Nonnull CollisionMap<K, V> collisionMap,
                                                     @Nonnull Proc2Throws<K, V, E> proc)
         throws E
     {
         collisionMap.forEachThrows(node, proc);
     }
+
+    /**
+     * Passes entries to predicate until it returns false.
+     *
+     * @return true if predicate returned true for every entry
+     */
+    public boolean forEachWhile(@Nonnull CollisionMap<K, V> collisionMap,
+                                @Nonnull BiPredicate<K, V> predicate)
+    {
+        return collisionMap.forEachWhile(node, predicate);
+    }
 }
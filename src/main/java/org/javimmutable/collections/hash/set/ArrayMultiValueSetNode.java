@@ -44,24 +44,29 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 
+import java.util.function.Predicate;
+
+/**
+ * Holds values of a HashSet whose hash codes are identical.  All other values are stored
+ * directly in the trie (see {@link ArraySetValues}) so this class is only instantiated for
+ * actual hash collisions.  Its constructor is package private so no value added to a set
+ * can ever be mistaken for one of these nodes.
+ */
 @Immutable
-public class ArrayMultiValueSetNode<T>
-    implements ArraySetNode<T>
+public final class ArrayMultiValueSetNode<T>
 {
     private final CollisionSet.Node node;
 
-    public ArrayMultiValueSetNode(@Nonnull CollisionSet.Node node)
+    ArrayMultiValueSetNode(@Nonnull CollisionSet.Node node)
     {
         this.node = node;
     }
 
-    @Override
     public int size(@Nonnull CollisionSet<T> collisionSet)
     {
         return collisionSet.size(node);
     }
 
-    @Override
     public boolean contains(@Nonnull CollisionSet<T> collisionSet,
                             @Nonnull T value)
     {
@@ -69,9 +74,8 @@ public class ArrayMultiValueSetNode<T>
     }
 
     @Nonnull
-    @Override
-    public ArraySetNode<T> insert(@Nonnull CollisionSet<T> collisionSet,
-                                  @Nonnull T value)
+    public Object insert(@Nonnull CollisionSet<T> collisionSet,
+                         @Nonnull T value)
     {
         final CollisionSet.Node oldNode = this.node;
         final CollisionSet.Node newNode = collisionSet.insert(oldNode, value);
@@ -82,10 +86,13 @@ public class ArrayMultiValueSetNode<T>
         }
     }
 
+    /**
+     * Removes value from this node.  Returns null if no values remain, the remaining
+     * value itself if only one remains, or a node holding the remaining values.
+     */
     @Nullable
-    @Override
-    public ArraySetNode<T> delete(@Nonnull CollisionSet<T> collisionSet,
-                                  @Nonnull T value)
+    public Object delete(@Nonnull CollisionSet<T> collisionSet,
+                         @Nonnull T value)
     {
         final CollisionSet.Node oldNode = this.node;
         final CollisionSet.Node newNode = collisionSet.delete(oldNode, value);
@@ -97,7 +104,7 @@ public class ArrayMultiValueSetNode<T>
                 case 0:
                     return null;
                 case 1:
-                    return new ArraySingleValueSetNode<>(collisionSet.first(newNode));
+                    return collisionSet.first(newNode);
                 default:
                     return new ArrayMultiValueSetNode<>(newNode);
             }
@@ -105,24 +112,27 @@ public class ArrayMultiValueSetNode<T>
     }
 
     @Nonnull
-    @Override
     public GenericIterator.Iterable<T> values(@Nonnull CollisionSet<T> collisionSet)
     {
         return collisionSet.genericIterable(node);
     }
 
-    @Override
     public void forEach(@Nonnull CollisionSet<T> collisionSet,
                         @Nonnull Proc1<T> proc)
     {
         collisionSet.forEach(node, proc);
     }
 
-    @Override
     public <E extends Exception> void forEachThrows(@Nonnull CollisionSet<T> collisionSet,
                                                     @Nonnull Proc1Throws<T, E> proc)
         throws E
     {
         collisionSet.forEachThrows(node, proc);
     }
+
+    public boolean forEachWhile(@Nonnull CollisionSet<T> collisionSet,
+                                @Nonnull Predicate<? super T> predicate)
+    {
+        return collisionSet.forEachWhile(node, predicate);
+    }
 }
@@ -0,0 +1,215 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.hash.set;
+
+import org.javimmutable.collections.HashStrategy;
+import org.javimmutable.collections.Proc1;
+import org.javimmutable.collections.Proc1Throws;
+import org.javimmutable.collections.common.CollisionSet;
+import org.javimmutable.collections.common.HashStrategies;
+import org.javimmutable.collections.iterators.GenericIterator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import java.util.function.Predicate;
+
+/**
+ * Operations on the slots of a HashSet trie.  A slot normally holds the set's value
+ * itself so a set needs no per value wrapper object.  Values whose hash codes are
+ * identical share a slot holding an {@link ArrayMultiValueSetNode}.
+ */
+public final class ArraySetValues
+{
+    private ArraySetValues()
+    {
+    }
+
+    public static boolean isCollision(@Nonnull Object slot)
+    {
+        return slot instanceof ArrayMultiValueSetNode;
+    }
+
+    public static <T> int size(@Nonnull CollisionSet<T> collisionSet,
+                               @Nonnull Object slot)
+    {
+        if (slot instanceof ArrayMultiValueSetNode) {
+            return ArraySetValues.<T>collision(slot).size(collisionSet);
+        } else {
+            return 1;
+        }
+    }
+
+    public static <T> boolean contains(@Nonnull CollisionSet<T> collisionSet,
+                                       @Nonnull Object slot,
+                                       @Nonnull T value)
+    {
+        if (slot instanceof ArrayMultiValueSetNode) {
+            return ArraySetValues.<T>collision(slot).contains(collisionSet, value);
+        } else {
+            return collisionSet.hashStrategy().equivalent(value(slot), value);
+        }
+    }
+
+    @Nonnull
+    public static <T> Object insert(@Nonnull CollisionSet<T> collisionSet,
+                                    @Nonnull Object slot,
+                                    @Nonnull T value)
+    {
+        if (slot instanceof ArrayMultiValueSetNode) {
+            return ArraySetValues.<T>collision(slot).insert(collisionSet, value);
+        } else if (collisionSet.hashStrategy().equivalent(value(slot), value)) {
+            return slot;
+        } else {
+            return new ArrayMultiValueSetNode<>(collisionSet.dual(value(slot), value));
+        }
+    }
+
+    @Nullable
+    public static <T> Object delete(@Nonnull CollisionSet<T> collisionSet,
+                                    @Nonnull Object slot,
+                                    @Nonnull T value)
+    {
+        if (slot instanceof ArrayMultiValueSetNode) {
+            return ArraySetValues.<T>collision(slot).delete(collisionSet, value);
+        } else {
+            return collisionSet.hashStrategy().equivalent(value(slot), value) ? null : slot;
+        }
+    }
+
+    @Nonnull
+    public static <T> GenericIterator.Iterable<T> values(@Nonnull CollisionSet<T> collisionSet,
+                                                         @Nonnull Object slot)
+    {
+        if (slot instanceof ArrayMultiValueSetNode) {
+            return ArraySetValues.<T>collision(slot).values(collisionSet);
+        } else {
+            return GenericIterator.singleValueIterable(value(slot));
+        }
+    }
+
+    public static <T> void forEach(@Nonnull CollisionSet<T> collisionSet,
+                                   @Nonnull Object slot,
+                                   @Nonnull Proc1<T> proc)
+    {
+        if (slot instanceof ArrayMultiValueSetNode) {
+            ArraySetValues.<T>collision(slot).forEach(collisionSet, proc);
+        } else {
+            proc.apply(value(slot));
+        }
+    }
+
+    public static <T, E extends Exception> void forEachThrows(@Nonnull CollisionSet<T> collisionSet,
+                                                              @Nonnull Object slot,
+                                                              @Nonnull Proc1Throws<T, E> proc)
+        throws E
+    {
+        if (slot instanceof ArrayMultiValueSetNode) {
+            ArraySetValues.<T>collision(slot).forEachThrows(collisionSet, proc);
+        } else {
+            proc.apply(value(slot));
+        }
+    }
+
+    /**
+     * Passes values to predicate until it returns false.
+     *
+     * @return true if predicate returned true for every value
+     */
+    public static <T> boolean forEachWhile(@Nonnull CollisionSet<T> collisionSet,
+                                           @Nonnull Object slot,
+                                           @Nonnull Predicate<? super T> predicate)
+    {
+        if (slot instanceof ArrayMultiValueSetNode) {
+            return ArraySetValues.<T>collision(slot).forEachWhile(collisionSet, predicate);
+        } else {
+            return predicate.test(value(slot));
+        }
+    }
+
+    /**
+     * Sum of the hash codes of the values in the slot as defined by {@link java.util.Set}.
+     * Hash codes come from {@link HashStrategies#elementHashCode} so sets whose values
+     * are equivalent under a strategy not based on equals() have the same hash code.
+     */
+    public static <T> int valuesHashCode(@Nonnull CollisionSet<T> collisionSet,
+                                         @Nonnull Object slot)
+    {
+        final HashStrategy<T> strategy = collisionSet.hashStrategy();
+        if (slot instanceof ArrayMultiValueSetNode) {
+            int answer = 0;
+            for (T value : ArraySetValues.<T>collision(slot).values(collisionSet)) {
+                answer += HashStrategies.elementHashCode(strategy, value);
+            }
+            return answer;
+        } else {
+            return HashStrategies.elementHashCode(strategy, ArraySetValues.<T>value(slot));
+        }
+    }
+
+    /**
+     * Determines whether two slots contain exactly the same values.
+     */
+    public static <T> boolean sameValues(@Nonnull CollisionSet<T> collisionSet,
+                                         @Nonnull Object slot,
+                                         @Nonnull Object other)
+    {
+        if (size(collisionSet, slot) != size(collisionSet, other)) {
+            return false;
+        }
+        for (T value : ArraySetValues.<T>values(collisionSet, slot)) {
+            if (!contains(collisionSet, other, value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    public static <T> T value(@Nonnull Object slot)
+    {
+        assert !(slot instanceof ArrayMultiValueSetNode);
+        return (T)slot;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    private static <T> ArrayMultiValueSetNode<T> collision(@Nonnull Object slot)
+    {
+        return (ArrayMultiValueSetNode<T>)slot;
+    }
+}
@@ -45,6 +45,7 @@ import org.javimmutable.collections.Maybe;
 import org.javimmutable.collections.SplitableIterator;
 import org.javimmutable.collections.common.AbstractMap;
 import org.javimmutable.collections.common.StreamConstants;
+import org.javimmutable.collections.common.ThreadOwner;
 import org.javimmutable.collections.hash.HashMap;
 import org.javimmutable.collections.iterators.AbstractSplitableIterator;
 import org.javimmutable.collections.serialization.OrderedMapProxy;
@@ -130,6 +131,55 @@ public class OrderedMap<K, V>
         };
     }
 
+    /**
+     * Returns a builder for use by a single thread.  Unlike {@link #builder()} its methods
+     * do not synchronize.  When assertions are enabled every method verifies that it is
+     * being called by the thread that created the builder.
+     */
+    @Nonnull
+    public static <K, V> IMapBuilder<K, V> unsynchronizedBuilder()
+    {
+        return new IMapBuilder<K, V>()
+        {
+            private final ThreadOwner owner = new ThreadOwner();
+            private OrderedMap<K, V> map = of();
+
+            @Nonnull
+            @Override
+            public IMap<K, V> build()
+            {
+                assert owner.verify();
+                return map;
+            }
+
+            @Nonnull
+            @Override
+            public IMapBuilder<K, V> clear()
+            {
+                assert owner.verify();
+                map = of();
+                return this;
+            }
+
+            @Nonnull
+            @Override
+            public IMapBuilder<K, V> add(@Nonnull K key,
+                                         V value)
+            {
+                assert owner.verify();
+                map = map.assign(key, value);
+                return this;
+            }
+
+            @Override
+            public int size()
+            {
+                assert owner.verify();
+                return map.size();
+            }
+        };
+    }
+
     @Nonnull
     @Override
     public IMapBuilder<K, V> mapBuilder()
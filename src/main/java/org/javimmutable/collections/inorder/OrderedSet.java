@@ -82,6 +82,16 @@ public class OrderedSet<T>
         return new GenericSetBuilder<>(OrderedMap.builder(), map -> map.isEmpty() ? of() : new OrderedSet<>(map));
     }
 
+    /**
+     * Returns a builder for use by a single thread.  Unlike {@link #builder()} its methods
+     * do not synchronize.
+     */
+    @Nonnull
+    public static <T> ISetBuilder<T> unsynchronizedBuilder()
+    {
+        return new GenericSetBuilder<>(OrderedMap.unsynchronizedBuilder(), map -> map.isEmpty() ? of() : new OrderedSet<>(map));
+    }
+
     @Nonnull
     @Override
     public ISet<T> deleteAll()
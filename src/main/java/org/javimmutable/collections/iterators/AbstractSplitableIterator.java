@@ -48,7 +48,8 @@ public abstract class AbstractSplitableIterator<T>
     /**
      * Returns a Spliterator with the specified characteristics that use this
      * Iterator to visit all elements.  Advancing the Spliterator also advances
-     * this Iterator so the two cannot be used at the same time.
+     * this Iterator so the two cannot be used at the same time.  If this
+     * Iterator knows its exact size the Spliterator also reports SIZED and SUBSIZED.
      */
     @Nonnull
     @Override
@@ -67,7 +68,11 @@ public abstract class AbstractSplitableIterator<T>
         private SpliteratorImpl(int characteristics,
                                 @Nonnull SplitableIterator<T> iterator)
         {
-            this.characteristics = characteristics;
+            if (iterator.getExactSizeIfKnown() >= 0) {
+                this.characteristics = characteristics | Spliterator.SIZED | Spliterator.SUBSIZED;
+            } else {
+                this.characteristics = characteristics;
+            }
             this.iterator = iterator;
         }
 
@@ -95,7 +100,8 @@ public abstract class AbstractSplitableIterator<T>
         @Override
         public long estimateSize()
         {
-            return Long.MAX_VALUE;
+            final long size = iterator.getExactSizeIfKnown();
+            return (size >= 0) ? size : Long.MAX_VALUE;
         }
 
         @Override
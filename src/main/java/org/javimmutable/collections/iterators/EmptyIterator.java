@@ -89,6 +89,12 @@ public class EmptyIterator<T>
         throw new NoSuchElementException();
     }
 
+    @Override
+    public long getExactSizeIfKnown()
+    {
+        return 0;
+    }
+
     @Nonnull
     @Override
     public Spliterator<T> spliterator(int characteristics)
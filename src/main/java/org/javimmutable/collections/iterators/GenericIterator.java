@@ -209,6 +209,12 @@ public class GenericIterator<T>
         return answer;
     }
 
+    @Override
+    public synchronized long getExactSizeIfKnown()
+    {
+        return limit - offset;
+    }
+
     @Override
     public synchronized boolean isSplitAllowed()
     {
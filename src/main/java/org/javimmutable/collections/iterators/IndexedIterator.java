@@ -121,6 +121,12 @@ public final class IndexedIterator
             return values.get(index);
         }
 
+        @Override
+        public long getExactSizeIfKnown()
+        {
+            return limit - index;
+        }
+
         @Override
         public boolean isSplitAllowed()
         {
@@ -173,6 +179,12 @@ public final class IndexedIterator
             return values.get(index);
         }
 
+        @Override
+        public long getExactSizeIfKnown()
+        {
+            return index - limit;
+        }
+
         @Override
         public boolean isSplitAllowed()
         {
@@ -66,6 +66,26 @@ public class IteratorHelper
         return hashCode;
     }
 
+    /**
+     * Computes 31 raised to the specified power (with int overflow) so that the
+     * {@link #iteratorHashCode} of two adjacent sequences can be combined without
+     * revisiting their values.  The hash code of a followed by b is
+     * {@code hash(a) * pow31(size(b)) + hash(b)}.
+     */
+    public static int pow31(int exponent)
+    {
+        int answer = 1;
+        int base = 31;
+        while (exponent > 0) {
+            if ((exponent & 1) != 0) {
+                answer *= base;
+            }
+            base *= base;
+            exponent >>>= 1;
+        }
+        return answer;
+    }
+
     public static String iteratorToString(Iterator<?> iterator)
     {
         StringBuilder sb = new StringBuilder();
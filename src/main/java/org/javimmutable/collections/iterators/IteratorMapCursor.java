@@ -0,0 +1,107 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.iterators;
+
+import org.javimmutable.collections.IMapCursor;
+import org.javimmutable.collections.IMapEntry;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link IMapCursor} implemented using the Iterator of a map.  Used by maps that
+ * have no specialized cursor.  Unlike those cursors this one allocates whatever
+ * its Iterator allocates.
+ */
+@NotThreadSafe
+public class IteratorMapCursor<K, V>
+    implements IMapCursor<K, V>
+{
+    private final Iterable<IMapEntry<K, V>> source;
+    private Iterator<IMapEntry<K, V>> iterator;
+    private IMapEntry<K, V> entry;
+
+    private IteratorMapCursor(@Nonnull Iterable<IMapEntry<K, V>> source)
+    {
+        this.source = source;
+    }
+
+    public static <K, V> IteratorMapCursor<K, V> of(@Nonnull Iterable<IMapEntry<K, V>> source)
+    {
+        return new IteratorMapCursor<>(source);
+    }
+
+    @Override
+    public boolean advance()
+    {
+        if (iterator == null) {
+            iterator = source.iterator();
+        }
+        entry = iterator.hasNext() ? iterator.next() : null;
+        return entry != null;
+    }
+
+    @Nonnull
+    @Override
+    public K key()
+    {
+        return current().getKey();
+    }
+
+    @Override
+    public V value()
+    {
+        return current().getValue();
+    }
+
+    @Override
+    public void reset()
+    {
+        iterator = null;
+        entry = null;
+    }
+
+    @Nonnull
+    private IMapEntry<K, V> current()
+    {
+        if (entry == null) {
+            throw new NoSuchElementException();
+        }
+        return entry;
+    }
+}
@@ -75,4 +75,10 @@ public class SingleValueIterator<T>
         started = true;
         return value;
     }
+
+    @Override
+    public long getExactSizeIfKnown()
+    {
+        return started ? 0 : 1;
+    }
 }
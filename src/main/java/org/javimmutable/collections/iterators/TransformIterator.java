@@ -74,6 +74,12 @@ public class TransformIterator<S, T>
         return transforminator.apply(source.next());
     }
 
+    @Override
+    public long getExactSizeIfKnown()
+    {
+        return source.getExactSizeIfKnown();
+    }
+
     @Override
     public boolean isSplitAllowed()
     {
@@ -41,10 +41,13 @@ import org.javimmutable.collections.InvariantCheckable;
 import org.javimmutable.collections.SplitableIterable;
 import org.javimmutable.collections.common.CollisionMap;
 import org.javimmutable.collections.common.CollisionSet;
+import org.javimmutable.collections.common.SequenceTrees;
 import org.javimmutable.collections.iterators.GenericIterator;
 
 import javax.annotation.Nonnull;
 
+import java.util.function.Predicate;
+
 abstract class AbstractNode<T>
     implements SplitableIterable<T>,
                InvariantCheckable,
@@ -105,6 +108,30 @@ abstract class AbstractNode<T>
     abstract void copyTo(T[] array,
                          int offset);
 
+    /**
+     * Computes the same value as IteratorHelper.iteratorHashCode() would for this node's values.
+     * Branches cache their result so after an update only the nodes on the modified paths
+     * need to be recomputed.
+     */
+    abstract int listHashCode();
+
+    /**
+     * Passes values to predicate in order until it returns false.
+     *
+     * @return true if predicate returned true for every value
+     */
+    abstract boolean forEachWhile(@Nonnull Predicate<? super T> predicate);
+
+    /**
+     * Returns true if the two trees contain equal values in the same order.  Subtrees
+     * shared by the two trees at the same position are skipped without visiting their values.
+     */
+    static boolean sameValues(@Nonnull AbstractNode<?> a,
+                              @Nonnull AbstractNode<?> b)
+    {
+        return SequenceTrees.sameValues(NodeShape.INSTANCE, a, b);
+    }
+
     @Nonnull
     AbstractNode<T> left()
     {
@@ -122,4 +149,37 @@ abstract class AbstractNode<T>
     {
         return size();
     }
+
+    private static class NodeShape
+        implements SequenceTrees.Shape<AbstractNode<?>>
+    {
+        private static final NodeShape INSTANCE = new NodeShape();
+
+        @Override
+        public int size(@Nonnull AbstractNode<?> node)
+        {
+            return node.size();
+        }
+
+        @Override
+        public int childCount(@Nonnull AbstractNode<?> node)
+        {
+            return (node instanceof BranchNode) ? 2 : 0;
+        }
+
+        @Nonnull
+        @Override
+        public AbstractNode<?> child(@Nonnull AbstractNode<?> node,
+                                     int index)
+        {
+            return (index == 0) ? node.left() : node.right();
+        }
+
+        @Override
+        public Object value(@Nonnull AbstractNode<?> leaf,
+                            int index)
+        {
+            return leaf.get(index);
+        }
+    }
 }
@@ -0,0 +1,271 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.list;
+
+import org.javimmutable.collections.InvariantCheckable;
+import org.javimmutable.collections.iterators.IteratorHelper;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Operations shared by the primitive lists.  Everything that does not need to know the
+ * primitive type of the values is implemented here in terms of the {@link PackedNode}
+ * tree and its {@link PackedArrayType}.  Derived classes add the methods that accept or
+ * return individual primitive values.
+ *
+ * @param <A> primitive array type used for leaves
+ * @param <L> concrete list class returned by operations
+ */
+@Immutable
+abstract class AbstractPackedList<A, L extends AbstractPackedList<A, L>>
+    implements InvariantCheckable
+{
+    final PackedNode<A> root;
+
+    AbstractPackedList(@Nonnull PackedNode<A> root)
+    {
+        this.root = root;
+    }
+
+    @Nonnull
+    abstract PackedArrayType<A> type();
+
+    /**
+     * Creates a list of the derived class.  Empty roots must produce the shared empty list.
+     */
+    @Nonnull
+    abstract L create(@Nonnull PackedNode<A> root);
+
+    public int size()
+    {
+        return root.size();
+    }
+
+    public boolean isEmpty()
+    {
+        return root.isEmpty();
+    }
+
+    public boolean isNonEmpty()
+    {
+        return !root.isEmpty();
+    }
+
+    /**
+     * Inserts all values from another list at the specified index.  The two trees are
+     * joined directly so the cost is logarithmic in the sizes of the lists.
+     *
+     * @throws IndexOutOfBoundsException if index is less than zero or greater than size()
+     */
+    @Nonnull
+    public L insertAll(int index,
+                       @Nonnull L values)
+    {
+        return create(root.prefix(index).append(values.root).append(root.suffix(index)));
+    }
+
+    @Nonnull
+    public L insertAllFirst(@Nonnull L values)
+    {
+        return create(root.prepend(values.root));
+    }
+
+    @Nonnull
+    public L insertAllLast(@Nonnull L values)
+    {
+        return create(root.append(values.root));
+    }
+
+    /**
+     * Removes the value at the specified index shifting later values to the left.
+     *
+     * @throws IndexOutOfBoundsException if index is not a valid index in the list
+     */
+    @Nonnull
+    public L delete(int index)
+    {
+        return create(root.delete(index));
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException if the list is empty
+     */
+    @Nonnull
+    public L deleteFirst()
+    {
+        return create(root.deleteFirst());
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException if the list is empty
+     */
+    @Nonnull
+    public L deleteLast()
+    {
+        return create(root.deleteLast());
+    }
+
+    @Nonnull
+    public L deleteAll()
+    {
+        return create(PackedEmptyNode.instance());
+    }
+
+    /**
+     * Return the (possibly empty) list containing the first limit values.
+     */
+    @Nonnull
+    public L prefix(int limit)
+    {
+        return create(root.prefix(limit));
+    }
+
+    /**
+     * Return the (possibly empty) list containing the values starting at offset (inclusive)
+     * and including all remaining items.
+     */
+    @Nonnull
+    public L suffix(int offset)
+    {
+        return create(root.suffix(offset));
+    }
+
+    /**
+     * Return the (possibly empty) list containing the values starting at offset (inclusive)
+     * and including all remaining items up to but excluding the value at index limit.
+     */
+    @Nonnull
+    public L middle(int offset,
+                    int limit)
+    {
+        return create(root.prefix(limit).suffix(offset));
+    }
+
+    @Nonnull
+    public L reverse()
+    {
+        return create(root.reverse());
+    }
+
+    @Nonnull
+    public A toArray()
+    {
+        final A answer = type().allocate(root.size());
+        root.copyTo(answer, 0);
+        return answer;
+    }
+
+    @Override
+    public void checkInvariants()
+    {
+        root.checkInvariants();
+    }
+
+    /**
+     * Lists that differ in size or hash code are rejected without examining their values.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean equals(Object o)
+    {
+        if (o == this) {
+            return true;
+        }
+        if (o == null || o.getClass() != getClass()) {
+            return false;
+        }
+        final AbstractPackedList<A, ?> other = (AbstractPackedList<A, ?>)o;
+        return root.size() == other.root.size()
+               && hashCode() == other.hashCode()
+               && PackedNode.sameValues(type(), root, other.root);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return IteratorHelper.pow31(root.size()) + root.listHashCode();
+    }
+
+    @Override
+    public String toString()
+    {
+        final StringBuilder sb = new StringBuilder("[");
+        root.forEachLeaf(values -> type().appendTo(sb, values));
+        if (sb.length() > 1) {
+            sb.setLength(sb.length() - 1);
+        }
+        return sb.append("]").toString();
+    }
+
+    /**
+     * Replaces the value at index with the single value in value.
+     */
+    @Nonnull
+    L assignValue(int index,
+                  @Nonnull A value)
+    {
+        return create(root.assign(index, value));
+    }
+
+    /**
+     * Inserts the single value in value at index.
+     */
+    @Nonnull
+    L insertValue(int index,
+                  @Nonnull A value)
+    {
+        if (index == 0) {
+            return insertFirstValue(value);
+        } else if (index == root.size()) {
+            return insertLastValue(value);
+        } else {
+            return create(root.insert(index, value));
+        }
+    }
+
+    @Nonnull
+    L insertFirstValue(@Nonnull A value)
+    {
+        return create(root.prepend(new PackedLeafNode<>(type(), value)));
+    }
+
+    @Nonnull
+    L insertLastValue(@Nonnull A value)
+    {
+        return create(root.append(new PackedLeafNode<>(type(), value)));
+    }
+}
@@ -42,12 +42,14 @@ import org.javimmutable.collections.Proc1Throws;
 import org.javimmutable.collections.Sum1Throws;
 import org.javimmutable.collections.indexed.IndexedHelper;
 import org.javimmutable.collections.iterators.GenericIterator;
+import org.javimmutable.collections.iterators.IteratorHelper;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import java.util.StringJoiner;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 @Immutable
 class BranchNode<T>
@@ -57,6 +59,7 @@ class BranchNode<T>
     private final AbstractNode<T> right;
     private final int size;
     private final int depth;
+    private int listHashCode; // computed on first use, benign race as in String.hashCode()
 
     BranchNode(@Nonnull AbstractNode<T> left,
                @Nonnull AbstractNode<T> right)
@@ -392,6 +395,17 @@ class BranchNode<T>
         right.checkInvariants();
     }
 
+    @Override
+    int listHashCode()
+    {
+        int answer = listHashCode;
+        if (answer == 0) {
+            answer = left.listHashCode() * IteratorHelper.pow31(right.size()) + right.listHashCode();
+            listHashCode = answer;
+        }
+        return answer;
+    }
+
     @Override
     public boolean equals(Object o)
     {
@@ -461,6 +475,12 @@ class BranchNode<T>
         right.forEachThrows(proc);
     }
 
+    @Override
+    boolean forEachWhile(@Nonnull Predicate<? super T> predicate)
+    {
+        return left.forEachWhile(predicate) && right.forEachWhile(predicate);
+    }
+
     @Override
     public <V> V reduce(V sum,
                         Func2<V, T, V> accumulator)
@@ -0,0 +1,305 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.list;
+
+import org.javimmutable.collections.serialization.DoubleListProxy;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.Serializable;
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Immutable list of double values.  Uses the same balanced tree structure as {@link TreeList}
+ * but stores values in double[] leaves instead of boxing each one so memory use is close to
+ * that of a plain double[].  Values are read and written as primitives and can be streamed
+ * as an {@link DoubleStream}.  Equal lists have the same hash code as an equal java.util.List
+ * of Double.
+ */
+@Immutable
+public final class DoubleList
+    extends AbstractPackedList<double[], DoubleList>
+    implements Serializable
+{
+    private static final DoubleList EMPTY = new DoubleList(PackedEmptyNode.instance());
+    private static final long serialVersionUID = -121805;
+
+    private DoubleList(@Nonnull PackedNode<double[]> root)
+    {
+        super(root);
+    }
+
+    @Nonnull
+    public static DoubleList of()
+    {
+        return EMPTY;
+    }
+
+    @Nonnull
+    public static DoubleList of(@Nonnull double... values)
+    {
+        return builder().add(values).build();
+    }
+
+    /**
+     * Creates a list containing all values in the stream in encounter order.
+     */
+    @Nonnull
+    public static DoubleList allOf(@Nonnull DoubleStream values)
+    {
+        final Builder builder = builder();
+        values.forEachOrdered(builder::add);
+        return builder.build();
+    }
+
+    @Nonnull
+    public static Builder builder()
+    {
+        return new Builder();
+    }
+
+    @Nonnull
+    private static DoubleList createList(@Nonnull PackedNode<double[]> root)
+    {
+        if (root.isEmpty()) {
+            return EMPTY;
+        } else {
+            return new DoubleList(root);
+        }
+    }
+
+    @Nonnull
+    @Override
+    PackedArrayType<double[]> type()
+    {
+        return PackedArrayType.DOUBLES;
+    }
+
+    @Nonnull
+    @Override
+    DoubleList create(@Nonnull PackedNode<double[]> root)
+    {
+        return createList(root);
+    }
+
+    /**
+     * Returns the value at the specified index.
+     *
+     * @throws IndexOutOfBoundsException if index is not a valid index in the list
+     */
+    public double get(int index)
+    {
+        return root.getDouble(index);
+    }
+
+    /**
+     * Replaces the value at the specified index.
+     *
+     * @throws IndexOutOfBoundsException if index is not a valid index in the list
+     */
+    @Nonnull
+    public DoubleList assign(int index,
+                             double value)
+    {
+        return assignValue(index, new double[]{value});
+    }
+
+    /**
+     * Adds a value to the end of the list.  Same as insertLast().
+     */
+    @Nonnull
+    public DoubleList insert(double value)
+    {
+        return insertLast(value);
+    }
+
+    /**
+     * Inserts a value at the specified index shifting later values to the right.
+     * Index may be equal to size() to add a value to the end of the list.
+     *
+     * @throws IndexOutOfBoundsException if index is less than zero or greater than size()
+     */
+    @Nonnull
+    public DoubleList insert(int index,
+                             double value)
+    {
+        return insertValue(index, new double[]{value});
+    }
+
+    @Nonnull
+    public DoubleList insertFirst(double value)
+    {
+        return insertFirstValue(new double[]{value});
+    }
+
+    @Nonnull
+    public DoubleList insertLast(double value)
+    {
+        return insertLastValue(new double[]{value});
+    }
+
+    /**
+     * Passes every value in the list to action in order.
+     */
+    public void forEach(@Nonnull DoubleConsumer action)
+    {
+        root.forEachLeaf(values -> {
+            for (double value : values) {
+                action.accept(value);
+            }
+        });
+    }
+
+    @Nonnull
+    public Spliterator.OfDouble spliterator()
+    {
+        return new ValueSpliterator(root, 0, root.size());
+    }
+
+    @Nonnull
+    public DoubleStream stream()
+    {
+        return StreamSupport.doubleStream(spliterator(), false);
+    }
+
+    @Nonnull
+    public DoubleStream parallelStream()
+    {
+        return StreamSupport.doubleStream(spliterator(), true);
+    }
+
+    private Object writeReplace()
+    {
+        return new DoubleListProxy(this);
+    }
+
+    @ThreadSafe
+    public static class Builder
+    {
+        private final PackedTreeBuilder<double[]> builder = new PackedTreeBuilder<>(PackedArrayType.DOUBLES);
+
+        private Builder()
+        {
+        }
+
+        public synchronized int size()
+        {
+            return builder.size();
+        }
+
+        @Nonnull
+        public synchronized Builder add(double value)
+        {
+            builder.buffer[builder.reserve()] = value;
+            return this;
+        }
+
+        @Nonnull
+        public synchronized Builder add(@Nonnull double... values)
+        {
+            for (double value : values) {
+                builder.buffer[builder.reserve()] = value;
+            }
+            return this;
+        }
+
+        @Nonnull
+        public synchronized Builder clear()
+        {
+            builder.clear();
+            return this;
+        }
+
+        @Nonnull
+        public synchronized DoubleList build()
+        {
+            return createList(builder.build());
+        }
+    }
+
+    private static class ValueSpliterator
+        extends PackedSpliterator<double[]>
+        implements Spliterator.OfDouble
+    {
+        private ValueSpliterator(@Nonnull PackedNode<double[]> root,
+                                 int offset,
+                                 int limit)
+        {
+            super(root, offset, limit);
+        }
+
+        @Override
+        public Spliterator.OfDouble trySplit()
+        {
+            final int split = splitIndex();
+            if (split < 0) {
+                return null;
+            }
+            final ValueSpliterator answer = new ValueSpliterator(root, index, split);
+            index = split;
+            return answer;
+        }
+
+        @Override
+        public boolean tryAdvance(@Nonnull DoubleConsumer action)
+        {
+            if (index >= limit) {
+                return false;
+            }
+            cursor.seek(index);
+            action.accept(cursor.values[index - cursor.offset]);
+            index += 1;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(@Nonnull DoubleConsumer action)
+        {
+            while (index < limit) {
+                final int end = seekLeaf();
+                final double[] values = cursor.values;
+                for (int i = index - cursor.offset; i < end; ++i) {
+                    action.accept(values[i]);
+                }
+                index = cursor.offset + end;
+            }
+        }
+    }
+}
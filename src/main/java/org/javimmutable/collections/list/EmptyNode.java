@@ -47,6 +47,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 @Immutable
 class EmptyNode<T>
@@ -82,6 +83,12 @@ class EmptyNode<T>
         return 0;
     }
 
+    @Override
+    int listHashCode()
+    {
+        return 0;
+    }
+
     @Override
     T get(int index)
     {
@@ -221,6 +228,12 @@ class EmptyNode<T>
     {
     }
 
+    @Override
+    boolean forEachWhile(@Nonnull Predicate<? super T> predicate)
+    {
+        return true;
+    }
+
     @Override
     public <V> V reduce(V initialValue,
                         Func2<V, T, V> accumulator)
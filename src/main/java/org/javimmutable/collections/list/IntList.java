@@ -0,0 +1,305 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.list;
+
+import org.javimmutable.collections.serialization.IntListProxy;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.Serializable;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Immutable list of int values.  Uses the same balanced tree structure as {@link TreeList}
+ * but stores values in int[] leaves instead of boxing each one so memory use is close to
+ * that of a plain int[].  Values are read and written as primitives and can be streamed
+ * as an {@link IntStream}.  Equal lists have the same hash code as an equal java.util.List
+ * of Integer.
+ */
+@Immutable
+public final class IntList
+    extends AbstractPackedList<int[], IntList>
+    implements Serializable
+{
+    private static final IntList EMPTY = new IntList(PackedEmptyNode.instance());
+    private static final long serialVersionUID = -121805;
+
+    private IntList(@Nonnull PackedNode<int[]> root)
+    {
+        super(root);
+    }
+
+    @Nonnull
+    public static IntList of()
+    {
+        return EMPTY;
+    }
+
+    @Nonnull
+    public static IntList of(@Nonnull int... values)
+    {
+        return builder().add(values).build();
+    }
+
+    /**
+     * Creates a list containing all values in the stream in encounter order.
+     */
+    @Nonnull
+    public static IntList allOf(@Nonnull IntStream values)
+    {
+        final Builder builder = builder();
+        values.forEachOrdered(builder::add);
+        return builder.build();
+    }
+
+    @Nonnull
+    public static Builder builder()
+    {
+        return new Builder();
+    }
+
+    @Nonnull
+    private static IntList createList(@Nonnull PackedNode<int[]> root)
+    {
+        if (root.isEmpty()) {
+            return EMPTY;
+        } else {
+            return new IntList(root);
+        }
+    }
+
+    @Nonnull
+    @Override
+    PackedArrayType<int[]> type()
+    {
+        return PackedArrayType.INTS;
+    }
+
+    @Nonnull
+    @Override
+    IntList create(@Nonnull PackedNode<int[]> root)
+    {
+        return createList(root);
+    }
+
+    /**
+     * Returns the value at the specified index.
+     *
+     * @throws IndexOutOfBoundsException if index is not a valid index in the list
+     */
+    public int get(int index)
+    {
+        return root.getInt(index);
+    }
+
+    /**
+     * Replaces the value at the specified index.
+     *
+     * @throws IndexOutOfBoundsException if index is not a valid index in the list
+     */
+    @Nonnull
+    public IntList assign(int index,
+                          int value)
+    {
+        return assignValue(index, new int[]{value});
+    }
+
+    /**
+     * Adds a value to the end of the list.  Same as insertLast().
+     */
+    @Nonnull
+    public IntList insert(int value)
+    {
+        return insertLast(value);
+    }
+
+    /**
+     * Inserts a value at the specified index shifting later values to the right.
+     * Index may be equal to size() to add a value to the end of the list.
+     *
+     * @throws IndexOutOfBoundsException if index is less than zero or greater than size()
+     */
+    @Nonnull
+    public IntList insert(int index,
+                          int value)
+    {
+        return insertValue(index, new int[]{value});
+    }
+
+    @Nonnull
+    public IntList insertFirst(int value)
+    {
+        return insertFirstValue(new int[]{value});
+    }
+
+    @Nonnull
+    public IntList insertLast(int value)
+    {
+        return insertLastValue(new int[]{value});
+    }
+
+    /**
+     * Passes every value in the list to action in order.
+     */
+    public void forEach(@Nonnull IntConsumer action)
+    {
+        root.forEachLeaf(values -> {
+            for (int value : values) {
+                action.accept(value);
+            }
+        });
+    }
+
+    @Nonnull
+    public Spliterator.OfInt spliterator()
+    {
+        return new ValueSpliterator(root, 0, root.size());
+    }
+
+    @Nonnull
+    public IntStream stream()
+    {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    @Nonnull
+    public IntStream parallelStream()
+    {
+        return StreamSupport.intStream(spliterator(), true);
+    }
+
+    private Object writeReplace()
+    {
+        return new IntListProxy(this);
+    }
+
+    @ThreadSafe
+    public static class Builder
+    {
+        private final PackedTreeBuilder<int[]> builder = new PackedTreeBuilder<>(PackedArrayType.INTS);
+
+        private Builder()
+        {
+        }
+
+        public synchronized int size()
+        {
+            return builder.size();
+        }
+
+        @Nonnull
+        public synchronized Builder add(int value)
+        {
+            builder.buffer[builder.reserve()] = value;
+            return this;
+        }
+
+        @Nonnull
+        public synchronized Builder add(@Nonnull int... values)
+        {
+            for (int value : values) {
+                builder.buffer[builder.reserve()] = value;
+            }
+            return this;
+        }
+
+        @Nonnull
+        public synchronized Builder clear()
+        {
+            builder.clear();
+            return this;
+        }
+
+        @Nonnull
+        public synchronized IntList build()
+        {
+            return createList(builder.build());
+        }
+    }
+
+    private static class ValueSpliterator
+        extends PackedSpliterator<int[]>
+        implements Spliterator.OfInt
+    {
+        private ValueSpliterator(@Nonnull PackedNode<int[]> root,
+                                 int offset,
+                                 int limit)
+        {
+            super(root, offset, limit);
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit()
+        {
+            final int split = splitIndex();
+            if (split < 0) {
+                return null;
+            }
+            final ValueSpliterator answer = new ValueSpliterator(root, index, split);
+            index = split;
+            return answer;
+        }
+
+        @Override
+        public boolean tryAdvance(@Nonnull IntConsumer action)
+        {
+            if (index >= limit) {
+                return false;
+            }
+            cursor.seek(index);
+            action.accept(cursor.values[index - cursor.offset]);
+            index += 1;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(@Nonnull IntConsumer action)
+        {
+            while (index < limit) {
+                final int end = seekLeaf();
+                final int[] values = cursor.values;
+                for (int i = index - cursor.offset; i < end; ++i) {
+                    action.accept(values[i]);
+                }
+                index = cursor.offset + end;
+            }
+        }
+    }
+}
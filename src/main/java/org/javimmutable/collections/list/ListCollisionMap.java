@@ -36,6 +36,7 @@
 package org.javimmutable.collections.list;
 
 import org.javimmutable.collections.Func1;
+import org.javimmutable.collections.HashStrategy;
 import org.javimmutable.collections.IMapEntry;
 import org.javimmutable.collections.Maybe;
 import org.javimmutable.collections.Proc2;
@@ -48,13 +49,18 @@ import org.javimmutable.collections.iterators.GenericIterator;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import java.util.function.BiPredicate;
+
 public class ListCollisionMap<K, V>
     implements CollisionMap<K, V>
 {
-    private static final ListCollisionMap INSTANCE = new ListCollisionMap();
+    private static final ListCollisionMap INSTANCE = new ListCollisionMap<>(HashStrategy.standard());
+
+    private final HashStrategy<K> strategy;
 
-    private ListCollisionMap()
+    private ListCollisionMap(@Nonnull HashStrategy<K> strategy)
     {
+        this.strategy = strategy;
     }
 
     @SuppressWarnings("unchecked")
@@ -64,6 +70,23 @@ public class ListCollisionMap<K, V>
         return INSTANCE;
     }
 
+    /**
+     * Returns a collision map that compares keys using strategy.  Every call with a
+     * non-standard strategy creates a new instance so callers should retain it.
+     */
+    @Nonnull
+    public static <K, V> ListCollisionMap<K, V> instance(@Nonnull HashStrategy<K> strategy)
+    {
+        return (strategy == HashStrategy.standard()) ? instance() : new ListCollisionMap<>(strategy);
+    }
+
+    @Nonnull
+    @Override
+    public HashStrategy<K> hashStrategy()
+    {
+        return strategy;
+    }
+
     @SuppressWarnings("unchecked")
     @Nonnull
     private AbstractNode<IMapEntry<K, V>> root(@Nonnull Node node)
@@ -111,7 +134,7 @@ public class ListCollisionMap<K, V>
         final AbstractNode<IMapEntry<K, V>> root = root(node);
         int i = 0;
         for (IMapEntry<K, V> e : root) {
-            if (e.getKey().equals(key)) {
+            if (strategy.equivalent(e.getKey(), key)) {
                 if (e.getValue() == value) {
                     return root;
                 } else {
@@ -132,7 +155,7 @@ public class ListCollisionMap<K, V>
         final AbstractNode<IMapEntry<K, V>> root = root(node);
         int i = 0;
         for (IMapEntry<K, V> e : root) {
-            if (e.getKey().equals(key)) {
+            if (strategy.equivalent(e.getKey(), key)) {
                 V value1 = e.getValue();
                 V value = generator.apply(Maybe.of(value1));
                 if (e.getValue() == value) {
@@ -155,7 +178,7 @@ public class ListCollisionMap<K, V>
         final AbstractNode<IMapEntry<K, V>> root = root(node);
         int i = 0;
         for (IMapEntry<K, V> e : root) {
-            if (e.getKey().equals(key)) {
+            if (strategy.equivalent(e.getKey(), key)) {
                 return root.delete(i);
             }
             i += 1;
@@ -170,7 +193,7 @@ public class ListCollisionMap<K, V>
     {
         final AbstractNode<IMapEntry<K, V>> root = root(node);
         for (IMapEntry<K, V> e : root) {
-            if (e.getKey().equals(key)) {
+            if (strategy.equivalent(e.getKey(), key)) {
                 return e.getValue();
             }
         }
@@ -184,7 +207,7 @@ public class ListCollisionMap<K, V>
     {
         final AbstractNode<IMapEntry<K, V>> root = root(node);
         for (IMapEntry<K, V> e : root) {
-            if (e.getKey().equals(key)) {
+            if (strategy.equivalent(e.getKey(), key)) {
                 V value = e.getValue();
                 return Maybe.of(value);
             }
@@ -199,7 +222,7 @@ public class ListCollisionMap<K, V>
     {
         final AbstractNode<IMapEntry<K, V>> root = root(node);
         for (IMapEntry<K, V> e : root) {
-            if (e.getKey().equals(key)) {
+            if (strategy.equivalent(e.getKey(), key)) {
                 return Maybe.of(e);
             }
         }
@@ -238,6 +261,13 @@ public class ListCollisionMap<K, V>
         root(node).forEachThrows(e -> proc.apply(e.getKey(), e.getValue()));
     }
 
+    @Override
+    public boolean forEachWhile(@Nonnull Node node,
+                                @Nonnull BiPredicate<K, V> predicate)
+    {
+        return root(node).forEachWhile(e -> predicate.test(e.getKey(), e.getValue()));
+    }
+
     @Override
     public <R> R reduce(@Nonnull Node node,
                         R sum,
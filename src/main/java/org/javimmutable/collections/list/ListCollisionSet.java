@@ -35,6 +35,7 @@
 
 package org.javimmutable.collections.list;
 
+import org.javimmutable.collections.HashStrategy;
 import org.javimmutable.collections.Proc1;
 import org.javimmutable.collections.Proc1Throws;
 import org.javimmutable.collections.Sum1;
@@ -45,14 +46,19 @@ import org.javimmutable.collections.iterators.GenericIterator;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import java.util.function.Predicate;
+
 public class ListCollisionSet<T>
     implements CollisionSet<T>
 {
     @SuppressWarnings("rawtypes")
-    private static final ListCollisionSet INSTANCE = new ListCollisionSet();
+    private static final ListCollisionSet INSTANCE = new ListCollisionSet<>(HashStrategy.standard());
+
+    private final HashStrategy<T> strategy;
 
-    private ListCollisionSet()
+    private ListCollisionSet(@Nonnull HashStrategy<T> strategy)
     {
+        this.strategy = strategy;
     }
 
     @SuppressWarnings("unchecked")
@@ -62,6 +68,23 @@ public class ListCollisionSet<T>
         return INSTANCE;
     }
 
+    /**
+     * Returns a collision set that compares values using strategy.  Every call with a
+     * non-standard strategy creates a new instance so callers should retain it.
+     */
+    @Nonnull
+    public static <T> ListCollisionSet<T> instance(@Nonnull HashStrategy<T> strategy)
+    {
+        return (strategy == HashStrategy.standard()) ? instance() : new ListCollisionSet<>(strategy);
+    }
+
+    @Nonnull
+    @Override
+    public HashStrategy<T> hashStrategy()
+    {
+        return strategy;
+    }
+
     @SuppressWarnings("unchecked")
     @Nonnull
     private AbstractNode<T> root(@Nonnull Node node)
@@ -102,7 +125,7 @@ public class ListCollisionSet<T>
                             @Nonnull T value)
     {
         for (T v : root(node)) {
-            if (v.equals(value)) {
+            if (strategy.equivalent(v, value)) {
                 return true;
             }
         }
@@ -117,7 +140,7 @@ public class ListCollisionSet<T>
         final AbstractNode<T> root = root(node);
         int i = 0;
         for (T v : root) {
-            if (v.equals(value)) {
+            if (strategy.equivalent(v, value)) {
                 return root;
             }
             i += 1;
@@ -133,7 +156,7 @@ public class ListCollisionSet<T>
         final AbstractNode<T> root = root(node);
         int i = 0;
         for (T v : root) {
-            if (v.equals(value)) {
+            if (strategy.equivalent(v, value)) {
                 return root.delete(i);
             }
             i += 1;
@@ -173,6 +196,13 @@ public class ListCollisionSet<T>
         root(node).forEachThrows(proc);
     }
 
+    @Override
+    public boolean forEachWhile(@Nonnull Node node,
+                                @Nonnull Predicate<? super T> predicate)
+    {
+        return root(node).forEachWhile(predicate);
+    }
+
     @Override
     public <R> R reduce(@Nonnull Node node,
                         R sum,
@@ -0,0 +1,305 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.list;
+
+import org.javimmutable.collections.serialization.LongListProxy;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.Serializable;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Immutable list of long values.  Uses the same balanced tree structure as {@link TreeList}
+ * but stores values in long[] leaves instead of boxing each one so memory use is close to
+ * that of a plain long[].  Values are read and written as primitives and can be streamed
+ * as an {@link LongStream}.  Equal lists have the same hash code as an equal java.util.List
+ * of Long.
+ */
+@Immutable
+public final class LongList
+    extends AbstractPackedList<long[], LongList>
+    implements Serializable
+{
+    private static final LongList EMPTY = new LongList(PackedEmptyNode.instance());
+    private static final long serialVersionUID = -121805;
+
+    private LongList(@Nonnull PackedNode<long[]> root)
+    {
+        super(root);
+    }
+
+    @Nonnull
+    public static LongList of()
+    {
+        return EMPTY;
+    }
+
+    @Nonnull
+    public static LongList of(@Nonnull long... values)
+    {
+        return builder().add(values).build();
+    }
+
+    /**
+     * Creates a list containing all values in the stream in encounter order.
+     */
+    @Nonnull
+    public static LongList allOf(@Nonnull LongStream values)
+    {
+        final Builder builder = builder();
+        values.forEachOrdered(builder::add);
+        return builder.build();
+    }
+
+    @Nonnull
+    public static Builder builder()
+    {
+        return new Builder();
+    }
+
+    @Nonnull
+    private static LongList createList(@Nonnull PackedNode<long[]> root)
+    {
+        if (root.isEmpty()) {
+            return EMPTY;
+        } else {
+            return new LongList(root);
+        }
+    }
+
+    @Nonnull
+    @Override
+    PackedArrayType<long[]> type()
+    {
+        return PackedArrayType.LONGS;
+    }
+
+    @Nonnull
+    @Override
+    LongList create(@Nonnull PackedNode<long[]> root)
+    {
+        return createList(root);
+    }
+
+    /**
+     * Returns the value at the specified index.
+     *
+     * @throws IndexOutOfBoundsException if index is not a valid index in the list
+     */
+    public long get(int index)
+    {
+        return root.getLong(index);
+    }
+
+    /**
+     * Replaces the value at the specified index.
+     *
+     * @throws IndexOutOfBoundsException if index is not a valid index in the list
+     */
+    @Nonnull
+    public LongList assign(int index,
+                           long value)
+    {
+        return assignValue(index, new long[]{value});
+    }
+
+    /**
+     * Adds a value to the end of the list.  Same as insertLast().
+     */
+    @Nonnull
+    public LongList insert(long value)
+    {
+        return insertLast(value);
+    }
+
+    /**
+     * Inserts a value at the specified index shifting later values to the right.
+     * Index may be equal to size() to add a value to the end of the list.
+     *
+     * @throws IndexOutOfBoundsException if index is less than zero or greater than size()
+     */
+    @Nonnull
+    public LongList insert(int index,
+                           long value)
+    {
+        return insertValue(index, new long[]{value});
+    }
+
+    @Nonnull
+    public LongList insertFirst(long value)
+    {
+        return insertFirstValue(new long[]{value});
+    }
+
+    @Nonnull
+    public LongList insertLast(long value)
+    {
+        return insertLastValue(new long[]{value});
+    }
+
+    /**
+     * Passes every value in the list to action in order.
+     */
+    public void forEach(@Nonnull LongConsumer action)
+    {
+        root.forEachLeaf(values -> {
+            for (long value : values) {
+                action.accept(value);
+            }
+        });
+    }
+
+    @Nonnull
+    public Spliterator.OfLong spliterator()
+    {
+        return new ValueSpliterator(root, 0, root.size());
+    }
+
+    @Nonnull
+    public LongStream stream()
+    {
+        return StreamSupport.longStream(spliterator(), false);
+    }
+
+    @Nonnull
+    public LongStream parallelStream()
+    {
+        return StreamSupport.longStream(spliterator(), true);
+    }
+
+    private Object writeReplace()
+    {
+        return new LongListProxy(this);
+    }
+
+    @ThreadSafe
+    public static class Builder
+    {
+        private final PackedTreeBuilder<long[]> builder = new PackedTreeBuilder<>(PackedArrayType.LONGS);
+
+        private Builder()
+        {
+        }
+
+        public synchronized int size()
+        {
+            return builder.size();
+        }
+
+        @Nonnull
+        public synchronized Builder add(long value)
+        {
+            builder.buffer[builder.reserve()] = value;
+            return this;
+        }
+
+        @Nonnull
+        public synchronized Builder add(@Nonnull long... values)
+        {
+            for (long value : values) {
+                builder.buffer[builder.reserve()] = value;
+            }
+            return this;
+        }
+
+        @Nonnull
+        public synchronized Builder clear()
+        {
+            builder.clear();
+            return this;
+        }
+
+        @Nonnull
+        public synchronized LongList build()
+        {
+            return createList(builder.build());
+        }
+    }
+
+    private static class ValueSpliterator
+        extends PackedSpliterator<long[]>
+        implements Spliterator.OfLong
+    {
+        private ValueSpliterator(@Nonnull PackedNode<long[]> root,
+                                 int offset,
+                                 int limit)
+        {
+            super(root, offset, limit);
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit()
+        {
+            final int split = splitIndex();
+            if (split < 0) {
+                return null;
+            }
+            final ValueSpliterator answer = new ValueSpliterator(root, index, split);
+            index = split;
+            return answer;
+        }
+
+        @Override
+        public boolean tryAdvance(@Nonnull LongConsumer action)
+        {
+            if (index >= limit) {
+                return false;
+            }
+            cursor.seek(index);
+            action.accept(cursor.values[index - cursor.offset]);
+            index += 1;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(@Nonnull LongConsumer action)
+        {
+            while (index < limit) {
+                final int end = seekLeaf();
+                final long[] values = cursor.values;
+                for (int i = index - cursor.offset; i < end; ++i) {
+                    action.accept(values[i]);
+                }
+                index = cursor.offset + end;
+            }
+        }
+    }
+}
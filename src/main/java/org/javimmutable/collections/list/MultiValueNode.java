@@ -49,7 +49,9 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import java.util.Arrays;
+import java.util.Objects;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 @Immutable
 class MultiValueNode<T>
@@ -122,6 +124,16 @@ class MultiValueNode<T>
         return values.length;
     }
 
+    @Override
+    int listHashCode()
+    {
+        int answer = 0;
+        for (T value : values) {
+            answer = 31 * answer + Objects.hashCode(value);
+        }
+        return answer;
+    }
+
     @Override
     int depth()
     {
@@ -388,6 +400,17 @@ class MultiValueNode<T>
         }
     }
 
+    @Override
+    boolean forEachWhile(@Nonnull Predicate<? super T> predicate)
+    {
+        for (T value : values) {
+            if (!predicate.test(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public <V> V reduce(V sum,
                         Func2<V, T, V> accumulator)
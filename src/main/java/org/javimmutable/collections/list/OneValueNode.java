@@ -44,8 +44,10 @@ import org.javimmutable.collections.iterators.GenericIterator;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Objects;
 import java.util.StringJoiner;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 class OneValueNode<T>
     extends AbstractNode<T>
@@ -75,6 +77,12 @@ class OneValueNode<T>
         return 0;
     }
 
+    @Override
+    int listHashCode()
+    {
+        return Objects.hashCode(value);
+    }
+
     @Override
     T get(int index)
     {
@@ -271,6 +279,12 @@ class OneValueNode<T>
         proc.apply(value);
     }
 
+    @Override
+    boolean forEachWhile(@Nonnull Predicate<? super T> predicate)
+    {
+        return predicate.test(value);
+    }
+
     @Override
     public <V> V reduce(V initialValue,
                         Func2<V, T, V> accumulator)
@@ -0,0 +1,254 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.list;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+
+/**
+ * Operations on the primitive arrays used as leaves by {@link PackedNode}.  The nodes
+ * themselves only move values around using System.arraycopy so these are the only
+ * places that need to know the actual element type.
+ */
+abstract class PackedArrayType<A>
+{
+    static final PackedArrayType<int[]> INTS = new PackedArrayType<int[]>()
+    {
+        @Nonnull
+        @Override
+        int[] allocate(int length)
+        {
+            return new int[length];
+        }
+
+        @Override
+        int length(@Nonnull int[] values)
+        {
+            return values.length;
+        }
+
+        @Nonnull
+        @Override
+        int[] reverse(@Nonnull int[] values)
+        {
+            final int length = values.length;
+            final int[] answer = new int[length];
+            for (int i = 0; i < length; ++i) {
+                answer[length - 1 - i] = values[i];
+            }
+            return answer;
+        }
+
+        @Override
+        int hashCode(@Nonnull int[] values)
+        {
+            int answer = 0;
+            for (int value : values) {
+                answer = 31 * answer + Integer.hashCode(value);
+            }
+            return answer;
+        }
+
+        @Override
+        boolean rangeEquals(@Nonnull int[] a,
+                            int aOffset,
+                            @Nonnull int[] b,
+                            int bOffset,
+                            int length)
+        {
+            return Arrays.equals(a, aOffset, aOffset + length, b, bOffset, bOffset + length);
+        }
+
+        @Override
+        void appendTo(@Nonnull StringBuilder sb,
+                      @Nonnull int[] values)
+        {
+            for (int value : values) {
+                sb.append(value).append(',');
+            }
+        }
+    };
+
+    static final PackedArrayType<long[]> LONGS = new PackedArrayType<long[]>()
+    {
+        @Nonnull
+        @Override
+        long[] allocate(int length)
+        {
+            return new long[length];
+        }
+
+        @Override
+        int length(@Nonnull long[] values)
+        {
+            return values.length;
+        }
+
+        @Nonnull
+        @Override
+        long[] reverse(@Nonnull long[] values)
+        {
+            final int length = values.length;
+            final long[] answer = new long[length];
+            for (int i = 0; i < length; ++i) {
+                answer[length - 1 - i] = values[i];
+            }
+            return answer;
+        }
+
+        @Override
+        int hashCode(@Nonnull long[] values)
+        {
+            int answer = 0;
+            for (long value : values) {
+                answer = 31 * answer + Long.hashCode(value);
+            }
+            return answer;
+        }
+
+        @Override
+        boolean rangeEquals(@Nonnull long[] a,
+                            int aOffset,
+                            @Nonnull long[] b,
+                            int bOffset,
+                            int length)
+        {
+            return Arrays.equals(a, aOffset, aOffset + length, b, bOffset, bOffset + length);
+        }
+
+        @Override
+        void appendTo(@Nonnull StringBuilder sb,
+                      @Nonnull long[] values)
+        {
+            for (long value : values) {
+                sb.append(value).append(',');
+            }
+        }
+    };
+
+    static final PackedArrayType<double[]> DOUBLES = new PackedArrayType<double[]>()
+    {
+        @Nonnull
+        @Override
+        double[] allocate(int length)
+        {
+            return new double[length];
+        }
+
+        @Override
+        int length(@Nonnull double[] values)
+        {
+            return values.length;
+        }
+
+        @Nonnull
+        @Override
+        double[] reverse(@Nonnull double[] values)
+        {
+            final int length = values.length;
+            final double[] answer = new double[length];
+            for (int i = 0; i < length; ++i) {
+                answer[length - 1 - i] = values[i];
+            }
+            return answer;
+        }
+
+        @Override
+        int hashCode(@Nonnull double[] values)
+        {
+            int answer = 0;
+            for (double value : values) {
+                answer = 31 * answer + Double.hashCode(value);
+            }
+            return answer;
+        }
+
+        @Override
+        boolean rangeEquals(@Nonnull double[] a,
+                            int aOffset,
+                            @Nonnull double[] b,
+                            int bOffset,
+                            int length)
+        {
+            return Arrays.equals(a, aOffset, aOffset + length, b, bOffset, bOffset + length);
+        }
+
+        @Override
+        void appendTo(@Nonnull StringBuilder sb,
+                      @Nonnull double[] values)
+        {
+            for (double value : values) {
+                sb.append(value).append(',');
+            }
+        }
+    };
+
+    @Nonnull
+    abstract A allocate(int length);
+
+    abstract int length(@Nonnull A values);
+
+    @Nonnull
+    abstract A reverse(@Nonnull A values);
+
+    /**
+     * Computes the hash code of the values using the java.util.List algorithm applied
+     * to the boxed equivalent of each value but starting from zero instead of one.
+     */
+    abstract int hashCode(@Nonnull A values);
+
+    abstract boolean rangeEquals(@Nonnull A a,
+                                 int aOffset,
+                                 @Nonnull A b,
+                                 int bOffset,
+                                 int length);
+
+    /**
+     * Appends each value followed by a comma to the StringBuilder.
+     */
+    abstract void appendTo(@Nonnull StringBuilder sb,
+                           @Nonnull A values);
+
+    @Nonnull
+    A copy(@Nonnull A values,
+           int offset,
+           int limit)
+    {
+        final A answer = allocate(limit - offset);
+        System.arraycopy(values, offset, answer, 0, limit - offset);
+        return answer;
+    }
+}
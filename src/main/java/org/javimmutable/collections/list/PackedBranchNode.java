@@ -0,0 +1,407 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.list;
+
+import org.javimmutable.collections.iterators.IteratorHelper;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import java.util.function.Consumer;
+
+/**
+ * Branch node using the same balancing rules as {@link BranchNode}.
+ */
+@Immutable
+class PackedBranchNode<A>
+    extends PackedNode<A>
+{
+    private final PackedNode<A> left;
+    private final PackedNode<A> right;
+    private final int size;
+    private final int depth;
+    private int listHashCode; // computed on first use, benign race as in String.hashCode()
+
+    PackedBranchNode(@Nonnull PackedNode<A> left,
+                     @Nonnull PackedNode<A> right)
+    {
+        this(left, right, left.size() + right.size());
+    }
+
+    PackedBranchNode(@Nonnull PackedNode<A> left,
+                     @Nonnull PackedNode<A> right,
+                     int size)
+    {
+        assert !left.isEmpty();
+        assert !right.isEmpty();
+
+        this.left = left;
+        this.right = right;
+        this.size = size;
+        this.depth = 1 + Math.max(left.depth(), right.depth());
+        assert size > MAX_SIZE;
+    }
+
+    /**
+     * Low level build a new node from the specified child nodes.
+     * Assumes that the two nodes are already in balance.  If the
+     * size of the resulting node is small enough a leaf is return.
+     * Otherwise a branch is returned.
+     */
+    @Nonnull
+    private static <A> PackedNode<A> join(@Nonnull PackedNode<A> left,
+                                          @Nonnull PackedNode<A> right)
+    {
+        assert Math.abs(left.depth() - right.depth()) <= 1;
+        final int size = left.size() + right.size();
+        if (size <= MAX_SIZE) {
+            return left.append(right);
+        } else {
+            return new PackedBranchNode<>(left, right, size);
+        }
+    }
+
+    /**
+     * Build a new node from the specified child nodes.  Performs rotations if necessary to ensure the tree
+     * remains in balance (depths of two child branches stay within 1 of each other).
+     */
+    @Nonnull
+    static <A> PackedNode<A> balance(@Nonnull PackedNode<A> left,
+                                     @Nonnull PackedNode<A> right)
+    {
+        final int diff = left.depth() - right.depth();
+        if (diff > 1) {
+            return rotateRight(left, right);
+        } else if (diff < -1) {
+            return rotateLeft(right, left);
+        } else {
+            return join(left, right);
+        }
+    }
+
+    @Override
+    boolean isEmpty()
+    {
+        return false;
+    }
+
+    @Override
+    int size()
+    {
+        return size;
+    }
+
+    @Override
+    int depth()
+    {
+        return depth;
+    }
+
+    @Override
+    int getInt(int index)
+    {
+        final int leftSize = left.size();
+        if (index < leftSize) {
+            return left.getInt(index);
+        } else {
+            return right.getInt(index - leftSize);
+        }
+    }
+
+    @Override
+    long getLong(int index)
+    {
+        final int leftSize = left.size();
+        if (index < leftSize) {
+            return left.getLong(index);
+        } else {
+            return right.getLong(index - leftSize);
+        }
+    }
+
+    @Override
+    double getDouble(int index)
+    {
+        final int leftSize = left.size();
+        if (index < leftSize) {
+            return left.getDouble(index);
+        } else {
+            return right.getDouble(index - leftSize);
+        }
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> append(@Nonnull PackedNode<A> node)
+    {
+        if (node.isEmpty()) {
+            return this;
+        }
+        final int diff = depth - node.depth();
+        if (diff < 0) {
+            return node.prepend(this);
+        } else if (diff <= 1) {
+            return new PackedBranchNode<>(this, node);
+        } else {
+            return balance(left, right.append(node));
+        }
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> prepend(@Nonnull PackedNode<A> node)
+    {
+        if (node.isEmpty()) {
+            return this;
+        }
+        final int diff = depth - node.depth();
+        if (diff < 0) {
+            return node.append(this);
+        } else if (diff <= 1) {
+            return new PackedBranchNode<>(node, this);
+        } else {
+            return balance(left.prepend(node), right);
+        }
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> assign(int index,
+                         @Nonnull A value)
+    {
+        final int leftSize = left.size();
+        if (index < leftSize) {
+            return new PackedBranchNode<>(left.assign(index, value), right, size);
+        } else {
+            return new PackedBranchNode<>(left, right.assign(index - leftSize, value), size);
+        }
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> insert(int index,
+                         @Nonnull A value)
+    {
+        final int leftSize = left.size();
+        if (index < leftSize) {
+            return balance(left.insert(index, value), right);
+        } else if (index == leftSize && leftSize <= right.size()) {
+            return balance(left.insert(index, value), right);
+        } else {
+            return balance(left, right.insert(index - leftSize, value));
+        }
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> delete(int index)
+    {
+        final int leftSize = left.size();
+        final PackedNode<A> newLeft, newRight;
+        if (index < leftSize) {
+            newLeft = left.delete(index);
+            newRight = right;
+            if (newLeft.isEmpty()) {
+                return right;
+            }
+        } else {
+            newLeft = left;
+            newRight = right.delete(index - leftSize);
+            if (newRight.isEmpty()) {
+                return left;
+            }
+        }
+        return balance(newLeft, newRight);
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> deleteFirst()
+    {
+        final PackedNode<A> newLeft = left.deleteFirst();
+        if (newLeft.isEmpty()) {
+            return right;
+        } else {
+            return balance(newLeft, right);
+        }
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> deleteLast()
+    {
+        final PackedNode<A> newRight = right.deleteLast();
+        if (newRight.isEmpty()) {
+            return left;
+        } else {
+            return balance(left, newRight);
+        }
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> prefix(int limit)
+    {
+        if (limit == size) {
+            return this;
+        } else if (limit == 0) {
+            return PackedEmptyNode.instance();
+        } else if (limit < 0 || limit > size) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            final int leftSize = left.size();
+            if (limit <= leftSize) {
+                return left.prefix(limit);
+            } else {
+                return left.append(right.prefix(limit - leftSize));
+            }
+        }
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> suffix(int offset)
+    {
+        if (offset == 0) {
+            return this;
+        } else if (offset == size) {
+            return PackedEmptyNode.instance();
+        } else if (offset < 0 || offset > size) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            final int leftSize = left.size();
+            if (offset < leftSize) {
+                return left.suffix(offset).append(right);
+            } else {
+                return right.suffix(offset - leftSize);
+            }
+        }
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> reverse()
+    {
+        return new PackedBranchNode<>(right.reverse(), left.reverse(), size);
+    }
+
+    @Override
+    void copyTo(@Nonnull A array,
+                int offset)
+    {
+        left.copyTo(array, offset);
+        right.copyTo(array, offset + left.size());
+    }
+
+    @Override
+    void forEachLeaf(@Nonnull Consumer<A> proc)
+    {
+        left.forEachLeaf(proc);
+        right.forEachLeaf(proc);
+    }
+
+    @Override
+    int listHashCode()
+    {
+        int answer = listHashCode;
+        if (answer == 0) {
+            answer = left.listHashCode() * IteratorHelper.pow31(right.size()) + right.listHashCode();
+            listHashCode = answer;
+        }
+        return answer;
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> left()
+    {
+        return left;
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> right()
+    {
+        return right;
+    }
+
+    @Nonnull
+    private static <A> PackedNode<A> rotateRight(@Nonnull PackedNode<A> node,
+                                                 @Nonnull PackedNode<A> parentRight)
+    {
+        final PackedNode<A> left = node.left();
+        final PackedNode<A> right = node.right();
+        if (left.depth() >= right.depth()) {
+            return join(left, join(right, parentRight));
+        } else {
+            return join(join(left, right.left()), join(right.right(), parentRight));
+        }
+    }
+
+    @Nonnull
+    private static <A> PackedNode<A> rotateLeft(@Nonnull PackedNode<A> node,
+                                                @Nonnull PackedNode<A> parentLeft)
+    {
+        final PackedNode<A> left = node.left();
+        final PackedNode<A> right = node.right();
+        if (left.depth() > right.depth()) {
+            return join(join(parentLeft, left.left()), join(left.right(), right));
+        } else {
+            return join(join(parentLeft, left), right);
+        }
+    }
+
+    @Override
+    public void checkInvariants()
+    {
+        if (depth != Math.max(left.depth(), right.depth()) + 1) {
+            throw new RuntimeException(String.format("incorrect depth: depth=%d leftDepth=%d rightDepth=%d", depth, left.depth(), right.depth()));
+        }
+        if (Math.abs(left.depth() - right.depth()) > 1) {
+            throw new RuntimeException(String.format("invalid child depths: leftDepth=%d rightDepth=%d", left.depth(), right.depth()));
+        }
+        if (size != left.size() + right.size()) {
+            throw new RuntimeException(String.format("incorrect size: size=%d leftSize=%d rightSize=%d", size, left.size(), right.size()));
+        }
+        if (size <= MAX_SIZE) {
+            throw new RuntimeException(String.format("invalid size: size=%d leftSize=%d rightSize=%d", size, left.size(), right.size()));
+        }
+        if (left.isEmpty() || right.isEmpty()) {
+            throw new RuntimeException(String.format("branch node has an empty branch: leftSize=%d rightSize=%d", left.size(), right.size()));
+        }
+        left.checkInvariants();
+        right.checkInvariants();
+    }
+}
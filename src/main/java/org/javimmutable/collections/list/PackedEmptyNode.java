@@ -0,0 +1,194 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.list;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import java.util.function.Consumer;
+
+@Immutable
+class PackedEmptyNode<A>
+    extends PackedNode<A>
+{
+    @SuppressWarnings("rawtypes")
+    private static final PackedEmptyNode INSTANCE = new PackedEmptyNode();
+
+    private PackedEmptyNode()
+    {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <A> PackedEmptyNode<A> instance()
+    {
+        return INSTANCE;
+    }
+
+    @Override
+    boolean isEmpty()
+    {
+        return true;
+    }
+
+    @Override
+    int size()
+    {
+        return 0;
+    }
+
+    @Override
+    int depth()
+    {
+        return 0;
+    }
+
+    @Override
+    int getInt(int index)
+    {
+        throw new IndexOutOfBoundsException();
+    }
+
+    @Override
+    long getLong(int index)
+    {
+        throw new IndexOutOfBoundsException();
+    }
+
+    @Override
+    double getDouble(int index)
+    {
+        throw new IndexOutOfBoundsException();
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> append(@Nonnull PackedNode<A> node)
+    {
+        return node;
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> prepend(@Nonnull PackedNode<A> node)
+    {
+        return node;
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> assign(int index,
+                         @Nonnull A value)
+    {
+        throw new IndexOutOfBoundsException();
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> insert(int index,
+                         @Nonnull A value)
+    {
+        throw new IndexOutOfBoundsException();
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> delete(int index)
+    {
+        throw new IndexOutOfBoundsException();
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> deleteFirst()
+    {
+        throw new IndexOutOfBoundsException();
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> deleteLast()
+    {
+        throw new IndexOutOfBoundsException();
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> prefix(int limit)
+    {
+        if (limit != 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> suffix(int offset)
+    {
+        if (offset != 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> reverse()
+    {
+        return this;
+    }
+
+    @Override
+    void copyTo(@Nonnull A array,
+                int offset)
+    {
+    }
+
+    @Override
+    void forEachLeaf(@Nonnull Consumer<A> proc)
+    {
+    }
+
+    @Override
+    int listHashCode()
+    {
+        return 0;
+    }
+
+    @Override
+    public void checkInvariants()
+    {
+    }
+}
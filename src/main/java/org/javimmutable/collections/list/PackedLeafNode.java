@@ -0,0 +1,292 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.list;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import java.util.function.Consumer;
+
+/**
+ * Leaf node containing between 1 and MAX_SIZE values stored in a primitive array.
+ */
+@Immutable
+class PackedLeafNode<A>
+    extends PackedNode<A>
+{
+    private final PackedArrayType<A> type;
+    private final A values;
+    private final int size;
+
+    /**
+     * Builds a leaf node using the provided array directly (i.e. not copied).
+     */
+    PackedLeafNode(@Nonnull PackedArrayType<A> type,
+                   @Nonnull A values)
+    {
+        this.type = type;
+        this.values = values;
+        this.size = type.length(values);
+        assert size > 0;
+        assert size <= MAX_SIZE;
+    }
+
+    /**
+     * Builds a leaf node using a new array populated by calling copyTo() on the two nodes.
+     * Total size of the two nodes must not exceed MAX_SIZE.
+     */
+    PackedLeafNode(@Nonnull PackedArrayType<A> type,
+                   @Nonnull PackedNode<A> left,
+                   @Nonnull PackedNode<A> right,
+                   int size)
+    {
+        assert size > 0;
+        assert size <= MAX_SIZE;
+        assert size == (left.size() + right.size());
+        this.type = type;
+        this.values = type.allocate(size);
+        this.size = size;
+        left.copyTo(values, 0);
+        right.copyTo(values, left.size());
+    }
+
+    @Override
+    boolean isEmpty()
+    {
+        return false;
+    }
+
+    @Override
+    int size()
+    {
+        return size;
+    }
+
+    @Override
+    int depth()
+    {
+        return 0;
+    }
+
+    @Override
+    int getInt(int index)
+    {
+        return ((int[])values)[index];
+    }
+
+    @Override
+    long getLong(int index)
+    {
+        return ((long[])values)[index];
+    }
+
+    @Override
+    double getDouble(int index)
+    {
+        return ((double[])values)[index];
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> append(@Nonnull PackedNode<A> node)
+    {
+        if (node.isEmpty()) {
+            return this;
+        } else if (node.depth() > 0) {
+            return node.prepend(this);
+        } else {
+            final int combinedSize = size + node.size();
+            if (combinedSize <= MAX_SIZE) {
+                return new PackedLeafNode<>(type, this, node, combinedSize);
+            } else {
+                return new PackedBranchNode<>(this, node, combinedSize);
+            }
+        }
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> prepend(@Nonnull PackedNode<A> node)
+    {
+        if (node.isEmpty()) {
+            return this;
+        } else if (node.depth() > 0) {
+            return node.append(this);
+        } else {
+            final int combinedSize = size + node.size();
+            if (combinedSize <= MAX_SIZE) {
+                return new PackedLeafNode<>(type, node, this, combinedSize);
+            } else {
+                return new PackedBranchNode<>(node, this, combinedSize);
+            }
+        }
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> assign(int index,
+                         @Nonnull A value)
+    {
+        checkIndex(index, size);
+        final A newValues = type.copy(values, 0, size);
+        System.arraycopy(value, 0, newValues, index, 1);
+        return new PackedLeafNode<>(type, newValues);
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> insert(int index,
+                         @Nonnull A value)
+    {
+        checkIndex(index, size + 1);
+        final A newValues = type.allocate(size + 1);
+        System.arraycopy(values, 0, newValues, 0, index);
+        System.arraycopy(value, 0, newValues, index, 1);
+        System.arraycopy(values, index, newValues, index + 1, size - index);
+        if (size < MAX_SIZE) {
+            return new PackedLeafNode<>(type, newValues);
+        } else {
+            final PackedLeafNode<A> left = new PackedLeafNode<>(type, type.copy(newValues, 0, SPLIT_SIZE));
+            final PackedLeafNode<A> right = new PackedLeafNode<>(type, type.copy(newValues, SPLIT_SIZE, size + 1));
+            return new PackedBranchNode<>(left, right);
+        }
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> delete(int index)
+    {
+        checkIndex(index, size);
+        if (size == 1) {
+            return PackedEmptyNode.instance();
+        } else {
+            final A newValues = type.allocate(size - 1);
+            System.arraycopy(values, 0, newValues, 0, index);
+            System.arraycopy(values, index + 1, newValues, index, size - index - 1);
+            return new PackedLeafNode<>(type, newValues);
+        }
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> deleteFirst()
+    {
+        return delete(0);
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> deleteLast()
+    {
+        return delete(size - 1);
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> prefix(int limit)
+    {
+        checkIndex(limit, size + 1);
+        if (limit == 0) {
+            return PackedEmptyNode.instance();
+        } else if (limit == size) {
+            return this;
+        } else {
+            return new PackedLeafNode<>(type, type.copy(values, 0, limit));
+        }
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> suffix(int offset)
+    {
+        checkIndex(offset, size + 1);
+        if (offset == 0) {
+            return this;
+        } else if (offset == size) {
+            return PackedEmptyNode.instance();
+        } else {
+            return new PackedLeafNode<>(type, type.copy(values, offset, size));
+        }
+    }
+
+    @Nonnull
+    @Override
+    PackedNode<A> reverse()
+    {
+        return (size == 1) ? this : new PackedLeafNode<>(type, type.reverse(values));
+    }
+
+    @Override
+    void copyTo(@Nonnull A array,
+                int offset)
+    {
+        System.arraycopy(values, 0, array, offset, size);
+    }
+
+    @Override
+    void forEachLeaf(@Nonnull Consumer<A> proc)
+    {
+        proc.accept(values);
+    }
+
+    @Override
+    int listHashCode()
+    {
+        return type.hashCode(values);
+    }
+
+    @Nonnull
+    @Override
+    A values()
+    {
+        return values;
+    }
+
+    @Override
+    public void checkInvariants()
+    {
+        if (size < 1 || size > MAX_SIZE || size != type.length(values)) {
+            throw new RuntimeException(String.format("incorrect size: size=%d length=%d", size, type.length(values)));
+        }
+    }
+
+    private static void checkIndex(int index,
+                                   int limit)
+    {
+        if (index < 0 || index >= limit) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.list;
+
+import org.javimmutable.collections.InvariantCheckable;
+
+import javax.annotation.Nonnull;
+import java.util.function.Consumer;
+
+/**
+ * Node in the balanced tree used by {@link IntList}, {@link LongList} and {@link DoubleList}.
+ * Follows the same structure as the tree used by {@link TreeList} except that leaves store
+ * their values in a primitive array of type A rather than as objects.  Methods that add or
+ * replace a single value receive it as a one element array so that the tree logic does not
+ * depend on the element type.
+ */
+abstract class PackedNode<A>
+    implements InvariantCheckable
+{
+    static final int MAX_SIZE = MultiValueNode.MAX_SIZE;
+    static final int SPLIT_SIZE = MultiValueNode.SPLIT_SIZE;
+
+    abstract boolean isEmpty();
+
+    abstract int size();
+
+    abstract int depth();
+
+    abstract int getInt(int index);
+
+    abstract long getLong(int index);
+
+    abstract double getDouble(int index);
+
+    @Nonnull
+    abstract PackedNode<A> append(@Nonnull PackedNode<A> node);
+
+    @Nonnull
+    abstract PackedNode<A> prepend(@Nonnull PackedNode<A> node);
+
+    @Nonnull
+    abstract PackedNode<A> assign(int index,
+                                  @Nonnull A value);
+
+    @Nonnull
+    abstract PackedNode<A> insert(int index,
+                                  @Nonnull A value);
+
+    @Nonnull
+    abstract PackedNode<A> delete(int index);
+
+    @Nonnull
+    abstract PackedNode<A> deleteFirst();
+
+    @Nonnull
+    abstract PackedNode<A> deleteLast();
+
+    @Nonnull
+    abstract PackedNode<A> prefix(int limit);
+
+    @Nonnull
+    abstract PackedNode<A> suffix(int offset);
+
+    @Nonnull
+    abstract PackedNode<A> reverse();
+
+    abstract void copyTo(@Nonnull A array,
+                         int offset);
+
+    /**
+     * Passes the value array of every leaf to proc in order.
+     */
+    abstract void forEachLeaf(@Nonnull Consumer<A> proc);
+
+    /**
+     * Computes the java.util.List hash code of the boxed values but starting from zero
+     * instead of one so that the hash codes of two adjacent nodes can be combined without
+     * revisiting their values.  Branches cache their result.
+     */
+    abstract int listHashCode();
+
+    @Nonnull
+    PackedNode<A> left()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Nonnull
+    PackedNode<A> right()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Nonnull
+    A values()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Determines whether two trees contain equal values in the same order regardless of
+     * how the values are divided among their leaves.
+     */
+    static <A> boolean sameValues(@Nonnull PackedArrayType<A> type,
+                                  @Nonnull PackedNode<A> a,
+                                  @Nonnull PackedNode<A> b)
+    {
+        if (a == b) {
+            return true;
+        }
+        final int size = a.size();
+        if (size != b.size()) {
+            return false;
+        }
+        final Cursor<A> aCursor = new Cursor<>(a);
+        final Cursor<A> bCursor = new Cursor<>(b);
+        int index = 0;
+        while (index < size) {
+            aCursor.seek(index);
+            bCursor.seek(index);
+            final int limit = Math.min(aCursor.limit, bCursor.limit);
+            if (!type.rangeEquals(aCursor.values, index - aCursor.offset, bCursor.values, index - bCursor.offset, limit - index)) {
+                return false;
+            }
+            index = limit;
+        }
+        return true;
+    }
+
+    /**
+     * Locates the leaf containing a given index.  After a call to seek() values contains the
+     * leaf's array and offset and limit are the list indexes of its first value and one past
+     * its last value.  Moving forward within the same leaf does not descend the tree again.
+     */
+    static class Cursor<A>
+    {
+        private final PackedNode<A> root;
+        A values;
+        int offset;
+        int limit;
+
+        Cursor(@Nonnull PackedNode<A> root)
+        {
+            this.root = root;
+        }
+
+        void seek(int index)
+        {
+            if (index >= offset && index < limit) {
+                return;
+            }
+            PackedNode<A> node = root;
+            int nodeOffset = 0;
+            while (node.depth() > 0) {
+                final PackedNode<A> left = node.left();
+                final int leftLimit = nodeOffset + left.size();
+                if (index < leftLimit) {
+                    node = left;
+                } else {
+                    node = node.right();
+                    nodeOffset = leftLimit;
+                }
+            }
+            values = node.values();
+            offset = nodeOffset;
+            limit = nodeOffset + node.size();
+        }
+    }
+}
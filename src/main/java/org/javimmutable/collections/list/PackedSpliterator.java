@@ -0,0 +1,104 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.list;
+
+import javax.annotation.Nonnull;
+import java.util.Spliterator;
+
+/**
+ * Base class for the primitive spliterators of {@link IntList}, {@link LongList} and
+ * {@link DoubleList}.  Each spliterator covers a range of indexes and splits by dividing
+ * the range in half.  Values are read directly from the leaf arrays located by a
+ * {@link PackedNode.Cursor} so no values are boxed.
+ */
+abstract class PackedSpliterator<A>
+{
+    static final int CHARACTERISTICS = Spliterator.ORDERED |
+                                       Spliterator.SIZED |
+                                       Spliterator.SUBSIZED |
+                                       Spliterator.IMMUTABLE |
+                                       Spliterator.NONNULL;
+
+    final PackedNode<A> root;
+    final PackedNode.Cursor<A> cursor;
+    final int limit;
+    int index;
+
+    PackedSpliterator(@Nonnull PackedNode<A> root,
+                      int offset,
+                      int limit)
+    {
+        assert offset >= 0 && offset <= limit && limit <= root.size();
+        this.root = root;
+        this.cursor = new PackedNode.Cursor<>(root);
+        this.limit = limit;
+        this.index = offset;
+    }
+
+    public long estimateSize()
+    {
+        return limit - index;
+    }
+
+    public int characteristics()
+    {
+        return CHARACTERISTICS;
+    }
+
+    /**
+     * Computes the index at which to split the remaining range or -1 if the
+     * range is too small to be worth splitting.
+     */
+    int splitIndex()
+    {
+        final int remaining = limit - index;
+        if (remaining <= PackedNode.MAX_SIZE) {
+            return -1;
+        } else {
+            return index + remaining / 2;
+        }
+    }
+
+    /**
+     * Positions the cursor at the leaf containing the current index and returns the
+     * index within the leaf's array just past the last value in this spliterator's range.
+     */
+    int seekLeaf()
+    {
+        cursor.seek(index);
+        return Math.min(limit, cursor.limit) - cursor.offset;
+    }
+}
@@ -35,48 +35,58 @@
 
 package org.javimmutable.collections.list;
 
-import org.javimmutable.collections.IList;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
 
-import java.util.ArrayList;
-import java.util.List;
-
-public class ListAppendTimingComparison
+/**
+ * Accumulates values into a leaf sized buffer and appends each full buffer to the tree
+ * as a new leaf.  Callers store each value in buffer at the index returned by reserve().
+ */
+@NotThreadSafe
+class PackedTreeBuilder<A>
 {
-    public static void main(String[] argv)
+    private final PackedArrayType<A> type;
+    final A buffer;
+    private int count;
+    private PackedNode<A> root;
+
+    PackedTreeBuilder(@Nonnull PackedArrayType<A> type)
+    {
+        this.type = type;
+        buffer = type.allocate(PackedNode.MAX_SIZE);
+        root = PackedEmptyNode.instance();
+    }
+
+    /**
+     * Returns the index in buffer at which the caller must store the next value.
+     */
+    int reserve()
+    {
+        if (count == PackedNode.MAX_SIZE) {
+            root = root.append(new PackedLeafNode<>(type, type.copy(buffer, 0, count)));
+            count = 0;
+        }
+        return count++;
+    }
+
+    int size()
     {
-        final Mode mode = (argv.length == 0) ? Mode.LAST : Mode.valueOf(argv[0].replace("-", "_").toUpperCase());
-        final long startMillis = System.currentTimeMillis();
-        runTest(mode);
-        final long elapsedMillis = System.currentTimeMillis() - startMillis;
-        System.out.printf("%s  %d%n", mode, elapsedMillis);
+        return root.size() + count;
     }
 
-    private enum Mode
+    void clear()
     {
-        FIRST,
-        MIDDLE,
-        LAST
+        root = PackedEmptyNode.instance();
+        count = 0;
     }
 
-    private static void runTest(Mode mode)
+    @Nonnull
+    PackedNode<A> build()
     {
-        for (int loop = 1; loop <= 10_000; ++loop) {
-            IList<Integer> list = TreeList.of();
-            List<Integer> extras = new ArrayList<>();
-            for (int length = 1; length <= 250; ++length) {
-                extras.add(length);
-                switch (mode) {
-                    case FIRST:
-                        list = list.insertAllFirst(extras);
-                        break;
-                    case MIDDLE:
-                        list = list.insertAll(list.size() / 2, extras);
-                        break;
-                    case LAST:
-                        list = list.insertAllLast(extras);
-                        break;
-                }
-            }
+        if (count == 0) {
+            return root;
+        } else {
+            return root.append(new PackedLeafNode<>(type, type.copy(buffer, 0, count)));
         }
     }
 }
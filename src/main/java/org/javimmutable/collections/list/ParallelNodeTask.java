@@ -0,0 +1,89 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.list;
+
+import org.javimmutable.collections.Func1;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Applies a sequential node operation to every subtree of a list in parallel.  Branches
+ * larger than the threshold are split into their left and right children which are
+ * processed as separate tasks and the resulting nodes are concatenated using
+ * {@link AbstractNode#append(AbstractNode)}.  Leaves and branches no larger than the
+ * threshold are passed to the operation directly.  When the operation returns both
+ * children unchanged the original branch is reused.
+ */
+class ParallelNodeTask<T, A>
+    extends RecursiveTask<AbstractNode<A>>
+{
+    private static final long serialVersionUID = -121805;
+
+    private final AbstractNode<T> node;
+    private final int threshold;
+    private final Func1<AbstractNode<T>, AbstractNode<A>> operation;
+
+    ParallelNodeTask(@Nonnull AbstractNode<T> node,
+                     int threshold,
+                     @Nonnull Func1<AbstractNode<T>, AbstractNode<A>> operation)
+    {
+        this.node = node;
+        this.threshold = threshold;
+        this.operation = operation;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected AbstractNode<A> compute()
+    {
+        if (node.depth() == 0 || node.size() <= threshold) {
+            return operation.apply(node);
+        }
+        final AbstractNode<T> left = node.left();
+        final AbstractNode<T> right = node.right();
+        final ParallelNodeTask<T, A> leftTask = new ParallelNodeTask<>(left, threshold, operation);
+        leftTask.fork();
+        final AbstractNode<A> newRight = new ParallelNodeTask<>(right, threshold, operation).compute();
+        final AbstractNode<A> newLeft = leftTask.join();
+        if (newLeft == (Object)left && newRight == (Object)right) {
+            return (AbstractNode<A>)node;
+        } else {
+            return newLeft.append(newRight);
+        }
+    }
+}
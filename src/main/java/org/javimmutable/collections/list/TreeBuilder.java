@@ -39,11 +39,11 @@ import org.javimmutable.collections.Indexed;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import javax.annotation.concurrent.ThreadSafe;
+import javax.annotation.concurrent.NotThreadSafe;
 import java.util.Arrays;
 import java.util.Iterator;
 
-@ThreadSafe
+@NotThreadSafe
 class TreeBuilder<T>
 {
     private final T[] buffer;
@@ -57,7 +57,7 @@ class TreeBuilder<T>
         buffer = (T[])new Object[MultiValueNode.MAX_SIZE];
     }
 
-    synchronized void clear()
+    void clear()
     {
         Arrays.fill(buffer, null);
         count = 0;
@@ -66,7 +66,7 @@ class TreeBuilder<T>
     }
 
     @Nonnull
-    synchronized AbstractNode<T> build()
+    AbstractNode<T> build()
     {
         AbstractNode<T> answer;
         switch (count) {
@@ -86,7 +86,7 @@ class TreeBuilder<T>
         return answer;
     }
 
-    synchronized int size()
+    int size()
     {
         return size;
     }
@@ -97,7 +97,7 @@ class TreeBuilder<T>
      * branch using the left node and proceeds further using the right node.
      * At the leaf all values are copied into the buffer.
      */
-    synchronized void rebuild(@Nonnull AbstractNode<T> node)
+    void rebuild(@Nonnull AbstractNode<T> node)
     {
         count = 0;
         size = node.size();
@@ -111,7 +111,7 @@ class TreeBuilder<T>
         }
     }
 
-    synchronized void add(T value)
+    void add(T value)
     {
         buffer[count++] = value;
         if (count == MultiValueNode.MAX_SIZE) {
@@ -126,27 +126,27 @@ class TreeBuilder<T>
         size += 1;
     }
 
-    synchronized void add(@Nonnull Iterator<? extends T> source)
+    void add(@Nonnull Iterator<? extends T> source)
     {
         while (source.hasNext()) {
             add(source.next());
         }
     }
 
-    synchronized void add(@Nonnull Iterable<? extends T> source)
+    void add(@Nonnull Iterable<? extends T> source)
     {
         add(source.iterator());
     }
 
     @SafeVarargs
-    final synchronized <K extends T> void add(K... source)
+    final <K extends T> void add(K... source)
     {
         for (K k : source) {
             add(k);
         }
     }
 
-    synchronized void add(@Nonnull Indexed<? extends T> source,
+    void add(@Nonnull Indexed<? extends T> source,
                           int offset,
                           int limit)
     {
@@ -173,7 +173,7 @@ class TreeBuilder<T>
         return builder.build();
     }
 
-    synchronized void checkInvariants()
+    void checkInvariants()
     {
         if (size != computeSize()) {
             throw new IllegalStateException("size mismatch");
@@ -47,6 +47,7 @@ import org.javimmutable.collections.Sum1Throws;
 import org.javimmutable.collections.common.ListAdaptor;
 import org.javimmutable.collections.common.MutableDelta;
 import org.javimmutable.collections.common.StreamConstants;
+import org.javimmutable.collections.common.ThreadOwner;
 import org.javimmutable.collections.iterators.IteratorHelper;
 import static org.javimmutable.collections.list.TreeBuilder.nodeFromIndexed;
 import static org.javimmutable.collections.list.TreeBuilder.nodeFromIterator;
@@ -55,10 +56,12 @@ import org.javimmutable.collections.serialization.TreeListProxy;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.NotThreadSafe;
 import javax.annotation.concurrent.ThreadSafe;
 import java.io.Serializable;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collector;
@@ -72,6 +75,12 @@ public class TreeList<T>
     private static final TreeList EMPTY = new TreeList(EmptyNode.instance());
     private static final long serialVersionUID = -121805;
 
+    /**
+     * Number of values at or below which the parallel methods stop splitting the tree
+     * and process a subtree sequentially.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 8192;
+
     private final AbstractNode<T> root;
 
     private TreeList(@Nonnull AbstractNode<T> root)
@@ -112,6 +121,12 @@ public class TreeList<T>
         return new ListBuilder<>();
     }
 
+    @Nonnull
+    public static <T> UnsynchronizedListBuilder<T> unsynchronizedListBuilder()
+    {
+        return new UnsynchronizedListBuilder<>();
+    }
+
     @Nonnull
     public static <T> Collector<T, ?, IList<T>> createListCollector()
     {
@@ -376,6 +391,136 @@ public class TreeList<T>
         }
     }
 
+    /**
+     * Same result as {@link #select(Predicate)} but subtrees are filtered in parallel using the
+     * common ForkJoinPool.  The predicate must be safe to call from multiple threads.
+     */
+    @Nonnull
+    public TreeList<T> parallelSelect(@Nonnull Predicate<T> predicate)
+    {
+        return parallelSelect(ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD, predicate);
+    }
+
+    /**
+     * Same result as {@link #select(Predicate)} but subtrees larger than threshold are split and
+     * filtered as separate tasks in the provided pool.  The filtered subtrees are concatenated
+     * in O(log n) time per join and subtrees containing no rejected values are reused as is.
+     * The predicate must be safe to call from multiple threads.
+     */
+    @Nonnull
+    public TreeList<T> parallelSelect(@Nonnull ForkJoinPool pool,
+                                      int threshold,
+                                      @Nonnull Predicate<T> predicate)
+    {
+        return parallelFilter(pool, threshold, predicate, true);
+    }
+
+    /**
+     * Same result as {@link #reject(Predicate)} but subtrees are filtered in parallel using the
+     * common ForkJoinPool.  The predicate must be safe to call from multiple threads.
+     */
+    @Nonnull
+    public TreeList<T> parallelReject(@Nonnull Predicate<T> predicate)
+    {
+        return parallelReject(ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD, predicate);
+    }
+
+    /**
+     * Same result as {@link #reject(Predicate)} but subtrees larger than threshold are split and
+     * filtered as separate tasks in the provided pool.  The predicate must be safe to call from
+     * multiple threads.
+     */
+    @Nonnull
+    public TreeList<T> parallelReject(@Nonnull ForkJoinPool pool,
+                                      int threshold,
+                                      @Nonnull Predicate<T> predicate)
+    {
+        return parallelFilter(pool, threshold, predicate, false);
+    }
+
+    /**
+     * Same result as {@link #transform(Func1)} but subtrees are transformed in parallel using the
+     * common ForkJoinPool.  The transform must be safe to call from multiple threads.
+     */
+    @Nonnull
+    public <A> TreeList<A> parallelTransform(@Nonnull Func1<T, A> transform)
+    {
+        return parallelTransform(ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD, transform);
+    }
+
+    /**
+     * Same result as {@link #transform(Func1)} but subtrees larger than threshold are split and
+     * transformed as separate tasks in the provided pool.  The transform must be safe to call
+     * from multiple threads.
+     */
+    @Nonnull
+    public <A> TreeList<A> parallelTransform(@Nonnull ForkJoinPool pool,
+                                             int threshold,
+                                             @Nonnull Func1<T, A> transform)
+    {
+        return parallelApply(pool, threshold, node -> {
+            final TreeBuilder<A> builder = new TreeBuilder<>();
+            node.forEach(t -> builder.add(transform.apply(t)));
+            return builder.build();
+        });
+    }
+
+    /**
+     * Same result as {@link #transformSome(Func1)} but subtrees are transformed in parallel using
+     * the common ForkJoinPool.  The transform must be safe to call from multiple threads.
+     */
+    @Nonnull
+    public <A> TreeList<A> parallelTransformSome(@Nonnull Func1<T, Maybe<A>> transform)
+    {
+        return parallelTransformSome(ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD, transform);
+    }
+
+    /**
+     * Same result as {@link #transformSome(Func1)} but subtrees larger than threshold are split
+     * and transformed as separate tasks in the provided pool.  The transform must be safe to call
+     * from multiple threads.
+     */
+    @Nonnull
+    public <A> TreeList<A> parallelTransformSome(@Nonnull ForkJoinPool pool,
+                                                 int threshold,
+                                                 @Nonnull Func1<T, Maybe<A>> transform)
+    {
+        return parallelApply(pool, threshold, node -> {
+            final TreeBuilder<A> builder = new TreeBuilder<>();
+            node.forEach(t -> transform.apply(t).apply(tt -> builder.add(tt)));
+            return builder.build();
+        });
+    }
+
+    @Nonnull
+    private TreeList<T> parallelFilter(@Nonnull ForkJoinPool pool,
+                                       int threshold,
+                                       @Nonnull Predicate<T> predicate,
+                                       boolean keep)
+    {
+        final TreeList<T> answer = parallelApply(pool, threshold, node -> {
+            final TreeBuilder<T> builder = new TreeBuilder<>();
+            node.forEach(value -> {
+                if (predicate.test(value) == keep) {
+                    builder.add(value);
+                }
+            });
+            return builder.size() == node.size() ? node : builder.build();
+        });
+        return answer.root == root ? this : answer;
+    }
+
+    @Nonnull
+    private <A> TreeList<A> parallelApply(@Nonnull ForkJoinPool pool,
+                                          int threshold,
+                                          @Nonnull Func1<AbstractNode<T>, AbstractNode<A>> operation)
+    {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be positive");
+        }
+        return create(pool.invoke(new ParallelNodeTask<>(root, threshold, operation)));
+    }
+
     @Nonnull
     @Override
     public TreeList<T> prefix(int limit)
@@ -449,16 +594,31 @@ public class TreeList<T>
         return StreamConstants.SPLITERATOR_ORDERED;
     }
 
+    /**
+     * Lists that differ in size or hash code are rejected without examining their values.
+     * The hash codes of two TreeLists are generally already cached in their nodes.  Otherwise
+     * two TreeLists are compared by walking their trees and skipping the subtrees they share.
+     */
     @Override
     public boolean equals(Object o)
     {
-        return (o == this) || ((o instanceof IList) && IteratorHelper.iteratorEquals(iterator(), ((IList)o).iterator()));
+        if (o == this) {
+            return true;
+        }
+        if (o instanceof TreeList) {
+            final TreeList<?> other = (TreeList<?>)o;
+            if (size() != other.size() || hashCode() != other.hashCode()) {
+                return false;
+            }
+            return AbstractNode.sameValues(root, other.root);
+        }
+        return (o instanceof IList) && IteratorHelper.iteratorEquals(iterator(), ((IList)o).iterator());
     }
 
     @Override
     public int hashCode()
     {
-        return IteratorHelper.iteratorHashCode(iterator());
+        return root.listHashCode();
     }
 
     @Override
@@ -498,6 +658,12 @@ public class TreeList<T>
         root.forEachThrows(proc);
     }
 
+    @Override
+    public boolean forEachWhile(@Nonnull Predicate<? super T> predicate)
+    {
+        return root.forEachWhile(predicate);
+    }
+
     @Override
     public <V> V reduce(V initialValue,
                         Func2<V, T, V> accumulator)
@@ -521,7 +687,7 @@ public class TreeList<T>
 
         @Nonnull
         @Override
-        public TreeList<T> build()
+        public synchronized TreeList<T> build()
         {
             return create(builder.build());
         }
@@ -529,78 +695,185 @@ public class TreeList<T>
         @Nonnull
         public ListBuilder<T> combineWith(@Nonnull ListBuilder<T> other)
         {
-            AbstractNode<T> myRoot = builder.build();
-            AbstractNode<T> theirRoot = other.builder.build();
-            builder.rebuild(myRoot.append(theirRoot));
+            final AbstractNode<T> theirRoot = other.buildRoot();
+            synchronized (this) {
+                builder.rebuild(builder.build().append(theirRoot));
+            }
+            return this;
+        }
+
+        @Override
+        public synchronized int size()
+        {
+            return builder.size();
+        }
+
+        @Nonnull
+        @Override
+        public synchronized ListBuilder<T> add(T value)
+        {
+            builder.add(value);
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public synchronized ListBuilder<T> addAll(Iterator<? extends T> source)
+        {
+            builder.add(source);
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public synchronized ListBuilder<T> addAll(Iterable<? extends T> source)
+        {
+            builder.add(source);
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public synchronized <K extends T> ListBuilder<T> addAll(K... source)
+        {
+            builder.add(source);
             return this;
         }
 
+        @Nonnull
+        @Override
+        public synchronized ListBuilder<T> addAll(Indexed<? extends T> source,
+                                                  int offset,
+                                                  int limit)
+        {
+            builder.add(source, offset, limit);
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public synchronized ListBuilder<T> addAll(Indexed<? extends T> source)
+        {
+            builder.add(source, 0, source.size());
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public synchronized ListBuilder<T> clear()
+        {
+            builder.clear();
+            return this;
+        }
+
+        public synchronized void checkInvariants()
+        {
+            builder.checkInvariants();
+        }
+
+        @Nonnull
+        private synchronized AbstractNode<T> buildRoot()
+        {
+            return builder.build();
+        }
+    }
+
+    /**
+     * Version of {@link ListBuilder} for use by a single thread.  Its methods do not
+     * synchronize.  When assertions are enabled every method verifies that it is
+     * being called by the thread that created the builder.
+     */
+    @NotThreadSafe
+    public static class UnsynchronizedListBuilder<T>
+        implements IListBuilder<T>
+    {
+        private final TreeBuilder<T> builder = new TreeBuilder<>();
+        private final ThreadOwner owner = new ThreadOwner();
+
+        @Nonnull
+        @Override
+        public TreeList<T> build()
+        {
+            assert owner.verify();
+            return create(builder.build());
+        }
+
         @Override
         public int size()
         {
+            assert owner.verify();
             return builder.size();
         }
 
         @Nonnull
         @Override
-        public ListBuilder<T> add(T value)
+        public UnsynchronizedListBuilder<T> add(T value)
         {
+            assert owner.verify();
             builder.add(value);
             return this;
         }
 
         @Nonnull
         @Override
-        public ListBuilder<T> addAll(Iterator<? extends T> source)
+        public UnsynchronizedListBuilder<T> addAll(Iterator<? extends T> source)
         {
+            assert owner.verify();
             builder.add(source);
             return this;
         }
 
         @Nonnull
         @Override
-        public ListBuilder<T> addAll(Iterable<? extends T> source)
+        public UnsynchronizedListBuilder<T> addAll(Iterable<? extends T> source)
         {
+            assert owner.verify();
             builder.add(source);
             return this;
         }
 
         @Nonnull
         @Override
-        public <K extends T> ListBuilder<T> addAll(K... source)
+        @SuppressWarnings("unchecked")
+        public <K extends T> UnsynchronizedListBuilder<T> addAll(K... source)
         {
+            assert owner.verify();
             builder.add(source);
             return this;
         }
 
         @Nonnull
         @Override
-        public ListBuilder<T> addAll(Indexed<? extends T> source,
-                                     int offset,
-                                     int limit)
+        public UnsynchronizedListBuilder<T> addAll(Indexed<? extends T> source,
+                                                   int offset,
+                                                   int limit)
         {
+            assert owner.verify();
             builder.add(source, offset, limit);
             return this;
         }
 
         @Nonnull
         @Override
-        public ListBuilder<T> addAll(Indexed<? extends T> source)
+        public UnsynchronizedListBuilder<T> addAll(Indexed<? extends T> source)
         {
+            assert owner.verify();
             builder.add(source, 0, source.size());
             return this;
         }
 
         @Nonnull
         @Override
-        public ListBuilder<T> clear()
+        public UnsynchronizedListBuilder<T> clear()
         {
+            assert owner.verify();
             builder.clear();
             return this;
         }
 
         public void checkInvariants()
         {
+            assert owner.verify();
             builder.checkInvariants();
         }
     }
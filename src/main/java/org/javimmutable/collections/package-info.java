@@ -10,6 +10,7 @@
  *     <li>{@link org.javimmutable.collections.ISets}</li>
  *     <li>{@link org.javimmutable.collections.IDeques}</li>
  *     <li>{@link org.javimmutable.collections.IArrays}</li>
+ *     <li>{@link org.javimmutable.collections.ILongArrays}</li>
  *     <li>{@link org.javimmutable.collections.IMultisets}</li>
  *     <li>{@link org.javimmutable.collections.IListMaps}</li>
  *     <li>{@link org.javimmutable.collections.ISetMaps}</li>
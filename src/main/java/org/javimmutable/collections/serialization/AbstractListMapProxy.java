@@ -43,7 +43,9 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 @SuppressWarnings("unchecked")
 abstract class AbstractListMapProxy
@@ -51,6 +53,7 @@ abstract class AbstractListMapProxy
 {
     private static final int MAP_VERSION = 1001;
     private static final long serialVersionUID = -121805;
+    private static final int MAX_INITIAL_CAPACITY = 1024;
 
     protected IListMap map;
 
@@ -91,11 +94,14 @@ abstract class AbstractListMapProxy
         for (int i = 0; i < size; ++i) {
             final Object key = in.readObject();
             final int listSize = in.readInt();
-            IList values = map.getList(key);
+            if (listSize < 0) {
+                throw new IOException("invalid size: expected a non-negative number found " + listSize);
+            }
+            final List<Object> values = new ArrayList<>(Math.min(listSize, MAX_INITIAL_CAPACITY));
             for (int k = 0; k < listSize; ++k) {
-                values = values.insertLast(in.readObject());
+                values.add(in.readObject());
             }
-            map = map.assign(key, values);
+            map = map.assign(key, map.getList(key).insertAllLast(values));
         }
     }
 
@@ -36,6 +36,7 @@
 package org.javimmutable.collections.serialization;
 
 import org.javimmutable.collections.IMap;
+import org.javimmutable.collections.IMapBuilder;
 import org.javimmutable.collections.IMapEntry;
 
 import java.io.Externalizable;
@@ -74,6 +75,7 @@ abstract class AbstractMapProxy
     }
 
     @Override
+    @SuppressWarnings("rawtypes")
     public void readExternal(ObjectInput in)
         throws IOException, ClassNotFoundException
     {
@@ -83,10 +85,14 @@ abstract class AbstractMapProxy
         }
         map = readMap(in);
         final int size = in.readInt();
-        for (int i = 0; i < size; ++i) {
-            final Object key = in.readObject();
-            final Object value = in.readObject();
-            map = map.assign(key, value);
+        if (size > 0) {
+            final IMapBuilder builder = createBuilder();
+            for (int i = 0; i < size; ++i) {
+                final Object key = in.readObject();
+                final Object value = in.readObject();
+                builder.add(key, value);
+            }
+            map = builder.build();
         }
     }
 
@@ -105,4 +111,14 @@ abstract class AbstractMapProxy
         throws IOException
     {
     }
+
+    /**
+     * Called after readMap() to obtain a builder used to load the map's entries.
+     * Entries are added in the same order they were written.
+     */
+    @SuppressWarnings("rawtypes")
+    protected IMapBuilder createBuilder()
+    {
+        return map.mapBuilder();
+    }
 }
@@ -37,6 +37,7 @@ package org.javimmutable.collections.serialization;
 
 import org.javimmutable.collections.IMapEntry;
 import org.javimmutable.collections.IMultiset;
+import org.javimmutable.collections.common.AbstractMultiset;
 
 import java.io.Externalizable;
 import java.io.IOException;
@@ -74,6 +75,7 @@ abstract class AbstractMultisetProxy
     }
 
     @Override
+    @SuppressWarnings("rawtypes")
     public void readExternal(ObjectInput in)
         throws IOException, ClassNotFoundException
     {
@@ -83,10 +85,22 @@ abstract class AbstractMultisetProxy
         }
         set = readSet(in);
         final int size = in.readInt();
-        for (int i = 0; i < size; ++i) {
-            final Object key = in.readObject();
-            final int count = in.readInt();
-            set = set.insert(key, count);
+        if (size > 0) {
+            final AbstractMultiset multiset = (AbstractMultiset)set;
+            final AbstractMultiset.CountsBuilder counts = multiset.countsBuilder();
+            for (int i = 0; i < size; ++i) {
+                final Object key = in.readObject();
+                final int count = in.readInt();
+                if (count <= 0) {
+                    throw new IOException("invalid count: expected a positive number found " + count);
+                }
+                counts.add(key, count);
+            }
+            try {
+                set = counts.build();
+            } catch (IllegalArgumentException ex) {
+                throw new IOException(ex.getMessage());
+            }
         }
     }
 
@@ -36,13 +36,14 @@
 package org.javimmutable.collections.serialization;
 
 import org.javimmutable.collections.ISet;
+import org.javimmutable.collections.ISetBuilder;
 
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 
-@SuppressWarnings("rawtypes")
+@SuppressWarnings({"rawtypes", "unchecked"})
 abstract class AbstractSetProxy
     implements Externalizable
 {
@@ -78,8 +79,12 @@ abstract class AbstractSetProxy
         }
         set = readSet(in);
         final int size = in.readInt();
-        for (int i = 0; i < size; ++i) {
-            set = set.insert(in.readObject());
+        if (size > 0) {
+            final ISetBuilder builder = createBuilder();
+            for (int i = 0; i < size; ++i) {
+                builder.add(in.readObject());
+            }
+            set = builder.build();
         }
     }
 
@@ -98,4 +103,10 @@ abstract class AbstractSetProxy
         throws IOException
     {
     }
+
+    /**
+     * Called after readSet() to obtain a builder used to load the set's values.
+     * Values are added in the same order they were written.
+     */
+    protected abstract ISetBuilder createBuilder();
 }
@@ -33,47 +33,49 @@
 // (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
 // OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
-package org.javimmutable.collections.hash;
+package org.javimmutable.collections.serialization;
 
+import org.javimmutable.collections.HashStrategy;
 import org.javimmutable.collections.IMap;
+import org.javimmutable.collections.hash.HashMap;
 
-import java.util.Random;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 
-public final class TimingLoop
+/**
+ * Serialization proxy class to safely serialize immutable collection.
+ * Used for hash maps with a non-standard {@link HashStrategy}, which must be serializable.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class CustomHashMapProxy
+    extends AbstractMapProxy
 {
-    private TimingLoop()
+    private static final long serialVersionUID = -121805;
+
+    public CustomHashMapProxy()
+    {
+        super(HashMap.of());
+    }
+
+    public CustomHashMapProxy(HashMap map)
+    {
+        super(map);
+    }
+
+    @Override
+    protected IMap readMap(ObjectInput in)
+        throws IOException, ClassNotFoundException
     {
+        HashStrategy strategy = (HashStrategy)in.readObject();
+        return HashMap.of(strategy);
     }
 
-    public static void main(String[] args)
+    @Override
+    protected void writeMap(ObjectOutput out)
+        throws IOException
     {
-        final int maxLoops = 250000;
-        final int maxKey = 999999999;
-        final int maxValue = 999999999;
-        Random random = new Random(1000);
-        int adds = 0;
-        int removes = 0;
-        int gets = 0;
-        long startPer = System.currentTimeMillis();
-        IMap<Integer, Integer> map = HashMap.of();
-        for (int i = 1; i <= maxLoops; ++i) {
-            int command = random.nextInt(8);
-            if (command <= 1) {
-                Integer key = random.nextInt(maxKey);
-                Integer value = random.nextInt(maxValue);
-                map = map.assign(key, value);
-                adds += 1;
-            } else if (command == 2) {
-                Integer key = random.nextInt(maxKey);
-                map = map.delete(key);
-                removes += 1;
-            } else {
-                Integer key = random.nextInt(maxKey);
-                map.find(key);
-                gets += 1;
-            }
-        }
-        long endPer = System.currentTimeMillis();
-        System.out.printf("phm adds %d removes %d gets %d elapsed %d%n", adds, removes, gets, (endPer - startPer));
+        HashMap hashMap = (HashMap)map;
+        out.writeObject(hashMap.getHashStrategy());
     }
 }
@@ -35,6 +35,7 @@
 
 package org.javimmutable.collections.serialization;
 
+import org.javimmutable.collections.IMapBuilder;
 import org.javimmutable.collections.hash.EmptyHashMap;
 import org.javimmutable.collections.hash.HashMap;
 
@@ -61,4 +62,10 @@ public class HashMapProxy
     {
         super(map);
     }
+
+    @Override
+    protected IMapBuilder createBuilder()
+    {
+        return HashMap.unsynchronizedBuilder();
+    }
 }
@@ -35,6 +35,7 @@
 
 package org.javimmutable.collections.serialization;
 
+import org.javimmutable.collections.ISetBuilder;
 import org.javimmutable.collections.hash.HashSet;
 
 @SuppressWarnings("rawtypes")
@@ -52,4 +53,10 @@ public class HashSetProxy
     {
         super(set);
     }
+
+    @Override
+    protected ISetBuilder createBuilder()
+    {
+        return HashSet.unsynchronizedBuilder();
+    }
 }
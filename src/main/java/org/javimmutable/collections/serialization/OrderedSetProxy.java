@@ -35,6 +35,7 @@
 
 package org.javimmutable.collections.serialization;
 
+import org.javimmutable.collections.ISetBuilder;
 import org.javimmutable.collections.inorder.OrderedSet;
 
 public class OrderedSetProxy
@@ -51,4 +52,11 @@ public class OrderedSetProxy
     {
         super(set);
     }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    protected ISetBuilder createBuilder()
+    {
+        return OrderedSet.unsynchronizedBuilder();
+    }
 }
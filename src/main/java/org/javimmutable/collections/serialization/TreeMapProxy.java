@@ -36,6 +36,7 @@
 package org.javimmutable.collections.serialization;
 
 import org.javimmutable.collections.IMap;
+import org.javimmutable.collections.IMapBuilder;
 import org.javimmutable.collections.tree.TreeMap;
 
 import java.io.IOException;
@@ -77,4 +78,15 @@ public class TreeMapProxy
         TreeMap treeMap = (TreeMap)map;
         out.writeObject(treeMap.getComparator());
     }
+
+    /**
+     * Entries are written in sorted order so the map can be built in linear time.
+     */
+    @Override
+    @SuppressWarnings("rawtypes")
+    protected IMapBuilder createBuilder()
+    {
+        TreeMap treeMap = (TreeMap)map;
+        return TreeMap.presortedBuilder(treeMap.getComparator());
+    }
 }
@@ -36,6 +36,7 @@
 package org.javimmutable.collections.serialization;
 
 import org.javimmutable.collections.ISet;
+import org.javimmutable.collections.ISetBuilder;
 import org.javimmutable.collections.tree.TreeSet;
 
 import java.io.IOException;
@@ -74,4 +75,15 @@ public class TreeSetProxy
         TreeSet treeSet = (TreeSet)set;
         out.writeObject(treeSet.getComparator());
     }
+
+    /**
+     * Values are written in sorted order so the set can be built in linear time.
+     */
+    @Override
+    @SuppressWarnings("rawtypes")
+    protected ISetBuilder createBuilder()
+    {
+        TreeSet treeSet = (TreeSet)set;
+        return TreeSet.presortedBuilder(treeSet.getComparator());
+    }
 }
@@ -36,7 +36,9 @@
 package org.javimmutable.collections.tree;
 
 import org.javimmutable.collections.Func1;
+import org.javimmutable.collections.IMapCursor;
 import org.javimmutable.collections.IMapEntry;
+import org.javimmutable.collections.MapDiffVisitor;
 import org.javimmutable.collections.Maybe;
 import org.javimmutable.collections.Proc2;
 import org.javimmutable.collections.Proc2Throws;
@@ -51,7 +53,12 @@ import org.javimmutable.collections.iterators.IteratorHelper;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiPredicate;
 
 abstract class AbstractNode<K, V>
     implements SplitableIterable<IMapEntry<K, V>>,
@@ -117,6 +124,15 @@ abstract class AbstractNode<K, V>
 
     abstract void checkInvariants(@Nonnull Comparator<K> comp);
 
+    /**
+     * Computes the sum of the hash codes of the entries in this tree.  If keysOnly is true
+     * each entry contributes the hash code of its key (the java.util.Set contract) otherwise
+     * it contributes the xor of its key and value hash codes (the java.util.Map contract).
+     * ValueNodes cache the result so a given tree must always be hashed in the same mode.
+     * TreeMap always uses entries and TreeSet always uses keys only.
+     */
+    abstract int hashCodeSum(boolean keysOnly);
+
     @Override
     public int hashCode()
     {
@@ -134,6 +150,13 @@ abstract class AbstractNode<K, V>
     abstract <E extends Exception> void forEachThrows(@Nonnull Proc2Throws<K, V, E> proc)
         throws E;
 
+    /**
+     * Passes entries to predicate in key order until it returns false.
+     *
+     * @return true if predicate returned true for every entry
+     */
+    abstract boolean forEachWhile(@Nonnull BiPredicate<K, V> predicate);
+
     abstract <R> R reduce(R sum,
                           @Nonnull Sum2<K, V, R> proc);
 
@@ -151,6 +174,441 @@ abstract class AbstractNode<K, V>
         return sb.toString();
     }
 
+    /**
+     * Reports the differences between two trees to visitor.  Both trees are consumed in key order
+     * by splitting the larger of the two pending subtrees until both sides present the same
+     * subtree object (which is skipped entirely) or single entries that can be compared directly.
+     * Since persistent updates share every subtree they did not touch the cost is proportional
+     * to the number of changes times the depth of the trees.
+     */
+    static <K, V> void diff(@Nonnull Comparator<K> comp,
+                            @Nonnull AbstractNode<K, V> oldRoot,
+                            @Nonnull AbstractNode<K, V> newRoot,
+                            @Nonnull MapDiffVisitor<K, V> visitor)
+    {
+        final DiffCursor<K, V> oldCursor = new DiffCursor<>(oldRoot);
+        final DiffCursor<K, V> newCursor = new DiffCursor<>(newRoot);
+        while (true) {
+            final AbstractNode<K, V> oldNode = oldCursor.peek();
+            final AbstractNode<K, V> newNode = newCursor.peek();
+            if (oldNode == null) {
+                if (newNode == null) {
+                    break;
+                }
+                newCursor.pop();
+                newNode.forEach(visitor::added);
+            } else if (newNode == null) {
+                oldCursor.pop();
+                oldNode.forEach(visitor::removed);
+            } else if (oldNode == newNode) {
+                oldCursor.pop();
+                newCursor.pop();
+            } else if (oldNode.size() > 1 || newNode.size() > 1) {
+                if (oldNode.size() >= newNode.size()) {
+                    oldCursor.split();
+                } else {
+                    newCursor.split();
+                }
+            } else {
+                final int diff = comp.compare(oldNode.key(), newNode.key());
+                if (diff < 0) {
+                    oldCursor.pop();
+                    visitor.removed(oldNode.key(), oldNode.value());
+                } else if (diff > 0) {
+                    newCursor.pop();
+                    visitor.added(newNode.key(), newNode.value());
+                } else {
+                    oldCursor.pop();
+                    newCursor.pop();
+                    if (!Objects.equals(oldNode.value(), newNode.value())) {
+                        visitor.changed(oldNode.key(), oldNode.value(), newNode.value());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Determines whether two trees contain equal keys mapped to equal values using the
+     * same traversal as {@link #diff}.  Subtrees shared by the two trees are skipped so
+     * comparing two versions of a map costs time proportional to the number of changes.
+     */
+    static <K, V> boolean sameEntries(@Nonnull Comparator<K> comp,
+                                      @Nonnull AbstractNode<K, V> aRoot,
+                                      @Nonnull AbstractNode<K, V> bRoot)
+    {
+        if (aRoot.size() != bRoot.size()) {
+            return false;
+        }
+        final DiffCursor<K, V> aCursor = new DiffCursor<>(aRoot);
+        final DiffCursor<K, V> bCursor = new DiffCursor<>(bRoot);
+        while (true) {
+            final AbstractNode<K, V> aNode = aCursor.peek();
+            final AbstractNode<K, V> bNode = bCursor.peek();
+            if (aNode == null || bNode == null) {
+                return aNode == bNode;
+            } else if (aNode == bNode) {
+                aCursor.pop();
+                bCursor.pop();
+            } else if (aNode.size() > 1 || bNode.size() > 1) {
+                if (aNode.size() >= bNode.size()) {
+                    aCursor.split();
+                } else {
+                    bCursor.split();
+                }
+            } else if (comp.compare(aNode.key(), bNode.key()) != 0 || !Objects.equals(aNode.value(), bNode.value())) {
+                return false;
+            } else {
+                aCursor.pop();
+                bCursor.pop();
+            }
+        }
+    }
+
+    /**
+     * Finds the node with the greatest key less than (or equal to if inclusive) key.
+     *
+     * @return the matching node or null if there is none
+     */
+    @Nullable
+    static <K, V> AbstractNode<K, V> floor(@Nonnull Comparator<K> comp,
+                                           @Nonnull AbstractNode<K, V> node,
+                                           @Nonnull K key,
+                                           boolean inclusive)
+    {
+        AbstractNode<K, V> answer = null;
+        while (!node.isEmpty()) {
+            final int diff = comp.compare(key, node.key());
+            if (diff > 0 || (diff == 0 && inclusive)) {
+                answer = node;
+                node = node.right();
+            } else {
+                node = node.left();
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Finds the node with the smallest key greater than (or equal to if inclusive) key.
+     *
+     * @return the matching node or null if there is none
+     */
+    @Nullable
+    static <K, V> AbstractNode<K, V> ceiling(@Nonnull Comparator<K> comp,
+                                             @Nonnull AbstractNode<K, V> node,
+                                             @Nonnull K key,
+                                             boolean inclusive)
+    {
+        AbstractNode<K, V> answer = null;
+        while (!node.isEmpty()) {
+            final int diff = comp.compare(key, node.key());
+            if (diff < 0 || (diff == 0 && inclusive)) {
+                answer = node;
+                node = node.left();
+            } else {
+                node = node.right();
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Finds the node with the smallest key in the tree.
+     *
+     * @return the matching node or null if the tree is empty
+     */
+    @Nullable
+    static <K, V> AbstractNode<K, V> first(@Nonnull AbstractNode<K, V> node)
+    {
+        AbstractNode<K, V> answer = null;
+        while (!node.isEmpty()) {
+            answer = node;
+            node = node.left();
+        }
+        return answer;
+    }
+
+    /**
+     * Finds the node with the largest key in the tree.
+     *
+     * @return the matching node or null if the tree is empty
+     */
+    @Nullable
+    static <K, V> AbstractNode<K, V> last(@Nonnull AbstractNode<K, V> node)
+    {
+        AbstractNode<K, V> answer = null;
+        while (!node.isEmpty()) {
+            answer = node;
+            node = node.right();
+        }
+        return answer;
+    }
+
+    /**
+     * Creates a tree containing only the keys less than (or equal to if inclusive) key.
+     * Subtrees entirely below key are shared with the original tree so only the nodes
+     * along the search path are replaced.
+     */
+    @Nonnull
+    static <K, V> AbstractNode<K, V> head(@Nonnull Comparator<K> comp,
+                                          @Nonnull AbstractNode<K, V> node,
+                                          @Nonnull K key,
+                                          boolean inclusive)
+    {
+        if (node.isEmpty()) {
+            return node;
+        }
+        final int diff = comp.compare(node.key(), key);
+        if (diff < 0 || (diff == 0 && inclusive)) {
+            final AbstractNode<K, V> right = node.right();
+            final AbstractNode<K, V> newRight = head(comp, right, key, inclusive);
+            return (newRight == right) ? node : ValueNode.join(node.key(), node.value(), node.left(), newRight);
+        } else if (diff == 0) {
+            return node.left();
+        } else {
+            return head(comp, node.left(), key, inclusive);
+        }
+    }
+
+    /**
+     * Creates a tree containing only the keys greater than (or equal to if inclusive) key.
+     * Subtrees entirely above key are shared with the original tree so only the nodes
+     * along the search path are replaced.
+     */
+    @Nonnull
+    static <K, V> AbstractNode<K, V> tail(@Nonnull Comparator<K> comp,
+                                          @Nonnull AbstractNode<K, V> node,
+                                          @Nonnull K key,
+                                          boolean inclusive)
+    {
+        if (node.isEmpty()) {
+            return node;
+        }
+        final int diff = comp.compare(node.key(), key);
+        if (diff > 0 || (diff == 0 && inclusive)) {
+            final AbstractNode<K, V> left = node.left();
+            final AbstractNode<K, V> newLeft = tail(comp, left, key, inclusive);
+            return (newLeft == left) ? node : ValueNode.join(node.key(), node.value(), newLeft, node.right());
+        } else if (diff == 0) {
+            return node.right();
+        } else {
+            return tail(comp, node.right(), key, inclusive);
+        }
+    }
+
+    /**
+     * Finds the node at the specified position in key order using the subtree sizes.
+     * Index must be valid for the tree.
+     */
+    @Nonnull
+    static <K, V> AbstractNode<K, V> nodeAt(@Nonnull AbstractNode<K, V> node,
+                                            int index)
+    {
+        assert index >= 0 && index < node.size();
+        while (true) {
+            final AbstractNode<K, V> left = node.left();
+            final int leftSize = left.size();
+            if (index < leftSize) {
+                node = left;
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = node.right();
+            }
+        }
+    }
+
+    /**
+     * Finds the position of key in key order.  Follows the convention of
+     * {@link java.util.Arrays#binarySearch(Object[], Object)}: returns the index of key
+     * if it is in the tree and otherwise (-(insertion point) - 1) where insertion point
+     * is the number of keys less than key.
+     */
+    static <K, V> int search(@Nonnull Comparator<K> comp,
+                             @Nonnull AbstractNode<K, V> node,
+                             @Nonnull K key)
+    {
+        int before = 0;
+        while (!node.isEmpty()) {
+            final int diff = comp.compare(key, node.key());
+            if (diff < 0) {
+                node = node.left();
+            } else if (diff == 0) {
+                return before + node.left().size();
+            } else {
+                before += node.left().size() + 1;
+                node = node.right();
+            }
+        }
+        return -before - 1;
+    }
+
+    /**
+     * Creates a tree containing only the first count keys of the tree.  As with
+     * {@link #head} subtrees off the path to the split point are shared.
+     */
+    @Nonnull
+    static <K, V> AbstractNode<K, V> prefix(@Nonnull AbstractNode<K, V> node,
+                                            int count)
+    {
+        if (count >= node.size()) {
+            return node;
+        } else if (count <= 0) {
+            return FringeNode.instance();
+        }
+        final AbstractNode<K, V> left = node.left();
+        final int leftSize = left.size();
+        if (count <= leftSize) {
+            return prefix(left, count);
+        } else {
+            final AbstractNode<K, V> newRight = prefix(node.right(), count - leftSize - 1);
+            return ValueNode.join(node.key(), node.value(), left, newRight);
+        }
+    }
+
+    /**
+     * Creates a tree containing only the keys of the tree starting at offset.  As with
+     * {@link #tail} subtrees off the path to the split point are shared.
+     */
+    @Nonnull
+    static <K, V> AbstractNode<K, V> suffix(@Nonnull AbstractNode<K, V> node,
+                                            int offset)
+    {
+        if (offset <= 0) {
+            return node;
+        } else if (offset >= node.size()) {
+            return FringeNode.instance();
+        }
+        final AbstractNode<K, V> left = node.left();
+        final int leftSize = left.size();
+        if (offset > leftSize) {
+            return suffix(node.right(), offset - leftSize - 1);
+        } else {
+            final AbstractNode<K, V> newLeft = suffix(left, offset);
+            return ValueNode.join(node.key(), node.value(), newLeft, node.right());
+        }
+    }
+
+    /**
+     * Cursor that visits the entries of a tree in key order.  The stack holds the nodes
+     * whose keys have not been visited yet, each one the parent of the one above it.
+     * Since the stack can never be deeper than the tree it is allocated once when the
+     * cursor is created and advancing never allocates.
+     */
+    @NotThreadSafe
+    static class Cursor<K, V>
+        implements IMapCursor<K, V>
+    {
+        private final AbstractNode<K, V> root;
+        private final AbstractNode<K, V>[] stack;
+        private int top;
+        private AbstractNode<K, V> current;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Cursor(@Nonnull AbstractNode<K, V> root)
+        {
+            this.root = root;
+            stack = (AbstractNode<K, V>[])new AbstractNode[root.depth()];
+            reset();
+        }
+
+        @Override
+        public boolean advance()
+        {
+            if (top == 0) {
+                current = null;
+                return false;
+            }
+            top -= 1;
+            current = stack[top];
+            stack[top] = null;
+            pushLeftEdge(current.right());
+            return true;
+        }
+
+        @Nonnull
+        @Override
+        public K key()
+        {
+            if (current == null) {
+                throw new NoSuchElementException();
+            }
+            return current.key();
+        }
+
+        @Override
+        public V value()
+        {
+            if (current == null) {
+                throw new NoSuchElementException();
+            }
+            return current.value();
+        }
+
+        @Override
+        public void reset()
+        {
+            while (top > 0) {
+                top -= 1;
+                stack[top] = null;
+            }
+            current = null;
+            pushLeftEdge(root);
+        }
+
+        private void pushLeftEdge(@Nonnull AbstractNode<K, V> node)
+        {
+            while (!node.isEmpty()) {
+                stack[top] = node;
+                top += 1;
+                node = node.left();
+            }
+        }
+    }
+
+    /**
+     * Stack of subtrees remaining to be compared in key order.  The top of the stack
+     * holds the subtree containing the lowest remaining keys.
+     */
+    private static class DiffCursor<K, V>
+    {
+        private final ArrayList<AbstractNode<K, V>> stack = new ArrayList<>();
+
+        private DiffCursor(@Nonnull AbstractNode<K, V> root)
+        {
+            stack.add(root);
+        }
+
+        @Nullable
+        private AbstractNode<K, V> peek()
+        {
+            while (stack.size() > 0) {
+                final AbstractNode<K, V> node = stack.get(stack.size() - 1);
+                if (!node.isEmpty()) {
+                    return node;
+                }
+                pop();
+            }
+            return null;
+        }
+
+        private void pop()
+        {
+            stack.remove(stack.size() - 1);
+        }
+
+        private void split()
+        {
+            final AbstractNode<K, V> node = stack.remove(stack.size() - 1);
+            assert node.size() > 1;
+            stack.add(node.right());
+            stack.add(new LeafNode<>(node.key(), node.value()));
+            stack.add(node.left());
+        }
+    }
+
     static class DeleteResult<K, V>
     {
         final K key;
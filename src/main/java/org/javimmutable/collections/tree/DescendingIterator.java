@@ -0,0 +1,99 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.tree;
+
+import org.javimmutable.collections.IMapEntry;
+import org.javimmutable.collections.iterators.AbstractSplitableIterator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator visiting the entries of a tree from largest key to smallest.  Keeps a stack
+ * of the nodes whose key and left subtree have yet to be visited so each step is
+ * amortized O(1) and the stack never holds more than depth nodes.
+ */
+@NotThreadSafe
+class DescendingIterator<K, V>
+    extends AbstractSplitableIterator<IMapEntry<K, V>>
+{
+    private final AbstractNode<K, V>[] stack;
+    private int top;
+    private int remaining;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    DescendingIterator(@Nonnull AbstractNode<K, V> root)
+    {
+        stack = (AbstractNode<K, V>[])new AbstractNode[root.depth()];
+        remaining = root.size();
+        pushRightSpine(root);
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        return top > 0;
+    }
+
+    @Override
+    public IMapEntry<K, V> next()
+    {
+        if (top == 0) {
+            throw new NoSuchElementException();
+        }
+        top -= 1;
+        final AbstractNode<K, V> node = stack[top];
+        stack[top] = null;
+        pushRightSpine(node.left());
+        remaining -= 1;
+        return IMapEntry.of(node.key(), node.value());
+    }
+
+    @Override
+    public long getExactSizeIfKnown()
+    {
+        return remaining;
+    }
+
+    private void pushRightSpine(@Nonnull AbstractNode<K, V> node)
+    {
+        while (!node.isEmpty()) {
+            stack[top++] = node;
+            node = node.right();
+        }
+    }
+}
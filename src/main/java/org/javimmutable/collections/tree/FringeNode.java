@@ -48,6 +48,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import java.util.Comparator;
+import java.util.function.BiPredicate;
 
 /**
  * Node with no value and no children.  Used as the terminating node at the bottom
@@ -149,6 +150,12 @@ class FringeNode<K, V>
         return true;
     }
 
+    @Override
+    int hashCodeSum(boolean keysOnly)
+    {
+        return 0;
+    }
+
     @Override
     int depth()
     {
@@ -223,6 +230,12 @@ class FringeNode<K, V>
     {
     }
 
+    @Override
+    boolean forEachWhile(@Nonnull BiPredicate<K, V> predicate)
+    {
+        return true;
+    }
+
     @Override
     <R> R reduce(R sum,
                  @Nonnull Sum2<K, V, R> proc)
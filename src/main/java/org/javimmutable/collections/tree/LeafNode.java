@@ -47,6 +47,8 @@ import org.javimmutable.collections.iterators.GenericIterator;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Comparator;
+import java.util.Objects;
+import java.util.function.BiPredicate;
 
 /**
  * ¬ * A Node containing one value and no children.
@@ -177,6 +179,12 @@ public class LeafNode<K, V>
         return new DeleteResult<>(key, value, FringeNode.instance());
     }
 
+    @Override
+    int hashCodeSum(boolean keysOnly)
+    {
+        return keysOnly ? key.hashCode() : key.hashCode() ^ Objects.hashCode(value);
+    }
+
     @Override
     int depth()
     {
@@ -236,6 +244,12 @@ public class LeafNode<K, V>
         proc.apply(key, value);
     }
 
+    @Override
+    boolean forEachWhile(@Nonnull BiPredicate<K, V> predicate)
+    {
+        return predicate.test(key, value);
+    }
+
     @Override
     <R> R reduce(R sum,
                  @Nonnull Sum2<K, V, R> proc)
@@ -0,0 +1,163 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.tree;
+
+import org.javimmutable.collections.IMap;
+import org.javimmutable.collections.IMapBuilder;
+import org.javimmutable.collections.common.ThreadOwner;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.Comparator;
+
+/**
+ * Builder for TreeMaps whose keys are added in increasing order.  Rather than staging
+ * values in an intermediate structure the builder assembles the tree as values arrive.
+ * Values are merged into perfectly balanced subtrees using the same carry logic as a
+ * binary counter so each add() is amortized O(1) and the builder never holds more than
+ * one subtree per level.  build() joins the pending subtrees in O(log n) without
+ * modifying them so the builder can continue to be used afterwards.
+ * <p>
+ * Adding a key equal to the most recently added key replaces its value.  Adding a key
+ * less than the most recently added key throws IllegalArgumentException.
+ * If an owner is provided every method verifies (when assertions are enabled) that it
+ * is being called by the owning thread.
+ */
+@NotThreadSafe
+class PresortedTreeMapBuilder<K, V>
+    implements IMapBuilder<K, V>
+{
+    // heights of pending subtrees strictly decrease so one slot per possible height is enough
+    private static final int MAX_LEVELS = 33;
+
+    private final Comparator<K> comparator;
+    @Nullable
+    private final ThreadOwner owner;
+    private final AbstractNode<K, V>[] trees;
+    private final K[] keys;
+    private final V[] values;
+    private int levels;
+    private int size;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    PresortedTreeMapBuilder(@Nonnull Comparator<K> comparator,
+                            @Nullable ThreadOwner owner)
+    {
+        this.comparator = comparator;
+        this.owner = owner;
+        trees = (AbstractNode<K, V>[])new AbstractNode[MAX_LEVELS];
+        keys = (K[])new Object[MAX_LEVELS];
+        values = (V[])new Object[MAX_LEVELS];
+    }
+
+    @Nonnull
+    @Override
+    public IMap<K, V> build()
+    {
+        assert owner == null || owner.verify();
+        if (size == 0) {
+            return TreeMap.of(comparator);
+        } else {
+            return new TreeMap<>(comparator, buildRoot());
+        }
+    }
+
+    @Nonnull
+    @Override
+    public IMapBuilder<K, V> clear()
+    {
+        assert owner == null || owner.verify();
+        for (int i = 0; i < levels; ++i) {
+            trees[i] = null;
+            keys[i] = null;
+            values[i] = null;
+        }
+        levels = 0;
+        size = 0;
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public IMapBuilder<K, V> add(@Nonnull K key,
+                                 V value)
+    {
+        assert owner == null || owner.verify();
+        if (levels > 0) {
+            final int diff = comparator.compare(key, keys[levels - 1]);
+            if (diff == 0) {
+                keys[levels - 1] = key;
+                values[levels - 1] = value;
+                return this;
+            } else if (diff < 0) {
+                throw new IllegalArgumentException("keys must be added in increasing order");
+            }
+        }
+        AbstractNode<K, V> tree = FringeNode.instance();
+        while (levels > 0 && trees[levels - 1].depth() == tree.depth()) {
+            levels -= 1;
+            tree = ValueNode.instance(keys[levels], values[levels], trees[levels], tree);
+        }
+        trees[levels] = tree;
+        keys[levels] = key;
+        values[levels] = value;
+        levels += 1;
+        size += 1;
+        return this;
+    }
+
+    @Override
+    public int size()
+    {
+        assert owner == null || owner.verify();
+        return size;
+    }
+
+    /**
+     * Joins the pending subtrees from smallest to largest.  Each pending key separates its
+     * subtree from everything added after it so it becomes the root of their join.
+     */
+    @Nonnull
+    private AbstractNode<K, V> buildRoot()
+    {
+        AbstractNode<K, V> root = FringeNode.instance();
+        for (int i = levels - 1; i >= 0; --i) {
+            root = ValueNode.join(keys[i], values[i], trees[i], root);
+        }
+        return root;
+    }
+}
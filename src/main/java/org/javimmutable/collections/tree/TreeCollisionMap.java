@@ -49,6 +49,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import java.util.Comparator;
+import java.util.function.BiPredicate;
 
 import static org.javimmutable.collections.MapEntry.entry;
 
@@ -197,6 +198,13 @@ public class TreeCollisionMap<K, V>
         root(node).forEachThrows(proc);
     }
 
+    @Override
+    public boolean forEachWhile(@Nonnull Node node,
+                                @Nonnull BiPredicate<K, V> predicate)
+    {
+        return root(node).forEachWhile(predicate);
+    }
+
     @Override
     public <R> R reduce(@Nonnull Node node,
                         R sum,
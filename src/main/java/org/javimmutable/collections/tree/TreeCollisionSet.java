@@ -46,6 +46,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import java.util.Comparator;
+import java.util.function.Predicate;
 
 import static java.lang.Boolean.TRUE;
 
@@ -163,6 +164,13 @@ public class TreeCollisionSet<T>
         root(node).forEachThrows((k, v) -> proc.apply(k));
     }
 
+    @Override
+    public boolean forEachWhile(@Nonnull Node node,
+                                @Nonnull Predicate<? super T> predicate)
+    {
+        return root(node).forEachWhile((k, v) -> predicate.test(k));
+    }
+
     @Override
     public <R> R reduce(@Nonnull Node node,
                         R sum,
@@ -38,7 +38,9 @@ package org.javimmutable.collections.tree;
 import org.javimmutable.collections.Func1;
 import org.javimmutable.collections.IMap;
 import org.javimmutable.collections.IMapBuilder;
+import org.javimmutable.collections.IMapCursor;
 import org.javimmutable.collections.IMapEntry;
+import org.javimmutable.collections.MapDiffVisitor;
 import org.javimmutable.collections.Maybe;
 import org.javimmutable.collections.Proc2;
 import org.javimmutable.collections.Proc2Throws;
@@ -48,13 +50,16 @@ import org.javimmutable.collections.Sum2Throws;
 import org.javimmutable.collections.common.AbstractMap;
 import org.javimmutable.collections.common.Conditions;
 import org.javimmutable.collections.common.StreamConstants;
+import org.javimmutable.collections.common.ThreadOwner;
 import org.javimmutable.collections.serialization.TreeMapProxy;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import java.io.Serializable;
 import java.util.Comparator;
 import java.util.List;
+import java.util.function.BiPredicate;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
@@ -94,20 +99,63 @@ public class TreeMap<K, V>
     @Nonnull
     public static <K extends Comparable<K>, V> IMapBuilder<K, V> builder()
     {
-        return new TreeMapBuilder<>(ComparableComparator.<K>of());
+        return builder(ComparableComparator.<K>of());
     }
 
     @Nonnull
     public static <K, V> IMapBuilder<K, V> builder(@Nonnull Comparator<K> comparator)
     {
-        return new TreeMapBuilder<>(comparator);
+        return new TreeMapBuilder.Synchronized<>(comparator);
+    }
+
+    /**
+     * Returns a builder for use by a single thread.  Unlike {@link #builder()} its methods
+     * do not synchronize.
+     */
+    @Nonnull
+    public static <K extends Comparable<K>, V> IMapBuilder<K, V> unsynchronizedBuilder()
+    {
+        return unsynchronizedBuilder(ComparableComparator.<K>of());
+    }
+
+    /**
+     * Returns a builder for use by a single thread.  Unlike {@link #builder(Comparator)} its methods
+     * do not synchronize.
+     */
+    @Nonnull
+    public static <K, V> IMapBuilder<K, V> unsynchronizedBuilder(@Nonnull Comparator<K> comparator)
+    {
+        return new TreeMapBuilder<>(comparator, new ThreadOwner());
+    }
+
+    /**
+     * Returns a single threaded builder for keys that are already sorted.  Keys must be
+     * added in increasing order.  The tree is assembled as keys are added, in linear time
+     * and without copying them into any intermediate structure.  Adding a key equal to the
+     * previous key replaces its value.  Adding a key less than the previous key throws
+     * IllegalArgumentException.
+     */
+    @Nonnull
+    public static <K extends Comparable<K>, V> IMapBuilder<K, V> presortedBuilder()
+    {
+        return presortedBuilder(ComparableComparator.<K>of());
+    }
+
+    /**
+     * Returns a single threaded builder for keys that are already sorted according to comparator.
+     * See {@link #presortedBuilder()} for details.
+     */
+    @Nonnull
+    public static <K, V> IMapBuilder<K, V> presortedBuilder(@Nonnull Comparator<K> comparator)
+    {
+        return new PresortedTreeMapBuilder<>(comparator, new ThreadOwner());
     }
 
     @Nonnull
     @Override
     public IMapBuilder<K, V> mapBuilder()
     {
-        return new TreeMapBuilder<>(comparator);
+        return builder(comparator);
     }
 
     @Nonnull
@@ -122,8 +170,7 @@ public class TreeMap<K, V>
         return Collector.<IMapEntry<K, V>, IMapBuilder<K, V>, IMap<K, V>>of(() -> new TreeMapBuilder<>(comparator),
                                                                             (b, v) -> b.add(v),
                                                                             (b1, b2) -> b1.add(b2),
-                                                                            b -> b.build(),
-                                                                            Collector.Characteristics.CONCURRENT);
+                                                                            b -> b.build());
     }
 
     @Override
@@ -208,6 +255,13 @@ public class TreeMap<K, V>
         return root.iterator();
     }
 
+    @Nonnull
+    @Override
+    public IMapCursor<K, V> cursor()
+    {
+        return new AbstractNode.Cursor<>(root);
+    }
+
     @Override
     public void forEach(@Nonnull Proc2<K, V> proc)
     {
@@ -221,6 +275,12 @@ public class TreeMap<K, V>
         root.forEachThrows(proc);
     }
 
+    @Override
+    public boolean forEachWhile(@Nonnull BiPredicate<K, V> predicate)
+    {
+        return root.forEachWhile(predicate);
+    }
+
     @Override
     public <R> R reduce(R sum,
                         @Nonnull Sum2<K, V, R> proc)
@@ -242,12 +302,246 @@ public class TreeMap<K, V>
         root.checkInvariants(comparator);
     }
 
+    /**
+     * Compares the trees of the two maps directly when newer is a TreeMap using the same
+     * comparator.  Subtrees shared by the two maps are skipped so the cost is proportional
+     * to the amount of change rather than the size of the maps.
+     */
+    @Override
+    public void diff(@Nonnull IMap<K, V> newer,
+                     @Nonnull MapDiffVisitor<K, V> visitor)
+    {
+        if (newer instanceof TreeMap && comparator.equals(((TreeMap<K, V>)newer).comparator)) {
+            AbstractNode.diff(comparator, root, ((TreeMap<K, V>)newer).root, visitor);
+        } else {
+            super.diff(newer, visitor);
+        }
+    }
+
     @Nonnull
     public Comparator<K> getComparator()
     {
         return comparator;
     }
 
+    @Nonnull
+    AbstractNode<K, V> getRoot()
+    {
+        return root;
+    }
+
+    /**
+     * Uses the hash codes cached in the tree nodes so only nodes created since the
+     * last call need to be visited.
+     */
+    @Override
+    public int hashCode()
+    {
+        return root.hashCodeSum(false);
+    }
+
+    /**
+     * Compares the trees directly when o is a TreeMap using the same comparator.
+     * Differing hash codes are rejected immediately and shared subtrees are skipped
+     * without examining their entries.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean equals(Object o)
+    {
+        if (o == this) {
+            return true;
+        } else if (o instanceof TreeMap && comparator.equals(((TreeMap)o).comparator)) {
+            final TreeMap<K, V> other = (TreeMap<K, V>)o;
+            return root.size() == other.root.size()
+                   && hashCode() == other.hashCode()
+                   && AbstractNode.sameEntries(comparator, root, other.root);
+        } else {
+            return super.equals(o);
+        }
+    }
+
+    /**
+     * Returns the entry with the greatest key less than or equal to key.
+     */
+    @Nonnull
+    public Maybe<IMapEntry<K, V>> floorEntry(@Nonnull K key)
+    {
+        return entryFor(AbstractNode.floor(comparator, root, key, true));
+    }
+
+    /**
+     * Returns the entry with the smallest key greater than or equal to key.
+     */
+    @Nonnull
+    public Maybe<IMapEntry<K, V>> ceilingEntry(@Nonnull K key)
+    {
+        return entryFor(AbstractNode.ceiling(comparator, root, key, true));
+    }
+
+    /**
+     * Returns the entry with the greatest key strictly less than key.
+     */
+    @Nonnull
+    public Maybe<IMapEntry<K, V>> lowerEntry(@Nonnull K key)
+    {
+        return entryFor(AbstractNode.floor(comparator, root, key, false));
+    }
+
+    /**
+     * Returns the entry with the smallest key strictly greater than key.
+     */
+    @Nonnull
+    public Maybe<IMapEntry<K, V>> higherEntry(@Nonnull K key)
+    {
+        return entryFor(AbstractNode.ceiling(comparator, root, key, false));
+    }
+
+    /**
+     * Returns the entry with the smallest key in the map.
+     */
+    @Nonnull
+    public Maybe<IMapEntry<K, V>> firstEntry()
+    {
+        return entryFor(AbstractNode.first(root));
+    }
+
+    /**
+     * Returns the entry with the largest key in the map.
+     */
+    @Nonnull
+    public Maybe<IMapEntry<K, V>> lastEntry()
+    {
+        return entryFor(AbstractNode.last(root));
+    }
+
+    /**
+     * Returns a map containing only the keys less than (or equal to if inclusive) toKey.
+     * The result shares all of its structure with this map except for the O(log n) nodes
+     * along the path to toKey so creating it does not copy or iterate over the entries.
+     */
+    @Nonnull
+    public TreeMap<K, V> headMap(@Nonnull K toKey,
+                                 boolean inclusive)
+    {
+        return create(AbstractNode.head(comparator, root, toKey, inclusive));
+    }
+
+    /**
+     * Returns a map containing only the keys greater than (or equal to if inclusive) fromKey.
+     * As with {@link #headMap} the result shares structure with this map.
+     */
+    @Nonnull
+    public TreeMap<K, V> tailMap(@Nonnull K fromKey,
+                                 boolean inclusive)
+    {
+        return create(AbstractNode.tail(comparator, root, fromKey, inclusive));
+    }
+
+    /**
+     * Returns a map containing only the keys between fromKey and toKey.
+     * As with {@link #headMap} the result shares structure with this map.
+     */
+    @Nonnull
+    public TreeMap<K, V> subMap(@Nonnull K fromKey,
+                                boolean fromInclusive,
+                                @Nonnull K toKey,
+                                boolean toInclusive)
+    {
+        if (comparator.compare(fromKey, toKey) > 0) {
+            throw new IllegalArgumentException("fromKey > toKey");
+        }
+        final AbstractNode<K, V> head = AbstractNode.head(comparator, root, toKey, toInclusive);
+        return create(AbstractNode.tail(comparator, head, fromKey, fromInclusive));
+    }
+
+    /**
+     * Returns an iterator that visits the entries of this map in reverse key order.
+     * Combine with {@link #headMap}, {@link #tailMap} or {@link #subMap} to iterate
+     * backwards over a range of keys.
+     */
+    @Nonnull
+    public SplitableIterator<IMapEntry<K, V>> descendingIterator()
+    {
+        return new DescendingIterator<>(root);
+    }
+
+    /**
+     * Returns the entry at the specified position in key order in O(log n) time.
+     *
+     * @throws ArrayIndexOutOfBoundsException if index is not in [0,size)
+     */
+    @Nonnull
+    public IMapEntry<K, V> getByIndex(int index)
+    {
+        if (index < 0 || index >= root.size()) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        final AbstractNode<K, V> node = AbstractNode.nodeAt(root, index);
+        return IMapEntry.of(node.key(), node.value());
+    }
+
+    /**
+     * Returns the position of key in key order or -1 if key is not in the map.
+     */
+    public int indexOf(@Nonnull K key)
+    {
+        final int index = AbstractNode.search(comparator, root, key);
+        return (index >= 0) ? index : -1;
+    }
+
+    /**
+     * Returns the number of keys in the map that are less than key.  Unlike {@link #indexOf}
+     * key does not need to be in the map.
+     */
+    public int rank(@Nonnull K key)
+    {
+        final int index = AbstractNode.search(comparator, root, key);
+        return (index >= 0) ? index : -(index + 1);
+    }
+
+    /**
+     * Returns a map containing the entries from position fromIndex (inclusive) to toIndex
+     * (exclusive) in key order.  As with {@link #headMap} the result shares structure
+     * with this map and is created in O(log n) time.
+     *
+     * @throws ArrayIndexOutOfBoundsException if the indexes are not a valid range
+     */
+    @Nonnull
+    public TreeMap<K, V> slice(int fromIndex,
+                               int toIndex)
+    {
+        if (fromIndex < 0 || fromIndex > toIndex) {
+            throw new ArrayIndexOutOfBoundsException(fromIndex);
+        }
+        if (toIndex > root.size()) {
+            throw new ArrayIndexOutOfBoundsException(toIndex);
+        }
+        return create(AbstractNode.suffix(AbstractNode.prefix(root, toIndex), fromIndex));
+    }
+
+    @Nonnull
+    private Maybe<IMapEntry<K, V>> entryFor(@Nullable AbstractNode<K, V> node)
+    {
+        return (node == null) ? Maybe.empty() : Maybe.of(IMapEntry.of(node.key(), node.value()));
+    }
+
+    /**
+     * Hash code of the keys in the map following the java.util.Set contract.  Used by TreeSet.
+     */
+    int keysHashCode()
+    {
+        return root.hashCodeSum(true);
+    }
+
+    /**
+     * Equality test used by TreeSet.  Callers must ensure both maps use the same comparator.
+     */
+    boolean sameEntries(@Nonnull TreeMap<K, V> other)
+    {
+        return AbstractNode.sameEntries(comparator, root, other.root);
+    }
+
     @Nonnull
     List<K> getKeysList()
     {
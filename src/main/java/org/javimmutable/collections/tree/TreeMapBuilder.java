@@ -37,83 +37,119 @@ package org.javimmutable.collections.tree;
 
 import org.javimmutable.collections.IMap;
 import org.javimmutable.collections.IMapBuilder;
+import org.javimmutable.collections.common.ThreadOwner;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
 import javax.annotation.concurrent.ThreadSafe;
-import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
-@ThreadSafe
+/**
+ * Builder for TreeMaps that does not synchronize.  If an owner is provided every method
+ * verifies (when assertions are enabled) that it is being called by the owning thread.
+ * {@link Synchronized} adds locking for builders that may be shared between threads.
+ */
+@NotThreadSafe
 class TreeMapBuilder<K, V>
     implements IMapBuilder<K, V>
 {
     private final Comparator<K> comparator;
     private final Map<K, V> values;
+    @Nullable
+    private final ThreadOwner owner;
 
     TreeMapBuilder(@Nonnull Comparator<K> comparator)
+    {
+        this(comparator, null);
+    }
+
+    TreeMapBuilder(@Nonnull Comparator<K> comparator,
+                   @Nullable ThreadOwner owner)
     {
         this.comparator = comparator;
+        this.owner = owner;
         values = new java.util.TreeMap<>(comparator);
     }
 
     @Nonnull
     @Override
-    public synchronized IMap<K, V> build()
+    public IMap<K, V> build()
     {
+        assert owner == null || owner.verify();
         if (values.isEmpty()) {
             return TreeMap.of(comparator);
         } else {
-            final List<Entry<K, V>> sorted = new ArrayList<>(values.entrySet());
-            final AbstractNode<K, V> root = buildTree(sorted, 0, sorted.size());
-            return new TreeMap<>(comparator, root);
+            final PresortedTreeMapBuilder<K, V> sorted = new PresortedTreeMapBuilder<>(comparator, null);
+            for (Entry<K, V> e : values.entrySet()) {
+                sorted.add(e.getKey(), e.getValue());
+            }
+            return sorted.build();
         }
     }
 
     @Nonnull
     @Override
-    public synchronized IMapBuilder<K, V> clear()
+    public IMapBuilder<K, V> clear()
     {
+        assert owner == null || owner.verify();
         values.clear();
         return this;
     }
 
     @Nonnull
     @Override
-    public synchronized IMapBuilder<K, V> add(@Nonnull K key,
-                                              V value)
+    public IMapBuilder<K, V> add(@Nonnull K key,
+                                 V value)
     {
+        assert owner == null || owner.verify();
         values.put(key, value);
         return this;
     }
 
-    public synchronized int size()
+    public int size()
     {
+        assert owner == null || owner.verify();
         return values.size();
     }
 
-    private AbstractNode<K, V> buildTree(@Nonnull List<Entry<K, V>> values,
-                                         int offset,
-                                         int limit)
+    @ThreadSafe
+    static class Synchronized<K, V>
+        extends TreeMapBuilder<K, V>
     {
-        assert limit > offset;
-        int count = limit - offset;
-        if (count == 1) {
-            final Entry<K, V> e = values.get(offset);
-            return ValueNode.instance(e.getKey(), e.getValue());
-        } else if (count == 2) {
-            final Entry<K, V> a = values.get(offset);
-            final Entry<K, V> b = values.get(offset + 1);
-            final AbstractNode<K, V> right = ValueNode.instance(b.getKey(), b.getValue());
-            return new ValueNode<>(a.getKey(), a.getValue(), FringeNode.instance(), right);
-        } else {
-            final int middle = offset + count / 2;
-            final Entry<K, V> e = values.get(middle);
-            final AbstractNode<K, V> left = buildTree(values, offset, middle);
-            final AbstractNode<K, V> right = buildTree(values, middle + 1, limit);
-            return new ValueNode<>(e.getKey(), e.getValue(), left, right);
+        Synchronized(@Nonnull Comparator<K> comparator)
+        {
+            super(comparator);
+        }
+
+        @Nonnull
+        @Override
+        public synchronized IMap<K, V> build()
+        {
+            return super.build();
+        }
+
+        @Nonnull
+        @Override
+        public synchronized IMapBuilder<K, V> clear()
+        {
+            return super.clear();
+        }
+
+        @Nonnull
+        @Override
+        public synchronized IMapBuilder<K, V> add(@Nonnull K key,
+                                                  V value)
+        {
+            return super.add(key, value);
+        }
+
+        @Override
+        public synchronized int size()
+        {
+            return super.size();
         }
     }
 }
@@ -0,0 +1,239 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.tree;
+
+import org.javimmutable.collections.IMap;
+import org.javimmutable.collections.codec.SnapshotNodeInput;
+import org.javimmutable.collections.codec.SnapshotNodeOutput;
+import org.javimmutable.collections.codec.SnapshotReader;
+import org.javimmutable.collections.codec.SnapshotWriter;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+
+/**
+ * Writes and reads the nodes of {@link TreeMap}s for {@link SnapshotWriter} and
+ * {@link SnapshotReader}.  Each instance remembers the nodes it has read and only creates
+ * maps from those nodes.  Every node is checked for balance as it is read and the keys of
+ * each map are checked to be in order for its comparator when the map is read.
+ */
+@NotThreadSafe
+public final class TreeMapSnapshots
+{
+    private static final int NATURAL_ORDER = 0;
+    private static final int CUSTOM_ORDER = 1;
+
+    /**
+     * Maps each node read so far to the last comparator its keys were found to be in order for.
+     */
+    private final IdentityHashMap<Object, Comparator<?>> restoredNodes;
+
+    public TreeMapSnapshots()
+    {
+        restoredNodes = new IdentityHashMap<>();
+    }
+
+    /**
+     * Writes any nodes of map that have not already been written followed by the record for
+     * the map itself.  Only whether the comparator is natural ordering is recorded.  Any
+     * other comparator must be supplied when reading.
+     */
+    public static <K, V> void write(@Nonnull TreeMap<K, V> map,
+                                    @Nonnull SnapshotNodeOutput<K, V> out)
+        throws IOException
+    {
+        final AbstractNode<K, V> root = map.getRoot();
+        writeNode(out, root);
+        out.startTreeMap();
+        out.output().writeByte((map.getComparator() instanceof ComparableComparator) ? NATURAL_ORDER : CUSTOM_ORDER);
+        out.writeReference(reference(root));
+    }
+
+    /**
+     * Reads a leaf node record.
+     */
+    @Nonnull
+    public <K, V> Object readLeaf(@Nonnull SnapshotNodeInput<K, V> in)
+        throws IOException
+    {
+        final LeafNode<K, V> node = new LeafNode<>(in.readKey(), in.readValue());
+        restoredNodes.put(node, null);
+        return node;
+    }
+
+    /**
+     * Reads a branch node record.  Children were written before their parents so both have
+     * already been read.  Key order is checked when a map using the node is read since only
+     * then is its comparator known.
+     */
+    @Nonnull
+    public <K, V> Object readBranch(@Nonnull SnapshotNodeInput<K, V> in)
+        throws IOException
+    {
+        final K key = in.readKey();
+        final V value = in.readValue();
+        final AbstractNode<K, V> left = readReference(in);
+        final AbstractNode<K, V> right = readReference(in);
+        if (Math.abs(left.depth() - right.depth()) > 1) {
+            throw new IOException("unbalanced tree node");
+        }
+        final ValueNode<K, V> node = new ValueNode<>(key, value, left, right);
+        restoredNodes.put(node, null);
+        return node;
+    }
+
+    /**
+     * Reads a map record referring to a root node previously read by this object.  Maps using
+     * natural ordering are restored using natural ordering.  Maps using any other comparator
+     * can only be read if that comparator is given.
+     */
+    @Nonnull
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <K, V> IMap<K, V> readMap(@Nonnull SnapshotNodeInput<K, V> in,
+                                     @Nullable Comparator<K> comparator)
+        throws IOException
+    {
+        final int order = in.input().readByte();
+        final AbstractNode<K, V> root = readReference(in);
+        final Comparator<K> mapComparator;
+        if (order == NATURAL_ORDER) {
+            mapComparator = (Comparator<K>)(Comparator)ComparableComparator.of();
+        } else if (order != CUSTOM_ORDER) {
+            throw new IOException("unknown tree map ordering: " + order);
+        } else if (comparator == null) {
+            throw new IOException("snapshot contains a tree map with a custom comparator");
+        } else {
+            mapComparator = comparator;
+        }
+        checkKeyOrder(mapComparator, root);
+        return new TreeMap<>(mapComparator, root);
+    }
+
+    private static <K, V> void writeNode(@Nonnull SnapshotNodeOutput<K, V> out,
+                                         @Nonnull AbstractNode<K, V> node)
+        throws IOException
+    {
+        if (node.isEmpty() || out.isWritten(node)) {
+            return;
+        }
+        if (node instanceof LeafNode) {
+            out.startTreeLeaf(node);
+            out.writeKey(node.key());
+            out.writeValue(node.value());
+        } else {
+            final AbstractNode<K, V> left = node.left();
+            final AbstractNode<K, V> right = node.right();
+            writeNode(out, left);
+            writeNode(out, right);
+            out.startTreeBranch(node);
+            out.writeKey(node.key());
+            out.writeValue(node.value());
+            out.writeReference(reference(left));
+            out.writeReference(reference(right));
+        }
+    }
+
+    /**
+     * Verifies that every key in the tree is greater than all keys to its left and less than
+     * all keys to its right.  Nodes already checked using the same comparator for an earlier
+     * map are skipped so each shared node is only checked once.
+     */
+    private <K, V> void checkKeyOrder(@Nonnull Comparator<K> order,
+                                      @Nonnull AbstractNode<K, V> node)
+        throws IOException
+    {
+        if (node.isEmpty() || node instanceof LeafNode || restoredNodes.get(node) == order) {
+            return;
+        }
+        final AbstractNode<K, V> left = node.left();
+        final AbstractNode<K, V> right = node.right();
+        checkKeyOrder(order, left);
+        checkKeyOrder(order, right);
+        final K key = node.key();
+        try {
+            if (!left.isEmpty() && order.compare(rightmost(left).key(), key) >= 0) {
+                throw new IOException("tree map keys are out of order");
+            }
+            if (!right.isEmpty() && order.compare(key, leftmost(right).key()) >= 0) {
+                throw new IOException("tree map keys are out of order");
+            }
+        } catch (ClassCastException ex) {
+            throw new IOException("tree map keys are not comparable");
+        }
+        restoredNodes.put(node, order);
+    }
+
+    @Nonnull
+    private static <K, V> AbstractNode<K, V> leftmost(@Nonnull AbstractNode<K, V> node)
+    {
+        while (!node.left().isEmpty()) {
+            node = node.left();
+        }
+        return node;
+    }
+
+    @Nonnull
+    private static <K, V> AbstractNode<K, V> rightmost(@Nonnull AbstractNode<K, V> node)
+    {
+        while (!node.right().isEmpty()) {
+            node = node.right();
+        }
+        return node;
+    }
+
+    /**
+     * Reads a reference to a node previously read by this object.  A reference to no node
+     * is returned as an empty tree.
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    private <K, V> AbstractNode<K, V> readReference(@Nonnull SnapshotNodeInput<K, V> in)
+        throws IOException
+    {
+        final Object node = in.readReference(restoredNodes::containsKey, "tree node");
+        return (node == null) ? FringeNode.instance() : (AbstractNode<K, V>)node;
+    }
+
+    @Nullable
+    private static Object reference(@Nonnull AbstractNode<?, ?> node)
+    {
+        return node.isEmpty() ? null : node;
+    }
+}
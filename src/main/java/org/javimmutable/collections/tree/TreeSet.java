@@ -36,10 +36,14 @@
 package org.javimmutable.collections.tree;
 
 import org.javimmutable.collections.IMap;
+import org.javimmutable.collections.IMapEntry;
 import org.javimmutable.collections.ISet;
 import org.javimmutable.collections.ISetBuilder;
+import org.javimmutable.collections.Maybe;
+import org.javimmutable.collections.SplitableIterator;
 import org.javimmutable.collections.common.AbstractSetUsingMap;
 import org.javimmutable.collections.common.GenericSetBuilder;
+import org.javimmutable.collections.iterators.TransformIterator;
 import org.javimmutable.collections.serialization.TreeSetProxy;
 
 import javax.annotation.Nonnull;
@@ -104,6 +108,210 @@ public class TreeSet<T>
         return new GenericSetBuilder<>(TreeMap.builder(comparator), map -> map.isEmpty() ? of(comparator) : new TreeSet<>(map, comparator));
     }
 
+    /**
+     * Returns a builder for use by a single thread.  Unlike {@link #builder()} its methods
+     * do not synchronize.
+     */
+    @Nonnull
+    public static <T extends Comparable<T>> ISetBuilder<T> unsynchronizedBuilder()
+    {
+        return unsynchronizedBuilder(ComparableComparator.<T>of());
+    }
+
+    /**
+     * Returns a builder for use by a single thread.  Unlike {@link #builder(Comparator)} its methods
+     * do not synchronize.
+     */
+    @Nonnull
+    public static <T> ISetBuilder<T> unsynchronizedBuilder(@Nonnull Comparator<T> comparator)
+    {
+        return new GenericSetBuilder<>(TreeMap.unsynchronizedBuilder(comparator), map -> map.isEmpty() ? of(comparator) : new TreeSet<>(map, comparator));
+    }
+
+    /**
+     * Returns a single threaded builder for values that are already sorted.  Values must be
+     * added in increasing order and duplicates are ignored.  The tree is assembled as values
+     * are added, in linear time.  Adding a value less than the previous one throws
+     * IllegalArgumentException.
+     */
+    @Nonnull
+    public static <T extends Comparable<T>> ISetBuilder<T> presortedBuilder()
+    {
+        return presortedBuilder(ComparableComparator.<T>of());
+    }
+
+    /**
+     * Returns a single threaded builder for values that are already sorted according to comparator.
+     * See {@link #presortedBuilder()} for details.
+     */
+    @Nonnull
+    public static <T> ISetBuilder<T> presortedBuilder(@Nonnull Comparator<T> comparator)
+    {
+        return new GenericSetBuilder<>(TreeMap.presortedBuilder(comparator), map -> map.isEmpty() ? of(comparator) : new TreeSet<>(map, comparator));
+    }
+
+    /**
+     * Returns the greatest value less than or equal to value.
+     */
+    @Nonnull
+    public Maybe<T> floor(@Nonnull T value)
+    {
+        return treeMap().floorEntry(value).map(IMapEntry::getKey);
+    }
+
+    /**
+     * Returns the smallest value greater than or equal to value.
+     */
+    @Nonnull
+    public Maybe<T> ceiling(@Nonnull T value)
+    {
+        return treeMap().ceilingEntry(value).map(IMapEntry::getKey);
+    }
+
+    /**
+     * Returns the greatest value strictly less than value.
+     */
+    @Nonnull
+    public Maybe<T> lower(@Nonnull T value)
+    {
+        return treeMap().lowerEntry(value).map(IMapEntry::getKey);
+    }
+
+    /**
+     * Returns the smallest value strictly greater than value.
+     */
+    @Nonnull
+    public Maybe<T> higher(@Nonnull T value)
+    {
+        return treeMap().higherEntry(value).map(IMapEntry::getKey);
+    }
+
+    /**
+     * Returns the smallest value in the set.
+     */
+    @Nonnull
+    public Maybe<T> first()
+    {
+        return treeMap().firstEntry().map(IMapEntry::getKey);
+    }
+
+    /**
+     * Returns the largest value in the set.
+     */
+    @Nonnull
+    public Maybe<T> last()
+    {
+        return treeMap().lastEntry().map(IMapEntry::getKey);
+    }
+
+    /**
+     * Returns a set containing only the values less than (or equal to if inclusive) toValue.
+     * The result shares structure with this set as described in {@link TreeMap#headMap}.
+     */
+    @Nonnull
+    public TreeSet<T> headSet(@Nonnull T toValue,
+                              boolean inclusive)
+    {
+        return createTreeSet(treeMap().headMap(toValue, inclusive));
+    }
+
+    /**
+     * Returns a set containing only the values greater than (or equal to if inclusive) fromValue.
+     * The result shares structure with this set as described in {@link TreeMap#headMap}.
+     */
+    @Nonnull
+    public TreeSet<T> tailSet(@Nonnull T fromValue,
+                              boolean inclusive)
+    {
+        return createTreeSet(treeMap().tailMap(fromValue, inclusive));
+    }
+
+    /**
+     * Returns a set containing only the values between fromValue and toValue.
+     * The result shares structure with this set as described in {@link TreeMap#headMap}.
+     */
+    @Nonnull
+    public TreeSet<T> subSet(@Nonnull T fromValue,
+                             boolean fromInclusive,
+                             @Nonnull T toValue,
+                             boolean toInclusive)
+    {
+        return createTreeSet(treeMap().subMap(fromValue, fromInclusive, toValue, toInclusive));
+    }
+
+    /**
+     * Returns the value at the specified position in sort order in O(log n) time.
+     *
+     * @throws ArrayIndexOutOfBoundsException if index is not in [0,size)
+     */
+    @Nonnull
+    public T getByIndex(int index)
+    {
+        return treeMap().getByIndex(index).getKey();
+    }
+
+    /**
+     * Returns the position of value in sort order or -1 if value is not in the set.
+     */
+    public int indexOf(@Nonnull T value)
+    {
+        return treeMap().indexOf(value);
+    }
+
+    /**
+     * Returns the number of values in the set that are less than value.
+     */
+    public int rank(@Nonnull T value)
+    {
+        return treeMap().rank(value);
+    }
+
+    /**
+     * Returns a set containing the values from position fromIndex (inclusive) to toIndex
+     * (exclusive) in sort order.  See {@link TreeMap#slice} for details.
+     */
+    @Nonnull
+    public TreeSet<T> slice(int fromIndex,
+                            int toIndex)
+    {
+        return createTreeSet(treeMap().slice(fromIndex, toIndex));
+    }
+
+    /**
+     * Returns an iterator that visits the values of this set in reverse order.
+     */
+    @Nonnull
+    public SplitableIterator<T> descendingIterator()
+    {
+        return TransformIterator.of(treeMap().descendingIterator(), IMapEntry::getKey);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return treeMap().keysHashCode();
+    }
+
+    /**
+     * Compares the trees directly when o is a TreeSet using the same comparator.
+     * See {@link TreeMap#equals} for details.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean equals(Object o)
+    {
+        if (o == this) {
+            return true;
+        } else if (o instanceof TreeSet && comparator.equals(((TreeSet)o).comparator)) {
+            final TreeSet<T> other = (TreeSet<T>)o;
+            return size() == other.size()
+                   && hashCode() == other.hashCode()
+                   && treeMap().sameEntries(other.treeMap());
+        } else {
+            return super.equals(o);
+        }
+    }
+
     @Override
     protected ISet<T> create(IMap<T, Boolean> map)
     {
@@ -121,6 +329,22 @@ public class TreeSet<T>
         return map;
     }
 
+    @Nonnull
+    private TreeMap<T, Boolean> treeMap()
+    {
+        return (TreeMap<T, Boolean>)map;
+    }
+
+    @Nonnull
+    private TreeSet<T> createTreeSet(@Nonnull TreeMap<T, Boolean> newMap)
+    {
+        if (newMap == map) {
+            return this;
+        } else {
+            return newMap.isEmpty() ? of(comparator) : new TreeSet<>(newMap, comparator);
+        }
+    }
+
     private Object writeReplace()
     {
         return new TreeSetProxy(this);
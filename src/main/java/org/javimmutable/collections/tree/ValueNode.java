@@ -49,6 +49,8 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import java.util.Comparator;
+import java.util.Objects;
+import java.util.function.BiPredicate;
 
 /**
  * A Node containing one value and two (possibly empty) children.  Class invariant
@@ -67,6 +69,7 @@ class ValueNode<K, V>
     private final AbstractNode<K, V> right;
     private final int depth;
     private final int size;
+    private int hashCodeSum; // computed on first use, benign race as in String.hashCode()
 
     ValueNode(@Nonnull K key,
               @Nullable V value,
@@ -139,6 +142,30 @@ class ValueNode<K, V>
         }
     }
 
+    /**
+     * Creates a balanced tree containing all of left, then key, then all of right.
+     * All keys in left must be less than key and all keys in right must be greater.
+     * Descends the spine of the deeper tree until depths are within one of each other
+     * and rebalances on the way back up so cost is proportional to the difference in depth.
+     */
+    @Nonnull
+    static <K, V> AbstractNode<K, V> join(@Nonnull K key,
+                                          @Nullable V value,
+                                          @Nonnull AbstractNode<K, V> left,
+                                          @Nonnull AbstractNode<K, V> right)
+    {
+        final int diff = left.depth() - right.depth();
+        if (diff > 1) {
+            final AbstractNode<K, V> newRight = join(key, value, left.right(), right);
+            return balance(left.key(), left.value(), left.left(), newRight);
+        } else if (diff < -1) {
+            final AbstractNode<K, V> newLeft = join(key, value, left, right.left());
+            return balance(right.key(), right.value(), newLeft, right.right());
+        } else {
+            return instance(key, value, left, right);
+        }
+    }
+
     @Nonnull
     private static <K, V> AbstractNode<K, V> rotateRight(@Nonnull K key,
                                                          @Nullable V value,
@@ -375,6 +402,39 @@ class ValueNode<K, V>
         return false;
     }
 
+    /**
+     * Only one sum is cached so a tree must always be hashed in the same mode.  Hashing a
+     * tree in the other mode would return the sum cached for the first one.  The assertion
+     * detects that by recomputing this node's sum from the sums cached in its children.
+     */
+    @Override
+    int hashCodeSum(boolean keysOnly)
+    {
+        int answer = hashCodeSum;
+        if (answer == 0) {
+            answer = left.hashCodeSum(keysOnly) + right.hashCodeSum(keysOnly) + entryHashCode(keysOnly);
+            hashCodeSum = answer;
+        } else {
+            assert answer == cachedHashCodeSum(left, keysOnly) + cachedHashCodeSum(right, keysOnly) + entryHashCode(keysOnly);
+        }
+        return answer;
+    }
+
+    private int entryHashCode(boolean keysOnly)
+    {
+        return keysOnly ? key.hashCode() : key.hashCode() ^ Objects.hashCode(value);
+    }
+
+    /**
+     * Returns the sum cached in node without verifying it so that the assertion in
+     * {@link #hashCodeSum} does not have to visit the whole tree.
+     */
+    private static int cachedHashCodeSum(@Nonnull AbstractNode<?, ?> node,
+                                         boolean keysOnly)
+    {
+        return (node instanceof ValueNode) ? ((ValueNode<?, ?>)node).hashCodeSum : node.hashCodeSum(keysOnly);
+    }
+
     @Override
     int depth()
     {
@@ -488,6 +548,12 @@ class ValueNode<K, V>
         right.forEachThrows(proc);
     }
 
+    @Override
+    boolean forEachWhile(@Nonnull BiPredicate<K, V> predicate)
+    {
+        return left.forEachWhile(predicate) && predicate.test(key, value) && right.forEachWhile(predicate);
+    }
+
     @Override
     <R> R reduce(R sum,
                  @Nonnull Sum2<K, V, R> proc)
@@ -45,6 +45,8 @@ import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static java.util.Arrays.asList;
+
 public class ICollectorsTest
     extends TestCase
 {
@@ -60,6 +62,32 @@ public class ICollectorsTest
         verifyCollection(source, values -> ISets.sorted(values), () -> ICollectors.toSortedSet());
         verifyCollection(source, values -> ISets.sorted(comparator, values), () -> ICollectors.toSortedSet(comparator));
         verifyCollection(source, values -> createGroupingByExpected(values, x -> x / 7), () -> ICollectors.groupingBy(x -> x / 7));
+        verifyCollection(source, values -> createToMapExpected(values), () -> Collectors.mapping((Integer x) -> IMapEntry.of(x, -x), ICollectors.toMap()));
+    }
+
+    public void testParallelCollectors()
+    {
+        final List<Integer> source = IntStream.range(0, 250_000).boxed().collect(Collectors.toList());
+        Collections.shuffle(source);
+        for (Collector<Integer, ?, ?> collector : asList(ICollectors.<Integer>toList(), ICollectors.<Integer>toSet(), ICollectors.<Integer>toSortedSet(), ICollectors.<Integer>toDeque(), ISets.<Integer>ordered().setCollector())) {
+            assertFalse(collector.characteristics().contains(Collector.Characteristics.CONCURRENT));
+        }
+        assertEquals(ILists.allOf(source), source.parallelStream().collect(ICollectors.toList()));
+        assertEquals(ISets.hashed(source), source.parallelStream().collect(ICollectors.toSet()));
+        assertEquals(ISets.hashed(source), source.parallelStream().unordered().collect(ICollectors.toSet()));
+        final IMap<Integer, Integer> expectedMap = source.stream().map(x -> IMapEntry.of(x, -x)).collect(ICollectors.toMap());
+        assertEquals(source.size(), expectedMap.size());
+        assertEquals(expectedMap, source.parallelStream().map(x -> IMapEntry.of(x, -x)).collect(ICollectors.toMap()));
+        assertEquals(expectedMap, source.parallelStream().map(x -> IMapEntry.of(x, -x)).collect(IMaps.<Integer, Integer>hashed().mapCollector()));
+    }
+
+    private IMap<Integer, Integer> createToMapExpected(List<Integer> source)
+    {
+        IMap<Integer, Integer> expected = IMaps.hashed();
+        for (Integer value : source) {
+            expected = expected.assign(value, -value);
+        }
+        return expected;
     }
 
     private IListMap<Integer, Integer> createGroupingByExpected(List<Integer> source,
@@ -0,0 +1,175 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.array;
+
+import junit.framework.TestCase;
+import org.javimmutable.collections.Func1;
+import org.javimmutable.collections.ILongArray;
+import org.javimmutable.collections.ILongArrayBuilder;
+import org.javimmutable.collections.IMapEntry;
+import org.javimmutable.collections.Maybe;
+import org.javimmutable.collections.common.StandardSerializableTests;
+import org.javimmutable.collections.common.StandardStreamableTests;
+import org.javimmutable.collections.iterators.StandardIteratorTests;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+
+public class LongArrayTest
+    extends TestCase
+{
+    public void testRandom()
+    {
+        final Random r = new Random(20L);
+        final Map<Long, Integer> expected = new TreeMap<>();
+        ILongArray<Integer> array = LongArray.of();
+        for (int loop = 1; loop <= 30000; ++loop) {
+            final long index = (r.nextInt(4) == 0) ? r.nextLong() : r.nextInt(200000) - 100000;
+            final int value = r.nextInt();
+            switch (r.nextInt(4)) {
+                case 0:
+                case 1:
+                    array = array.assign(index, value);
+                    expected.put(index, value);
+                    break;
+                case 2:
+                    array = array.delete(index);
+                    expected.remove(index);
+                    break;
+                case 3:
+                    assertEquals(expected.get(index), array.get(index));
+                    assertEquals(expected.containsKey(index) ? Maybe.of(expected.get(index)) : Maybe.empty(), array.find(index));
+                    break;
+            }
+            assertEquals(expected.size(), array.size());
+            if (loop % 1000 == 0) {
+                array.checkInvariants();
+                assertEquals(expected, array.getMap());
+            }
+        }
+        for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), array.getValueOr(entry.getKey(), Integer.MAX_VALUE));
+            assertEquals(Maybe.of(IMapEntry.of(entry.getKey(), entry.getValue())), array.findEntry(entry.getKey()));
+        }
+        StandardIteratorTests.listIteratorTest(new ArrayList<>(expected.keySet()), array.keys().iterator());
+        StandardIteratorTests.listIteratorTest(new ArrayList<>(expected.values()), array.values().iterator());
+        for (Long index : new ArrayList<>(expected.keySet())) {
+            array = array.delete(index);
+            assertSame(array, array.delete(index));
+            assertEquals(null, array.get(index));
+        }
+        assertSame(LongArray.of(), array);
+    }
+
+    public void testSignedOrderIteration()
+    {
+        final List<Long> keys = asList(Long.MIN_VALUE, Long.MIN_VALUE + 1, -1L << 40, -1L, 0L, 1L, 1L << 40, Long.MAX_VALUE - 1, Long.MAX_VALUE);
+        final List<String> values = new ArrayList<>();
+        final List<IMapEntry<Long, String>> entries = new ArrayList<>();
+        ILongArray<String> array = LongArray.of();
+        for (int i = keys.size() - 1; i >= 0; --i) {
+            array = array.assign(keys.get(i), String.valueOf(keys.get(i)));
+        }
+        for (Long key : keys) {
+            values.add(String.valueOf(key));
+            entries.add(IMapEntry.of(key, String.valueOf(key)));
+        }
+        array.checkInvariants();
+        StandardIteratorTests.listIteratorTest(keys, array.keys().iterator());
+        StandardIteratorTests.listIteratorTest(values, array.values().iterator());
+        StandardIteratorTests.listIteratorTest(entries, array.iterator());
+        StandardStreamableTests.verifyOrderedUsingCollection(keys, array.keys());
+        StandardStreamableTests.verifyOrderedUsingCollection(values, array.values());
+        StandardStreamableTests.verifyOrderedUsingCollection(entries, array);
+    }
+
+    public void testEquals()
+    {
+        final ILongArray<Integer> a = LongArray.<Integer>of().assign(1L << 40, 1).assign(-5, 2).assign(10, 3);
+        final ILongArray<Integer> b = LongArray.<Integer>of().assign(10, 3).assign(1L << 40, 1).assign(-5, 2);
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertEquals(false, a.equals(b.assign(10, 4)));
+        assertEquals(false, a.equals(b.delete(10)));
+        assertEquals("[-5=2,10=3,1099511627776=1]", a.toString());
+        assertEquals(a, a.deleteAll().insertAll(b));
+    }
+
+    public void testBuilder()
+    {
+        assertSame(LongArray.of(), LongArray.builder().build());
+        final Random r = new Random(100);
+        final Map<Long, Integer> expected = new TreeMap<>();
+        final ILongArrayBuilder<Integer> builder = LongArray.builder();
+        final ILongArrayBuilder<Integer> unsynchronized = LongArray.unsynchronizedBuilder();
+        for (int i = 0; i < 5000; ++i) {
+            final long index = r.nextLong();
+            expected.put(index, i);
+            builder.put(index, i);
+            unsynchronized.put(index, i);
+            assertEquals(expected.size(), builder.size());
+        }
+        final ILongArray<Integer> array = builder.build();
+        array.checkInvariants();
+        assertEquals(expected, array.getMap());
+        assertEquals(array, unsynchronized.build());
+        assertEquals(array, LongArray.<Integer>builder().putAll(array).build());
+        assertEquals(array, array.stream().parallel().collect(LongArray.collector()));
+        assertEquals(new ArrayList<>(expected.values()), array.values().stream().collect(Collectors.toList()));
+        assertEquals(0, builder.clear().size());
+        assertSame(LongArray.of(), builder.build());
+    }
+
+    public void testSerialization()
+        throws Exception
+    {
+        final Func1<Object, Iterator> iteratorFactory = a -> ((ILongArray)a).iterator();
+        final ILongArray<String> empty = LongArray.of();
+        StandardSerializableTests.verifySerializable(iteratorFactory, null, empty,
+                                                     "H4sIAAAAAAAA/1vzloG1uIjBMr8oXS8rsSwzN7e0JDEpJ1UvOT8nJzW5JDM/r1ivOLUoMzEnsyoRxNXzyc9LdywqSqwMKMqvqPwPAv9UjHkYGCoKyjkYGJhfMgBBBQBP2/3jWQAAAA==");
+        StandardSerializableTests.verifySerializable(iteratorFactory, null, empty.assign(1, "a"),
+                                                     "H4sIAAAAAAAA/1vzloG1uIjBMr8oXS8rsSwzN7e0JDEpJ1UvOT8nJzW5JDM/r1ivOLUoMzEnsyoRxNXzyc9LdywqSqwMKMqvqPwPAv9UjHkYGCoKygUYGJhfMjAwMDJAAGMJA2NiBQC9Re16ZQAAAA==");
+        StandardSerializableTests.verifySerializable(iteratorFactory, null, empty.assign(Long.MIN_VALUE, "a").assign(1, "b").assign(Long.MAX_VALUE, "c"),
+                                                     "H4sIAAAAAAAA/1vzloG1uIjBMr8oXS8rsSwzN7e0JDEpJ1UvOT8nJzW5JDM/r1ivOLUoMzEnsyoRxNXzyc9LdywqSqwMKMqvqPwPAv9UjHkYGCoKygUYGJhfMgCJBgYIKGFgTCzngHIYgbykco76/xAA5CVXAADL4VrfgQAAAA==");
+    }
+}
@@ -98,4 +98,38 @@ public class TrieArrayNodeTest
         node = node.assign(assignIndex, 2);
         assertEquals(Integer.valueOf(2), node.getValueOr(assignIndex, -1));
     }
+
+    public void testSameValues()
+    {
+        final Random r = new Random(20000);
+        TrieArrayNode<Integer> forward = TrieArrayNode.empty();
+        TrieArrayNode<Integer> reverse = TrieArrayNode.empty();
+        final int[] indexes = new int[500];
+        for (int i = 0; i < indexes.length; ++i) {
+            indexes[i] = r.nextInt();
+        }
+        for (int i = 0; i < indexes.length; ++i) {
+            forward = forward.assign(indexes[i], i);
+            reverse = reverse.assign(indexes[indexes.length - 1 - i], indexes.length - 1 - i);
+        }
+        assertEquals(true, forward.sameValues(reverse, Integer::equals));
+        assertEquals(true, forward.sameValues(forward, (a, b) -> false));
+
+        // only the changed value is compared and comparison stops at the first mismatch
+        final int[] calls = new int[1];
+        final TrieArrayNode<Integer> changed = forward.assign(indexes[10], -1).assign(indexes[20], -2);
+        assertEquals(false, forward.sameValues(changed, (a, b) -> {
+            calls[0] += 1;
+            return false;
+        }));
+        assertEquals(1, calls[0]);
+
+        // a value present in only one trie is a difference even when the sizes match
+        final TrieArrayNode<Integer> moved = forward.delete(indexes[10]).assign(indexes[10] + 1, 10);
+        assertEquals(false, forward.sameValues(moved, (a, b) -> true));
+        assertEquals(false, moved.sameValues(forward, Integer::equals));
+        assertEquals(false, forward.sameValues(TrieArrayNode.empty(), Integer::equals));
+        assertEquals(false, TrieArrayNode.<Integer>empty().assign(1, 1).sameValues(TrieArrayNode.<Integer>empty().assign(1 << 20, 1), Integer::equals));
+        assertEquals(true, TrieArrayNode.<Integer>empty().sameValues(TrieArrayNode.empty(), Integer::equals));
+    }
 }
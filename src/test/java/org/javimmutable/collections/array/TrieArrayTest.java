@@ -41,6 +41,7 @@ import org.javimmutable.collections.Func1;
 import org.javimmutable.collections.Func2;
 import org.javimmutable.collections.IArray;
 import org.javimmutable.collections.IArrayBuilder;
+import org.javimmutable.collections.IArrayCursor;
 import org.javimmutable.collections.IMapEntry;
 import org.javimmutable.collections.Indexed;
 import org.javimmutable.collections.Maybe;
@@ -49,6 +50,8 @@ import org.javimmutable.collections.common.IntArrayMappedTrieMath;
 import org.javimmutable.collections.common.StandardBuilderTests;
 import org.javimmutable.collections.common.StandardSerializableTests;
 import org.javimmutable.collections.common.StandardStreamableTests;
+import org.javimmutable.collections.common.TestUtil;
+import org.javimmutable.collections.iterators.IteratorHelper;
 import org.javimmutable.collections.iterators.StandardIteratorTests;
 
 import java.util.ArrayList;
@@ -57,6 +60,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Random;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
@@ -94,6 +98,60 @@ public class TrieArrayTest
         assertEquals(0, array.hashCode());
     }
 
+    public void testHashCodeAndEquals()
+    {
+        final Random r = new Random(1000);
+        final Map<Integer, Integer> expected = new TreeMap<>();
+        IArray<Integer> array = TrieArray.of();
+        for (int loop = 1; loop <= 3000; ++loop) {
+            final int index = (loop % 3 == 0) ? r.nextInt() : r.nextInt(2000) - 1000;
+            if (r.nextInt(4) == 0) {
+                expected.remove(index);
+                array = array.delete(index);
+            } else {
+                expected.put(index, loop);
+                array = array.assign(index, loop);
+            }
+            if (loop % 100 == 0) {
+                assertEquals(IteratorHelper.iteratorHashCode(array.iterator()), array.hashCode());
+                IArray<Integer> rebuilt = TrieArray.of();
+                for (Map.Entry<Integer, Integer> entry : ((TreeMap<Integer, Integer>)expected).descendingMap().entrySet()) {
+                    rebuilt = rebuilt.assign(entry.getKey(), entry.getValue());
+                }
+                assertEquals(rebuilt, array);
+                assertEquals(array, rebuilt);
+                assertEquals(false, array.equals(array.assign(index, -loop)));
+            }
+        }
+    }
+
+    public void testEqualsSkipsSharedSubtrees()
+    {
+        final int[] equalsCount = new int[1];
+        IArray<TestUtil.CountingValue> array = TrieArray.of();
+        for (int i = 0; i < 10_000; ++i) {
+            array = array.assign(i, new TestUtil.CountingValue(2 * i, equalsCount));
+        }
+        final IArray<TestUtil.CountingValue> same = array.assign(5000, new TestUtil.CountingValue(10_000, equalsCount));
+        final IArray<TestUtil.CountingValue> collides = array.assign(5000, new TestUtil.CountingValue(10_001, equalsCount));
+        assertEquals(array.hashCode(), collides.hashCode());
+
+        equalsCount[0] = 0;
+        assertEquals(true, array.equals(same));
+        assertEquals(false, array.equals(collides));
+        assertTrue(equalsCount[0] < 100);
+
+        // builders create uncompressed tries so their shape differs from the assigned array
+        final IArrayBuilder<TestUtil.CountingValue> builder = TrieArray.builder();
+        for (TestUtil.CountingValue value : collides.values()) {
+            builder.add(value);
+        }
+        final IArray<TestUtil.CountingValue> rebuilt = builder.build();
+        assertEquals(collides, rebuilt);
+        assertEquals(rebuilt, collides);
+        assertEquals(false, array.equals(rebuilt));
+    }
+
     public void testOrder()
     {
         final int hash10 = IntArrayMappedTrieMath.hash(0, 1, 0, 0, 0, 0);
@@ -318,6 +376,35 @@ public class TrieArrayTest
         StandardStreamableTests.verifyOrderedUsingCollection(entries, array);
     }
 
+    public void testCursor()
+    {
+        final Random random = new Random(1234L);
+        IArray<Integer> array = TrieArray.of();
+        final IArrayCursor<Integer> emptyCursor = array.cursor();
+        assertFalse(emptyCursor.advance());
+        for (int loop = 0; loop < 5000; ++loop) {
+            final int index = random.nextInt();
+            array = array.assign(index, -index);
+        }
+        final List<IMapEntry<Integer, Integer>> expected = new ArrayList<>();
+        array.iterator().forEachRemaining(expected::add);
+        final IArrayCursor<Integer> cursor = array.cursor();
+        for (int pass = 0; pass < 2; ++pass) {
+            final List<IMapEntry<Integer, Integer>> actual = new ArrayList<>();
+            while (cursor.advance()) {
+                actual.add(IMapEntry.of(cursor.index(), cursor.value()));
+            }
+            assertEquals(expected, actual);
+            try {
+                cursor.index();
+                fail();
+            } catch (NoSuchElementException ignored) {
+                // expected
+            }
+            cursor.reset();
+        }
+    }
+
     public void testVarious()
     {
         List<Integer> indexes = createBranchIndexes();
@@ -426,6 +513,8 @@ public class TrieArrayTest
 
         StandardBuilderTests.verifyBuilder(expected, this::builder, comparator, new Integer[0]);
         StandardBuilderTests.verifyThreadSafety(this::builder, a -> a.values());
+        StandardBuilderTests.verifyBuilder(expected, this::unsynchronizedBuilder, comparator, new Integer[0]);
+        StandardBuilderTests.verifyOwnership(this::unsynchronizedBuilder, 1);
     }
 
     static List<Integer> createBranchIndexes()
@@ -451,6 +540,11 @@ public class TrieArrayTest
         return new BuilderTestAdapter<>(TrieArray.builder());
     }
 
+    private BuilderTestAdapter<Integer> unsynchronizedBuilder()
+    {
+        return new BuilderTestAdapter<>(TrieArray.unsynchronizedBuilder());
+    }
+
     private static class BuilderTestAdapter<T>
         implements StandardBuilderTests.BuilderAdapter<T, IArray<T>>
     {
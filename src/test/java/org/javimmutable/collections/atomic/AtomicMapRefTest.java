@@ -0,0 +1,88 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.atomic;
+
+import junit.framework.TestCase;
+import org.javimmutable.collections.IMap;
+import org.javimmutable.collections.IMaps;
+import org.javimmutable.collections.Maybe;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AtomicMapRefTest
+    extends TestCase
+{
+    public void testUpdates()
+    {
+        final AtomicMapRef<String, Integer> ref = AtomicMapRef.of(IMaps.hashed());
+        assertEquals(IMaps.hashed().assign("a", 1), ref.assign("a", 1));
+        assertEquals(IMaps.hashed().assign("a", 2), ref.update("a", v -> v.map(x -> x + 1).get(0)));
+        assertEquals(IMaps.hashed().assign("a", 2).assign("b", 0), ref.update("b", v -> v.map(x -> x + 1).get(0)));
+        assertEquals(IMaps.hashed().assign("b", 0), ref.delete("a"));
+        assertEquals(IMaps.hashed().assign("b", 5).assign("c", 6), ref.assignAll(IMaps.<String, Integer>hashed().assign("b", 5).assign("c", 6)));
+        assertEquals(Maybe.of(6), ref.find("c"));
+        assertEquals(Maybe.empty(), ref.find("a"));
+    }
+
+    public void testConcurrentCounters()
+        throws InterruptedException
+    {
+        final int threadCount = 8;
+        final int loops = 10_000;
+        final AtomicMapRef<Integer, Integer> ref = AtomicMapRef.of(IMaps.hashed());
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; ++t) {
+            final Thread thread = new Thread(() -> {
+                for (int i = 0; i < loops; ++i) {
+                    ref.update(i % 10, v -> v.map(x -> x + 1).get(1));
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        final IMap<Integer, Integer> map = ref.get();
+        assertEquals(10, map.size());
+        for (int key = 0; key < 10; ++key) {
+            assertEquals(Integer.valueOf(threadCount * loops / 10), map.get(key));
+        }
+        assertEquals(threadCount * loops, ref.metrics().getUpdates());
+    }
+}
@@ -0,0 +1,178 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.atomic;
+
+import junit.framework.TestCase;
+import org.javimmutable.collections.Func1;
+import org.javimmutable.collections.IList;
+import org.javimmutable.collections.ILists;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.Arrays.asList;
+
+public class AtomicRefTest
+    extends TestCase
+{
+    public void testSwap()
+    {
+        final AtomicRef<String> ref = AtomicRef.of("a");
+        assertEquals("a", ref.get());
+        assertEquals("ab", ref.swap(s -> s + "b"));
+        assertEquals("ab", ref.getAndSwap(s -> s + "c"));
+        assertEquals("abc", ref.get());
+
+        final String current = ref.get();
+        assertSame(current, ref.swap(s -> s));
+        assertSame(current, ref.get());
+
+        final List<Func1<String, String>> updates = asList(s -> s + "d", s -> s + "e", s -> s.toUpperCase());
+        assertEquals("ABCDE", ref.swapAll(updates));
+
+        assertEquals(false, ref.compareAndSet("ABCDE", "x"));
+        assertEquals(true, ref.compareAndSet(ref.get(), "x"));
+        assertEquals("x", ref.get());
+        ref.set("y");
+        assertEquals("y", ref.toString());
+
+        final ContentionMetrics metrics = ref.metrics();
+        assertEquals(5, metrics.getUpdates());
+        assertEquals(1, metrics.getFailedCompareAndSets());
+        assertEquals(0, metrics.getBackoffs());
+        assertEquals(0, metrics.getLockedUpdates());
+    }
+
+    public void testRetryAfterConflict()
+    {
+        final AtomicRef<IList<Integer>> ref = AtomicRef.of(ILists.of(), ContentionPolicy.of(0, 1, 10, 100));
+        final int[] calls = new int[1];
+        final IList<Integer> answer = ref.swap(list -> {
+            calls[0] += 1;
+            if (calls[0] == 1) {
+                // simulate another thread winning the race
+                ref.set(list.insertLast(1));
+            }
+            return list.insertLast(2);
+        });
+        assertEquals(ILists.of(1, 2), answer);
+        assertEquals(2, calls[0]);
+        assertEquals(1, ref.metrics().getFailedCompareAndSets());
+        assertEquals(1, ref.metrics().getBackoffs());
+    }
+
+    public void testLockFallback()
+    {
+        final AtomicRef<IList<Integer>> ref = AtomicRef.of(ILists.of(), ContentionPolicy.of(0, 0, 0, 2));
+        final int[] calls = new int[1];
+        final IList<Integer> answer = ref.swap(list -> {
+            calls[0] += 1;
+            if (calls[0] <= 2) {
+                ref.set(list.insertLast(-calls[0]));
+            }
+            return list.insertLast(calls[0]);
+        });
+        assertEquals(ILists.of(-1, -2, 3), answer);
+        assertEquals(2, ref.metrics().getFailedCompareAndSets());
+        assertEquals(1, ref.metrics().getLockedUpdates());
+    }
+
+    public void testConcurrentUpdates()
+        throws InterruptedException
+    {
+        for (ContentionPolicy policy : asList(ContentionPolicy.defaultPolicy(),
+                                              ContentionPolicy.spinOnly(),
+                                              ContentionPolicy.defaultPolicy().withoutLock(),
+                                              ContentionPolicy.of(0, 0, 0, 1))) {
+            final int threadCount = 8;
+            final int loops = 5000;
+            final AtomicRef<IList<Integer>> ref = AtomicRef.of(ILists.of(), policy);
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < threadCount; ++t) {
+                final Thread thread = new Thread(() -> {
+                    try {
+                        start.await();
+                        for (int i = 0; i < loops; ++i) {
+                            ref.swap(list -> list.insertLast(list.size()));
+                        }
+                    } catch (InterruptedException ignored) {
+                        // test will fail on size
+                    }
+                });
+                thread.start();
+                threads.add(thread);
+            }
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            final IList<Integer> list = ref.get();
+            assertEquals(threadCount * loops, list.size());
+            for (int i = 0; i < list.size(); ++i) {
+                assertEquals(Integer.valueOf(i), list.get(i));
+            }
+            assertEquals(threadCount * loops, ref.metrics().getUpdates());
+            if (!policy.usesLock()) {
+                assertEquals(0, ref.metrics().getLockedUpdates());
+            }
+        }
+    }
+
+    public void testPolicy()
+    {
+        final ContentionPolicy policy = ContentionPolicy.of(2, 100, 1000, 10);
+        assertEquals(0, policy.backoffNanos(1));
+        assertEquals(0, policy.backoffNanos(2));
+        assertEquals(100, policy.backoffNanos(3));
+        assertEquals(200, policy.backoffNanos(4));
+        assertEquals(800, policy.backoffNanos(6));
+        assertEquals(1000, policy.backoffNanos(7));
+        assertEquals(1000, policy.backoffNanos(Integer.MAX_VALUE));
+        assertEquals(false, policy.shouldLock(9));
+        assertEquals(true, policy.shouldLock(10));
+        assertEquals(false, policy.withoutLock().shouldLock(Integer.MAX_VALUE - 1));
+        assertEquals(0, ContentionPolicy.spinOnly().backoffNanos(Integer.MAX_VALUE));
+        try {
+            ContentionPolicy.of(0, 10, 5, 1);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+            // expected
+        }
+    }
+}
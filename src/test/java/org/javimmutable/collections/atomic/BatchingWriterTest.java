@@ -0,0 +1,207 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.atomic;
+
+import junit.framework.TestCase;
+import org.javimmutable.collections.Func1;
+import org.javimmutable.collections.IList;
+import org.javimmutable.collections.ILists;
+import org.javimmutable.collections.IMap;
+import org.javimmutable.collections.IMaps;
+import org.javimmutable.collections.ISet;
+import org.javimmutable.collections.ISets;
+import org.javimmutable.collections.hash.HashMap;
+import org.javimmutable.collections.hash.HashSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+public class BatchingWriterTest
+    extends TestCase
+{
+    public void testSingleThread()
+    {
+        final BatchingWriter<IList<Integer>, IList<Integer>> writer = BatchingWriter.of(ILists.of());
+        assertEquals(ILists.of(1), writer.apply(list -> list.insertLast(1)));
+        final CompletableFuture<IList<Integer>> future = writer.submit(list -> list.insertLast(2));
+        assertEquals(true, future.isDone());
+        assertEquals(ILists.of(1, 2), future.join());
+        assertEquals(ILists.of(1, 2), writer.get());
+        assertEquals(2, writer.batchCount());
+        assertEquals(2, writer.updateCount());
+
+        final CompletableFuture<IList<Integer>> failed = writer.submit(list -> {
+            throw new IllegalStateException();
+        });
+        try {
+            failed.join();
+            fail();
+        } catch (CompletionException ex) {
+            assertEquals(IllegalStateException.class, ex.getCause().getClass());
+        }
+        assertEquals(ILists.of(1, 2), writer.get());
+    }
+
+    public void testHashSessions()
+    {
+        final BatchingWriter<IMap<String, Integer>, HashMap.Editor<String, Integer>> maps = BatchingWriter.forHashMap(IMaps.hashed());
+        maps.apply(e -> e.assign("a", 1));
+        maps.apply(e -> e.assign("b", 2).delete("a"));
+        assertEquals(IMaps.hashed().assign("b", 2), maps.get());
+
+        final BatchingWriter<ISet<String>, HashSet.Editor<String>> sets = BatchingWriter.forHashSet(ISets.hashed("x"));
+        sets.apply(e -> e.insert("y"));
+        assertEquals(ISets.hashed("x", "y"), sets.get());
+
+        try {
+            BatchingWriter.forHashMap(IMaps.<String, Integer>sorted());
+            fail();
+        } catch (IllegalArgumentException ignored) {
+            // expected
+        }
+        try {
+            BatchingWriter.forHashSet(ISets.<String>sorted());
+            fail();
+        } catch (IllegalArgumentException ignored) {
+            // expected
+        }
+    }
+
+    public void testFailedEditorUpdateIsRolledBack()
+    {
+        final BatchingWriter<IMap<String, Integer>, HashMap.Editor<String, Integer>> writer = BatchingWriter.forHashMap(IMaps.hashed());
+        final List<CompletableFuture<IMap<String, Integer>>> futures = new ArrayList<>();
+        // updates submitted while the combiner holds the flag are applied together in its extra batch
+        writer.apply(e -> {
+            futures.add(writer.submit(e2 -> {
+                e2.assign("bad", 1);
+                throw new IllegalStateException();
+            }));
+            futures.add(writer.submit(e2 -> e2.assign("c", 3)));
+            return e.assign("a", 1);
+        });
+        assertEquals(2, futures.size());
+        assertEquals(true, futures.get(0).isCompletedExceptionally());
+        assertEquals(IMaps.hashed().assign("a", 1).assign("c", 3), futures.get(1).join());
+        assertEquals(IMaps.hashed().assign("a", 1).assign("c", 3), writer.get());
+        assertEquals(2, writer.batchCount());
+    }
+
+    public void testCombinerAppliesAtMostOneExtraBatch()
+    {
+        final BatchingWriter<IList<Integer>, IList<Integer>> writer = BatchingWriter.of(ILists.of());
+        final List<Thread> threads = new ArrayList<>();
+        final List<CompletableFuture<IList<Integer>>> futures = new ArrayList<>();
+        writer.submit(chainedUpdate(writer, threads, futures, 0, 5));
+        CompletableFuture<IList<Integer>> last;
+        do {
+            synchronized (futures) {
+                last = futures.get(futures.size() - 1);
+            }
+        } while (last.join().size() < 5);
+        assertEquals(ILists.of(0, 1, 2, 3, 4), writer.get());
+        synchronized (futures) {
+            assertEquals(Thread.currentThread(), threads.get(0));
+            assertEquals(Thread.currentThread(), threads.get(1));
+            assertEquals(5, threads.size());
+            assertEquals(false, Thread.currentThread() == threads.get(2));
+        }
+    }
+
+    private static Func1<IList<Integer>, IList<Integer>> chainedUpdate(BatchingWriter<IList<Integer>, IList<Integer>> writer,
+                                                                       List<Thread> threads,
+                                                                       List<CompletableFuture<IList<Integer>>> futures,
+                                                                       int value,
+                                                                       int limit)
+    {
+        return list -> {
+            synchronized (futures) {
+                threads.add(Thread.currentThread());
+                if (value + 1 < limit) {
+                    futures.add(writer.submit(chainedUpdate(writer, threads, futures, value + 1, limit)));
+                }
+            }
+            return list.insertLast(value);
+        };
+    }
+
+    public void testConcurrentWriters()
+        throws Exception
+    {
+        final int threadCount = 8;
+        final int loops = 5000;
+        final BatchingWriter<IMap<Integer, Integer>, HashMap.Editor<Integer, Integer>> writer = BatchingWriter.forHashMap(HashMap.of());
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Throwable> errors = new ArrayList<>();
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; ++t) {
+            final int thread = t;
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < loops; ++i) {
+                        final Integer key = thread * loops + i;
+                        final IMap<Integer, Integer> version = writer.submit(e -> e.assign(key, -key)).join();
+                        if (!version.find(key).isFull()) {
+                            throw new IllegalStateException("missing key " + key);
+                        }
+                        writer.apply(e -> e.update(-1, v -> v.get(0) + 1));
+                    }
+                } catch (Throwable ex) {
+                    synchronized (errors) {
+                        errors.add(ex);
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(new ArrayList<Throwable>(), errors);
+        final IMap<Integer, Integer> map = writer.get();
+        map.checkInvariants();
+        assertEquals(threadCount * loops + 1, map.size());
+        assertEquals(Integer.valueOf(threadCount * loops), map.get(-1));
+        assertEquals(2 * threadCount * loops, writer.updateCount());
+        assertEquals(true, writer.batchCount() <= writer.updateCount());
+    }
+}
@@ -0,0 +1,213 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.atomic;
+
+import junit.framework.TestCase;
+import org.javimmutable.collections.IMap;
+import org.javimmutable.collections.IMapEntry;
+import org.javimmutable.collections.Maybe;
+import org.javimmutable.collections.hash.HashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Arrays.asList;
+
+public class StripedMapTest
+    extends TestCase
+{
+    public void testOperations()
+    {
+        for (int bits : asList(0, 1, StripedMap.DEFAULT_SHARD_BITS, StripedMap.MAX_SHARD_BITS)) {
+            final StripedMap<Integer, Integer> map = StripedMap.of(bits);
+            assertEquals(1 << bits, map.shardCount());
+            assertEquals(true, map.isEmpty());
+            assertSame(HashMap.of(), map.snapshot());
+
+            final Random r = new Random(bits);
+            IMap<Integer, Integer> expected = HashMap.of();
+            for (int i = 0; i < 5000; ++i) {
+                final Integer key = r.nextInt();
+                map.assign(key, i);
+                expected = expected.assign(key, i);
+            }
+            for (IMapEntry<Integer, Integer> e : expected) {
+                assertEquals(e.getValue(), map.get(e.getKey()));
+                assertEquals(Maybe.of(e.getValue()), map.find(e.getKey()));
+            }
+            assertEquals(expected.size(), map.size());
+            final IMap<Integer, Integer> snapshot = map.snapshot();
+            snapshot.checkInvariants();
+            assertEquals(expected, snapshot);
+
+            final Integer key = expected.keys().iterator().next();
+            assertEquals(Integer.valueOf(expected.get(key) + 1), map.update(key, v -> v.get(0) + 1));
+            map.delete(key);
+            assertEquals(Maybe.empty(), map.find(key));
+            assertEquals(null, map.get(key));
+            assertEquals(Integer.valueOf(-1), map.getValueOr(key, -1));
+            assertEquals(expected.delete(key), map.snapshot());
+
+            map.clear();
+            assertEquals(true, map.isEmpty());
+            assertEquals(0, map.size());
+        }
+
+        try {
+            StripedMap.of(StripedMap.MAX_SHARD_BITS + 1);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+            // expected
+        }
+    }
+
+    public void testConcurrentSnapshots()
+        throws InterruptedException
+    {
+        final int threadCount = 4;
+        final int loops = 20_000;
+        final StripedMap<Integer, Integer> map = StripedMap.of(6);
+        final AtomicBoolean failed = new AtomicBoolean();
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; ++t) {
+            final int thread = t;
+            threads.add(new Thread(() -> {
+                // keys spread across shards but each thread adds them in a fixed order
+                for (int i = 0; i < loops; ++i) {
+                    map.assign(key(thread, i), i);
+                }
+            }));
+        }
+        final Thread reader = new Thread(() -> {
+            for (int n = 0; n < 200; ++n) {
+                final IMap<Integer, Integer> snapshot = map.snapshot();
+                for (int t = 0; t < threadCount; ++t) {
+                    // a consistent snapshot contains exactly a prefix of each thread's keys
+                    int count = 0;
+                    while (snapshot.find(key(t, count)).isFull()) {
+                        count += 1;
+                    }
+                    for (int i = count; i < Math.min(loops, count + 100); ++i) {
+                        if (snapshot.find(key(t, i)).isFull()) {
+                            failed.set(true);
+                        }
+                    }
+                }
+            }
+        });
+        threads.forEach(Thread::start);
+        reader.start();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        reader.join();
+        assertEquals(false, failed.get());
+        final IMap<Integer, Integer> snapshot = map.snapshot();
+        snapshot.checkInvariants();
+        assertEquals(threadCount * loops, snapshot.size());
+        assertEquals(threadCount * loops, map.size());
+    }
+
+    public void testShardReturningToEmpty()
+    {
+        // 1 and -1 are in different shards
+        final StripedMap<Integer, Integer> map = StripedMap.of(1);
+        final Object[] collected = new Object[map.shardCount()];
+        final long[] versions = new long[map.shardCount()];
+        map.collect(collected, versions);
+        assertEquals(true, map.isUnchanged(collected, versions));
+
+        // the shard is the shared empty map again but the change must still be detected
+        map.assign(1, 1);
+        map.delete(1);
+        assertEquals(false, map.isUnchanged(collected, versions));
+
+        map.collect(collected, versions);
+        map.assign(-1, 1);
+        map.clear();
+        assertEquals(false, map.isUnchanged(collected, versions));
+
+        // changes that leave a shard's map unchanged do not count
+        map.collect(collected, versions);
+        map.delete(1);
+        map.clear();
+        assertEquals(true, map.isUnchanged(collected, versions));
+        assertSame(HashMap.of(), map.snapshot());
+    }
+
+    public void testSnapshotsWhileShardsEmpty()
+        throws InterruptedException
+    {
+        // the writer never removes both keys at once so no snapshot can be empty even
+        // though each shard keeps returning to the empty map
+        final StripedMap<Integer, Integer> map = StripedMap.of(1);
+        final Integer first = 1;
+        final Integer second = -1;
+        map.assign(first, 0);
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicBoolean failed = new AtomicBoolean();
+        final Thread writer = new Thread(() -> {
+            for (int i = 0; i < 100_000; ++i) {
+                map.assign(second, i);
+                map.delete(first);
+                map.assign(first, i);
+                map.delete(second);
+            }
+            done.set(true);
+        });
+        final Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                if (map.snapshot().isEmpty()) {
+                    failed.set(true);
+                }
+            }
+        });
+        writer.start();
+        reader.start();
+        writer.join();
+        reader.join();
+        assertEquals(false, failed.get());
+    }
+
+    private static Integer key(int thread,
+                               int index)
+    {
+        return Integer.rotateRight(index * 4 + thread, 7);
+    }
+}
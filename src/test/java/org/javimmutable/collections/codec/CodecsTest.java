@@ -0,0 +1,248 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.codec;
+
+import junit.framework.TestCase;
+import org.javimmutable.collections.IList;
+import org.javimmutable.collections.IListMap;
+import org.javimmutable.collections.IListMaps;
+import org.javimmutable.collections.ILists;
+import org.javimmutable.collections.IMap;
+import org.javimmutable.collections.IMaps;
+import org.javimmutable.collections.IMultiset;
+import org.javimmutable.collections.IMultisets;
+import org.javimmutable.collections.ISet;
+import org.javimmutable.collections.ISetMap;
+import org.javimmutable.collections.ISetMaps;
+import org.javimmutable.collections.ISets;
+import org.javimmutable.collections.inorder.OrderedMap;
+import org.javimmutable.collections.tree.ComparableComparator;
+import org.javimmutable.collections.tree.TreeMap;
+import org.javimmutable.collections.tree.TreeSet;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import static java.util.Arrays.asList;
+
+public class CodecsTest
+    extends TestCase
+{
+    public void testPrimitives()
+        throws IOException
+    {
+        for (int value : asList(0, 1, -1, 63, -64, 64, 127, 128, 100_000, Integer.MIN_VALUE, Integer.MAX_VALUE)) {
+            verifyRoundTrip(Codecs.ints(), value);
+        }
+        for (long value : asList(0L, 1L, -1L, 1L << 40, Long.MIN_VALUE, Long.MAX_VALUE)) {
+            verifyRoundTrip(Codecs.longs(), value);
+        }
+        for (double value : asList(0.0, -0.0, 1.5, Double.NaN, Double.NEGATIVE_INFINITY, Double.MIN_VALUE)) {
+            verifyRoundTrip(Codecs.doubles(), value);
+        }
+        verifyRoundTrip(Codecs.booleans(), true);
+        verifyRoundTrip(Codecs.booleans(), false);
+        verifyRoundTrip(Codecs.strings(), "");
+        verifyRoundTrip(Codecs.strings(), "héllo 世界 😀");
+        verifyRoundTrip(Codecs.nullable(Codecs.strings()), null);
+        verifyRoundTrip(Codecs.nullable(Codecs.strings()), "x");
+
+        assertEquals(1, Codecs.encode(Codecs.ints(), -64).length);
+        assertEquals(2, Codecs.encode(Codecs.ints(), 64).length);
+        assertEquals(5, Codecs.encode(Codecs.ints(), Integer.MIN_VALUE).length);
+        assertEquals(10, Codecs.encode(Codecs.longs(), Long.MIN_VALUE).length);
+
+        final byte[] bytes = {1, 2, 3, -1};
+        assertEquals(true, Arrays.equals(bytes, Codecs.decode(Codecs.byteArrays(), Codecs.encode(Codecs.byteArrays(), bytes))));
+    }
+
+    public void testTransform()
+        throws IOException
+    {
+        final Codec<Thread.State> states = Codecs.transform(Codecs.ints(), Thread.State::ordinal, i -> Thread.State.values()[i]);
+        for (Thread.State state : Thread.State.values()) {
+            verifyRoundTrip(states, state);
+            assertEquals(1, Codecs.encode(states, state).length);
+        }
+    }
+
+    public void testCollections()
+        throws IOException
+    {
+        final IList<Integer> list = ILists.of(1, -2, 3, 300, 3);
+        verifyRoundTrip(Codecs.list(Codecs.ints()), list);
+        verifyRoundTrip(Codecs.list(Codecs.ints()), ILists.of());
+
+        final ISet<String> set = ISets.hashed("a", "b", "c");
+        verifyRoundTrip(Codecs.set(Codecs.strings()), set);
+        final ISet<String> sortedSet = ISets.sorted("z", "a", "m");
+        final Codec<ISet<String>> sortedSetCodec = Codecs.sortedSet(ComparableComparator.of(), Codecs.strings());
+        verifyRoundTrip(sortedSetCodec, sortedSet);
+        assertEquals(TreeSet.class, Codecs.decode(sortedSetCodec, Codecs.encode(sortedSetCodec, sortedSet)).getClass());
+
+        IMap<String, Integer> map = IMaps.hashed();
+        for (int i = 0; i < 1000; ++i) {
+            map = map.assign("k" + i, i);
+        }
+        verifyRoundTrip(Codecs.map(Codecs.strings(), Codecs.ints()), map);
+
+        final Comparator<Integer> reversed = Comparator.reverseOrder();
+        final IMap<Integer, String> sortedMap = TreeMap.<Integer, String>of(reversed).assign(1, "a").assign(3, "c").assign(2, "b");
+        final Codec<IMap<Integer, String>> sortedMapCodec = Codecs.sortedMap(reversed, Codecs.ints(), Codecs.strings());
+        verifyRoundTrip(sortedMapCodec, sortedMap);
+        assertEquals(asList(3, 2, 1), Codecs.decode(sortedMapCodec, Codecs.encode(sortedMapCodec, sortedMap)).keys().stream().collect(java.util.stream.Collectors.toList()));
+
+        final IMap<String, Integer> ordered = OrderedMap.<String, Integer>of().assign("z", 1).assign("a", 2);
+        final Codec<IMap<String, Integer>> orderedCodec = Codecs.map(OrderedMap::unsynchronizedBuilder, Codecs.strings(), Codecs.ints());
+        assertEquals(asList("z", "a"), Codecs.decode(orderedCodec, Codecs.encode(orderedCodec, ordered)).keys().stream().collect(java.util.stream.Collectors.toList()));
+
+        final IMultiset<String> multiset = IMultisets.<String>hashed().insert("a", 3).insert("b");
+        verifyRoundTrip(Codecs.multiset(Codecs.strings()), multiset);
+        verifyRoundTrip(Codecs.multiset(IMultisets.sorted(), Codecs.strings()), IMultisets.<String>sorted().insert("q", 2));
+
+        final ISetMap<String, Integer> setMap = ISetMaps.<String, Integer>hashed().insert("a", 1).insert("a", 2).insert("b", 3);
+        verifyRoundTrip(Codecs.setMap(Codecs.strings(), Codecs.ints()), setMap);
+        verifyRoundTrip(Codecs.setMap(ISetMaps.sorted(), Codecs.strings(), Codecs.ints()), ISetMaps.<String, Integer>sorted().insert("x", 9));
+
+        final IListMap<String, Integer> listMap = IListMaps.<String, Integer>hashed().insert("a", 1).insert("a", 1).insert("b", 3);
+        verifyRoundTrip(Codecs.listMap(Codecs.strings(), Codecs.ints()), listMap);
+    }
+
+    public void testNested()
+        throws IOException
+    {
+        final Codec<IMap<String, IList<ISet<Integer>>>> codec = Codecs.map(Codecs.strings(), Codecs.list(Codecs.set(Codecs.ints())));
+        final IMap<String, IList<ISet<Integer>>> value = IMaps.<String, IList<ISet<Integer>>>hashed()
+            .assign("a", ILists.of(ISets.hashed(1, 2), ISets.hashed()))
+            .assign("b", ILists.of());
+        verifyRoundTrip(codec, value);
+    }
+
+    public void testMalformedInput()
+        throws IOException
+    {
+        final Codec<IList<String>> codec = Codecs.list(Codecs.strings());
+        final byte[] bytes = Codecs.encode(codec, ILists.of("abc", "def"));
+        for (int length = 0; length < bytes.length; ++length) {
+            try {
+                Codecs.decode(codec, Arrays.copyOf(bytes, length));
+                fail();
+            } catch (EOFException ignored) {
+                // expected
+            }
+        }
+        try {
+            Codecs.decode(codec, Arrays.copyOf(bytes, bytes.length + 1));
+            fail();
+        } catch (IOException ignored) {
+            // expected
+        }
+        try {
+            Codecs.decode(Codecs.booleans(), new byte[]{2});
+            fail();
+        } catch (IOException ignored) {
+            // expected
+        }
+        try {
+            Codecs.decode(Codecs.ints(), new byte[]{-1, -1, -1, -1, -1, 1});
+            fail();
+        } catch (IOException ignored) {
+            // expected
+        }
+
+        // a huge string length is rejected before anything is allocated
+        try {
+            Codecs.decode(Codecs.strings(), new byte[]{-1, -1, -1, -1, 7});
+            fail();
+        } catch (EOFException ignored) {
+            // expected
+        }
+
+        // values out of order cannot be loaded by the presorted builder
+        final Codec<ISet<Integer>> sorted = Codecs.sortedSet(ComparableComparator.of(), Codecs.ints());
+        try {
+            Codecs.decode(sorted, Codecs.encode(Codecs.list(Codecs.ints()), ILists.of(3, 1)));
+            fail();
+        } catch (IOException ignored) {
+            // expected
+        }
+    }
+
+    public void testSmallerThanSerialization()
+        throws IOException
+    {
+        IMap<Integer, String> map = IMaps.hashed();
+        for (int i = 0; i < 1000; ++i) {
+            map = map.assign(i, "v" + i);
+        }
+        final ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(serialized)) {
+            out.writeObject(map);
+        }
+        final byte[] encoded = Codecs.encode(Codecs.map(Codecs.ints(), Codecs.strings()), map);
+        assertTrue(encoded.length * 2 < serialized.size());
+    }
+
+    private static <T> void verifyRoundTrip(Codec<T> codec,
+                                            T value)
+        throws IOException
+    {
+        final byte[] bytes = Codecs.encode(codec, value);
+        assertEquals(value, Codecs.decode(codec, bytes));
+
+        final ByteBuffer buffer = ByteBuffer.allocate(bytes.length + 3);
+        buffer.put((byte)7);
+        codec.encode(CodecOutput.of(buffer), value);
+        assertEquals(bytes.length + 1, buffer.position());
+        buffer.flip();
+        assertEquals(7, buffer.get());
+        assertEquals(value, codec.decode(CodecInput.of(buffer)));
+        assertEquals(false, buffer.hasRemaining());
+
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        codec.encode(CodecOutput.of(new DataOutputStream(stream)), value);
+        assertEquals(true, Arrays.equals(bytes, stream.toByteArray()));
+        assertEquals(value, codec.decode(CodecInput.of(new DataInputStream(new ByteArrayInputStream(bytes)))));
+    }
+}
@@ -0,0 +1,327 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.codec;
+
+import junit.framework.TestCase;
+import org.javimmutable.collections.HashStrategy;
+import org.javimmutable.collections.IList;
+import org.javimmutable.collections.IMap;
+import org.javimmutable.collections.IMapEntry;
+import org.javimmutable.collections.IMaps;
+import org.javimmutable.collections.hash.HashMap;
+import org.javimmutable.collections.tree.TreeMap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static java.util.Arrays.asList;
+
+public class SnapshotTest
+    extends TestCase
+{
+    private static final int NATURAL_ORDER = 0;
+    private static final int CUSTOM_ORDER = 1;
+
+    public void testHashMapVersions()
+        throws IOException
+    {
+        verifyVersions(createVersions(HashMap.of()));
+    }
+
+    public void testTreeMapVersions()
+        throws IOException
+    {
+        verifyVersions(createVersions(TreeMap.of()));
+
+        final Comparator<Integer> reversed = Comparator.reverseOrder();
+        final List<IMap<Integer, String>> versions = createVersions(TreeMap.of(reversed));
+        final byte[] bytes = write(Codecs.ints(), Codecs.strings(), versions);
+        try {
+            reader(Codecs.ints(), Codecs.strings(), null, bytes).readAll();
+            fail();
+        } catch (IOException ex) {
+            assertEquals("snapshot contains a tree map with a custom comparator", ex.getMessage());
+        }
+        final IList<IMap<Integer, String>> restored = reader(Codecs.ints(), Codecs.strings(), reversed, bytes).readAll();
+        assertEquals(versions, restored.getList());
+        assertSame(reversed, ((TreeMap<Integer, String>)restored.get(0)).getComparator());
+    }
+
+    public void testCollisions()
+        throws IOException
+    {
+        // "Aa" and "BB" have the same hash code
+        final List<IMap<String, Integer>> versions = new ArrayList<>();
+        for (IMap<String, Integer> empty : asList(HashMap.<String, Integer>of(), HashMap.<String, Integer>usingList())) {
+            IMap<String, Integer> map = empty.assign("Aa", 1).assign("BB", 2).assign("C", 3);
+            versions.add(map);
+            map = map.assign("BB", 4);
+            versions.add(map);
+            map = map.delete("Aa");
+            versions.add(map);
+        }
+        final byte[] bytes = write(Codecs.strings(), Codecs.ints(), versions);
+        final IList<IMap<String, Integer>> restored = reader(Codecs.strings(), Codecs.ints(), null, bytes).readAll();
+        assertEquals(versions, restored.getList());
+        for (IMap<String, Integer> map : restored) {
+            map.checkInvariants();
+        }
+    }
+
+    public void testRehashedKeys()
+        throws IOException
+    {
+        // restored keys have different hash codes than when they were written, including the colliding 1 and 2
+        final Codec<RehashedKey> keyCodec = Codecs.transform(Codecs.ints(), key -> key.value, value -> new RehashedKey(value, 31 * value + 17));
+        final List<IMap<RehashedKey, Integer>> versions = new ArrayList<>();
+        IMap<RehashedKey, Integer> map = HashMap.<RehashedKey, Integer>of().assign(new RehashedKey(1, 0), 1).assign(new RehashedKey(2, 0), 2);
+        for (int i = 3; i <= 500; ++i) {
+            map = map.assign(new RehashedKey(i, i), i);
+        }
+        versions.add(map);
+        versions.add(map.assign(new RehashedKey(1000, 1000), 1000));
+        versions.add(map.delete(new RehashedKey(2, 0)));
+        final byte[] bytes = write(keyCodec, Codecs.ints(), versions);
+        final IList<IMap<RehashedKey, Integer>> restored = reader(keyCodec, Codecs.ints(), null, bytes).readAll();
+        assertEquals(versions.size(), restored.size());
+        for (int i = 0; i < versions.size(); ++i) {
+            final IMap<RehashedKey, Integer> version = restored.get(i);
+            version.checkInvariants();
+            assertEquals(versions.get(i).size(), version.size());
+            for (IMapEntry<RehashedKey, Integer> entry : versions.get(i)) {
+                final int value = entry.getKey().value;
+                assertEquals(entry.getValue(), version.get(new RehashedKey(value, 31 * value + 17)));
+            }
+        }
+    }
+
+    public void testEmptyMaps()
+        throws IOException
+    {
+        final List<IMap<Integer, String>> versions = new ArrayList<>();
+        versions.add(HashMap.of());
+        versions.add(TreeMap.of());
+        versions.add(HashMap.<Integer, String>of().assign(1, "a"));
+        versions.add(TreeMap.<Integer, String>of().assign(1, "a"));
+        final byte[] bytes = write(Codecs.ints(), Codecs.strings(), versions);
+        final IList<IMap<Integer, String>> restored = reader(Codecs.ints(), Codecs.strings(), null, bytes).readAll();
+        assertEquals(versions, restored.getList());
+        assertSame(HashMap.of(), restored.get(0));
+        assertSame(TreeMap.class, restored.get(1).getClass());
+        assertSame(HashMap.class, restored.get(2).getClass());
+        assertSame(TreeMap.class, restored.get(3).getClass());
+    }
+
+    public void testUnsupportedMaps()
+        throws IOException
+    {
+        final SnapshotWriter<Integer, String> writer = new SnapshotWriter<>(Codecs.ints(), Codecs.strings(), CodecOutput.of(new DataOutputStream(new ByteArrayOutputStream())));
+        try {
+            writer.write(IMaps.<Integer, String>ordered().assign(1, "a"));
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+        try {
+            writer.write(HashMap.<Integer, String>of(HashStrategy.spreading()).assign(1, "a"));
+            fail();
+        } catch (IllegalArgumentException ex) {
+            assertEquals("snapshots require standard hashing", ex.getMessage());
+        }
+        writer.finish();
+        try {
+            writer.write(HashMap.of());
+            fail();
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+    }
+
+    public void testMalformed()
+    {
+        verifyMalformed(new byte[]{99}, "unknown snapshot record: 99");
+        verifyMalformed(new byte[]{SnapshotWriter.HASH_MAP, 0, 5}, "unknown node id: 4");
+        verifyMalformed(new byte[]{SnapshotWriter.TREE_LEAF, 2, 1, 'a', SnapshotWriter.HASH_MAP, 0, 1}, "node 0 is not a TrieArrayNode");
+        verifyMalformed(new byte[]{SnapshotWriter.TREE_LEAF, 2, 1, 'a', SnapshotWriter.TREE_MAP, 7, 1}, "unknown tree map ordering: 7");
+        verifyMalformed(new byte[]{SnapshotWriter.TREE_LEAF, 2, 1, 'a',
+                                   SnapshotWriter.TREE_NODE, 4, 1, 'b', 1, 0,
+                                   SnapshotWriter.TREE_NODE, 10, 1, 'c', 2, 0,
+                                   SnapshotWriter.TREE_MAP, NATURAL_ORDER, 3}, "unbalanced tree node");
+        verifyMalformed(new byte[]{SnapshotWriter.TREE_LEAF, 2, 1, 'a', SnapshotWriter.HASH_MAP, 0, 1}, "node 0 is not a TrieArrayNode");
+        verifyMalformed(new byte[]{SnapshotWriter.TRIE_NODE, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 5}, "trie node size does not match its contents");
+    }
+
+    public void testKeyOrder()
+        throws IOException
+    {
+        // key 1 has key 2 as its left child
+        final byte[] natural = {SnapshotWriter.TREE_LEAF, 4, 1, 'b',
+                                SnapshotWriter.TREE_NODE, 2, 1, 'a', 1, 0,
+                                SnapshotWriter.TREE_MAP, NATURAL_ORDER, 2,
+                                SnapshotWriter.END};
+        verifyMalformed(natural, "tree map keys are out of order");
+
+        // the same tree is in order for a reversed comparator
+        final byte[] reversed = natural.clone();
+        reversed[11] = CUSTOM_ORDER;
+        final Comparator<Integer> reverseOrder = Comparator.reverseOrder();
+        final IList<IMap<Integer, String>> restored = reader(Codecs.ints(), Codecs.strings(), reverseOrder, reversed).readAll();
+        assertEquals(asList(TreeMap.<Integer, String>of(reverseOrder).assign(1, "a").assign(2, "b")), restored.getList());
+        restored.get(0).checkInvariants();
+    }
+
+    private void verifyVersions(List<IMap<Integer, String>> versions)
+        throws IOException
+    {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final SnapshotWriter<Integer, String> writer = new SnapshotWriter<>(Codecs.ints(), Codecs.strings(), CodecOutput.of(new DataOutputStream(bytes)));
+        writer.write(versions.get(0));
+        final int firstNodes = writer.getNodeCount();
+        final int firstBytes = bytes.size();
+        for (IMap<Integer, String> version : versions.subList(1, versions.size())) {
+            writer.write(version);
+        }
+        writer.finish();
+
+        // later versions only add the nodes along the paths to their changed keys
+        assertTrue(writer.getNodeCount() < firstNodes * 2);
+        assertTrue(bytes.size() < firstBytes * 2);
+
+        final SnapshotReader<Integer, String> reader = reader(Codecs.ints(), Codecs.strings(), null, bytes.toByteArray());
+        final IList<IMap<Integer, String>> restored = reader.readAll();
+        assertEquals(versions, restored.getList());
+        assertEquals(writer.getNodeCount(), reader.getNodeCount());
+        for (IMap<Integer, String> map : restored) {
+            map.checkInvariants();
+            assertSame(versions.get(0).getClass(), map.getClass());
+        }
+        assertEquals(false, reader.read().isFull());
+
+        // restored versions share nodes with each other just as the originals did
+        final SnapshotWriter<Integer, String> rewriter = new SnapshotWriter<>(Codecs.ints(), Codecs.strings(), CodecOutput.of(new DataOutputStream(new ByteArrayOutputStream())));
+        for (IMap<Integer, String> map : restored) {
+            rewriter.write(map);
+        }
+        assertEquals(writer.getNodeCount(), rewriter.getNodeCount());
+    }
+
+    private List<IMap<Integer, String>> createVersions(IMap<Integer, String> empty)
+    {
+        final Random random = new Random(1000);
+        final List<IMap<Integer, String>> versions = new ArrayList<>();
+        IMap<Integer, String> map = empty;
+        for (int i = 0; i < 5000; ++i) {
+            map = map.assign(random.nextInt(), String.valueOf(i));
+        }
+        versions.add(map);
+        for (int version = 1; version <= 10; ++version) {
+            for (int i = 0; i < 5; ++i) {
+                map = map.assign(random.nextInt(), String.valueOf(version));
+            }
+            map = map.delete(map.iterator().next().getKey());
+            versions.add(map);
+        }
+        return versions;
+    }
+
+    private void verifyMalformed(byte[] bytes,
+                                 String message)
+    {
+        try {
+            reader(Codecs.ints(), Codecs.strings(), null, bytes).readAll();
+            fail();
+        } catch (IOException ex) {
+            assertEquals(message, ex.getMessage());
+        }
+    }
+
+    /**
+     * Key whose hash code is chosen when it is created, as happens with enums and other keys
+     * using identity hash codes whose hash codes change from one run of a program to the next.
+     */
+    private static class RehashedKey
+    {
+        private final int value;
+        private final int hash;
+
+        private RehashedKey(int value,
+                            int hash)
+        {
+            this.value = value;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            return (o instanceof RehashedKey) && ((RehashedKey)o).value == value;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+    }
+
+    private static <K, V> byte[] write(Codec<K> keyCodec,
+                                       Codec<V> valueCodec,
+                                       List<IMap<K, V>> versions)
+        throws IOException
+    {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final SnapshotWriter<K, V> writer = new SnapshotWriter<>(keyCodec, valueCodec, CodecOutput.of(new DataOutputStream(bytes)));
+        for (IMap<K, V> version : versions) {
+            writer.write(version);
+        }
+        writer.finish();
+        return bytes.toByteArray();
+    }
+
+    private static <K, V> SnapshotReader<K, V> reader(Codec<K> keyCodec,
+                                                      Codec<V> valueCodec,
+                                                      Comparator<K> comparator,
+                                                      byte[] bytes)
+    {
+        return new SnapshotReader<>(keyCodec, valueCodec, comparator, CodecInput.of(ByteBuffer.wrap(bytes)));
+    }
+}
@@ -117,6 +117,23 @@ public class BitmaskMathTest
         verifyEquals(1L, BitmaskMath.bitmask(0));
     }
 
+    public void testCompactArrayCopies()
+    {
+        final long bitmask = BitmaskMath.bitmask(2, 17, 40, 63);
+        final Integer[] full = new Integer[BitmaskMath.ARRAY_SIZE];
+        BitmaskMath.copyFromCompactArrayUsingBitmask(bitmask, new Integer[]{1, 2, 3, 4}, full);
+        assertEquals(Integer.valueOf(1), full[2]);
+        assertEquals(Integer.valueOf(2), full[17]);
+        assertEquals(Integer.valueOf(3), full[40]);
+        assertEquals(Integer.valueOf(4), full[63]);
+        assertEquals(null, full[0]);
+        assertEquals(null, full[18]);
+
+        final Integer[] compact = new Integer[4];
+        BitmaskMath.copyToCompactArrayUsingBitmask(bitmask, full, compact, x -> x);
+        assertEquals(java.util.Arrays.asList(1, 2, 3, 4), java.util.Arrays.asList(compact));
+    }
+
     private void verifyEquals(long a,
                               long b)
     {
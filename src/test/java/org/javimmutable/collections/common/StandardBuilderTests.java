@@ -50,10 +50,12 @@ import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
 
 public final class StandardBuilderTests
 {
@@ -201,6 +203,31 @@ public final class StandardBuilderTests
         verifyThreadSafety(builderFactory, list -> list);
     }
 
+    /**
+     * Verifies that a single threaded builder rejects calls from any thread other than the one
+     * that created it.  Relies on assertions being enabled, as they are when running tests.
+     */
+    public static <T, C> void verifyOwnership(@Nonnull Func0<BuilderAdapter<T, C>> builderFactory,
+                                              @Nonnull T value)
+        throws InterruptedException
+    {
+        final BuilderAdapter<T, C> builder = builderFactory.apply();
+        builder.add(value);
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final Thread thread = new Thread(() -> {
+            try {
+                builder.add(value);
+            } catch (Throwable ex) {
+                error.set(ex);
+            }
+        });
+        thread.start();
+        thread.join();
+        assertTrue(error.get() instanceof IllegalStateException);
+        assertEquals(1, builder.size());
+        builder.add(value);
+    }
+
     private static <T, C> void addValues(BuilderAdapter<T, C> builder,
                                          List<T> indexed,
                                          int first,
@@ -38,20 +38,26 @@ package org.javimmutable.collections.common;
 import org.javimmutable.collections.Func1;
 import org.javimmutable.collections.ICollectors;
 import org.javimmutable.collections.IMap;
+import org.javimmutable.collections.IMapCursor;
 import org.javimmutable.collections.IMapEntry;
+import org.javimmutable.collections.MapDiffVisitor;
 import org.javimmutable.collections.MapEntry;
 import org.javimmutable.collections.Maybe;
 
 import javax.annotation.Nonnull;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static java.util.Arrays.asList;
 import static junit.framework.Assert.*;
 import static org.javimmutable.collections.common.StandardStreamableTests.*;
 
@@ -87,6 +93,86 @@ public class StandardMapTests
         verifyForEach(map.deleteAll());
         verifyReduce(map.deleteAll());
         verifySelectReject(map.deleteAll());
+        verifyDiff(map.deleteAll());
+    }
+
+    private static void verifyDiff(@Nonnull IMap<Integer, Integer> empty)
+    {
+        final Random r = new Random(20260412);
+        for (int loop = 1; loop <= 100; ++loop) {
+            final int maxKey = (loop % 2 == 0) ? 100 : 100000;
+            IMap<Integer, Integer> base = empty;
+            for (int i = r.nextInt(2000); i > 0; --i) {
+                base = base.assign(r.nextInt(maxKey), r.nextInt(10));
+            }
+            final IMap<Integer, Integer> older = modifiedCopy(r, base, maxKey);
+            final IMap<Integer, Integer> newer = modifiedCopy(r, (loop % 3 == 0) ? older : base, maxKey);
+
+            final Map<Integer, List<Integer>> expected = new HashMap<>();
+            for (IMapEntry<Integer, Integer> e : older) {
+                final Maybe<Integer> newValue = newer.find(e.getKey());
+                if (newValue.isEmpty()) {
+                    expected.put(e.getKey(), asList(e.getValue(), null));
+                } else if (!newValue.unsafeGet().equals(e.getValue())) {
+                    expected.put(e.getKey(), asList(e.getValue(), newValue.unsafeGet()));
+                }
+            }
+            for (IMapEntry<Integer, Integer> e : newer) {
+                if (older.find(e.getKey()).isEmpty()) {
+                    expected.put(e.getKey(), asList(null, e.getValue()));
+                }
+            }
+            assertEquals(expected, collectDiff(older, newer));
+            assertEquals(Collections.<Integer, List<Integer>>emptyMap(), collectDiff(newer, newer));
+            assertEquals(older.size(), collectDiff(older, empty).size());
+            assertEquals(newer.size(), collectDiff(empty, newer).size());
+        }
+    }
+
+    private static IMap<Integer, Integer> modifiedCopy(@Nonnull Random r,
+                                                       @Nonnull IMap<Integer, Integer> map,
+                                                       int maxKey)
+    {
+        for (int i = r.nextInt(50); i > 0; --i) {
+            final Integer key = r.nextInt(maxKey);
+            map = r.nextBoolean() ? map.assign(key, r.nextInt(10)) : map.delete(key);
+        }
+        return map;
+    }
+
+    /**
+     * Collects the differences into a map of key to (old value, new value) pairs
+     * using null for the missing side of added and removed keys.
+     */
+    private static Map<Integer, List<Integer>> collectDiff(@Nonnull IMap<Integer, Integer> older,
+                                                           @Nonnull IMap<Integer, Integer> newer)
+    {
+        final Map<Integer, List<Integer>> answer = new HashMap<>();
+        older.diff(newer, new MapDiffVisitor<Integer, Integer>()
+        {
+            @Override
+            public void added(Integer key,
+                              Integer value)
+            {
+                assertNull(answer.put(key, asList(null, value)));
+            }
+
+            @Override
+            public void removed(Integer key,
+                                Integer value)
+            {
+                assertNull(answer.put(key, asList(value, null)));
+            }
+
+            @Override
+            public void changed(Integer key,
+                                Integer oldValue,
+                                Integer newValue)
+            {
+                assertNull(answer.put(key, asList(oldValue, newValue)));
+            }
+        });
+        return answer;
     }
 
     public static <K, V> void verifyEmptyEnumeration(@Nonnull IMap<K, V> map)
@@ -104,6 +190,8 @@ public class StandardMapTests
         verifyOrderedUsingCollection(expectedMap.entrySet(), proxy.entrySet());
         verifyOrderedUsingCollection(expectedMap.keySet(), proxy.keySet());
         verifyOrderedUsingCollection(expectedMap.values(), proxy.values());
+        verifyCursor(map);
+        verifyForEachWhile(map);
         testCollector(map.assignAll(expectedMap), map);
     }
 
@@ -119,6 +207,8 @@ public class StandardMapTests
         verifyOrderedUsingCollection(expectedEntries, proxy.entrySet(), reverseEntries());
         verifyOrderedUsingCollection(expectedKeys, proxy.keySet());
         verifyOrderedUsingCollection(expectedValues, proxy.values());
+        verifyCursor(map);
+        verifyForEachWhile(map);
         testCollector(map.insertAll(expectedEntries), map);
     }
 
@@ -132,9 +222,68 @@ public class StandardMapTests
         verifyUnorderedUsingCollection(expectedMap.entrySet(), proxy.entrySet());
         verifyUnorderedUsingCollection(expectedMap.keySet(), proxy.keySet());
         verifyUnorderedUsingCollection(expectedMap.values(), proxy.values());
+        verifyCursor(map);
+        verifyForEachWhile(map);
         testCollector(map.assignAll(expectedMap), map);
     }
 
+    /**
+     * Verifies that the map's cursor visits the same entries in the same order as its iterator
+     * and can be reset to visit them again.
+     */
+    public static <K, V> void verifyCursor(@Nonnull IMap<K, V> map)
+    {
+        final List<IMapEntry<K, V>> expected = new ArrayList<>();
+        map.iterator().forEachRemaining(e -> expected.add(IMapEntry.of(e.getKey(), e.getValue())));
+        final IMapCursor<K, V> cursor = map.cursor();
+        for (int pass = 0; pass < 2; ++pass) {
+            final List<IMapEntry<K, V>> actual = new ArrayList<>();
+            while (cursor.advance()) {
+                actual.add(IMapEntry.of(cursor.key(), cursor.value()));
+            }
+            assertEquals(expected, actual);
+            assertFalse(cursor.advance());
+            try {
+                cursor.key();
+                fail();
+            } catch (NoSuchElementException ignored) {
+                // expected
+            }
+            cursor.reset();
+        }
+    }
+
+    /**
+     * Verifies that forEachWhile and the match methods visit entries in iteration order
+     * and stop at the first entry that decides the result.
+     */
+    public static <K, V> void verifyForEachWhile(@Nonnull IMap<K, V> map)
+    {
+        final List<IMapEntry<K, V>> expected = new ArrayList<>();
+        map.iterator().forEachRemaining(e -> expected.add(IMapEntry.of(e.getKey(), e.getValue())));
+        final List<IMapEntry<K, V>> visited = new ArrayList<>();
+        assertTrue(map.forEachWhile((k, v) -> visited.add(IMapEntry.of(k, v))));
+        assertEquals(expected, visited);
+        assertEquals(expected.isEmpty(), map.allMatch((k, v) -> false));
+        assertFalse(map.anyMatch((k, v) -> false));
+        assertEquals(Maybe.empty(), map.findFirst((k, v) -> false));
+        for (int stop : asList(0, expected.size() / 2, expected.size() - 1)) {
+            if (stop >= 0 && stop < expected.size()) {
+                final IMapEntry<K, V> target = expected.get(stop);
+                final int[] calls = new int[1];
+                assertFalse(map.forEachWhile((k, v) -> {
+                    calls[0] += 1;
+                    return !target.equals(IMapEntry.of(k, v));
+                }));
+                assertEquals(stop + 1, calls[0]);
+                assertTrue(map.anyMatch((k, v) -> target.equals(IMapEntry.of(k, v))));
+                assertFalse(map.allMatch((k, v) -> !target.equals(IMapEntry.of(k, v))));
+                final IMapEntry<K, V> found = map.findFirst((k, v) -> target.equals(IMapEntry.of(k, v))).unsafeGet();
+                assertEquals(target, IMapEntry.of(found.getKey(), found.getValue()));
+            }
+        }
+    }
+
     private static void verifyReduce(@Nonnull IMap<Integer, Integer> empty)
     {
         assertEquals(Integer.valueOf(0), empty.reduce(0, (s, k, v) -> s + k - v));
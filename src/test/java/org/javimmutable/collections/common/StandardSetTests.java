@@ -35,6 +35,7 @@
 
 package org.javimmutable.collections.common;
 
+import org.javimmutable.collections.ICursor;
 import org.javimmutable.collections.IMultiset;
 import org.javimmutable.collections.IMultisets;
 import org.javimmutable.collections.ISet;
@@ -49,6 +50,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Random;
 import java.util.Set;
 
@@ -456,5 +458,63 @@ public final class StandardSetTests
         }
 
         StandardStreamableTests.verifyUnorderedUsingCollection(expected, jet);
+        verifyCursor(jet);
+        verifyForEachWhile(jet);
+    }
+
+    /**
+     * Verifies that the set's cursor visits the same values in the same order as its iterator
+     * and can be reset to visit them again.
+     */
+    public static <T> void verifyCursor(ISet<T> set)
+    {
+        final List<T> expected = new ArrayList<>();
+        set.iterator().forEachRemaining(expected::add);
+        final ICursor<T> cursor = set.cursor();
+        for (int pass = 0; pass < 2; ++pass) {
+            final List<T> actual = new ArrayList<>();
+            while (cursor.advance()) {
+                actual.add(cursor.value());
+            }
+            assertEquals(expected, actual);
+            assertFalse(cursor.advance());
+            try {
+                cursor.value();
+                fail();
+            } catch (NoSuchElementException ignored) {
+                // expected
+            }
+            cursor.reset();
+        }
+    }
+
+    /**
+     * Verifies that forEachWhile and the match methods visit values in iteration order
+     * and stop at the first value that decides the result.
+     */
+    public static <T> void verifyForEachWhile(ISet<T> set)
+    {
+        final List<T> expected = new ArrayList<>();
+        set.iterator().forEachRemaining(expected::add);
+        final List<T> visited = new ArrayList<>();
+        assertTrue(set.forEachWhile(visited::add));
+        assertEquals(expected, visited);
+        assertEquals(expected.isEmpty(), set.allMatch(v -> false));
+        assertFalse(set.anyMatch(v -> false));
+        assertEquals(Maybe.empty(), set.findFirst(v -> false));
+        for (int stop : Arrays.asList(0, expected.size() / 2, expected.size() - 1)) {
+            if (stop >= 0 && stop < expected.size()) {
+                final T target = expected.get(stop);
+                final int[] calls = new int[1];
+                assertFalse(set.forEachWhile(v -> {
+                    calls[0] += 1;
+                    return !target.equals(v);
+                }));
+                assertEquals(stop + 1, calls[0]);
+                assertTrue(set.anyMatch(target::equals));
+                assertFalse(set.allMatch(v -> !target.equals(v)));
+                assertEquals(Maybe.of(target), set.findFirst(target::equals));
+            }
+        }
     }
 }
@@ -42,11 +42,13 @@ import javax.annotation.Nonnull;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.Spliterator;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
 
 public class StandardStreamableTests
 {
@@ -66,6 +68,7 @@ public class StandardStreamableTests
                                                            @Nonnull IStreamable<S> source,
                                                            @Nonnull Function<S, T> transforminator)
     {
+        verifySpliteratorSizes(expected.size(), source.spliterator());
         StandardIteratorTests.verifyOrderedIteratorUsingHasNext(expected.iterator(), source.iterator(), transforminator);
         StandardIteratorTests.verifyOrderedIteratorUsingNextOnly(expected.iterator(), source.iterator(), transforminator);
         verifyOrderedStream(expected.stream(), source.stream(), transforminator);
@@ -98,6 +101,7 @@ public class StandardStreamableTests
                                                              @Nonnull IStreamable<S> source,
                                                              @Nonnull Function<S, T> transforminator)
     {
+        verifySpliteratorSizes(expected.size(), source.spliterator());
         StandardIteratorTests.verifyUnorderedIteratorUsingHasNext(expected.iterator(), source.iterator(), transforminator);
         StandardIteratorTests.verifyUnorderedIteratorUsingNextOnly(expected.iterator(), source.iterator(), transforminator);
         verifyUnorderedStream(expected.stream(), source.stream(), transforminator);
@@ -114,6 +118,42 @@ public class StandardStreamableTests
         verifyUnorderedStream(expected.parallelStream(), source.parallelStream(), transforminator);
     }
 
+    /**
+     * If the spliterator reports SIZED verifies that its size and the sizes of all of the
+     * spliterators split from it match the number of values they actually visit.
+     */
+    public static <T> void verifySpliteratorSizes(long expectedSize,
+                                                  @Nonnull Spliterator<T> spliterator)
+    {
+        if (spliterator.hasCharacteristics(Spliterator.SIZED)) {
+            assertTrue(spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+            assertEquals(expectedSize, spliterator.estimateSize());
+            assertEquals(expectedSize, verifySplitSizes(spliterator));
+        }
+    }
+
+    private static <T> long verifySplitSizes(@Nonnull Spliterator<T> spliterator)
+    {
+        final long size = spliterator.estimateSize();
+        final Spliterator<T> prefix = spliterator.trySplit();
+        if (prefix != null) {
+            assertTrue(prefix.hasCharacteristics(Spliterator.SIZED));
+            assertEquals(size, prefix.estimateSize() + spliterator.estimateSize());
+            final long count = verifySplitSizes(prefix) + verifySplitSizes(spliterator);
+            assertEquals(size, count);
+            return count;
+        } else {
+            long count = 0;
+            while (spliterator.tryAdvance(v -> {
+            })) {
+                count += 1;
+                assertEquals(size - count, spliterator.estimateSize());
+            }
+            assertEquals(size, count);
+            return count;
+        }
+    }
+
     public static <S, T> void verifyOrderedStream(@Nonnull Stream<T> expected,
                                                   @Nonnull Stream<S> actual,
                                                   @Nonnull Function<S, T> transforminator)
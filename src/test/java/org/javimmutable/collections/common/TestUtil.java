@@ -117,4 +117,40 @@ public class TestUtil
     {
         assertThatThrownBy(proc).isInstanceOf(UnsupportedOperationException.class);
     }
+
+    /**
+     * Value that counts the calls to its equals method so tests can verify that comparisons
+     * skip structure shared by two collections.  Values whose numbers differ only in their
+     * lowest bit have the same hash code.
+     */
+    public static class CountingValue
+    {
+        private final int number;
+        private final int[] equalsCount;
+
+        public CountingValue(int number,
+                             int[] equalsCount)
+        {
+            this.number = number;
+            this.equalsCount = equalsCount;
+        }
+
+        public int getNumber()
+        {
+            return number;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            equalsCount[0] += 1;
+            return (o instanceof CountingValue) && ((CountingValue)o).number == number;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return number >> 1;
+        }
+    }
 }
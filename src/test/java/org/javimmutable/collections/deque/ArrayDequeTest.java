@@ -44,9 +44,11 @@ import org.javimmutable.collections.common.StandardBuilderTests;
 import org.javimmutable.collections.common.StandardDequeTests;
 import org.javimmutable.collections.common.StandardSerializableTests;
 import org.javimmutable.collections.common.StandardStreamableTests;
+import org.javimmutable.collections.common.TestUtil;
 import org.javimmutable.collections.indexed.IndexedArray;
 import org.javimmutable.collections.indexed.IndexedHelper;
 import org.javimmutable.collections.indexed.IndexedList;
+import org.javimmutable.collections.iterators.IteratorHelper;
 import org.javimmutable.collections.iterators.StandardIteratorTests;
 
 import java.util.ArrayList;
@@ -640,6 +642,8 @@ public class ArrayDequeTest
 
         StandardBuilderTests.verifyBuilder(expected, this::builder, (l, j) -> l.equals(j.getList()), new Integer[0]);
         StandardBuilderTests.verifyThreadSafety(this::builder);
+        StandardBuilderTests.verifyBuilder(expected, this::unsynchronizedBuilder, (l, j) -> l.equals(j.getList()), new Integer[0]);
+        StandardBuilderTests.verifyOwnership(this::unsynchronizedBuilder, 1);
     }
 
     private BuilderTestAdapter<Integer> builder()
@@ -647,6 +651,11 @@ public class ArrayDequeTest
         return new BuilderTestAdapter<>(ArrayDeque.builder());
     }
 
+    private BuilderTestAdapter<Integer> unsynchronizedBuilder()
+    {
+        return new BuilderTestAdapter<>(ArrayDeque.unsynchronizedBuilder());
+    }
+
     public void testStreams()
     {
         IDeque<Integer> list = ArrayDeque.<Integer>builder().addAll(1, 2, 3, 4, 5, 6, 7).build();
@@ -669,6 +678,54 @@ public class ArrayDequeTest
         assertEquals(original.getList(), original.stream().parallel().collect(toList()));
     }
 
+    public void testHashCodeAndEquals()
+    {
+        final Random r = new Random(1000);
+        final List<Integer> expected = new ArrayList<>();
+        IDeque<Integer> deque = ArrayDeque.of();
+        for (int loop = 1; loop <= 3000; ++loop) {
+            final int command = r.nextInt(6);
+            if (command == 0 && expected.size() > 0) {
+                expected.remove(0);
+                deque = deque.deleteFirst();
+            } else if (command == 1 && expected.size() > 0) {
+                final int index = r.nextInt(expected.size());
+                expected.set(index, loop);
+                deque = deque.assign(index, loop);
+            } else if (command == 2) {
+                expected.add(0, loop);
+                deque = deque.insertFirst(loop);
+            } else {
+                expected.add(loop);
+                deque = deque.insertLast(loop);
+            }
+            if (loop % 100 == 0) {
+                assertEquals(IteratorHelper.iteratorHashCode(expected.iterator()), deque.hashCode());
+                final IDeque<Integer> rebuilt = ArrayDeque.<Integer>builder().addAll(expected).build();
+                assertEquals(rebuilt, deque);
+                assertEquals(deque, rebuilt);
+                assertEquals(false, deque.equals(deque.assign(0, -loop)));
+            }
+        }
+    }
+
+    public void testEqualsSkipsSharedSubtrees()
+    {
+        final int[] equalsCount = new int[1];
+        IDeque<TestUtil.CountingValue> deque = ArrayDeque.of();
+        for (int i = 0; i < 10_000; ++i) {
+            deque = deque.insertLast(new TestUtil.CountingValue(2 * i, equalsCount));
+        }
+        final IDeque<TestUtil.CountingValue> same = deque.assign(5000, new TestUtil.CountingValue(10_000, equalsCount));
+        final IDeque<TestUtil.CountingValue> collides = deque.assign(5000, new TestUtil.CountingValue(10_001, equalsCount));
+        assertEquals(deque.hashCode(), collides.hashCode());
+
+        equalsCount[0] = 0;
+        assertEquals(true, deque.equals(same));
+        assertEquals(false, deque.equals(collides));
+        assertTrue(equalsCount[0] < 100);
+    }
+
     public void testSerialization()
         throws Exception
     {
@@ -37,9 +37,11 @@ package org.javimmutable.collections.hash;
 
 import junit.framework.TestCase;
 import org.javimmutable.collections.Func1;
+import org.javimmutable.collections.HashStrategy;
 import org.javimmutable.collections.IMap;
 import org.javimmutable.collections.IMapBuilder;
 import org.javimmutable.collections.IMapEntry;
+import org.javimmutable.collections.MapDiffVisitor;
 import org.javimmutable.collections.MapEntry;
 import org.javimmutable.collections.Maybe;
 import org.javimmutable.collections.Proc2;
@@ -60,6 +62,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 import static java.util.Arrays.asList;
@@ -256,6 +259,36 @@ public class HashMapTest
         assertEquals(map1, map2);
     }
 
+    public void testCachedHashCodeAndEquals()
+    {
+        final Random r = new Random(1000);
+        final Map<ManualHashKey, Integer> expected = new java.util.HashMap<>();
+        IMap<ManualHashKey, Integer> map = HashMap.of();
+        for (int loop = 1; loop <= 2500; ++loop) {
+            final ManualHashKey key = createManualHashKey(500, r);
+            if (r.nextInt(4) == 0) {
+                expected.remove(key);
+                map = map.delete(key);
+            } else {
+                expected.put(key, loop);
+                map = map.assign(key, loop);
+            }
+            if (loop % 50 == 0) {
+                assertEquals(expected.hashCode(), map.hashCode());
+                assertEquals(expected, map.getMap());
+                final IMap<ManualHashKey, Integer> rebuilt = HashMap.<ManualHashKey, Integer>of().assignAll(expected);
+                assertEquals(rebuilt, map);
+                assertEquals(map, rebuilt);
+                if (map.isNonEmpty()) {
+                    final ManualHashKey first = map.iterator().next().getKey();
+                    assertEquals(map, map.assign(first, map.get(first)));
+                    assertEquals(false, map.equals(map.assign(first, -loop)));
+                    assertEquals(false, map.equals(map.delete(first)));
+                }
+            }
+        }
+    }
+
     public void testDeleteAll()
     {
         IMap<Integer, Integer> map1 = HashMap.<Integer, Integer>usingList().assign(1, 3).assign(2, 4).assign(3, 5);
@@ -316,6 +349,40 @@ public class HashMapTest
 
     }
 
+    public void testStructuralAssignAll()
+    {
+        final Random r = new Random(8675309);
+        for (int loop = 1; loop <= 50; ++loop) {
+            IMap<Integer, Integer> base = HashMap.of();
+            for (int i = r.nextInt(5000); i > 0; --i) {
+                base = base.assign(r.nextInt(20000), r.nextInt(100));
+            }
+            IMap<Integer, Integer> left = base;
+            IMap<Integer, Integer> right = (loop % 2 == 0) ? base : HashMap.of();
+            for (int i = r.nextInt(2000); i > 0; --i) {
+                left = left.assign(r.nextInt(20000), r.nextInt(100));
+                right = right.assign(r.nextInt(20000), r.nextInt(100));
+            }
+            final Map<Integer, Integer> expected = new java.util.HashMap<>(left.getMap());
+            expected.putAll(right.getMap());
+            final IMap<Integer, Integer> merged = left.assignAll(right);
+            merged.checkInvariants();
+            assertEquals(expected, merged.getMap());
+            assertEquals(expected, left.insertAll(right).getMap());
+            assertSame(left, left.assignAll(left));
+            assertSame(right, right.assignAll(right));
+        }
+
+        final ManualHashKey a = new ManualHashKey(100, "a");
+        final ManualHashKey b = new ManualHashKey(100, "b");
+        final ManualHashKey c = new ManualHashKey(100, "c");
+        final IMap<ManualHashKey, Integer> left = HashMap.<ManualHashKey, Integer>of().assign(a, 1).assign(b, 2);
+        final IMap<ManualHashKey, Integer> right = HashMap.<ManualHashKey, Integer>of().assign(b, 3).assign(c, 4);
+        final IMap<ManualHashKey, Integer> merged = left.assignAll(right);
+        merged.checkInvariants();
+        assertEquals(HashMap.<ManualHashKey, Integer>of().assign(a, 1).assign(b, 3).assign(c, 4), merged);
+    }
+
     public void testEnumeration()
     {
         IMap<Integer, Integer> map = HashMap.usingList();
@@ -336,6 +403,8 @@ public class HashMapTest
         IMap<ManualHashKey, String> map = HashMap.usingList();
         map = map.assign(key1, "1").assign(key2, "2").assign(key3, "3");
         assertEquals(3, map.size());
+        StandardMapTests.verifyCursor(map);
+        StandardMapTests.verifyCursor(map.assign(new ManualHashKey(2000, "d"), "4"));
         assertEquals("1", map.get(key1));
         assertEquals("2", map.get(key2));
         assertEquals("3", map.get(key3));
@@ -429,6 +498,88 @@ public class HashMapTest
                                                      "H4sIAAAAAAAA/1vzloG1uIjBPL8oXS8rsSwzN7e0JDEpJ1UvOT8nJzW5JDM/r1ivOLUoMzEnsyoRxNXzSCzO8E0sCCjKr6j8DwL/VIx5GBgqihisSTDFMam4pCgxuQSbSQXlHAwMzC8ZgATQbYJAExP1chLz0vU880pS01OLhB4tWPK9sd2CiYHRk4G1LDGnNBVouwBCnV9pblJqUduaqbLcUx50M4GMbACaVsLAmFhcyFDHwAzkMAJ5SRBePdBqIC+5AgAc02F6DgEAAA==");
     }
 
+    public void testHashStrategies()
+        throws Exception
+    {
+        final Random r = new Random(20261017);
+        final Map<Integer, Integer> expected = new java.util.HashMap<>();
+        IMap<Integer, Integer> spread = HashMap.of(HashStrategy.spreading());
+        for (int i = 0; i < 5000; ++i) {
+            final Integer key = r.nextInt(2000);
+            if (r.nextInt(3) == 0) {
+                expected.remove(key);
+                spread = spread.delete(key);
+            } else {
+                expected.put(key, i);
+                spread = spread.assign(key, i);
+            }
+        }
+        spread.checkInvariants();
+        assertEquals(expected, spread.getMap());
+
+        final IMap<char[], Integer> chars = HashMap.of(HashStrategy.charArrays());
+        IMap<char[], Integer> map = chars.assign("ab".toCharArray(), 1).assign("ab".toCharArray(), 2).assign("c".toCharArray(), 3);
+        map.checkInvariants();
+        assertEquals(2, map.size());
+        assertEquals(Integer.valueOf(2), map.get("ab".toCharArray()));
+        assertEquals(Maybe.empty(), map.find("ba".toCharArray()));
+        map = map.delete("ab".toCharArray()).delete("c".toCharArray());
+        assertEquals(0, map.size());
+        assertEquals(HashStrategy.charArrays(), ((HashMap<?, char[], Integer>)map).getHashStrategy());
+        assertEquals(1, map.assign("x".toCharArray(), 1).assign("x".toCharArray(), 2).size());
+        assertEquals(HashStrategy.charArrays(), ((HashMap<?, char[], Integer>)map.assign("x".toCharArray(), 1).deleteAll()).getHashStrategy());
+
+        // equivalent arrays have different hashCode() values so hash codes come from the strategy
+        final IMap<char[], Integer> left = chars.assign("ab".toCharArray(), 1).assign("c".toCharArray(), 3);
+        final IMap<char[], Integer> right = chars.assign("c".toCharArray(), 3).assign("ab".toCharArray(), 1);
+        assertEquals(true, left.equals(right));
+        assertEquals(true, right.equals(left));
+        assertEquals(left.hashCode(), right.hashCode());
+        assertEquals(false, left.equals(chars.assign("ab".toCharArray(), 1).assign("c".toCharArray(), 4)));
+        final IMap<byte[], Integer> bytes = HashMap.of(HashStrategy.byteArrays());
+        final IMap<byte[], Integer> byteLeft = bytes.assign(new byte[]{1, 2}, 1).assign(new byte[]{3}, 3);
+        final IMap<byte[], Integer> byteRight = bytes.assign(new byte[]{3}, 3).assign(new byte[]{1, 2}, 1);
+        assertEquals(true, byteLeft.equals(byteRight));
+        assertEquals(byteLeft.hashCode(), byteRight.hashCode());
+
+        // maps using strategies based on equals() are equal to each other and to java.util maps
+        final IMap<String, Integer> spreadStrings = HashMap.<String, Integer>of(HashStrategy.spreading()).assign("a", 1).assign("b", 2);
+        final IMap<String, Integer> standardStrings = HashMap.<String, Integer>of().assign("a", 1).assign("b", 2);
+        assertEquals(true, spreadStrings.equals(standardStrings));
+        assertEquals(true, standardStrings.equals(spreadStrings));
+        assertEquals(standardStrings.hashCode(), spreadStrings.hashCode());
+        assertEquals(standardStrings.getMap().hashCode(), spreadStrings.hashCode());
+
+        final String a1 = new String("a");
+        final String a2 = new String("a");
+        final IMap<String, Integer> identity = HashMap.<String, Integer>of(HashStrategy.identity()).assign(a1, 1).assign(a2, 2);
+        assertEquals(2, identity.size());
+        assertEquals(Integer.valueOf(1), identity.get(a1));
+        assertEquals(Integer.valueOf(2), identity.get(a2));
+        assertEquals(null, identity.get("b"));
+
+        // every key collides so the collision map must use the strategy's equivalence
+        final HashStrategy<long[]> colliding = HashStrategy.of(x -> 0, java.util.Arrays::equals);
+        IMap<long[], Integer> collisions = HashMap.of(colliding);
+        for (int i = 0; i < 100; ++i) {
+            collisions = collisions.assign(new long[]{i}, i).update(new long[]{i}, v -> v.unsafeGet() + 1);
+        }
+        collisions.checkInvariants();
+        assertEquals(100, collisions.size());
+        assertEquals(Integer.valueOf(51), collisions.get(new long[]{50}));
+        assertEquals(99, collisions.delete(new long[]{50}).size());
+
+        final IMapBuilder<char[], Integer> builder = chars.mapBuilder();
+        builder.add("a".toCharArray(), 1).add("a".toCharArray(), 2).add("b".toCharArray(), 3);
+        assertEquals(Integer.valueOf(2), builder.build().get("a".toCharArray()));
+        assertEquals(2, builder.build().size());
+
+        final IMap<Integer, String> spreading = HashMap.<Integer, String>of(HashStrategy.spreading()).assign(1, "a").assign(2, "b");
+        final Func1<Object, Iterator> iteratorFactory = a -> ((IMap)a).iterator();
+        StandardSerializableTests.verifySerializable(iteratorFactory, null, spreading,
+                                                     "H4sIAAAAAAAA/1vzloG1uIjBNr8oXS8rsSwzN7e0JDEpJ1UvOT8nJzW5JDM/r1ivOLUoMzEnsyoRxNVzLi0uyc/1SCzO8E0sCCjKr6j8DwL/VIx5GBgqihisSTDLMam4pCgxuQSbSQXlLAwMzC+BrrPBa2Jyfm4u0CiQg4KBhpWkpmemFqsEFxSlJqZk5qXDjGSCGcnABDRSEGhcol5OYl66nmceUEtqkdCjBUu+N7ZbMDEwejKwliXmlKYCPSOAUOdXmpuUWtS2Zqos95QH3WDjQIaVMDAmFRcy1DGwAnmMQF5iBQA+QpCJVQEAAA==");
+    }
+
     public void testBuilder()
     {
         final Random r = new Random(1265143000);
@@ -451,6 +602,200 @@ public class HashMapTest
         }
     }
 
+    public void testParallelBuilder()
+    {
+        final Random r = new Random(1265143001);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int size : asList(0, 1, 100, 5000, 50_000)) {
+                for (int threshold : asList(1, 64, HashPartitions.DEFAULT_THRESHOLD)) {
+                    final IMapBuilder<Integer, Integer> builder = new ParallelHashMapBuilder<>(pool, threshold, 0);
+                    final IMapBuilder<Integer, Integer> expected = HashMap.builder();
+                    for (int k = 1; k <= size; ++k) {
+                        final Integer key = r.nextInt();
+                        final Integer value = r.nextInt();
+                        builder.add(key, value);
+                        expected.add(key, value);
+                        if (k % 3 == 0) {
+                            // duplicate key must keep the last value
+                            builder.add(key, -value);
+                            expected.add(key, -value);
+                        }
+                    }
+                    final IMap<Integer, Integer> actual = builder.build();
+                    actual.checkInvariants();
+                    assertEquals(expected.build(), actual);
+                    assertEquals(expected.size(), builder.size());
+                    assertSame(actual, builder.build());
+                    assertEquals(HashMap.of().assign(1, 2), builder.clear().add(1, 2).build());
+                }
+            }
+
+            final Map<ManualHashKey, Integer> source = new java.util.HashMap<>();
+            for (int i = 0; i < 20_000; ++i) {
+                source.put(new ManualHashKey(r.nextInt(100) << 24 | r.nextInt(4), String.valueOf(i)), i);
+            }
+            final IMap<ManualHashKey, Integer> copy = HashMap.copyOf(pool, source);
+            copy.checkInvariants();
+            assertEquals(source, copy.getMap());
+            assertEquals(HashMap.<ManualHashKey, Integer>builder().add(source).build(), copy);
+        } finally {
+            pool.shutdown();
+        }
+
+        final Map<String, Integer> source = new java.util.HashMap<>();
+        for (int i = 0; i < 10_000; ++i) {
+            source.put("k" + i, i);
+        }
+        assertEquals(source, HashMap.copyOf(source).getMap());
+        assertSame(HashMap.of(), HashMap.copyOf(Collections.emptyMap()));
+        final List<IMapEntry<Integer, Integer>> values = new ArrayList<>();
+        for (int i = 1; i <= 5000; ++i) {
+            values.add(IMapEntry.of(i, 5001 - i));
+        }
+        StandardBuilderTests.verifyBuilder(values, this::parallelBuilderTestAdaptor, this::stdBuilderTestComparator, new IMapEntry[0]);
+    }
+
+    public void testEditor()
+        throws InterruptedException
+    {
+        final Random r = new Random(20260214);
+        for (int loop = 1; loop <= 200; ++loop) {
+            final int size = 1 + r.nextInt(2000);
+            final int maxKey = (loop % 2 == 0) ? 3 * size : Integer.MAX_VALUE;
+            IMap<Integer, Integer> expected = HashMap.of();
+            for (int i = 1; i <= size; ++i) {
+                expected = expected.assign(r.nextInt(maxKey) - maxKey / 2, i);
+            }
+            final IMap<Integer, Integer> original = expected;
+            final Map<Integer, Integer> originalContents = new java.util.HashMap<>(original.getMap());
+            final HashMap.Editor<Integer, Integer> editor = (original instanceof HashMap) ? ((HashMap<?, Integer, Integer>)original).editor() : HashMap.<Integer, Integer>of().editor();
+            assertSame(original, editor.build());
+
+            IMap<Integer, Integer> snapshot = null;
+            IMap<Integer, Integer> snapshotExpected = null;
+            for (int i = 1; i <= 2 * size; ++i) {
+                final Integer key = r.nextInt(maxKey) - maxKey / 2;
+                switch (r.nextInt(4)) {
+                    case 0:
+                        expected = expected.assign(key, i);
+                        editor.assign(key, i);
+                        break;
+                    case 1:
+                        expected = expected.update(key, v -> v.isEmpty() ? 1 : v.unsafeGet() + 1);
+                        editor.update(key, v -> v.isEmpty() ? 1 : v.unsafeGet() + 1);
+                        break;
+                    default:
+                        expected = expected.delete(key);
+                        editor.delete(key);
+                        break;
+                }
+                assertEquals(expected.size(), editor.size());
+                assertEquals(expected.get(key), editor.getValueOr(key, null));
+                assertEquals(expected.find(key), editor.find(key));
+                if (i == size) {
+                    snapshot = editor.build();
+                    snapshotExpected = expected;
+                }
+            }
+            final IMap<Integer, Integer> actual = editor.build();
+            actual.checkInvariants();
+            assertEquals(expected, actual);
+            assertSame(actual, editor.build());
+            snapshot.checkInvariants();
+            assertEquals(snapshotExpected, snapshot);
+            assertEquals(originalContents, original.getMap());
+            original.checkInvariants();
+
+            for (Integer key : actual.keys()) {
+                editor.delete(key);
+            }
+            assertEquals(0, editor.size());
+            assertSame(HashMap.of(), editor.build());
+        }
+
+        final ManualHashKey key1 = new ManualHashKey(1000, "a");
+        final ManualHashKey key2 = new ManualHashKey(1000, "b");
+        final ManualHashKey key3 = new ManualHashKey(2000, "c");
+        final HashMap.Editor<ManualHashKey, String> collisions = HashMap.<ManualHashKey, String>of().editor();
+        IMap<ManualHashKey, String> map = collisions.assign(key1, "1").assign(key2, "2").assign(key3, "3").build();
+        map.checkInvariants();
+        assertSame(TreeCollisionMap.instance(), ((HashMap)map).getCollisionMap());
+        assertEquals(HashMap.<ManualHashKey, String>of().assign(key1, "1").assign(key2, "2").assign(key3, "3"), map);
+        map = collisions.delete(key1).assign(key2, "22").build();
+        map.checkInvariants();
+        assertEquals(HashMap.<ManualHashKey, String>of().assign(key2, "22").assign(key3, "3"), map);
+
+        final HashMap.Editor<Integer, Integer> owned = HashMap.<Integer, Integer>of().editor().assign(1, 1);
+        final List<Throwable> errors = new ArrayList<>();
+        final Thread other = new Thread(() -> {
+            try {
+                owned.assign(2, 2);
+            } catch (Throwable ex) {
+                errors.add(ex);
+            }
+        });
+        other.start();
+        other.join();
+        assertEquals(1, errors.size());
+        assertEquals(IllegalStateException.class, errors.get(0).getClass());
+        assertEquals(HashMap.<Integer, Integer>of().assign(1, 1), owned.build());
+    }
+
+    public void testCollisionSlots()
+    {
+        final ManualHashKey key1 = new ManualHashKey(1000, "a");
+        final ManualHashKey key2 = new ManualHashKey(1000, "b");
+        final ManualHashKey key3 = new ManualHashKey(1000, "c");
+        final ManualHashKey key4 = new ManualHashKey(2000, "d");
+        for (IMap<ManualHashKey, String> empty : asList(HashMap.<ManualHashKey, String>usingList(), HashMap.<ManualHashKey, String>usingTree())) {
+            final IMap<ManualHashKey, String> single = empty.assign(key1, "1").assign(key4, "4");
+            final IMap<ManualHashKey, String> collided = single.assign(key2, "2").assign(key3, "3");
+            collided.checkInvariants();
+            assertEquals(4, collided.size());
+            assertEquals(asList("1", "2", "3", "4"), asList(collided.get(key1), collided.get(key2), collided.get(key3), collided.get(key4)));
+
+            // deleting colliding keys turns the slot back into a single entry
+            final IMap<ManualHashKey, String> shrunk = collided.delete(key2).delete(key3);
+            shrunk.checkInvariants();
+            assertEquals(single, shrunk);
+            assertEquals(single.hashCode(), shrunk.hashCode());
+            assertSame(shrunk, shrunk.delete(key2));
+
+            final IMap<ManualHashKey, String> updated = collided.update(key2, v -> v.unsafeGet() + "2").update(key3, v -> v.unsafeGet() + "3");
+            updated.checkInvariants();
+            assertEquals(asList("1", "22", "33"), asList(updated.get(key1), updated.get(key2), updated.get(key3)));
+            assertEquals(Collections.singletonMap(key1, "1"), updated.delete(key4).delete(key2).delete(key3).getMap());
+
+            assertEquals(asList("+b=2", "+c=3"), diff(single, collided));
+            assertEquals(asList("-b=2", "-c=3"), diff(collided, single));
+            assertEquals(asList("~b=2>22", "~c=3>33"), diff(collided, updated));
+            assertEquals(asList(), diff(collided, collided.assign(key2, "2")));
+
+            assertEquals(updated, single.assignAll(updated));
+            assertEquals(collided, updated.assignAll(collided));
+            assertEquals(collided.assign(key3, "33"), collided.assignAll(shrunk.assign(key3, "33")));
+
+            // an editor must copy nodes it shares with the original map before changing a slot in place
+            final HashMap.Editor<ManualHashKey, String> editor = ((HashMap<?, ManualHashKey, String>)single).editor();
+            editor.assign(key2, "2");
+            assertEquals(null, single.get(key2));
+            final IMap<ManualHashKey, String> edited = editor.build();
+            edited.checkInvariants();
+            editor.assign(key3, "3").assign(key2, "22").delete(key1);
+            assertEquals(2, single.size());
+            assertEquals(3, edited.size());
+            assertEquals("2", edited.get(key2));
+            assertEquals(null, edited.get(key3));
+            final IMap<ManualHashKey, String> reedited = editor.build();
+            reedited.checkInvariants();
+            assertEquals(empty.assign(key2, "22").assign(key3, "3").assign(key4, "4"), reedited);
+            editor.delete(key2).delete(key3).delete(key4);
+            assertEquals(0, editor.size());
+            assertEquals(3, reedited.size());
+        }
+    }
+
     public void testStandardBuilderTests()
         throws InterruptedException
     {
@@ -462,6 +807,8 @@ public class HashMapTest
         StandardBuilderTests.verifyBuilder(values, this::stdBuilderTestAdaptor, this::stdBuilderTestComparator, new IMapEntry[0]);
         values.sort(MapEntry::compareKeys);
         StandardBuilderTests.verifyThreadSafety(values, MapEntry::compareKeys, this::stdBuilderTestAdaptor, a -> a);
+        StandardBuilderTests.verifyBuilder(values, this::unsynchronizedBuilderTestAdaptor, this::stdBuilderTestComparator, new IMapEntry[0]);
+        StandardBuilderTests.verifyOwnership(this::unsynchronizedBuilderTestAdaptor, IMapEntry.of(1, 1));
     }
 
     public void testForEach()
@@ -532,6 +879,16 @@ public class HashMapTest
         return new MapBuilderTestAdapter<>(HashMap.builder());
     }
 
+    private MapBuilderTestAdapter<Integer, Integer> parallelBuilderTestAdaptor()
+    {
+        return new MapBuilderTestAdapter<>(HashMap.parallelBuilder());
+    }
+
+    private MapBuilderTestAdapter<Integer, Integer> unsynchronizedBuilderTestAdaptor()
+    {
+        return new MapBuilderTestAdapter<>(HashMap.unsynchronizedBuilder());
+    }
+
     private Boolean stdBuilderTestComparator(List<IMapEntry<Integer, Integer>> expected,
                                              IMap<Integer, Integer> actual)
     {
@@ -541,6 +898,38 @@ public class HashMapTest
         return true;
     }
 
+    private static List<String> diff(IMap<ManualHashKey, String> older,
+                                     IMap<ManualHashKey, String> newer)
+    {
+        final List<String> answer = new ArrayList<>();
+        older.diff(newer, new MapDiffVisitor<ManualHashKey, String>()
+        {
+            @Override
+            public void added(ManualHashKey key,
+                              String value)
+            {
+                answer.add("+" + key.value + "=" + value);
+            }
+
+            @Override
+            public void removed(ManualHashKey key,
+                                String value)
+            {
+                answer.add("-" + key.value + "=" + value);
+            }
+
+            @Override
+            public void changed(ManualHashKey key,
+                                String oldValue,
+                                String newValue)
+            {
+                answer.add("~" + key.value + "=" + oldValue + ">" + newValue);
+            }
+        });
+        Collections.sort(answer);
+        return answer;
+    }
+
     private static class ManualHashKey
         implements Comparable<ManualHashKey>
     {
@@ -221,6 +221,39 @@ public class HashMultisetTest
         assertEquals(expected, actual);
     }
 
+    public void testCountsBuilder()
+    {
+        final HashMultiset<String> empty = HashMultiset.of();
+        final IMultiset<String> set = empty.countsBuilder().add("a", 3).add("b", 1).add("c", 2).build();
+        set.checkInvariants();
+        assertEquals(HashMultiset.class, set.getClass());
+        assertEquals(3, set.size());
+        assertEquals(6, set.occurrenceCount());
+        assertEquals(3, set.count("a"));
+        assertEquals(HashMultiset.<String>of().insert("a", 3).insert("b").insert("c", 2), set);
+
+        final IMultiset<String> replaced = empty.countsBuilder().add("a", 3).add("a", 1).build();
+        replaced.checkInvariants();
+        assertEquals(1, replaced.occurrenceCount());
+        assertSame(empty, empty.countsBuilder().build());
+
+        try {
+            empty.countsBuilder().add("a", 0);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            empty.countsBuilder().add("a", -1);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            empty.countsBuilder().add("a", Integer.MAX_VALUE).add("b", 1).build();
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
     public void testSerialization()
         throws Exception
     {
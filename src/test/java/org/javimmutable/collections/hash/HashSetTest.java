@@ -38,7 +38,9 @@ package org.javimmutable.collections.hash;
 import junit.framework.TestCase;
 import org.javimmutable.collections.Func1;
 import org.javimmutable.collections.Func2;
+import org.javimmutable.collections.HashStrategy;
 import org.javimmutable.collections.ISet;
+import org.javimmutable.collections.ISetBuilder;
 import org.javimmutable.collections.common.SetBuilderTestAdapter;
 import org.javimmutable.collections.common.StandardBuilderTests;
 import org.javimmutable.collections.common.StandardSerializableTests;
@@ -51,10 +53,13 @@ import org.javimmutable.collections.tree.ComparableComparator;
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -164,6 +169,119 @@ public class HashSetTest
         assertEquals(HashSet.<String>of(), set3.deleteAll(set3));
     }
 
+    public void testEditor()
+    {
+        final Random r = new Random(20260215);
+        for (int loop = 1; loop <= 200; ++loop) {
+            final int size = 1 + r.nextInt(2000);
+            final int maxValue = (loop % 2 == 0) ? 3 * size : Integer.MAX_VALUE;
+            ISet<Integer> expected = HashSet.of();
+            for (int i = 1; i <= size; ++i) {
+                expected = expected.insert(r.nextInt(maxValue) - maxValue / 2);
+            }
+            final ISet<Integer> original = expected;
+            final Set<Integer> originalContents = new java.util.HashSet<>(original.getSet());
+            final HashSet.Editor<Integer> editor = (original instanceof HashSet) ? ((HashSet<Integer>)original).editor() : EmptyHashSet.<Integer>instance().editor();
+            assertSame(original, editor.build());
+            for (int i = 1; i <= 2 * size; ++i) {
+                final Integer value = r.nextInt(maxValue) - maxValue / 2;
+                if (r.nextBoolean()) {
+                    expected = expected.insert(value);
+                    editor.insert(value);
+                } else {
+                    expected = expected.delete(value);
+                    editor.delete(value);
+                }
+                assertEquals(expected.size(), editor.size());
+                assertEquals(expected.contains(value), editor.contains(value));
+            }
+            final ISet<Integer> actual = editor.build();
+            actual.checkInvariants();
+            assertEquals(expected, actual);
+            assertSame(actual, editor.build());
+            assertEquals(originalContents, original.getSet());
+            original.checkInvariants();
+
+            editor.add(actual.getSet());
+            editor.insert(maxValue);
+            assertEquals(actual.insert(maxValue), editor.build());
+            assertSame(HashSet.of(), editor.clear().build());
+        }
+    }
+
+    public void testStructuralSetOperations()
+    {
+        final Random r = new Random(20260301);
+        for (int loop = 1; loop <= 400; ++loop) {
+            final int maxValue = (loop % 3 == 0) ? 100 : ((loop % 3 == 1) ? 5000 : Integer.MAX_VALUE);
+            ISet<Integer> base = HashSet.of();
+            for (int i = r.nextInt(1000); i > 0; --i) {
+                base = base.insert(r.nextInt(maxValue) - maxValue / 3);
+            }
+            final ISet<Integer> modified = modifiedCopy(r, base, maxValue);
+            // builders create uncompressed tries so mix those in to verify differently shaped tries
+            final ISet<Integer> a = (loop % 5 == 0) ? HashSet.<Integer>builder().add(modified).build() : modified;
+            final ISet<Integer> b = modifiedCopy(r, (loop % 4 == 0) ? HashSet.of() : base, maxValue);
+
+            final Set<Integer> expectedUnion = new java.util.HashSet<>(a.getSet());
+            expectedUnion.addAll(b.getSet());
+            final Set<Integer> expectedIntersection = new java.util.HashSet<>(a.getSet());
+            expectedIntersection.retainAll(b.getSet());
+            final Set<Integer> expectedDifference = new java.util.HashSet<>(a.getSet());
+            expectedDifference.removeAll(b.getSet());
+
+            final ISet<Integer> union = a.union(b);
+            union.checkInvariants();
+            assertEquals(expectedUnion, union.getSet());
+            final ISet<Integer> intersection = a.intersection(b);
+            intersection.checkInvariants();
+            assertEquals(expectedIntersection, intersection.getSet());
+            assertEquals(intersection, a.intersection((Iterable<Integer>)b));
+            final ISet<Integer> difference = a.deleteAll(b);
+            difference.checkInvariants();
+            assertEquals(expectedDifference, difference.getSet());
+
+            assertSame(a, a.union(a));
+            assertSame(a, a.intersection(a));
+            assertEquals(0, a.deleteAll(a).size());
+            assertSame(union, union.union(a));
+            assertSame(intersection, intersection.intersection(a));
+            assertSame(difference, difference.deleteAll(intersection));
+        }
+
+        final ISet<String> listSet = HashSet.<String>usingList().insert("a").insert("b");
+        final ISet<String> treeSet = HashSet.<String>usingTree().insert("b").insert("c");
+        assertEquals(new java.util.HashSet<>(asList("a", "b", "c")), listSet.union(treeSet).getSet());
+        assertEquals(new java.util.HashSet<>(asList("b")), listSet.intersection(treeSet).getSet());
+        assertEquals(new java.util.HashSet<>(asList("a")), listSet.deleteAll(treeSet).getSet());
+    }
+
+    public void testUnionWithSingleBranchTrie()
+    {
+        // builders leave a chain of single child nodes above their values so the other set's
+        // node falls inside the builder root but at a different child than the builder's values
+        final ISet<Integer> branch = HashSet.<Integer>builder().add(1, 2, 3).build();
+        for (int base : asList(1 << 20, 1 << 25, 1 << 29, -(1 << 29))) {
+            final ISet<Integer> other = HashSet.<Integer>of().insert(base).insert(base + 1);
+            final Set<Integer> expected = new java.util.HashSet<>(asList(1, 2, 3, base, base + 1));
+            final ISet<Integer> union = other.union(branch);
+            union.checkInvariants();
+            assertEquals(expected, union.getSet());
+            assertEquals(expected, branch.union(other).getSet());
+        }
+    }
+
+    private ISet<Integer> modifiedCopy(Random r,
+                                       ISet<Integer> set,
+                                       int maxValue)
+    {
+        for (int i = r.nextInt(100); i > 0; --i) {
+            final Integer value = r.nextInt(maxValue) - maxValue / 3;
+            set = r.nextBoolean() ? set.insert(value) : set.delete(value);
+        }
+        return set;
+    }
+
     @SuppressWarnings("unchecked")
     public void testIntersectWithStringComparisonDifference()
     {
@@ -212,6 +330,161 @@ public class HashSetTest
         assertEquals(asList(), TestUtil.makeList(jet.intersection((Collection)tset)));
     }
 
+    public void testCachedHashCodeAndEquals()
+    {
+        final Random r = new Random(1000);
+        final Set<Integer> expected = new java.util.HashSet<>();
+        ISet<Integer> set = HashSet.of();
+        for (int loop = 1; loop <= 2500; ++loop) {
+            final Integer value = r.nextInt(1000) - 500;
+            if (r.nextInt(4) == 0) {
+                expected.remove(value);
+                set = set.delete(value);
+            } else {
+                expected.add(value);
+                set = set.insert(value);
+            }
+            if (loop % 50 == 0) {
+                assertEquals(expected.hashCode(), set.hashCode());
+                assertEquals(expected, set.getSet());
+                final ISet<Integer> sorted = org.javimmutable.collections.tree.TreeSet.<Integer>of().insertAll(expected);
+                assertEquals(sorted.hashCode(), set.hashCode());
+                assertEquals(sorted, set);
+                assertEquals(set, sorted);
+                assertEquals(set, HashSet.<Integer>of().insertAll(expected));
+                assertEquals(false, set.equals(set.insert(loop + 1000)));
+                if (set.isNonEmpty()) {
+                    assertEquals(false, set.equals(set.delete(set.iterator().next())));
+                }
+            }
+        }
+    }
+
+    public void testCursorWithCollisions()
+    {
+        // "Aa" and "BB" have the same hash code as do "AaAa", "AaBB", "BBAa" and "BBBB"
+        final ISet<String> set = HashSet.<String>of().insertAll(asList("Aa", "BB", "x", "AaAa", "AaBB", "BBAa", "BBBB", "y"));
+        assertEquals(8, set.size());
+        StandardSetTests.verifyCursor(set);
+    }
+
+    public void testCollisionsCollapseToInlineValues()
+    {
+        ISet<String> set = HashSet.<String>of().insert("Aa").insert("BB").insert("x");
+        assertEquals(3, set.size());
+        set = set.delete("Aa");
+        set.checkInvariants();
+        assertEquals(new java.util.HashSet<>(asList("BB", "x")), set.getSet());
+        assertEquals(true, set.contains("BB"));
+        assertEquals(false, set.contains("Aa"));
+        set = set.insert("Aa").delete("BB").delete("Aa");
+        assertEquals(new java.util.HashSet<>(asList("x")), set.getSet());
+        assertEquals(HashSet.of().insert("x"), set);
+        StandardSetTests.verifyCursor(set);
+
+        // values are stored directly in the trie so sets of sets must not confuse them with trie contents
+        final ISet<ISet<String>> nested = HashSet.<ISet<String>>of().insert(set).insert(HashSet.<String>of().insert("Aa").insert("BB"));
+        assertEquals(2, nested.size());
+        assertEquals(true, nested.contains(HashSet.<String>of().insert("x")));
+        StandardSetTests.verifyCursor(nested);
+    }
+
+    public void testHashStrategies()
+        throws Exception
+    {
+        StandardSetTests.verifySet(HashSet.of(HashStrategy.spreading()), false);
+
+        final ISet<byte[]> bytes = HashSet.of(HashStrategy.byteArrays());
+        ISet<byte[]> set = bytes.insert(new byte[]{1, 2}).insert(new byte[]{1, 2}).insert(new byte[]{3});
+        set.checkInvariants();
+        assertEquals(2, set.size());
+        assertEquals(true, set.contains(new byte[]{1, 2}));
+        assertEquals(false, set.contains(new byte[]{2, 1}));
+        set = set.delete(new byte[]{1, 2}).delete(new byte[]{3});
+        assertEquals(0, set.size());
+        assertEquals(HashStrategy.byteArrays(), ((HashSet<byte[]>)set).getHashStrategy());
+        assertEquals(1, set.insert(new byte[]{4}).insert(new byte[]{4}).size());
+        assertEquals(HashStrategy.byteArrays(), ((HashSet<byte[]>)set.insert(new byte[]{4}).deleteAll()).getHashStrategy());
+
+        final String a1 = new String("a");
+        final String a2 = new String("a");
+        final ISet<String> identity = HashSet.<String>of(HashStrategy.identity()).insert(a1).insert(a2).insert(a1);
+        assertEquals(2, identity.size());
+        assertEquals(false, identity.contains("b"));
+        assertEquals(1, identity.delete(a2).size());
+
+        // every value collides so the collision set must use the strategy's equivalence
+        final HashStrategy<int[]> colliding = HashStrategy.of(x -> 0, java.util.Arrays::equals);
+        ISet<int[]> collisions = HashSet.of(colliding);
+        for (int i = 0; i < 100; ++i) {
+            collisions = collisions.insert(new int[]{i}).insert(new int[]{i});
+        }
+        collisions.checkInvariants();
+        assertEquals(100, collisions.size());
+        assertEquals(true, collisions.contains(new int[]{50}));
+        assertEquals(99, collisions.delete(new int[]{50}).size());
+
+        // equivalent arrays have different hashCode() values so hash codes come from the strategy
+        final ISet<byte[]> left = bytes.insert(new byte[]{1, 2}).insert(new byte[]{3});
+        final ISet<byte[]> right = bytes.insert(new byte[]{3}).insert(new byte[]{1, 2});
+        assertEquals(true, left.equals(right));
+        assertEquals(true, right.equals(left));
+        assertEquals(left.hashCode(), right.hashCode());
+        assertEquals(false, left.equals(bytes.insert(new byte[]{1, 2}).insert(new byte[]{4})));
+
+        // same size and hash code but a value present in only one of the tries
+        final ISet<Integer> oneTwo = HashSet.<Integer>of().insert(1).insert(2);
+        final ISet<Integer> zeroThree = HashSet.<Integer>of().insert(0).insert(3);
+        assertEquals(oneTwo.hashCode(), zeroThree.hashCode());
+        assertEquals(false, oneTwo.equals(zeroThree));
+        assertEquals(false, zeroThree.equals(oneTwo));
+
+        // sets using strategies based on equals() are equal to each other and to java.util sets
+        final ISet<String> spreadStrings = HashSet.<String>of(HashStrategy.spreading()).insert("a").insert("b");
+        final ISet<String> standardStrings = HashSet.<String>of().insert("a").insert("b");
+        assertEquals(true, spreadStrings.equals(standardStrings));
+        assertEquals(true, standardStrings.equals(spreadStrings));
+        assertEquals(standardStrings.hashCode(), spreadStrings.hashCode());
+        assertEquals(standardStrings.getSet().hashCode(), spreadStrings.hashCode());
+
+        // intersections with other kinds of collections use the strategy's equivalence
+        final ISet<byte[]> stored = bytes.insert(new byte[]{1, 2}).insert(new byte[]{3});
+        final List<byte[]> candidates = asList(new byte[]{1, 2}, new byte[]{4});
+        final Set<byte[]> candidateSet = new java.util.HashSet<>(candidates);
+        final ISet<byte[]> candidateISet = HashSet.<byte[]>of().insertAll(candidates);
+        for (ISet<byte[]> intersection : asList(stored.intersection(candidates),
+                                                stored.intersection(candidates.iterator()),
+                                                stored.intersection(candidateSet),
+                                                stored.intersection(candidateISet))) {
+            intersection.checkInvariants();
+            assertEquals(1, intersection.size());
+            assertEquals(true, intersection.contains(new byte[]{1, 2}));
+            assertEquals(HashStrategy.byteArrays(), ((HashSet<byte[]>)intersection).getHashStrategy());
+        }
+        assertEquals(0, stored.intersection(asList(new byte[]{5})).size());
+
+        final String a3 = new String("a");
+        final List<String> identityCandidates = asList(a2, a3);
+        for (ISet<String> intersection : asList(identity.intersection(identityCandidates),
+                                                identity.intersection(identityCandidates.iterator()),
+                                                identity.intersection(new java.util.HashSet<>(identityCandidates)),
+                                                identity.intersection(HashSet.<String>of(HashStrategy.identity()).insert(a2).insert(a3)))) {
+            assertEquals(1, intersection.size());
+            assertEquals(true, intersection.contains(a2));
+            assertEquals(false, intersection.contains(a1));
+        }
+
+        final HashSet.Editor<byte[]> editor = ((HashSet<byte[]>)bytes).editor();
+        editor.insert(new byte[]{1}).insert(new byte[]{1}).insert(new byte[]{2});
+        assertEquals(true, editor.contains(new byte[]{2}));
+        assertEquals(2, editor.build().size());
+
+        final ISet<Integer> spreading = HashSet.<Integer>of(HashStrategy.spreading()).insertAll(asList(1, 2, 3));
+        final Func1<Object, Iterator> iteratorFactory = a -> ((ISet)a).iterator();
+        StandardSerializableTests.verifySerializable(iteratorFactory, null, spreading,
+                                                     "H4sIAAAAAAAA/1vzloG1uIjBNr8oXS8rsSwzN7e0JDEpJ1UvOT8nJzW5JDM/r1ivOLUoMzEnsyoRxNVzLi0uyc/1SCzOCE4tCSjKr6j8DwL/VIx5GBgqihisSTDLMam4pCgxuQSbSQXlLAwMzC+BrrPBa2Jyfm4u0Ciwg4CGlaSmZ6YWqwQXFKUmpmTmpcOMZIIZycAMNFIQaFyiXk5iXrqeZx5QS2qR0KMFS743tlswMTB6MrCWJeaUpgI9I4BQ51eam5Ra1LZmqiz3lAfdYOPAhhUy1DGwAllMcBZjBQDG/pFeVwEAAA==");
+    }
+
     public void testStreams()
     {
         ISet<Integer> mset = HashSet.<Integer>of().insert(4).insert(3).insert(4).insert(2).insert(1).insert(3);
@@ -245,6 +518,57 @@ public class HashSetTest
         final List<Integer> expected = IntStream.range(0, 4096).boxed().collect(Collectors.toList());
         StandardBuilderTests.verifyBuilder(expected, this::builderAdaptor, comparator, new Integer[0]);
         StandardBuilderTests.verifyThreadSafety(expected, intComparator, this::builderAdaptor, a -> a);
+        StandardBuilderTests.verifyBuilder(expected, () -> new SetBuilderTestAdapter<>(HashSet.unsynchronizedBuilder()), comparator, new Integer[0]);
+        StandardBuilderTests.verifyOwnership(() -> new SetBuilderTestAdapter<>(HashSet.<Integer>unsynchronizedBuilder()), 1);
+    }
+
+    public void testParallelBuilder()
+    {
+        final Random r = new Random(20250);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int size : asList(0, 1, 100, 5000, 50_000)) {
+                for (int threshold : asList(1, 64, HashPartitions.DEFAULT_THRESHOLD)) {
+                    final List<Integer> values = new ArrayList<>();
+                    for (int k = 1; k <= size; ++k) {
+                        values.add(r.nextInt());
+                        if (k % 3 == 0) {
+                            values.add(values.get(r.nextInt(values.size())));
+                        }
+                    }
+                    final ISet<Integer> actual = new ParallelHashSetBuilder<Integer>(pool, threshold, 0).add(values).build();
+                    actual.checkInvariants();
+                    assertEquals(new java.util.HashSet<>(values), actual.getSet());
+                    assertEquals(HashSet.<Integer>builder().add(values).build(), actual);
+                }
+            }
+
+            final List<String> collisions = new ArrayList<>();
+            for (int i = 0; i < 2000; ++i) {
+                collisions.add(i % 2 == 0 ? "Aa" + i : "BB" + i);
+            }
+            final ISet<String> copy = HashSet.copyOf(pool, collisions);
+            copy.checkInvariants();
+            assertEquals(new java.util.HashSet<>(collisions), copy.getSet());
+        } finally {
+            pool.shutdown();
+        }
+
+        final ISetBuilder<Integer> builder = HashSet.parallelBuilder();
+        builder.add(1, 2, 3, 2);
+        assertEquals(3, builder.size());
+        assertEquals(HashSet.of().insert(1).insert(2).insert(3), builder.build());
+        assertEquals(0, builder.clear().size());
+        assertSame(HashSet.of(), builder.build());
+        assertSame(HashSet.of(), HashSet.copyOf(Collections.emptyList()));
+        StandardBuilderTests.verifyBuilder(IntStream.range(0, 4096).boxed().collect(Collectors.toList()),
+                                           () -> new SetBuilderTestAdapter<>(HashSet.<Integer>parallelBuilder()),
+                                           (list, set) -> {
+                                               set.checkInvariants();
+                                               assertEquals(new java.util.HashSet<>(list), set.getSet());
+                                               return true;
+                                           },
+                                           new Integer[0]);
     }
 
     @Nonnull
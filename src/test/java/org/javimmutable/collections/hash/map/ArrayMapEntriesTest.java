@@ -0,0 +1,260 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.hash.map;
+
+import junit.framework.TestCase;
+import org.javimmutable.collections.IMapEntry;
+import org.javimmutable.collections.MapDiffVisitor;
+import org.javimmutable.collections.MapEntry;
+import org.javimmutable.collections.Maybe;
+import org.javimmutable.collections.common.CollisionMap;
+import org.javimmutable.collections.list.ListCollisionMap;
+import org.javimmutable.collections.tree.TreeCollisionMap;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+
+public class ArrayMapEntriesTest
+    extends TestCase
+{
+    private static final int POSITION = ArrayMapEntries.WIDTH;
+
+    public void testAssignGrowsAndDeleteShrinksSlot()
+    {
+        for (CollisionMap<String, Integer> collisionMap : collisionMaps()) {
+            final Object[] values = slots();
+            assertEquals(1, ArrayMapEntries.assign(collisionMap, values, POSITION, "a", 1));
+            assertSame("a", values[POSITION]);
+            assertEquals(1, values[POSITION + 1]);
+            assertEquals(false, ArrayMapEntries.isCollision(values[POSITION]));
+
+            assertEquals(1, ArrayMapEntries.assign(collisionMap, values, POSITION, "a", 2));
+            assertSame("a", values[POSITION]);
+            assertEquals(2, values[POSITION + 1]);
+
+            assertEquals(2, ArrayMapEntries.assign(collisionMap, values, POSITION, "b", 3));
+            assertEquals(true, ArrayMapEntries.isCollision(values[POSITION]));
+            assertNull(values[POSITION + 1]);
+            assertEquals(3, ArrayMapEntries.assign(collisionMap, values, POSITION, "c", 4));
+            assertEquals(3, ArrayMapEntries.size(collisionMap, values, POSITION));
+            assertEquals(Maybe.of(2), ArrayMapEntries.find(collisionMap, values, POSITION, "a"));
+            assertEquals(Maybe.of(3), ArrayMapEntries.find(collisionMap, values, POSITION, "b"));
+            assertEquals(Maybe.of(4), ArrayMapEntries.find(collisionMap, values, POSITION, "c"));
+            assertEquals(Maybe.empty(), ArrayMapEntries.find(collisionMap, values, POSITION, "d"));
+            assertEquals((Integer)3, ArrayMapEntries.getValueOr(collisionMap, values, POSITION, "b", -1));
+            assertEquals((Integer)(-1), ArrayMapEntries.getValueOr(collisionMap, values, POSITION, "d", -1));
+            assertEquals(Maybe.of(MapEntry.entry("c", 4)), ArrayMapEntries.findEntry(collisionMap, values, POSITION, "c"));
+
+            final Object collision = values[POSITION];
+            assertEquals(3, ArrayMapEntries.delete(collisionMap, values, POSITION, "d"));
+            assertSame(collision, values[POSITION]);
+
+            assertEquals(2, ArrayMapEntries.delete(collisionMap, values, POSITION, "b"));
+            assertEquals(true, ArrayMapEntries.isCollision(values[POSITION]));
+            assertEquals(Maybe.empty(), ArrayMapEntries.find(collisionMap, values, POSITION, "b"));
+
+            assertEquals(1, ArrayMapEntries.delete(collisionMap, values, POSITION, "a"));
+            assertSame("c", values[POSITION]);
+            assertEquals(4, values[POSITION + 1]);
+
+            assertEquals(1, ArrayMapEntries.delete(collisionMap, values, POSITION, "a"));
+            assertSame("c", values[POSITION]);
+            assertEquals(0, ArrayMapEntries.delete(collisionMap, values, POSITION, "c"));
+            assertEquals(asList(null, null, null, null), asList(values));
+        }
+    }
+
+    public void testUpdate()
+    {
+        for (CollisionMap<String, Integer> collisionMap : collisionMaps()) {
+            final Object[] values = slots();
+            assertEquals(1, ArrayMapEntries.update(collisionMap, values, POSITION, "a", v -> v.isEmpty() ? 1 : -1));
+            assertEquals(1, values[POSITION + 1]);
+            assertEquals(1, ArrayMapEntries.update(collisionMap, values, POSITION, "a", v -> v.unsafeGet() + 10));
+            assertEquals(11, values[POSITION + 1]);
+            assertEquals(2, ArrayMapEntries.update(collisionMap, values, POSITION, "b", v -> v.isEmpty() ? 2 : -1));
+            assertEquals(true, ArrayMapEntries.isCollision(values[POSITION]));
+            assertEquals(2, ArrayMapEntries.update(collisionMap, values, POSITION, "a", v -> v.unsafeGet() + 10));
+            assertEquals(3, ArrayMapEntries.update(collisionMap, values, POSITION, "c", v -> v.isEmpty() ? 3 : -1));
+            assertEquals(Maybe.of(21), ArrayMapEntries.find(collisionMap, values, POSITION, "a"));
+            assertEquals(Maybe.of(2), ArrayMapEntries.find(collisionMap, values, POSITION, "b"));
+            assertEquals(Maybe.of(3), ArrayMapEntries.find(collisionMap, values, POSITION, "c"));
+        }
+    }
+
+    public void testIteration()
+        throws IOException
+    {
+        for (CollisionMap<String, Integer> collisionMap : collisionMaps()) {
+            final Object[] values = slots();
+            ArrayMapEntries.assign(collisionMap, values, POSITION, "a", 1);
+            assertEquals(asList(MapEntry.entry("a", 1)), entries(collisionMap, values));
+            assertEquals(MapEntry.entry("a", 1).hashCode(), ArrayMapEntries.entriesHashCode(collisionMap, values, POSITION));
+
+            ArrayMapEntries.assign(collisionMap, values, POSITION, "b", 2);
+            ArrayMapEntries.assign(collisionMap, values, POSITION, "c", 3);
+            final List<IMapEntry<String, Integer>> expected = entries(collisionMap, values);
+            assertEquals(3, expected.size());
+            assertEquals(true, expected.containsAll(asList(MapEntry.entry("a", 1), MapEntry.entry("b", 2), MapEntry.entry("c", 3))));
+            assertEquals(MapEntry.entry("a", 1).hashCode() + MapEntry.entry("b", 2).hashCode() + MapEntry.entry("c", 3).hashCode(),
+                         ArrayMapEntries.entriesHashCode(collisionMap, values, POSITION));
+
+            final List<IMapEntry<String, Integer>> visited = new ArrayList<>();
+            ArrayMapEntries.forEach(collisionMap, values, POSITION, (k, v) -> visited.add(MapEntry.entry(k, v)));
+            assertEquals(expected, visited);
+
+            visited.clear();
+            ArrayMapEntries.<String, Integer, IOException>forEachThrows(collisionMap, values, POSITION, (k, v) -> visited.add(MapEntry.entry(k, v)));
+            assertEquals(expected, visited);
+
+            visited.clear();
+            assertEquals(false, ArrayMapEntries.forEachWhile(collisionMap, values, POSITION, (k, v) -> visited.add(MapEntry.entry(k, v)) && visited.size() < 2));
+            assertEquals(expected.subList(0, 2), visited);
+            assertEquals(true, ArrayMapEntries.forEachWhile(collisionMap, values, POSITION, (k, v) -> true));
+        }
+    }
+
+    public void testUnionAndSameEntries()
+    {
+        for (CollisionMap<String, Integer> collisionMap : collisionMaps()) {
+            final Object[] mine = slots();
+            ArrayMapEntries.assign(collisionMap, mine, POSITION, "a", 1);
+            final Object[] theirs = new Object[ArrayMapEntries.WIDTH];
+            ArrayMapEntries.assign(collisionMap, theirs, 0, "a", 10);
+            assertEquals(false, ArrayMapEntries.sameEntries(collisionMap, mine, POSITION, theirs, 0));
+
+            ArrayMapEntries.union(collisionMap, mine, POSITION, theirs, 0);
+            assertSame("a", mine[POSITION]);
+            assertEquals(10, mine[POSITION + 1]);
+            assertEquals(true, ArrayMapEntries.sameEntries(collisionMap, mine, POSITION, theirs, 0));
+
+            ArrayMapEntries.assign(collisionMap, theirs, 0, "b", 20);
+            ArrayMapEntries.assign(collisionMap, mine, POSITION, "c", 3);
+            ArrayMapEntries.union(collisionMap, mine, POSITION, theirs, 0);
+            assertEquals(3, ArrayMapEntries.size(collisionMap, mine, POSITION));
+            assertEquals(Maybe.of(10), ArrayMapEntries.find(collisionMap, mine, POSITION, "a"));
+            assertEquals(Maybe.of(20), ArrayMapEntries.find(collisionMap, mine, POSITION, "b"));
+            assertEquals(Maybe.of(3), ArrayMapEntries.find(collisionMap, mine, POSITION, "c"));
+            assertEquals(false, ArrayMapEntries.sameEntries(collisionMap, mine, POSITION, theirs, 0));
+
+            ArrayMapEntries.assign(collisionMap, theirs, 0, "c", 3);
+            assertEquals(true, ArrayMapEntries.sameEntries(collisionMap, mine, POSITION, theirs, 0));
+            assertEquals(true, ArrayMapEntries.sameEntries(collisionMap, theirs, 0, mine, POSITION));
+            ArrayMapEntries.assign(collisionMap, theirs, 0, "c", 4);
+            assertEquals(false, ArrayMapEntries.sameEntries(collisionMap, mine, POSITION, theirs, 0));
+        }
+    }
+
+    public void testDiff()
+    {
+        for (CollisionMap<String, Integer> collisionMap : collisionMaps()) {
+            final Object[] older = slots();
+            ArrayMapEntries.assign(collisionMap, older, POSITION, "a", 1);
+            ArrayMapEntries.assign(collisionMap, older, POSITION, "b", 2);
+            final Object[] newer = new Object[ArrayMapEntries.WIDTH];
+            ArrayMapEntries.assign(collisionMap, newer, 0, "b", 20);
+            ArrayMapEntries.assign(collisionMap, newer, 0, "c", 3);
+
+            assertEquals(asList("+c=3", "-a=1", "~b=2>20"), diff(collisionMap, older, POSITION, newer, 0));
+            assertEquals(asList("+a=1", "-c=3", "~b=20>2"), diff(collisionMap, newer, 0, older, POSITION));
+            assertEquals(asList(), diff(collisionMap, older, POSITION, older, POSITION));
+            assertEquals(asList("+b=20", "+c=3"), diff(collisionMap, null, 0, newer, 0));
+            assertEquals(asList("-a=1", "-b=2"), diff(collisionMap, older, POSITION, null, 0));
+
+            ArrayMapEntries.delete(collisionMap, older, POSITION, "b");
+            assertEquals(asList("+b=20", "+c=3", "-a=1"), diff(collisionMap, older, POSITION, newer, 0));
+        }
+    }
+
+    private static List<CollisionMap<String, Integer>> collisionMaps()
+    {
+        return asList(ListCollisionMap.instance(), TreeCollisionMap.instance());
+    }
+
+    private static Object[] slots()
+    {
+        return new Object[2 * ArrayMapEntries.WIDTH];
+    }
+
+    private static List<IMapEntry<String, Integer>> entries(CollisionMap<String, Integer> collisionMap,
+                                                            Object[] values)
+    {
+        final List<IMapEntry<String, Integer>> answer = new ArrayList<>();
+        for (IMapEntry<String, Integer> entry : ArrayMapEntries.entries(collisionMap, values, POSITION)) {
+            answer.add(entry);
+        }
+        return answer;
+    }
+
+    private static List<String> diff(CollisionMap<String, Integer> collisionMap,
+                                     Object[] oldValues,
+                                     int oldPosition,
+                                     Object[] newValues,
+                                     int newPosition)
+    {
+        final List<String> answer = new ArrayList<>();
+        ArrayMapEntries.diff(collisionMap, oldValues, oldPosition, newValues, newPosition, new MapDiffVisitor<String, Integer>()
+        {
+            @Override
+            public void added(String key,
+                              Integer value)
+            {
+                answer.add("+" + key + "=" + value);
+            }
+
+            @Override
+            public void removed(String key,
+                                Integer value)
+            {
+                answer.add("-" + key + "=" + value);
+            }
+
+            @Override
+            public void changed(String key,
+                                Integer oldValue,
+                                Integer newValue)
+            {
+                answer.add("~" + key + "=" + oldValue + ">" + newValue);
+            }
+        });
+        Collections.sort(answer);
+        return answer;
+    }
+}
@@ -354,6 +354,8 @@ public class OrderedMapTest
         StandardBuilderTests.verifyBuilder(values, this::stdBuilderTestAdapter, this::stdBuilderTestComparator, new IMapEntry[0]);
         values.sort(MapEntry::compareKeys);
         StandardBuilderTests.verifyThreadSafety(values, MapEntry::compareKeys, this::stdBuilderTestAdapter, a -> a);
+        StandardBuilderTests.verifyBuilder(values, () -> new MapBuilderTestAdapter<>(OrderedMap.unsynchronizedBuilder()), this::stdBuilderTestComparator, new IMapEntry[0]);
+        StandardBuilderTests.verifyOwnership(() -> new MapBuilderTestAdapter<>(OrderedMap.<Integer, Integer>unsynchronizedBuilder()), IMapEntry.of(1, 1));
     }
 
     private MapBuilderTestAdapter<Integer, Integer> stdBuilderTestAdapter()
@@ -47,12 +47,14 @@ import org.javimmutable.collections.indexed.IndexedHelper;
 import org.javimmutable.collections.indexed.IndexedList;
 import static org.javimmutable.collections.iterators.GenericIterator.MIN_SIZE_FOR_SPLIT;
 import static org.javimmutable.collections.iterators.StandardIteratorTests.verifyOrderedIterable;
+import static org.javimmutable.collections.common.StandardStreamableTests.verifySpliteratorSizes;
 import static org.javimmutable.collections.iterators.StandardIteratorTests.verifyOrderedSplit;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
 import java.util.stream.Collectors;
 
 public class GenericIteratorTest
@@ -95,6 +97,23 @@ public class GenericIteratorTest
         verifyOrderedSplit(true, lr(1, len / 2), lr(len / 2 + 1, len), deep.iterator());
     }
 
+    public void testSizedSpliterator()
+    {
+        final Node node = nr(1, limit(4));
+        final Spliterator<Integer> spliterator = node.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+        assertEquals(limit(4), spliterator.estimateSize());
+        verifySpliteratorSizes(limit(4), spliterator);
+
+        final SplitableIterator<Integer> iterator = node.iterator();
+        assertEquals(limit(4), iterator.getExactSizeIfKnown());
+        iterator.next();
+        iterator.next();
+        assertEquals(limit(4) - 2, iterator.getExactSizeIfKnown());
+        assertEquals(limit(4) - 2, iterator.spliterator(0).estimateSize());
+        verifySpliteratorSizes(limit(4), new Transformed(node).spliterator());
+    }
+
     public void testSingleValueState()
     {
         verifyStateOperations(GenericIterator.singleValueState(null, 1, 0, 1), List.of(1));
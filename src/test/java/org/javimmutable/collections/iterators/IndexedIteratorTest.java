@@ -40,7 +40,10 @@ import org.javimmutable.collections.Func2;
 import org.javimmutable.collections.SplitableIterable;
 import org.javimmutable.collections.indexed.IndexedHelper;
 
+import java.util.Spliterator;
+
 import static java.util.Arrays.asList;
+import static org.javimmutable.collections.common.StandardStreamableTests.verifySpliteratorSizes;
 import static org.javimmutable.collections.iterators.StandardIteratorTests.*;
 
 public class IndexedIteratorTest
@@ -70,6 +73,15 @@ public class IndexedIteratorTest
         verifyOrderedSplit(true, asList(5, 4), asList(3, 2, 1), IndexedIterator.reverse(IndexedHelper.indexed(1, 2, 3, 4, 5)));
     }
 
+    public void testSizedSpliterator()
+    {
+        final Spliterator<Integer> forward = IndexedIterator.forRange(1, 1000).spliterator(0);
+        assertTrue(forward.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+        verifySpliteratorSizes(1000, forward);
+        verifySpliteratorSizes(1000, IndexedIterator.reverse(IndexedHelper.range(1, 1000)).spliterator(0));
+        verifySpliteratorSizes(0, IndexedIterator.iterator(IndexedHelper.empty()).spliterator(0));
+    }
+
     public void testReduce()
     {
         final Double zero = 0.0;
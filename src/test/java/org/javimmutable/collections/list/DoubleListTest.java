@@ -0,0 +1,66 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.list;
+
+import junit.framework.TestCase;
+import org.javimmutable.collections.common.StandardSerializableTests;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+public class DoubleListTest
+    extends TestCase
+{
+    public void testRandom()
+    {
+        StandardPackedListTests.verifyRandomEdits(new Random(2500L), 25, DoubleList.of(), Random::nextDouble, DoubleList::insert, DoubleList::get,
+                                                  (list, parallel) -> (parallel ? list.parallelStream() : list.stream()).boxed(),
+                                                  list -> DoubleList.of(list.toArray()));
+    }
+
+    public void testToString()
+    {
+        assertEquals("[]", DoubleList.of().toString());
+        assertEquals("[1.5,-2.0,3.0]", DoubleList.of(1.5, -2, 3).toString());
+    }
+
+    public void testSerialization()
+        throws Exception
+    {
+        StandardSerializableTests.verifySerializable(DoubleList.of(), "H4sIAAAAAAAA/1vzloG1uIjBKr8oXS8rsSwzN7e0JDEpJ1UvOT8nJzW5JDM/r1ivOLUoMzEnsyoRxNVzyS8FKvDJLC4JKMqvqPwPAv9UjHkYGCoKyjkYGJhfMgBBBQBsJp2bWgAAAA==");
+        StandardSerializableTests.verifySerializable(DoubleList.allOf(IntStream.range(0, 300).asDoubleStream()), "H4sIAAAAAAAA/zXWOY4UBxgF4EKA5IBgAgIHBMhCFrKsFgbjBbM0MOwDzL4vXVVdXUvXPgMaiDgCR+AADnwEH8FHcOrAEiewDe5vOnl6/eqrf6LW/Pp3cPawD240fToowtd5Vb06CqMyGcRNWSbxUd7Uh4PDpM/DMn8bfq6D+ebVpwcW8sOjxb45fvPv588/l66dC4Lj9m0QnAmC4PRfQXDq28DnzsdZDvXhF3JOnpdfygvyovxKXpJfy8vyG+nicCCvyO/kVXlNfi+vyx/kj/In+bO8IX+RN+UteVvekcOTfDfLu/pd/Z5+T7+v39fn9Xn9gf5Af6g/1B/pj/TH+mP9if5Ef6o/1Z/pz/QFfUF/rj/XX+gv9Jf6S31RXxzKk+9/n+WSfcm+ZF+yL9uX7cv2ZfuKfcW+Yl+xr9pX7av2Vfuafc2+Zl+zr9vX7ev2dfuGfcO+Yd+wb9o37Zv2TfuWfcu+Zd+yb9u37dv2bfuOfce+Y9+x79p37bv2Xfuefc++Z9+z79v37fv2ffuB/cB+MNv//xEYHnho5KHRRenh0Uh66eiDPHF/zjLkQz7kQz7kQz7kQz7iIz7iIz7iIz7iIz7mYz7mYz7mYz7mY37Mj/kxP+bH/Jgf82M+4RM+4RM+4RM+4RN+wk/4CT/hJ/yEn/ATPuVTPuVTPuVTPuVTPuMzPuMzPuMzPuMzPudzPudzPudzPudzvuALvuALvuALvuALfspP+Sk/5af8lJ/yU77kS77kS77kS77kS77iK77iK77iK77iK77ma77ma77ma77ma77hG77hG77hG76Z+U8/AqeyYeMlrZe0c9LL2ivSS9tF6eVtKx1p30vH2t+kP7r9Q57cnf3rMezc79zv3O/c79zv3O/c79zv3O/c79zv3O/c79zv3O/c793v3e/d793v3e/d793v3e/d793v3e9n94//AzmjdM7HCQAA");
+    }
+}
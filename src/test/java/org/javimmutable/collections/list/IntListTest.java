@@ -0,0 +1,252 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.list;
+
+import junit.framework.TestCase;
+import org.javimmutable.collections.common.StandardSerializableTests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.Arrays.asList;
+
+public class IntListTest
+    extends TestCase
+{
+    public void testRandom()
+    {
+        final Random random = new Random(100L);
+        for (int loop = 0; loop < 50; ++loop) {
+            final List<Integer> expected = new ArrayList<>();
+            IntList list = IntList.of();
+            final int size = 1 + random.nextInt(2000);
+            for (int i = 0; i < size; ++i) {
+                final int value = random.nextInt();
+                final int index = expected.size() == 0 ? 0 : random.nextInt(expected.size() + 1);
+                switch (random.nextInt(6)) {
+                    case 0:
+                        expected.add(value);
+                        list = list.insert(value);
+                        break;
+                    case 1:
+                        expected.add(0, value);
+                        list = list.insertFirst(value);
+                        break;
+                    case 2:
+                    case 3:
+                        expected.add(index, value);
+                        list = list.insert(index, value);
+                        break;
+                    case 4:
+                        if (index < expected.size()) {
+                            expected.set(index, value);
+                            list = list.assign(index, value);
+                        }
+                        break;
+                    case 5:
+                        if (index < expected.size() && random.nextInt(3) == 0) {
+                            expected.remove(index);
+                            list = list.delete(index);
+                        }
+                        break;
+                }
+            }
+            list.checkInvariants();
+            verifyContents(expected, list);
+
+            final int offset = random.nextInt(expected.size() + 1);
+            final int limit = offset + random.nextInt(expected.size() - offset + 1);
+            verifyContents(expected.subList(0, limit), list.prefix(limit));
+            verifyContents(expected.subList(offset, expected.size()), list.suffix(offset));
+            verifyContents(expected.subList(offset, limit), list.middle(offset, limit));
+
+            final List<Integer> combined = new ArrayList<>(expected);
+            combined.addAll(offset, expected.subList(offset, limit));
+            final IntList joined = list.insertAll(offset, list.middle(offset, limit));
+            joined.checkInvariants();
+            verifyContents(combined, joined);
+
+            while (expected.size() > 0) {
+                if (random.nextBoolean()) {
+                    expected.remove(0);
+                    list = list.deleteFirst();
+                } else {
+                    expected.remove(expected.size() - 1);
+                    list = list.deleteLast();
+                }
+                list.checkInvariants();
+            }
+            assertSame(IntList.of(), list);
+        }
+    }
+
+    public void testIndexBounds()
+    {
+        final IntList list = IntList.of(1, 2, 3);
+        verifyOutOfBounds(() -> list.get(-1));
+        verifyOutOfBounds(() -> list.get(3));
+        verifyOutOfBounds(() -> list.assign(3, 0));
+        verifyOutOfBounds(() -> list.insert(4, 0));
+        verifyOutOfBounds(() -> list.delete(3));
+        verifyOutOfBounds(() -> list.prefix(4));
+        verifyOutOfBounds(() -> list.suffix(-1));
+        verifyOutOfBounds(() -> IntList.of().deleteFirst());
+        verifyOutOfBounds(() -> IntList.of().deleteLast());
+    }
+
+    public void testInsertAll()
+    {
+        final IntList a = IntList.allOf(IntStream.range(0, 500));
+        final IntList b = IntList.allOf(IntStream.range(500, 1000));
+        final IntList expected = IntList.allOf(IntStream.range(0, 1000));
+        assertEquals(expected, a.insertAllLast(b));
+        assertEquals(expected, b.insertAllFirst(a));
+        assertEquals(expected, a.prefix(250).insertAllLast(b).insertAll(250, a.suffix(250)));
+        assertEquals(expected.reverse(), IntList.allOf(IntStream.range(0, 1000).map(i -> 999 - i)));
+        assertSame(IntList.of(), a.deleteAll());
+        a.insertAllLast(b).checkInvariants();
+    }
+
+    public void testEqualsAndHashCode()
+    {
+        final List<Integer> boxed = IntStream.range(-300, 700).boxed().collect(Collectors.toList());
+        final IntList list = IntList.allOf(IntStream.range(-300, 700));
+        assertEquals(boxed.hashCode(), list.hashCode());
+        assertEquals(new ArrayList<Integer>().hashCode(), IntList.of().hashCode());
+
+        final IntList built = IntList.of().insertAllLast(list.prefix(321)).insertAllLast(list.suffix(321));
+        assertEquals(list, built);
+        assertEquals(list.hashCode(), built.hashCode());
+        assertFalse(list.equals(list.assign(500, 9999)));
+        assertFalse(list.equals(list.deleteLast()));
+        assertFalse(list.equals(LongList.allOf(IntStream.range(-300, 700).asLongStream())));
+    }
+
+    public void testToString()
+    {
+        assertEquals("[]", IntList.of().toString());
+        assertEquals("[1]", IntList.of(1).toString());
+        assertEquals("[1,2,3]", IntList.of(1, 2, 3).toString());
+    }
+
+    public void testStreams()
+    {
+        final List<Integer> expected = IntStream.range(0, 10_000).boxed().collect(Collectors.toList());
+        final IntList list = IntList.allOf(IntStream.range(0, 10_000));
+        assertEquals(expected, list.stream().boxed().collect(Collectors.toList()));
+        assertEquals(expected, list.parallelStream().boxed().collect(Collectors.toList()));
+        assertEquals(IntStream.range(0, 10_000).sum(), list.parallelStream().sum());
+        assertEquals(expected.subList(2500, 7500), list.middle(2500, 7500).stream().boxed().collect(Collectors.toList()));
+
+        final List<Integer> forEach = new ArrayList<>();
+        list.forEach(forEach::add);
+        assertEquals(expected, forEach);
+        assertEquals(expected, IntStream.of(list.toArray()).boxed().collect(Collectors.toList()));
+    }
+
+    public void testSpliterator()
+    {
+        final IntList list = IntList.allOf(IntStream.range(0, 1000));
+        final Spliterator.OfInt right = list.spliterator();
+        assertEquals(1000, right.estimateSize());
+        assertTrue(right.hasCharacteristics(Spliterator.SIZED | Spliterator.ORDERED | Spliterator.IMMUTABLE));
+
+        final Spliterator.OfInt left = right.trySplit();
+        assertEquals(500, left.estimateSize());
+        assertEquals(500, right.estimateSize());
+
+        final List<Integer> values = new ArrayList<>();
+        assertTrue(left.tryAdvance((int value) -> values.add(value)));
+        assertEquals(499, left.estimateSize());
+        left.forEachRemaining((int value) -> values.add(value));
+        assertFalse(left.tryAdvance((int value) -> values.add(value)));
+        right.forEachRemaining((int value) -> values.add(value));
+        assertEquals(IntStream.range(0, 1000).boxed().collect(Collectors.toList()), values);
+
+        final Spliterator.OfInt small = list.prefix(100).spliterator();
+        assertNull(small.trySplit());
+    }
+
+    public void testBuilder()
+    {
+        final IntList.Builder builder = IntList.builder();
+        assertSame(IntList.of(), builder.build());
+        for (int i = 0; i < 1000; ++i) {
+            builder.add(i);
+            assertEquals(i + 1, builder.size());
+        }
+        final IntList list = builder.build();
+        list.checkInvariants();
+        assertEquals(IntList.allOf(IntStream.range(0, 1000)), list);
+        assertEquals(asList(1, 2, 3), IntList.builder().add(1, 2, 3).build().stream().boxed().collect(Collectors.toList()));
+        assertEquals(0, builder.clear().size());
+        assertSame(IntList.of(), builder.build());
+    }
+
+    public void testSerialization()
+        throws Exception
+    {
+        StandardSerializableTests.verifySerializable(IntList.of(), "H4sIAAAAAAAA/1vzloG1uIjBPL8oXS8rsSwzN7e0JDEpJ1UvOT8nJzW5JDM/r1ivOLUoMzEnsyoRxNXzzCvxySwuCSjKr6j8DwL/VIx5GBgqCso5GBiYXzIAQQUAXewqnlcAAAA=");
+        StandardSerializableTests.verifySerializable(IntList.of(1, -2, 3), "H4sIAAAAAAAA/1vzloG1uIjBPL8oXS8rsSwzN7e0JDEpJ1UvOT8nJzW5JDM/r1ivOLUoMzEnsyoRxNXzzCvxySwuCSjKr6j8DwL/VIx5GBgqCspFGBiYXzIACSBmBEmA2BUALCoeNmMAAAA=");
+        StandardSerializableTests.verifySerializable(IntList.allOf(IntStream.range(0, 300)), "H4sIAAAAAAAA/yXUB9TNZRzA8f+PjLZUCg1FQ+o2CA1Kkoyi0tBQ19ubru77Xt178RppaSiFlNCgvaxC26hob7No70K0UfS5533O+Tzn/P//c57znOd/nu+0tUmtQj5pk8v3S/VPD8pUVAwspvtmy1NluWy2vKyYyVUWUoXyfCadzQxNlx5TXSqL3TOFYs98rmrI1tLY0qzlDklSNWBokmyTJEnNn5IkDk2qR1Cj9DKp/liL2tShLtuyHdtjkWRHdmJn6rEL9dmV3didBuzBnjSkEY3Zi73Zh31pwn7sT1OacQAHchAH05xDaEFpz4eR4nCO4EiOoiWtOJrWtKEtx3Asx3E87WjPCZxIB06iIyfTiVPozKl0oSvd6M5pnE4PenIGZ3IWvTibcziX8+jN+VzAhVxEHy7mEtL0pYxLKecy+nE5GfpzBVkqqCTHAK4kT4EiAxnEYKoYgv+eDGM4VzGCq7mGa7mO6xnJDdzITdzMKG7hVkZzG7czhrGM4w7Gcyd3MYG7mcgkJnMP93If9zOFqTzAgzzEwzzCozzG4zzBkzzFNKYzg5nM4mmeYTZzmMuzPMfzvMCLvMTLzGM+C1jIK7zKayxiMa/zBm/yFm/zDu/yHu/zAR/yER+zhKUsYzkrWMknfMoqVvMZn/MFX/IVX/MN3/Id3/MDP+KuJj/zC2tYyzp+ZT0b+I3f+YM/+Yu/+YeNbGIz//Lf4NKpbGFr9eUPUyhAKEAoQChAKEAoQChAKEAoQChAKEAoQChAKEAoQChAKEAoQChAKEAoQChAKEAoQChAKEAoQChAKEAoQDRBAUIBQgFCAUIBQgFCAUIBQgFCAaJF1f8DbJIQDAUAAA==");
+    }
+
+    private void verifyContents(List<Integer> expected,
+                                IntList list)
+    {
+        assertEquals(expected.size(), list.size());
+        assertEquals(expected.isEmpty(), list.isEmpty());
+        for (int i = 0; i < expected.size(); ++i) {
+            assertEquals((int)expected.get(i), list.get(i));
+        }
+        assertEquals(expected, list.stream().boxed().collect(Collectors.toList()));
+        assertEquals(expected.hashCode(), list.hashCode());
+    }
+
+    private void verifyOutOfBounds(Runnable operation)
+    {
+        try {
+            operation.run();
+            fail();
+        } catch (IndexOutOfBoundsException ignored) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,66 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.list;
+
+import junit.framework.TestCase;
+import org.javimmutable.collections.common.StandardSerializableTests;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+public class LongListTest
+    extends TestCase
+{
+    public void testRandom()
+    {
+        StandardPackedListTests.verifyRandomEdits(new Random(2500L), 25, LongList.of(), Random::nextLong, LongList::insert, LongList::get,
+                                                  (list, parallel) -> (parallel ? list.parallelStream() : list.stream()).boxed(),
+                                                  list -> LongList.of(list.toArray()));
+    }
+
+    public void testToString()
+    {
+        assertEquals("[]", LongList.of().toString());
+        assertEquals("[1,-2,3]", LongList.of(1, -2, 3).toString());
+    }
+
+    public void testSerialization()
+        throws Exception
+    {
+        StandardSerializableTests.verifySerializable(LongList.of(), "H4sIAAAAAAAA/1vzloG1uIjBIr8oXS8rsSwzN7e0JDEpJ1UvOT8nJzW5JDM/r1ivOLUoMzEnsyoRxNXzyc9L98ksLgkoyq+o/A8C/1SMeRgYKgrKORgYmF8yAEEFADk5xxJYAAAA");
+        StandardSerializableTests.verifySerializable(LongList.allOf(IntStream.range(0, 300).asLongStream()), "H4sIAAAAAAAA/1XWeZTVYxjA8d+jyRohIltFEelaUrKWrDGRsku5M8a4dWdu7p0yM9bKnrJVaEFZClmLUkpF0WJfihb7ErLvSzHHZ47j+efzvv++57zP+U5ZmzQs5JNOuXx5ql96UKaiYmBVuiRblirNZbNlpVWZXGUhVSjLZ9LZTG267poqzlWWF2cKVT3yueqa9XWzrlX7RklSPaA2SYqSJGmwJkli7+T/E9yADVjEhtyQG3FjbsJNuRkbcXNuwcbckltxazbhNtyWTbkdt2cz7sAduRN35i5szhZsyV25G1uxNXfnHmzDPbkX27L+ndsxxX24L/fj/mzPA9iBHXkgO/EgHsxDeCgP4+HszC48gl15JI/i0TyGx/I4duPxPIHF7M4TeRJ78GT2ZC+ewlN5Gk/nGTyTZ/Fs9uY57MO+PJdplrCU57GM57OcFzDDfuzPLCtYyRwH8ELmWWAVB3IQL2I1a1jLi3kJL+Vltf/96eRyXsHBHMKhvJJX8Wpew2t5Ha/nMN7A4RzBG3kTb+YtvJUjOYqjeRtv5x0cw7Ecx/G8k3fxbk7gRN7De3kf7+ckTuYDfJAPcQof5iN8lI/xcT7BqZzGJ/kUp3MGn+ZMzuIznM05fJZzOY/z+Ryf5wIu5At8kYu4mEu4lC/xZb7CV/kaX+cbfJNv8W0u43K+w3e5giu5iqv5Ht/nB/yQH/FjfsJP+Rk/5xp+wS/5Fdfya37Db/kdv+cP/JE/8Wf+wl/5G3/nH/yTf3HdP0sg6jfX+n+pD4BwCCUQSiBsjVACoQRCCYQSCCUQSiCUQCiBUAKhBEIJhBIIJRBKIJRAKIFQAqEEQgmEEgglEEoglEAogVACoQRCCUQLKoFQAqEEQgmEEgglEEoglEAogVAC0bb6bwov5yfFCQAA");
+    }
+}
@@ -0,0 +1,116 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.list;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests shared by the primitive lists.  Each list supplies its own value generator and
+ * the methods that take or return primitive values.  Everything else is inherited from
+ * {@link AbstractPackedList}.
+ */
+class StandardPackedListTests
+{
+    interface Insert<L, T>
+    {
+        L insert(L list,
+                 int index,
+                 T value);
+    }
+
+    /**
+     * Applies random inserts and deletes to empty and verifies the result against an ArrayList
+     * after each loop.
+     */
+    static <L extends AbstractPackedList<?, L>, T> void verifyRandomEdits(@Nonnull Random random,
+                                                                          int loops,
+                                                                          @Nonnull L empty,
+                                                                          @Nonnull Function<Random, T> values,
+                                                                          @Nonnull Insert<L, T> insert,
+                                                                          @Nonnull BiFunction<L, Integer, T> get,
+                                                                          @Nonnull BiFunction<L, Boolean, Stream<T>> stream,
+                                                                          @Nonnull UnaryOperator<L> copy)
+    {
+        for (int loop = 0; loop < loops; ++loop) {
+            final List<T> expected = new ArrayList<>();
+            L list = empty;
+            final int size = 1 + random.nextInt(2000);
+            for (int i = 0; i < size; ++i) {
+                final T value = values.apply(random);
+                final int index = random.nextInt(expected.size() + 1);
+                if (random.nextInt(4) == 0 && index < expected.size()) {
+                    expected.remove(index);
+                    list = list.delete(index);
+                } else {
+                    expected.add(index, value);
+                    list = insert.insert(list, index, value);
+                }
+            }
+            list.checkInvariants();
+            assertEquals(expected.size(), list.size());
+            for (int i = 0; i < expected.size(); ++i) {
+                assertEquals(expected.get(i), get.apply(list, i));
+            }
+            assertEquals(expected, stream.apply(list, false).collect(Collectors.toList()));
+            assertEquals(expected, stream.apply(list, true).collect(Collectors.toList()));
+            assertEquals(expected.hashCode(), list.hashCode());
+            assertEquals(list, copy.apply(list));
+
+            final int split = random.nextInt(expected.size() + 1);
+            final L joined = list.suffix(split).insertAllLast(list.prefix(split));
+            joined.checkInvariants();
+            final List<T> rotated = new ArrayList<>(expected.subList(split, expected.size()));
+            rotated.addAll(expected.subList(0, split));
+            assertEquals(rotated, stream.apply(joined, false).collect(Collectors.toList()));
+
+            final List<T> reversed = new ArrayList<>(expected);
+            Collections.reverse(reversed);
+            assertEquals(reversed, stream.apply(list.reverse(), false).collect(Collectors.toList()));
+            assertSame(empty, list.deleteAll());
+        }
+    }
+}
@@ -51,8 +51,10 @@ import org.javimmutable.collections.common.StandardSerializableTests;
 import org.javimmutable.collections.common.StandardStreamableTests;
 import org.javimmutable.collections.common.TestUtil;
 import org.javimmutable.collections.indexed.IndexedArray;
+import org.javimmutable.collections.indexed.IndexedHelper;
 import org.javimmutable.collections.indexed.IndexedList;
 import org.javimmutable.collections.iterators.IndexedIterator;
+import org.javimmutable.collections.iterators.IteratorHelper;
 import org.javimmutable.collections.iterators.StandardIteratorTests;
 import static org.javimmutable.collections.list.TreeBuilder.nodeFromIndexed;
 import static org.javimmutable.collections.list.TreeBuilder.nodeFromIterator;
@@ -64,6 +66,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.IntStream;
 
 public class TreeListTest
@@ -1114,6 +1117,111 @@ public class TreeListTest
         assertEquals(list(1, 3), list.reject(x -> x % 2 == 0));
     }
 
+    public void testParallelOperations()
+    {
+        final TreeList<Integer> empty = TreeList.of();
+        assertSame(empty, empty.parallelSelect(x -> true));
+        assertSame(empty, empty.parallelReject(x -> true));
+        assertSame(empty, empty.parallelTransform(x -> x));
+        assertSame(empty, empty.parallelTransformSome(x -> Maybe.of(x)));
+
+        final TreeList<Integer> list = TreeList.of(IndexedHelper.range(0, 99_999));
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int threshold : asList(1, 100, 1000, TreeList.DEFAULT_PARALLEL_THRESHOLD, 200_000)) {
+                final IList<Integer> selected = list.parallelSelect(pool, threshold, x -> x % 3 == 0);
+                selected.checkInvariants();
+                assertEquals(list.select(x -> x % 3 == 0), selected);
+
+                final IList<Integer> rejected = list.parallelReject(pool, threshold, x -> x % 3 == 0);
+                rejected.checkInvariants();
+                assertEquals(list.reject(x -> x % 3 == 0), rejected);
+
+                final IList<String> transformed = list.parallelTransform(pool, threshold, String::valueOf);
+                transformed.checkInvariants();
+                assertEquals(list.transform(String::valueOf), transformed);
+
+                final IList<Integer> some = list.parallelTransformSome(pool, threshold, x -> x % 7 == 0 ? Maybe.of(-x) : Maybe.empty());
+                some.checkInvariants();
+                assertEquals(list.transformSome(x -> x % 7 == 0 ? Maybe.of(-x) : Maybe.empty()), some);
+
+                assertSame(list, list.parallelSelect(pool, threshold, x -> true));
+                assertSame(list, list.parallelReject(pool, threshold, x -> false));
+                assertEquals(true, list.parallelSelect(pool, threshold, x -> false).isEmpty());
+                assertEquals(true, list.parallelReject(pool, threshold, x -> true).isEmpty());
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(list.select(x -> x > 50_000), list.parallelSelect(x -> x > 50_000));
+        try {
+            list.parallelSelect(ForkJoinPool.commonPool(), 0, x -> true);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+            // expected
+        }
+    }
+
+    public void testCachedHashCodeAndEquals()
+    {
+        final Random r = new Random(1000);
+        final List<Integer> expected = new ArrayList<>();
+        TreeList<Integer> list = TreeList.of();
+        for (int loop = 1; loop <= 2500; ++loop) {
+            final int command = r.nextInt(8);
+            if (command == 0 && expected.size() > 0) {
+                final int index = r.nextInt(expected.size());
+                expected.remove(index);
+                list = list.delete(index);
+            } else if (command == 1 && expected.size() > 0) {
+                final int index = r.nextInt(expected.size());
+                expected.set(index, loop);
+                list = list.assign(index, loop);
+            } else if (command == 2) {
+                final int index = r.nextInt(expected.size() + 1);
+                expected.add(index, null);
+                list = list.insert(index, null);
+            } else {
+                final int index = r.nextInt(expected.size() + 1);
+                expected.add(index, loop);
+                list = list.insert(index, loop);
+            }
+            if (loop % 50 == 0) {
+                assertEquals(IteratorHelper.iteratorHashCode(expected.iterator()), list.hashCode());
+                assertEquals(expected, list.getList());
+                final TreeList<Integer> rebuilt = TreeList.<Integer>of().insertAll(expected);
+                assertEquals(rebuilt, list);
+                assertEquals(list, rebuilt);
+                assertEquals(list, list.assign(0, list.get(0)));
+                assertEquals(false, list.equals(list.assign(0, -loop)));
+                assertEquals(false, list.equals(list.deleteLast()));
+            }
+        }
+    }
+
+    public void testEqualsSkipsSharedSubtrees()
+    {
+        final int[] equalsCount = new int[1];
+        TreeList<TestUtil.CountingValue> list = TreeList.of();
+        for (int i = 0; i < 10_000; ++i) {
+            list = list.insertLast(new TestUtil.CountingValue(2 * i, equalsCount));
+        }
+        final TreeList<TestUtil.CountingValue> same = list.assign(5000, new TestUtil.CountingValue(10_000, equalsCount));
+        final TreeList<TestUtil.CountingValue> collides = list.assign(5000, new TestUtil.CountingValue(10_001, equalsCount));
+        assertEquals(list.hashCode(), collides.hashCode());
+
+        equalsCount[0] = 0;
+        assertEquals(true, list.equals(same));
+        assertEquals(false, list.equals(collides));
+        assertTrue(equalsCount[0] < 100);
+
+        // differently shaped trees with equal values are still equal
+        final TreeList<TestUtil.CountingValue> rebuilt = TreeList.<TestUtil.CountingValue>listBuilder().addAll(collides.getList()).build();
+        assertEquals(collides, rebuilt);
+        assertEquals(false, list.equals(rebuilt));
+    }
+
     public void testStreams()
     {
         IList<Integer> list = TreeList.<Integer>listBuilder().addAll(1, 2, 3, 4, 5, 6, 7).build();
@@ -1184,6 +1292,8 @@ public class TreeListTest
 
         StandardBuilderTests.verifyBuilder(expected, this::builder, comparator, new Integer[0]);
         StandardBuilderTests.verifyThreadSafety(this::builder);
+        StandardBuilderTests.verifyBuilder(expected, this::unsynchronizedBuilder, comparator, new Integer[0]);
+        StandardBuilderTests.verifyOwnership(this::unsynchronizedBuilder, 1);
     }
 
     private BuilderTestAdapter<Integer> builder()
@@ -1191,6 +1301,11 @@ public class TreeListTest
         return new BuilderTestAdapter<>(TreeList.listBuilder());
     }
 
+    private BuilderTestAdapter<Integer> unsynchronizedBuilder()
+    {
+        return new BuilderTestAdapter<>(TreeList.unsynchronizedListBuilder());
+    }
+
     public void testStaticBuilderMethod()
     {
         List<Integer> source = new ArrayList<>();
@@ -1264,6 +1379,32 @@ public class TreeListTest
         }
     }
 
+    public void testForEachWhile()
+    {
+        final IList<Integer> empty = TreeList.of();
+        assertTrue(empty.forEachWhile(i -> false));
+        assertFalse(empty.anyMatch(i -> true));
+        assertTrue(empty.allMatch(i -> false));
+        assertEquals(Maybe.empty(), empty.findFirst(i -> true));
+
+        final IList<Integer> list = IntStream.range(0, 5000).boxed().collect(TreeList.createListCollector());
+        for (int stop : Arrays.asList(0, 1, 127, 128, 2500, 4999)) {
+            final List<Integer> visited = new ArrayList<>();
+            assertFalse(list.forEachWhile(i -> {
+                visited.add(i);
+                return i < stop;
+            }));
+            assertEquals(IntStream.rangeClosed(0, stop).boxed().collect(toList()), visited);
+            assertEquals(Maybe.of(stop), list.findFirst(i -> i >= stop));
+            assertTrue(list.anyMatch(i -> i == stop));
+            assertFalse(list.allMatch(i -> i != stop));
+        }
+        assertTrue(list.forEachWhile(i -> true));
+        assertTrue(list.allMatch(i -> i >= 0));
+        assertFalse(list.anyMatch(i -> i < 0));
+        assertEquals(Maybe.empty(), list.findFirst(i -> i < 0));
+    }
+
     public void testInject()
     {
         final IList<Integer> empty = TreeList.of();
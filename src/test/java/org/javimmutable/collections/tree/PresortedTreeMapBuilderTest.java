@@ -0,0 +1,150 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2024, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.tree;
+
+import junit.framework.TestCase;
+import org.javimmutable.collections.IMap;
+import org.javimmutable.collections.IMapEntry;
+import org.javimmutable.collections.ISet;
+import org.javimmutable.collections.MapEntry;
+import org.javimmutable.collections.common.MapBuilderTestAdapter;
+import org.javimmutable.collections.common.StandardBuilderTests;
+import org.javimmutable.collections.common.TestUtil;
+import org.javimmutable.collections.common.ThreadOwner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class PresortedTreeMapBuilderTest
+    extends TestCase
+{
+    public void testBuilding()
+    {
+        final PresortedTreeMapBuilder<Integer, String> builder = new PresortedTreeMapBuilder<>(ComparableComparator.<Integer>of(), null);
+        IMap<Integer, String> map = builder.build();
+        map.checkInvariants();
+        assertEquals(0, map.size());
+
+        // builder must remain usable after each call to build()
+        final Map<Integer, String> expected = new TreeMap<>();
+        for (int i = 1; i <= 2500; ++i) {
+            expected.put(i, String.valueOf(i));
+            builder.add(i, String.valueOf(i));
+            assertEquals(i, builder.size());
+            map = builder.build();
+            map.checkInvariants();
+            assertEquals(i, map.size());
+            assertEquals(TestUtil.makeList(expected.keySet()), TestUtil.makeList(map.keys()));
+            assertEquals(TestUtil.makeList(expected.values()), TestUtil.makeList(map.values()));
+        }
+        assertEquals(expected, map.getMap());
+
+        builder.clear();
+        assertEquals(0, builder.size());
+        assertEquals(0, builder.build().size());
+    }
+
+    public void testDuplicatesAndOrdering()
+    {
+        final PresortedTreeMapBuilder<Integer, String> builder = new PresortedTreeMapBuilder<>(ComparableComparator.<Integer>of(), null);
+        builder.add(1, "a").add(2, "b").add(2, "c").add(3, "d").add(3, "e");
+        assertEquals(3, builder.size());
+        final IMap<Integer, String> map = builder.build();
+        map.checkInvariants();
+        assertEquals(asMap(1, "a", 2, "c", 3, "e"), map.getMap());
+        try {
+            builder.add(2, "x");
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+        assertEquals(map, builder.build());
+        builder.add(4, "f");
+        assertEquals(asMap(1, "a", 2, "c", 3, "e", 4, "f"), builder.build().getMap());
+    }
+
+    public void testComparator()
+    {
+        final List<Integer> values = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        final ISet<Integer> reversed = TreeSet.<Integer>presortedBuilder(ComparableComparator.<Integer>of().reversed())
+            .add(IntStream.range(0, 1000).map(i -> 999 - i).boxed().iterator())
+            .build();
+        reversed.checkInvariants();
+        final List<Integer> expected = new ArrayList<>(values);
+        expected.sort(ComparableComparator.<Integer>of().reversed());
+        assertEquals(expected, TestUtil.makeList(reversed));
+        assertEquals(TreeSet.<Integer>of().insertAll(values), TreeSet.<Integer>presortedBuilder().add(values).build());
+    }
+
+    public void testStandard()
+        throws InterruptedException
+    {
+        final List<IMapEntry<Integer, Integer>> values = new ArrayList<>();
+        for (int i = 1; i <= 5000; ++i) {
+            values.add(IMapEntry.of(i, 5001 - i));
+        }
+        StandardBuilderTests.verifyBuilder(values, this::stdBuilderTestAdaptor, this::stdBuilderTestComparator, new IMapEntry[0]);
+        StandardBuilderTests.verifyOwnership(this::stdBuilderTestAdaptor, IMapEntry.of(1, 1));
+    }
+
+    private MapBuilderTestAdapter<Integer, Integer> stdBuilderTestAdaptor()
+    {
+        return new MapBuilderTestAdapter<>(new PresortedTreeMapBuilder<>(ComparableComparator.<Integer>of(), new ThreadOwner()));
+    }
+
+    private Boolean stdBuilderTestComparator(List<IMapEntry<Integer, Integer>> expected,
+                                             IMap<Integer, Integer> actual)
+    {
+        actual.checkInvariants();
+        List<IMapEntry<Integer, Integer>> sorted = new ArrayList<>(expected);
+        sorted.sort(MapEntry::compareKeys);
+        assertEquals(sorted, actual.stream().collect(Collectors.toList()));
+        return true;
+    }
+
+    private static Map<Integer, String> asMap(Object... keysAndValues)
+    {
+        final Map<Integer, String> answer = new TreeMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            answer.put((Integer)keysAndValues[i], (String)keysAndValues[i + 1]);
+        }
+        return answer;
+    }
+}
@@ -42,6 +42,7 @@ import org.javimmutable.collections.MapEntry;
 import org.javimmutable.collections.common.MapBuilderTestAdapter;
 import org.javimmutable.collections.common.StandardBuilderTests;
 import org.javimmutable.collections.common.TestUtil;
+import org.javimmutable.collections.common.ThreadOwner;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -88,7 +89,9 @@ public class TreeMapBuilderTest
         Collections.shuffle(values);
         StandardBuilderTests.verifyBuilder(values, this::stdBuilderTestAdaptor, this::stdBuilderTestComparator, new IMapEntry[0]);
         values.sort(MapEntry::compareKeys);
-        StandardBuilderTests.verifyThreadSafety(values, MapEntry::compareKeys, this::stdBuilderTestAdaptor, a -> a);
+        StandardBuilderTests.verifyThreadSafety(values, MapEntry::compareKeys, this::synchronizedBuilderTestAdaptor, a -> a);
+        StandardBuilderTests.verifyBuilder(values, this::unsynchronizedBuilderTestAdaptor, this::stdBuilderTestComparator, new IMapEntry[0]);
+        StandardBuilderTests.verifyOwnership(this::unsynchronizedBuilderTestAdaptor, IMapEntry.of(1, 1));
     }
 
     private MapBuilderTestAdapter<Integer, Integer> stdBuilderTestAdaptor()
@@ -96,6 +99,16 @@ public class TreeMapBuilderTest
         return new MapBuilderTestAdapter<>(new TreeMapBuilder<>(ComparableComparator.<Integer>of()));
     }
 
+    private MapBuilderTestAdapter<Integer, Integer> synchronizedBuilderTestAdaptor()
+    {
+        return new MapBuilderTestAdapter<>(new TreeMapBuilder.Synchronized<>(ComparableComparator.<Integer>of()));
+    }
+
+    private MapBuilderTestAdapter<Integer, Integer> unsynchronizedBuilderTestAdaptor()
+    {
+        return new MapBuilderTestAdapter<>(new TreeMapBuilder<>(ComparableComparator.<Integer>of(), new ThreadOwner()));
+    }
+
     private Boolean stdBuilderTestComparator(List<IMapEntry<Integer, Integer>> expected,
                                              IMap<Integer, Integer> actual)
     {
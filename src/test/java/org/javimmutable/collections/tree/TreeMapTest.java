@@ -40,6 +40,7 @@ import org.javimmutable.collections.Func1;
 import org.javimmutable.collections.IMap;
 import org.javimmutable.collections.IMapBuilder;
 import org.javimmutable.collections.IMapEntry;
+import org.javimmutable.collections.ISet;
 import org.javimmutable.collections.Maybe;
 import org.javimmutable.collections.Proc2;
 import org.javimmutable.collections.Proc2Throws;
@@ -324,6 +325,185 @@ public class TreeMapTest
         StandardIteratorTests.verifyOrderedIterable(expected, map);
     }
 
+    public void testNavigation()
+    {
+        final Random r = new Random(20260402);
+        for (int loop = 1; loop <= 100; ++loop) {
+            final java.util.TreeMap<Integer, Integer> expected = new java.util.TreeMap<>();
+            TreeMap<Integer, Integer> map = TreeMap.of();
+            for (int i = r.nextInt(500); i > 0; --i) {
+                final int key = 2 * r.nextInt(1000);
+                expected.put(key, -key);
+                map = map.assign(key, -key);
+            }
+            assertEquals(entry(expected.firstEntry()), map.firstEntry());
+            assertEquals(entry(expected.lastEntry()), map.lastEntry());
+            for (int key = -2; key <= 2001; ++key) {
+                assertEquals(entry(expected.floorEntry(key)), map.floorEntry(key));
+                assertEquals(entry(expected.ceilingEntry(key)), map.ceilingEntry(key));
+                assertEquals(entry(expected.lowerEntry(key)), map.lowerEntry(key));
+                assertEquals(entry(expected.higherEntry(key)), map.higherEntry(key));
+            }
+        }
+    }
+
+    public void testRanges()
+    {
+        final Random r = new Random(20260403);
+        for (int loop = 1; loop <= 200; ++loop) {
+            final java.util.TreeMap<Integer, Integer> expected = new java.util.TreeMap<>();
+            TreeMap<Integer, Integer> map = TreeMap.of();
+            for (int i = r.nextInt(1000); i > 0; --i) {
+                final int key = r.nextInt(2000);
+                expected.put(key, -key);
+                map = map.assign(key, -key);
+            }
+            for (int i = 1; i <= 25; ++i) {
+                final int a = r.nextInt(2100) - 50;
+                final int b = r.nextInt(2100) - 50;
+                final int from = Math.min(a, b);
+                final int to = Math.max(a, b);
+                final boolean fromInclusive = r.nextBoolean();
+                final boolean toInclusive = r.nextBoolean();
+                verifyRange(expected.headMap(to, toInclusive), map.headMap(to, toInclusive));
+                verifyRange(expected.tailMap(from, fromInclusive), map.tailMap(from, fromInclusive));
+                if (from < to || (fromInclusive && toInclusive)) {
+                    verifyRange(expected.subMap(from, fromInclusive, to, toInclusive), map.subMap(from, fromInclusive, to, toInclusive));
+                }
+            }
+            verifyRange(expected, map);
+        }
+
+        final TreeMap<Integer, Integer> map = TreeMap.<Integer, Integer>of().assign(1, 1).assign(2, 2).assign(3, 3);
+        assertSame(map, map.headMap(3, true));
+        assertSame(map, map.tailMap(0, false));
+        assertSame(map, map.subMap(1, true, 3, true));
+        assertEquals(0, map.headMap(1, false).size());
+        try {
+            map.subMap(3, true, 2, true);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+    public void testOrderStatistics()
+    {
+        final Random r = new Random(20260410);
+        for (int loop = 1; loop <= 100; ++loop) {
+            TreeMap<Integer, Integer> map = TreeMap.of();
+            for (int i = r.nextInt(1000); i > 0; --i) {
+                final int key = 2 * r.nextInt(1000);
+                map = map.assign(key, -key);
+            }
+            final List<Integer> keys = map.getKeysList();
+            for (int i = 0; i < keys.size(); ++i) {
+                final Integer key = keys.get(i);
+                assertEquals(IMapEntry.of(key, -key), map.getByIndex(i));
+                assertEquals(i, map.indexOf(key));
+                assertEquals(i, map.rank(key));
+                assertEquals(-1, map.indexOf(key + 1));
+                assertEquals(i + 1, map.rank(key + 1));
+            }
+            assertEquals(-1, map.indexOf(-1));
+            assertEquals(0, map.rank(-1));
+            for (int i = 1; i <= 25; ++i) {
+                final int a = r.nextInt(keys.size() + 1);
+                final int b = r.nextInt(keys.size() + 1);
+                final TreeMap<Integer, Integer> slice = map.slice(Math.min(a, b), Math.max(a, b));
+                slice.checkInvariants();
+                assertEquals(keys.subList(Math.min(a, b), Math.max(a, b)), slice.getKeysList());
+            }
+            assertSame(map, map.slice(0, keys.size()));
+            for (int badIndex : asList(-1, keys.size())) {
+                try {
+                    map.getByIndex(badIndex);
+                    fail();
+                } catch (ArrayIndexOutOfBoundsException ex) {
+                    // expected
+                }
+            }
+        }
+        final TreeMap<Integer, Integer> map = TreeMap.<Integer, Integer>of().assign(1, 1).assign(2, 2);
+        for (List<Integer> range : asList(asList(-1, 1), asList(2, 1), asList(0, 3))) {
+            try {
+                map.slice(range.get(0), range.get(1));
+                fail();
+            } catch (ArrayIndexOutOfBoundsException ex) {
+                // expected
+            }
+        }
+    }
+
+    private void verifyRange(Map<Integer, Integer> expected,
+                             TreeMap<Integer, Integer> actual)
+    {
+        actual.checkInvariants();
+        assertEquals(expected, actual.getMap());
+        final List<IMapEntry<Integer, Integer>> descending = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> e : expected.entrySet()) {
+            descending.add(0, IMapEntry.of(e));
+        }
+        StandardIteratorTests.verifyOrderedIteratorUsingHasNext(descending.iterator(), actual.descendingIterator());
+    }
+
+    private static Maybe<IMapEntry<Integer, Integer>> entry(Map.Entry<Integer, Integer> entry)
+    {
+        return (entry == null) ? Maybe.empty() : Maybe.of(IMapEntry.of(entry));
+    }
+
+    public void testCachedHashCodeAndEquals()
+    {
+        final Random r = new Random(1000);
+        final Map<Integer, Integer> expected = new java.util.HashMap<>();
+        TreeMap<Integer, Integer> map = TreeMap.of();
+        for (int loop = 1; loop <= 2500; ++loop) {
+            final Integer key = r.nextInt(1000);
+            if (r.nextInt(4) == 0) {
+                expected.remove(key);
+                map = map.delete(key);
+            } else {
+                expected.put(key, loop);
+                map = map.assign(key, loop);
+            }
+            if (loop % 50 == 0) {
+                assertEquals(expected.hashCode(), map.hashCode());
+                assertEquals(expected, map.getMap());
+                final IMap<Integer, Integer> rebuilt = TreeMap.<Integer, Integer>of().assignAll(expected);
+                assertEquals(rebuilt, map);
+                assertEquals(map, rebuilt);
+                assertEquals(map, org.javimmutable.collections.hash.HashMap.<Integer, Integer>of().assignAll(expected));
+                if (map.isNonEmpty()) {
+                    final Integer first = map.iterator().next().getKey();
+                    assertEquals(map, map.assign(first, map.get(first)));
+                    assertEquals(false, map.equals(map.assign(first, -loop)));
+                    assertEquals(false, map.equals(map.delete(first)));
+                }
+            }
+        }
+        final TreeSet<Integer> keys = new TreeSet<>(expected.keySet());
+        final ISet<Integer> set = org.javimmutable.collections.tree.TreeSet.<Integer>of().insertAll(keys);
+        assertEquals(keys.hashCode(), set.hashCode());
+        assertEquals(set, set.delete(keys.first()).insert(keys.first()));
+        assertEquals(false, set.equals(set.delete(keys.last())));
+    }
+
+    public void testHashCodeModeIsChecked()
+    {
+        TreeMap<Integer, Boolean> map = TreeMap.of();
+        for (int i = 0; i < 20; ++i) {
+            map = map.assign(i, Boolean.TRUE);
+        }
+        assertEquals(map.getMap().keySet().hashCode(), map.keysHashCode());
+        assertEquals(map.getMap().keySet().hashCode(), map.keysHashCode());
+        try {
+            map.hashCode();
+            fail();
+        } catch (AssertionError ignored) {
+            // only one mode is cached in the nodes
+        }
+    }
+
     public void testStreams()
     {
         final IMap<Integer, Integer> treeMap = TreeMap.of();
@@ -39,6 +39,7 @@ import junit.framework.TestCase;
 import org.javimmutable.collections.Func1;
 import org.javimmutable.collections.Func2;
 import org.javimmutable.collections.ISet;
+import org.javimmutable.collections.Maybe;
 import org.javimmutable.collections.common.SetBuilderTestAdapter;
 import org.javimmutable.collections.common.StandardBuilderTests;
 import org.javimmutable.collections.common.StandardSerializableTests;
@@ -215,6 +216,62 @@ public class TreeSetTest
         }
     }
 
+    public void testNavigation()
+    {
+        final Random r = new Random(20260404);
+        for (int loop = 1; loop <= 100; ++loop) {
+            final java.util.TreeSet<Integer> expected = new java.util.TreeSet<>();
+            TreeSet<Integer> set = TreeSet.of();
+            for (int i = r.nextInt(500); i > 0; --i) {
+                final int value = 2 * r.nextInt(1000);
+                expected.add(value);
+                set = (TreeSet<Integer>)set.insert(value);
+            }
+            assertEquals(expected.isEmpty() ? Maybe.empty() : Maybe.of(expected.first()), set.first());
+            assertEquals(expected.isEmpty() ? Maybe.empty() : Maybe.of(expected.last()), set.last());
+            for (int value = -2; value <= 2001; value += 1) {
+                assertEquals(maybe(expected.floor(value)), set.floor(value));
+                assertEquals(maybe(expected.ceiling(value)), set.ceiling(value));
+                assertEquals(maybe(expected.lower(value)), set.lower(value));
+                assertEquals(maybe(expected.higher(value)), set.higher(value));
+            }
+            final int from = r.nextInt(1000);
+            final int to = from + r.nextInt(1000);
+            verifyRange(expected.headSet(to, false), set.headSet(to, false));
+            verifyRange(expected.tailSet(from, true), set.tailSet(from, true));
+            verifyRange(expected.subSet(from, true, to, true), set.subSet(from, true, to, true));
+        }
+    }
+
+    public void testOrderStatistics()
+    {
+        final TreeSet<Integer> set = (TreeSet<Integer>)TreeSet.<Integer>of().insertAll(IntStream.range(0, 500).map(i -> 3 * i).boxed().iterator());
+        for (int i = 0; i < 500; ++i) {
+            assertEquals(Integer.valueOf(3 * i), set.getByIndex(i));
+            assertEquals(i, set.indexOf(3 * i));
+            assertEquals(-1, set.indexOf(3 * i + 1));
+            assertEquals(i + 1, set.rank(3 * i + 1));
+        }
+        final TreeSet<Integer> slice = set.slice(100, 200);
+        slice.checkInvariants();
+        assertEquals(IntStream.range(100, 200).map(i -> 3 * i).boxed().collect(Collectors.toList()), TestUtil.makeList(slice));
+        assertSame(set, set.slice(0, 500));
+        assertEquals(0, set.slice(250, 250).size());
+    }
+
+    private void verifyRange(java.util.NavigableSet<Integer> expected,
+                             TreeSet<Integer> actual)
+    {
+        actual.checkInvariants();
+        assertEquals(expected, actual.getSet());
+        StandardIteratorTests.verifyOrderedIteratorUsingHasNext(expected.descendingIterator(), actual.descendingIterator());
+    }
+
+    private static Maybe<Integer> maybe(Integer value)
+    {
+        return (value == null) ? Maybe.empty() : Maybe.of(value);
+    }
+
     public void testSortOrder()
     {
         final Comparator<Integer> reverser = (a, b) -> -a.compareTo(b);
@@ -345,6 +402,7 @@ public class TreeSetTest
         final List<Integer> expected = IntStream.range(0, 4096).boxed().collect(Collectors.toList());
         StandardBuilderTests.verifyBuilder(expected, this::builderAdaptor, comparator, new Integer[0]);
         StandardBuilderTests.verifyThreadSafety(expected, intComparator, this::builderAdaptor, a -> a);
+        StandardBuilderTests.verifyBuilder(expected, () -> new SetBuilderTestAdapter<>(TreeSet.<Integer>unsynchronizedBuilder()), comparator, new Integer[0]);
     }
 
     @Nonnull